@@ -100,11 +100,12 @@ export async function executeTransaction<T>(
         }
       }
 
-      // Deadlock 에러 (ORA-00060)인 경우 재시도
-      if (err.errorNum === 60 && attempt < retries - 1) {
+      // Deadlock 에러 (ORA-00060) 또는 SERIALIZABLE 직렬화 실패 (ORA-08177)인 경우 재시도
+      // (변경 표시 행 TABLE_VERSION/SCHEDULE_VERSION을 같은 시점에 갱신한 트랜잭션끼리 ORA-08177이 날 수 있음)
+      if ((err.errorNum === 60 || err.errorNum === 8177) && attempt < retries - 1) {
         attempt++;
         const delay = Math.min(100 * Math.pow(2, attempt), 1000); // 지수 백오프
-        console.log(`Deadlock detected, retrying... (attempt ${attempt}/${retries})`);
+        console.log(`${err.errorNum === 60 ? "Deadlock" : "Serialization failure"} detected, retrying... (attempt ${attempt}/${retries})`);
         await new Promise(resolve => setTimeout(resolve, delay));
         continue;
       }
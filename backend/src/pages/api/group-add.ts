@@ -31,14 +31,12 @@ export default async function handler(
       return res.status(400).json({ message: "해당 학생이 존재하지 않습니다." });
     }
 
-    // 2. 그룹 ID 생성 (MAX + 1)
-    const getMaxGroupIdSql = `
-      SELECT NVL(MAX(group_id), 0) AS max_id
-      FROM student_group
-    `;
-    const maxIdResult = await executeQuery(getMaxGroupIdSql, []);
-    const maxId = (maxIdResult as any).rows[0]?.MAX_ID || 0;
-    const newGroupId = maxId + 1;
+    // 2. 그룹 ID 생성 (Java 쪽 IdAllocator와 같은 시퀀스 사용)
+    const nextIdResult = await executeQuery(
+      `SELECT GROUP_ID_SEQ.NEXTVAL AS new_id FROM dual`,
+      []
+    );
+    const newGroupId = (nextIdResult as any).rows[0].NEW_ID;
 
     // 3. STUDENT_GROUP 테이블에 그룹 추가
     const insertGroupSql = `
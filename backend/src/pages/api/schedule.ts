@@ -2,6 +2,54 @@ import type { NextApiRequest, NextApiResponse } from "next";
 import { executeQuery, executeTransaction, executeSelectForUpdate } from "../../db";
 import oracledb from "oracledb";
 
+/**
+ * 일정 변경 기록 (Java ScheduleChangeLog.record()와 같은 SQL, 같은 순서)
+ * 일정을 바꾸는 트랜잭션 안에서 호출해야 합니다. 커밋은 executeTransaction이 합니다.
+ * SCHEDULE_VERSION의 학생 행 버전을 올리고 SCHEDULE_CHANGE에 (학생, 버전, 일정 ID, 종류)를 남깁니다.
+ * 콘솔의 시작 스냅샷 따라잡기, 변경 알림(SSE), 증분 동기화가 모두 이 기록을 봅니다.
+ *
+ * @param op "I" 등록, "U" 수정, "D" 삭제
+ */
+async function recordScheduleChange(
+  connection: oracledb.Connection,
+  studentId: string,
+  scheduleId: number,
+  op: "I" | "U" | "D"
+) {
+  let version: number | undefined;
+  for (let attempt = 0; version === undefined; attempt++) {
+    const bumped = await connection.execute(
+      `UPDATE schedule_version SET version = version + 1, changed_at = SYSTIMESTAMP
+        WHERE student_id = :1 RETURNING version INTO :2`,
+      [studentId, { dir: oracledb.BIND_OUT, type: oracledb.NUMBER }],
+      { autoCommit: false }
+    );
+    if (bumped.rowsAffected) {
+      version = (bumped.outBinds as any)[0][0];
+      break;
+    }
+    try {
+      await connection.execute(
+        `INSERT INTO schedule_version (student_id, version, pruned_through, changed_at)
+         VALUES (:1, 1, 0, SYSTIMESTAMP)`,
+        [studentId],
+        { autoCommit: false }
+      );
+      version = 1;
+    } catch (err: any) {
+      // 다른 트랜잭션이 방금 만들었음 (ORA-00001) -> UPDATE로 다시
+      if (err.errorNum !== 1 || attempt > 0) throw err;
+    }
+  }
+
+  await connection.execute(
+    `INSERT INTO schedule_change (student_id, version, schedule_id, op, changed_at)
+     VALUES (:1, :2, :3, :4, SYSTIMESTAMP)`,
+    [studentId, version, scheduleId, op],
+    { autoCommit: false }
+  );
+}
+
 export default async function handler(
   req: NextApiRequest,
   res: NextApiResponse
@@ -34,18 +82,13 @@ export default async function handler(
         const { student_id, title, start_time, end_time } = req.body;
 
         await executeTransaction(async (connection) => {
-          // schedule_id 생성 시 동시성 제어를 위해 FOR UPDATE 사용
-          const getMaxIdSql = `
-            SELECT NVL(MAX(schedule_id), 0) AS max_id
-            FROM schedule
-          `;
-          const maxIdResult = await executeSelectForUpdate(
-            getMaxIdSql,
+          // schedule_id는 Java 쪽 IdAllocator와 같은 시퀀스에서 받아 충돌을 막음
+          const nextIdResult = await connection.execute(
+            `SELECT SCHEDULE_ID_SEQ.NEXTVAL AS new_id FROM dual`,
             [],
-            connection
+            { outFormat: oracledb.OUT_FORMAT_OBJECT }
           );
-          const maxId = (maxIdResult as any).rows[0]?.MAX_ID || 0;
-          const newScheduleId = maxId + 1;
+          const newScheduleId = (nextIdResult as any).rows[0].NEW_ID;
 
           const insertSql = `
             INSERT INTO schedule (schedule_id, student_id, title, start_time, end_time) 
@@ -61,6 +104,7 @@ export default async function handler(
             [newScheduleId, student_id, title, start_time, end_time],
             { autoCommit: false }
           );
+          await recordScheduleChange(connection, student_id, newScheduleId, "I");
         });
 
         return res.status(201).json({ message: "등록 성공" });
@@ -100,6 +144,8 @@ export default async function handler(
             [title, start_time, end_time, schedule_id],
             { autoCommit: false }
           );
+          const owner = (checkResult.rows[0] as any).STUDENT_ID;
+          await recordScheduleChange(connection, owner, Number(schedule_id), "U");
         });
 
         return res.status(200).json({ message: "수정 성공" });
@@ -112,7 +158,7 @@ export default async function handler(
         await executeTransaction(async (connection) => {
           // 삭제 전 일정 존재 확인 및 잠금
           const checkSql = `
-            SELECT schedule_id
+            SELECT schedule_id, student_id
             FROM schedule
             WHERE schedule_id = :1
           `;
@@ -128,6 +174,8 @@ export default async function handler(
 
           const deleteSql = `DELETE FROM schedule WHERE schedule_id = :1`;
           await connection.execute(deleteSql, [id], { autoCommit: false });
+          const owner = (checkResult.rows[0] as any).STUDENT_ID;
+          await recordScheduleChange(connection, owner, Number(id), "D");
         });
 
         return res.status(200).json({ message: "삭제 성공" });
@@ -0,0 +1,44 @@
+package org.example.calendar;
+
+import java.time.LocalDate;
+
+// 학기 코드(SECTION.ACADEMIC_TERM, 예: 202502)와 수업 기간
+// - YYYY01: 1학기 (3/1 ~ 6/30), YYYY02: 2학기 (9/1 ~ 12/31), 그 외: 해당 연도 전체
+public record AcademicTerm(int code) {
+    public static AcademicTerm of(int code) {
+        return new AcademicTerm(code);
+    }
+
+    // 날짜가 속한 학기 (방학이면 null)
+    public static AcademicTerm containing(LocalDate date) {
+        int month = date.getMonthValue();
+        if (month >= 3 && month <= 6) return new AcademicTerm(date.getYear() * 100 + 1);
+        if (month >= 9) return new AcademicTerm(date.getYear() * 100 + 2);
+        return null;
+    }
+
+    public int year() {
+        return code / 100;
+    }
+
+    // 수업 시작일 (포함)
+    public LocalDate startDate() {
+        return switch (code % 100) {
+            case 1 -> LocalDate.of(year(), 3, 1);
+            case 2 -> LocalDate.of(year(), 9, 1);
+            default -> LocalDate.of(year(), 1, 1);
+        };
+    }
+
+    // 수업 종료일 (포함)
+    public LocalDate endDate() {
+        return switch (code % 100) {
+            case 1 -> LocalDate.of(year(), 6, 30);
+            default -> LocalDate.of(year(), 12, 31);
+        };
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate()) && !date.isAfter(endDate());
+    }
+}
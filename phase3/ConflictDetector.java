@@ -0,0 +1,365 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 수강(TAKES ⨝ SECTION)과 개인 일정(SCHEDULE) 사이의 시간 충돌 검사기
+// - 학기 단위로 수강 정보와 학기 중 개인 일정을 한 번에 읽어 메모리에 둡니다. (쿼리 2회 + 반복 일정 2회)
+//   시작 시에는 TableSnapshot에서 수강/일정을 읽어 반복 일정만 DB에서 읽습니다.
+// - 반복 일정은 학기 안의 발생만 펼친 뒤 한 주간 시간표로 합쳐 일정 하나로 다룹니다. (발생마다 같은 충돌을 반복해 보고하지 않음)
+// - 전체 검사는 학생별로 병렬 스트림(fork/join 공용 풀)에서 비트마스크 비교로 수행합니다.
+// - 학생 한 명에 대한 "이 분반을 추가하면 충돌하는가" 검사는 DB 없이 바로 답합니다.
+// - 수강 신청/취소는 웹(Next.js)에서 일어나므로 조회 전에 TAKES/SECTION 변경 표시(TableVersion)를 확인해 학기를 다시 읽고,
+//   콘솔에서 일정/반복 일정을 바꾸면 커밋 뒤 refreshStudent()로 그 학생만 같은 커넥션에서 다시 읽습니다.
+public class ConflictDetector {
+    public enum Kind {
+        SECTION_SECTION, // 수강 분반끼리 겹침
+        SECTION_SCHEDULE // 수강 분반과 개인 일정이 겹침
+    }
+
+    public record Conflict(String studentId, Kind kind, String first, String second, String overlap) {
+        @Override
+        public String toString() {
+            return String.format("%s [%s] %s <-> %s (%s)", studentId,
+                    kind == Kind.SECTION_SECTION ? "수업-수업" : "수업-일정", first, second, overlap);
+        }
+    }
+
+    private record Enrollment(String courseId, String sectionId, WeeklyTimetable timetable) {
+        String label() {
+            return courseId + "-" + sectionId;
+        }
+    }
+
+    // 개인 일정의 하루치 조각 (여러 날에 걸친 일정은 날짜별로 나눔)
+    private record ScheduleSegment(long scheduleId, String title, LocalDateTime start, WeeklyTimetable timetable) {
+        String label() {
+            return "일정#" + scheduleId + " " + title + " (" + start.toLocalDate() + ")";
+        }
+    }
+
+    // 적재가 끝난 뒤에는 바꾸지 않으므로(바뀌면 학생 단위로 통째로 교체) 잠금 없이 읽습니다.
+    private static final class StudentTerm {
+        final List<Enrollment> enrollments = new ArrayList<>();
+        final List<ScheduleSegment> schedules = new ArrayList<>();
+    }
+
+    // 학기 데이터 (version: 적재할 때의 TAKES + SECTION 변경 표시)
+    private record TermData(long version, Map<String, StudentTerm> students) {
+    }
+
+    private final DataSource dataSource;
+    private final TimetableCache timetables;
+    private final TableVersion versions;
+    private final Map<Integer, TermData> terms = new ConcurrentHashMap<>();
+
+    public ConflictDetector(DataSource dataSource, TimetableCache timetables) {
+        this.dataSource = dataSource;
+        this.timetables = timetables;
+        this.versions = new TableVersion(dataSource, TableVersion.TAKES, TableVersion.SECTION);
+    }
+
+    // =======================================================
+    // 적재
+    // =======================================================
+    public void loadTerm(int term) throws SQLException {
+        loadTerm(term, null);
+    }
+
+    // snapshot이 있으면 수강(TAKES ⨝ SECTION)과 단건 일정은 스냅샷에서 읽습니다. (따라잡기가 끝난 스냅샷이어야 함)
+    public void loadTerm(int term, TableSnapshot snapshot) throws SQLException {
+        AcademicTerm academicTerm = AcademicTerm.of(term);
+        Map<String, StudentTerm> students = new ConcurrentHashMap<>();
+        long version;
+
+        try (Connection conn = dataSource.getConnection()) {
+            if (snapshot != null) {
+                version = snapshot.version(TableVersion.TAKES, TableVersion.SECTION);
+                loadFromSnapshot(snapshot, term, academicTerm, students);
+            } else {
+                version = versions.read(conn); // 적재 쿼리보다 먼저 (도중의 변경은 다음 확인에서 다시 적재)
+                readTakes(conn, term, null, students);
+                readSchedules(conn, academicTerm, null, students);
+            }
+            readSeries(conn, academicTerm, null, students);
+        }
+        terms.put(term, new TermData(version, students));
+    }
+
+    // 일정/반복 일정을 바꾼 뒤 그 학생만 다시 읽음 (이미 적재된 학기만, 커밋한 커넥션을 그대로 사용)
+    // 읽지 못하면 학기를 버려 다음 조회 때 전체를 다시 읽습니다.
+    public void refreshStudent(Connection conn, String studentId) {
+        for (Map.Entry<Integer, TermData> e : terms.entrySet()) {
+            int term = e.getKey();
+            AcademicTerm academicTerm = AcademicTerm.of(term);
+            Map<String, StudentTerm> one = new HashMap<>();
+            try {
+                readTakes(conn, term, studentId, one);
+                readSchedules(conn, academicTerm, studentId, one);
+                readSeries(conn, academicTerm, studentId, one);
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                terms.remove(term);
+                continue;
+            }
+            StudentTerm st = one.get(studentId);
+            if (st == null) e.getValue().students().remove(studentId);
+            else e.getValue().students().put(studentId, st);
+        }
+    }
+
+    // 이하 studentId가 null이면 학기 전체
+    private void readTakes(Connection conn, int term, String studentId, Map<String, StudentTerm> students)
+            throws SQLException {
+        String sql = "SELECT t.student_id, t.course_id, t.section_id, se.time " +
+                "FROM takes t, section se " +
+                "WHERE t.course_id = se.course_id AND t.section_id = se.section_id AND se.academic_term = ?" +
+                (studentId == null ? "" : " AND t.student_id = ?");
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, term);
+            if (studentId != null) pstmt.setString(2, studentId);
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String courseId = rs.getString("course_id");
+                    String sectionId = rs.getString("section_id");
+                    WeeklyTimetable tt = timetables.getIfPresent(courseId, sectionId, term);
+                    if (tt == null) tt = timetables.put(courseId, sectionId, term, rs.getString("time"));
+                    students.computeIfAbsent(rs.getString("student_id"), k -> new StudentTerm())
+                            .enrollments.add(new Enrollment(courseId, sectionId, tt));
+                }
+            }
+        }
+    }
+
+    private static void readSchedules(Connection conn, AcademicTerm academicTerm, String studentId,
+                                      Map<String, StudentTerm> students) throws SQLException {
+        String sql = "SELECT schedule_id, student_id, title, start_time, end_time " +
+                "FROM schedule WHERE start_time < ? AND end_time >= ?" +
+                (studentId == null ? "" : " AND student_id = ?");
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(academicTerm.endDate().plusDays(1).atStartOfDay()));
+            pstmt.setTimestamp(2, Timestamp.valueOf(academicTerm.startDate().atStartOfDay()));
+            if (studentId != null) pstmt.setString(3, studentId);
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    StudentTerm st = students.computeIfAbsent(rs.getString("student_id"), k -> new StudentTerm());
+                    st.schedules.addAll(segments(academicTerm, rs.getLong("schedule_id"), rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(),
+                            rs.getTimestamp("end_time").toLocalDateTime()));
+                }
+            }
+        }
+    }
+
+    private static void readSeries(Connection conn, AcademicTerm academicTerm, String studentId,
+                                   Map<String, StudentTerm> students) throws SQLException {
+        LocalDateTime termStart = academicTerm.startDate().atStartOfDay();
+        LocalDateTime termEnd = academicTerm.endDate().plusDays(1).atStartOfDay();
+        List<ScheduleSeries> list = studentId == null
+                ? ScheduleSeries.overlapping(conn, termStart, termEnd)
+                : ScheduleSeries.forStudent(conn, studentId, termStart, termEnd);
+        for (ScheduleSeries series : list) {
+            ScheduleSegment merged = seriesSegment(academicTerm, series, termStart, termEnd);
+            if (merged != null) {
+                students.computeIfAbsent(series.studentId(), k -> new StudentTerm()).schedules.add(merged);
+            }
+        }
+    }
+
+    private void loadFromSnapshot(TableSnapshot snapshot, int term, AcademicTerm academicTerm,
+                                  Map<String, StudentTerm> students) {
+        Map<String, String> times = new HashMap<>(); // 이 학기 분반: course_id + '\0' + section_id → time
+        for (int i = 0, n = snapshot.sectionCount(); i < n; i++) {
+            if (snapshot.sectionTerm(i) == term) {
+                times.put(snapshot.sectionCourse(i) + '\0' + snapshot.sectionSection(i), snapshot.sectionTime(i));
+            }
+        }
+        for (int i = 0, n = snapshot.takesCount(); i < n; i++) {
+            String courseId = snapshot.takesCourse(i);
+            String sectionId = snapshot.takesSection(i);
+            String time = times.get(courseId + '\0' + sectionId);
+            if (time == null) continue;
+            WeeklyTimetable tt = timetables.getIfPresent(courseId, sectionId, term);
+            if (tt == null) tt = timetables.put(courseId, sectionId, term, time);
+            students.computeIfAbsent(snapshot.studentId(snapshot.takesStudent(i)), k -> new StudentTerm())
+                    .enrollments.add(new Enrollment(courseId, sectionId, tt));
+        }
+        LocalDateTime termStart = academicTerm.startDate().atStartOfDay();
+        LocalDateTime termEnd = academicTerm.endDate().plusDays(1).atStartOfDay();
+        for (int ord = 0, n = snapshot.studentCount(); ord < n; ord++) {
+            for (ScheduleIndex.Entry e : snapshot.schedules(ord)) {
+                if (!e.start().isBefore(termEnd) || e.end().isBefore(termStart)) continue;
+                students.computeIfAbsent(e.studentId(), k -> new StudentTerm())
+                        .schedules.addAll(segments(academicTerm, e.scheduleId(), e.title(), e.start(), e.end()));
+            }
+        }
+    }
+
+    // 적재 전이거나 TAKES/SECTION이 바뀌었으면 다시 적재
+    private Map<String, StudentTerm> termData(int term) throws SQLException {
+        TermData data = terms.get(term);
+        if (data == null || data.version() != versions.current()) {
+            loadTerm(term);
+            data = terms.get(term);
+        }
+        return data.students();
+    }
+
+    // 일정을 학기 안의 날짜별 주간 시간표 조각으로 나눕니다. (길이 0인 일정은 충돌 대상 아님)
+    private static List<ScheduleSegment> segments(AcademicTerm term, long id, String title,
+                                                  LocalDateTime start, LocalDateTime end) {
+        List<ScheduleSegment> result = new ArrayList<>();
+        LocalDate date = start.toLocalDate();
+        while (!date.isAfter(end.toLocalDate())) {
+            if (term.contains(date)) {
+                LocalDateTime dayStart = date.atStartOfDay();
+                int from = start.isAfter(dayStart) ? start.getHour() * 60 + start.getMinute() : 0;
+                int to = end.isBefore(dayStart.plusDays(1)) ? end.getHour() * 60 + end.getMinute() : 24 * 60;
+                WeeklyTimetable tt = WeeklyTimetable.of(date.getDayOfWeek(), from, to);
+                if (!tt.isEmpty()) result.add(new ScheduleSegment(id, title, start, tt));
+            }
+            date = date.plusDays(1);
+        }
+        return result;
+    }
+
+    // 반복 일정의 학기 안 발생을 한 주간 시간표로 합침 (학기 안에 발생이 없으면 null)
+    private static ScheduleSegment seriesSegment(AcademicTerm term, ScheduleSeries series,
+                                                 LocalDateTime termStart, LocalDateTime termEnd) {
+        WeeklyTimetable union = WeeklyTimetable.EMPTY;
+        LocalDateTime first = null;
+        Iterator<ScheduleIndex.Entry> it = series.occurrences(termStart, termEnd);
+        while (it.hasNext()) {
+            ScheduleIndex.Entry e = it.next();
+            for (ScheduleSegment s : segments(term, series.seriesId(), series.title(), e.start(), e.end())) {
+                union = union.union(s.timetable());
+                if (first == null) first = e.start();
+            }
+        }
+        if (first == null) return null;
+        return new ScheduleSegment(series.seriesId(), series.title() + " [" + series.rule().describe() + "]", first, union);
+    }
+
+    // =======================================================
+    // 전체 검사 (학생별 병렬)
+    // =======================================================
+    public List<Conflict> detectAll(int term) throws SQLException {
+        Map<String, StudentTerm> students = termData(term);
+        return students.entrySet().parallelStream()
+                .flatMap(e -> check(e.getKey(), e.getValue()).stream())
+                .sorted(Comparator.comparing(Conflict::studentId))
+                .toList();
+    }
+
+    private static List<Conflict> check(String studentId, StudentTerm st) {
+        List<Conflict> result = new ArrayList<>();
+        List<Enrollment> enrollments = st.enrollments;
+        for (int i = 0; i < enrollments.size(); i++) {
+            Enrollment a = enrollments.get(i);
+            for (int j = i + 1; j < enrollments.size(); j++) {
+                Enrollment b = enrollments.get(j);
+                if (a.timetable().overlaps(b.timetable())) {
+                    result.add(new Conflict(studentId, Kind.SECTION_SECTION, a.label(), b.label(),
+                            a.timetable().intersect(b.timetable()).toString()));
+                }
+            }
+            for (ScheduleSegment s : st.schedules) {
+                if (a.timetable().overlaps(s.timetable())) {
+                    result.add(new Conflict(studentId, Kind.SECTION_SCHEDULE, a.label(), s.label(),
+                            a.timetable().intersect(s.timetable()).toString()));
+                }
+            }
+        }
+        return result;
+    }
+
+    // =======================================================
+    // 학생 한 명 증분 검사
+    // =======================================================
+    // 분반을 추가로 수강하면 생기는 충돌 (이미 수강 중인 같은 분반은 제외)
+    public List<Conflict> checkAddSection(int term, String studentId, String courseId, String sectionId)
+            throws SQLException {
+        Map<String, StudentTerm> students = termData(term);
+        Enrollment candidate = new Enrollment(courseId, sectionId, timetables.get(courseId, sectionId, term));
+        StudentTerm st = students.get(studentId);
+        if (st == null) return List.of();
+
+        List<Conflict> result = new ArrayList<>();
+        for (Enrollment e : st.enrollments) {
+            if (e.courseId().equals(courseId) && e.sectionId().equals(sectionId)) continue;
+            if (candidate.timetable().overlaps(e.timetable())) {
+                result.add(new Conflict(studentId, Kind.SECTION_SECTION, candidate.label(), e.label(),
+                        candidate.timetable().intersect(e.timetable()).toString()));
+            }
+        }
+        for (ScheduleSegment s : st.schedules) {
+            if (candidate.timetable().overlaps(s.timetable())) {
+                result.add(new Conflict(studentId, Kind.SECTION_SCHEDULE, candidate.label(), s.label(),
+                        candidate.timetable().intersect(s.timetable()).toString()));
+            }
+        }
+        return result;
+    }
+
+    // 개인 일정을 추가하면 겹치는 수업
+    public List<Conflict> checkAddSchedule(int term, String studentId, String title,
+                                           LocalDateTime start, LocalDateTime end) throws SQLException {
+        Map<String, StudentTerm> students = termData(term);
+        StudentTerm st = students.get(studentId);
+        if (st == null) return List.of();
+
+        List<Conflict> result = new ArrayList<>();
+        for (ScheduleSegment s : segments(AcademicTerm.of(term), 0, title, start, end)) {
+            for (Enrollment e : st.enrollments) {
+                if (e.timetable().overlaps(s.timetable())) {
+                    result.add(new Conflict(studentId, Kind.SECTION_SCHEDULE, e.label(), title + " (" + start.toLocalDate() + ")",
+                            e.timetable().intersect(s.timetable()).toString()));
+                }
+            }
+        }
+        return result;
+    }
+
+    // 반복 일정을 추가하면 겹치는 수업 (학기 안의 발생만)
+    public List<Conflict> checkAddSeries(int term, ScheduleSeries series) throws SQLException {
+        Map<String, StudentTerm> students = termData(term);
+        StudentTerm st = students.get(series.studentId());
+        if (st == null) return List.of();
+        AcademicTerm academicTerm = AcademicTerm.of(term);
+        ScheduleSegment segment = seriesSegment(academicTerm, series, academicTerm.startDate().atStartOfDay(),
+                academicTerm.endDate().plusDays(1).atStartOfDay());
+        if (segment == null) return List.of();
+
+        List<Conflict> result = new ArrayList<>();
+        for (Enrollment e : st.enrollments) {
+            if (e.timetable().overlaps(segment.timetable())) {
+                result.add(new Conflict(series.studentId(), Kind.SECTION_SCHEDULE, e.label(), segment.label(),
+                        e.timetable().intersect(segment.timetable()).toString()));
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(int term) {
+        terms.remove(term);
+    }
+
+    public void invalidateAll() {
+        terms.clear();
+    }
+}
@@ -0,0 +1,421 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+// 고정 상한을 가진 JDBC 커넥션 풀
+// - min/max 크기, 유휴 커넥션 정리, 대여 시 검증, 대여 대기 시간 제한, 누수 감지
+// - 대기자 수 상한(maxWaiters): 이미 그만큼 기다리고 있으면 기다리지 않고 SaturatedException.
+//   요청 수가 아니라 DB를 쓰는 요청의 대기열만 묶으므로, 메모리 캐시로 답하는 요청은 DB가 밀려도 거절되지 않습니다.
+// - 대여한 Connection의 close()는 실제로 닫지 않고 풀에 반납합니다.
+// - 물리 커넥션마다 PreparedStatement 캐시(StatementCache)를 둡니다.
+public class ConnectionPool implements DataSource, AutoCloseable {
+    // 최근에 사용된 커넥션은 검증(isValid 왕복)을 생략하는 구간
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SEC = 3;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+    private final int maxWaiters;
+    private final long leakThresholdMs;
+    private final int statementCacheSize;
+
+    // 대여 가능 수 = maxSize - 대여 중인 수. 대기자 수는 세마포어 큐 길이로 확인합니다.
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger(); // 상한 판단용 (큐 길이는 추정값이라 따로 셈)
+    // 앞쪽이 가장 최근 반납된 커넥션 (LIFO), 뒤쪽부터 유휴 정리
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder borrowRejected = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String user, String password,
+                          int minIdle, int maxSize,
+                          long idleTimeoutMs, long borrowTimeoutMs, int maxWaiters, long leakThresholdMs,
+                          int statementCacheSize) {
+        if (maxSize <= 0 || minIdle < 0 || minIdle > maxSize || maxWaiters < 0) {
+            throw new IllegalArgumentException("잘못된 풀 크기: min=" + minIdle + ", max=" + maxSize + ", maxWaiters=" + maxWaiters);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.maxWaiters = maxWaiters;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(30_000, idleTimeoutMs / 2));
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinIdle();
+    }
+
+    // =======================================================
+    // 대여 / 반납
+    // =======================================================
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("커넥션 풀이 종료되었습니다.");
+
+        long start = System.nanoTime();
+        try {
+            // 바로 빌릴 수 있으면 대기자로 세지 않음 (시간 0의 tryAcquire는 공정성을 지켜 앞선 대기자를 앞지르지 않음)
+            if (!permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                if (waiting.incrementAndGet() > maxWaiters) {
+                    waiting.decrementAndGet();
+                    borrowRejected.increment();
+                    QueryTrace.addFailure();
+                    throw new SaturatedException("커넥션 대기자 상한 초과 (대기자 " + maxWaiters + "명)");
+                }
+                try {
+                    if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        borrowTimeouts.increment();
+                        QueryTrace.addFailure();
+                        throw new SQLTimeoutException("커넥션 대기 시간 초과 (" + borrowTimeoutMs + "ms, 대기자 "
+                                + permits.getQueueLength() + "명)");
+                    }
+                } finally {
+                    waiting.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("커넥션 대기 중 인터럽트 발생", e);
+        }
+
+        try {
+            PooledConnection pc = takeValidIdle();
+            if (pc == null) pc = open();
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = leakThresholdMs > 0 ? new Throwable("커넥션 대여 위치") : null;
+            pc.leakReported = false;
+            active.add(pc);
+            long waited = System.nanoTime() - start;
+            borrowWait.record(waited);
+            QueryTrace.addBorrow(waited);
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 유휴 커넥션 중 유효한 것을 하나 꺼냅니다. 없으면 null
+    private PooledConnection takeValidIdle() {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            if (isAlive(pc)) return pc;
+            discard(pc);
+        }
+        return null;
+    }
+
+    private boolean isAlive(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsedAt < VALIDATION_BYPASS_MS) return true;
+        try {
+            return pc.raw.isValid(VALIDATION_TIMEOUT_SEC);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection raw = DriverManager.getConnection(url, user, password);
+        raw.setAutoCommit(false); // 트랜잭션 관리를 위해 AutoCommit 해제
+        total.incrementAndGet();
+        created.increment();
+        return new PooledConnection(raw);
+    }
+
+    private void release(PooledConnection pc) {
+        active.remove(pc);
+        try {
+            pc.statements.release(); // 닫지 않은 statement가 남아 있으면 되돌림 (연결 오류면 여기서 broken 표시)
+            if (closed || pc.broken || pc.raw.isClosed()) {
+                discard(pc);
+                return;
+            }
+            // 커밋되지 않은 작업은 다음 사용자에게 넘기지 않습니다.
+            if (!pc.raw.getAutoCommit()) pc.raw.rollback();
+            else pc.raw.setAutoCommit(false);
+            pc.raw.clearWarnings();
+            pc.lastUsedAt = System.currentTimeMillis();
+            pc.borrowSite = null;
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            discard(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        total.decrementAndGet();
+        pc.statements.clear();
+        try {
+            pc.raw.close();
+        } catch (SQLException e) {
+            // 이미 끊어진 커넥션은 무시
+        }
+    }
+
+    // =======================================================
+    // 주기 작업: 유휴 정리, 최소 유휴 수 유지, 누수 감지
+    // =======================================================
+    private void housekeep() {
+        if (closed) return;
+        long now = System.currentTimeMillis();
+
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastUsedAt > idleTimeoutMs && idle.remove(pc)) {
+                evicted.increment();
+                discard(pc);
+            }
+        }
+
+        fillToMinIdle();
+
+        if (leakThresholdMs > 0) {
+            for (PooledConnection pc : active) {
+                if (!pc.leakReported && now - pc.borrowedAt > leakThresholdMs) {
+                    pc.leakReported = true;
+                    leaksDetected.increment();
+                    System.out.println(">> 커넥션 누수 의심: " + (now - pc.borrowedAt) + "ms 동안 반납되지 않음");
+                    if (pc.borrowSite != null) pc.borrowSite.printStackTrace(System.out);
+                }
+            }
+        }
+    }
+
+    private void fillToMinIdle() {
+        while (!closed && idle.size() < minIdle && total.get() < maxSize) {
+            try {
+                PooledConnection pc = open();
+                pc.lastUsedAt = System.currentTimeMillis();
+                idle.offerLast(pc);
+            } catch (SQLException e) {
+                System.out.println(">> 커넥션 생성 실패: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) discard(pc);
+    }
+
+    // 대기자 상한에 걸려 기다리지 않고 거절됨 (잠시 뒤 다시 시도할 수 있는 과부하, REST는 503 + Retry-After)
+    public static class SaturatedException extends SQLTransientException {
+        private static final long serialVersionUID = 1L;
+
+        public SaturatedException(String message) {
+            super(message);
+        }
+    }
+
+    // =======================================================
+    // 통계
+    // =======================================================
+    public Stats getStats() {
+        return new Stats(total.get(), active.size(), idle.size(), permits.getQueueLength(),
+                minIdle, maxSize, maxWaiters, created.sum(), evicted.sum(), borrowTimeouts.sum(), borrowRejected.sum(),
+                leaksDetected.sum(),
+                statementHits.sum(), statementMisses.sum(), statementEvictions.sum(), borrowWait);
+    }
+
+    public LatencyHistogram getBorrowWaitHistogram() {
+        return borrowWait;
+    }
+
+    public record Stats(int total, int active, int idle, int waiters,
+                        int minIdle, int maxSize, int maxWaiters,
+                        long created, long evicted, long borrowTimeouts, long borrowRejected, long leaksDetected,
+                        long statementHits, long statementMisses, long statementEvictions,
+                        LatencyHistogram borrowWait) {
+        public double statementHitRatio() {
+            long n = statementHits + statementMisses;
+            return n == 0 ? 0 : (double) statementHits / n;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("total=%d active=%d idle=%d waiters=%d (min=%d, max=%d, maxWaiters=%d) created=%d evicted=%d timeouts=%d rejected=%d leaks=%d%n"
+                            + "  statement-cache: hits=%d misses=%d evictions=%d (hit ratio %.1f%%)%n"
+                            + "  borrow-wait: %s",
+                    total, active, idle, waiters, minIdle, maxSize, maxWaiters, created, evicted, borrowTimeouts, borrowRejected,
+                    leaksDetected,
+                    statementHits, statementMisses, statementEvictions, statementHitRatio() * 100,
+                    borrowWait.summary());
+        }
+    }
+
+    // =======================================================
+    // 풀링된 물리 커넥션과 대여용 프록시
+    // =======================================================
+    private final class PooledConnection {
+        final Connection raw;
+        final StatementCache statements;
+        volatile long lastUsedAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+        volatile boolean broken;
+
+        PooledConnection(Connection raw) {
+            this.raw = raw;
+            this.statements = new StatementCache(raw, statementCacheSize, statementHits, statementMisses, statementEvictions,
+                    () -> broken = true);
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(this));
+        }
+    }
+
+    // 대여 1회당 하나씩 생성됩니다. close() 이후의 호출은 물리 커넥션에 닿지 않습니다.
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean released;
+
+        Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pc.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pc.raw + "]";
+                default:
+                    break;
+            }
+            if (released) throw new SQLException("이미 풀에 반납된 커넥션입니다.");
+            try {
+                // prepareStatement(String)만 캐시를 거칩니다. (옵션이 붙은 오버로드는 그대로 전달)
+                if (method.getName().equals("prepareStatement") && args != null && args.length == 1) {
+                    return pc.statements.prepare((String) args[0]);
+                }
+                return method.invoke(pc.raw, args);
+            } catch (InvocationTargetException e) {
+                markIfBroken(e.getCause());
+                throw e.getCause();
+            } catch (SQLException e) {
+                markIfBroken(e);
+                throw e;
+            }
+        }
+
+        // SQLState 08xxx: 연결 오류 -> 반납 시 폐기 (statement 쪽 오류는 StatementCache가 같은 방법으로 표시)
+        private void markIfBroken(Throwable cause) {
+            if (StatementCache.isConnectionError(cause)) pc.broken = true;
+        }
+    }
+
+    // =======================================================
+    // DataSource 나머지 메소드
+    // =======================================================
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("풀은 고정된 계정만 지원합니다.");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("지원하지 않는 타입: " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -1,7 +1,6 @@
 package org.example.calendar;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
@@ -10,21 +9,98 @@ public class DBConnection {
     private static final String USER = "corn";
     private static final String PASSWD = "corn";
 
-    // 연결 객체를 반환하는 메소드
+    // 커넥션 풀 설정
+    private static final int POOL_MIN_IDLE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_IDLE_TIMEOUT_MS = 10 * 60 * 1000;
+    private static final long POOL_BORROW_TIMEOUT_MS = 5 * 1000;
+    // 커넥션 대기자 상한 (넘으면 기다리지 않고 거절, REST는 503). 커넥션 하나가 대여 대기 시간(5초) 안에
+    // 짧은 쿼리 수백 건을 처리하므로 커넥션당 100명이면 받아들인 요청은 대부분 시간 안에 커넥션을 얻습니다.
+    private static final int POOL_MAX_WAITERS = Integer.getInteger("calendar.pool.maxWaiters", POOL_MAX_SIZE * 100);
+    private static final long POOL_LEAK_THRESHOLD_MS = 60 * 1000;
+    private static final int POOL_STATEMENT_CACHE_SIZE = 50; // 커넥션당 캐시할 PreparedStatement 수
+
+    private static volatile ConnectionPool pool;
+    private static volatile ReferenceCache referenceCache;
+    private static volatile EventMonthIndex eventMonthIndex;
+    private static volatile EnrollmentAggregates enrollmentAggregates;
+
+    // 공유 커넥션 풀 (최초 호출 시 생성)
+    public static ConnectionPool getDataSource() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                p = pool;
+                if (p == null) {
+                    // 필요하다면 드라이버 로드: Class.forName("oracle.jdbc.driver.OracleDriver");
+                    p = new ConnectionPool(URL, USER, PASSWD, POOL_MIN_IDLE, POOL_MAX_SIZE,
+                            POOL_IDLE_TIMEOUT_MS, POOL_BORROW_TIMEOUT_MS, POOL_MAX_WAITERS, POOL_LEAK_THRESHOLD_MS,
+                            POOL_STATEMENT_CACHE_SIZE);
+                    pool = p;
+                    System.out.println(">> 커넥션 풀 생성 (min=" + POOL_MIN_IDLE + ", max=" + POOL_MAX_SIZE + ")");
+                }
+            }
+        }
+        return p;
+    }
+
+    // 공유 기준 정보 캐시 (REST 리소스용, 최초 호출 시 생성)
+    public static ReferenceCache getReferenceCache() {
+        ReferenceCache c = referenceCache;
+        if (c == null) {
+            synchronized (DBConnection.class) {
+                c = referenceCache;
+                if (c == null) {
+                    c = new ReferenceCache(getDataSource());
+                    referenceCache = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    // 공유 월별 행사 인덱스 (REST 리소스용, 최초 호출 시 생성)
+    public static EventMonthIndex getEventMonthIndex() {
+        EventMonthIndex i = eventMonthIndex;
+        if (i == null) {
+            synchronized (DBConnection.class) {
+                i = eventMonthIndex;
+                if (i == null) {
+                    i = new EventMonthIndex(getDataSource());
+                    eventMonthIndex = i;
+                }
+            }
+        }
+        return i;
+    }
+
+    // 공유 학기별 수강 집계 (REST 리소스용, 최초 호출 시 생성)
+    public static EnrollmentAggregates getEnrollmentAggregates() {
+        EnrollmentAggregates a = enrollmentAggregates;
+        if (a == null) {
+            synchronized (DBConnection.class) {
+                a = enrollmentAggregates;
+                if (a == null) {
+                    a = new EnrollmentAggregates(getDataSource());
+                    enrollmentAggregates = a;
+                }
+            }
+        }
+        return a;
+    }
+
+    // 풀에서 연결 객체를 대여하는 메소드 (close 하면 풀에 반납됩니다)
     public static Connection getConnection() {
         Connection conn = null;
         try {
-            // 필요하다면 드라이버 로드: Class.forName("oracle.jdbc.driver.OracleDriver");
-            conn = DriverManager.getConnection(URL, USER, PASSWD);
-            conn.setAutoCommit(false); // 트랜잭션 관리를 위해 AutoCommit 해제
-            System.out.println(">> DB 연결 성공!");
+            conn = getDataSource().getConnection();
         } catch (SQLException e) {
             System.out.println(">> DB 연결 실패: " + e.getMessage());
         }
         return conn;
     }
 
-    // 자원 해제 (닫기) 메소드
+    // 자원 해제 (반납) 메소드
     public static void close(Connection conn) {
         try {
             if (conn != null && !conn.isClosed()) {
@@ -34,4 +110,15 @@ public class DBConnection {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    // 프로그램 종료 시 풀의 물리 커넥션을 모두 닫습니다.
+    public static void shutdown() {
+        SlowQueryLog.flush(1000); // 남은 느린 쿼리 로그를 파일에 씀
+        synchronized (DBConnection.class) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 학기별 수강 집계 (분반별 인원, 과목별 인원, 학생별 총 학점)
+// - 학기마다 COURSE ⨝ SECTION ⨝ TAKES ⨝ STUDENT 를 한 번 읽어 카운터를 만들고, 그 뒤의 신청/취소는 행 단위로 +1/-1 합니다.
+//   콘솔(Manager)의 신청/취소는 커밋 직후 onChange()로, 웹(Next.js) 등 다른 쓰기는 조회 전 TableVersion으로 변경을 확인해
+//   TakesChangeLog에서 적재 뒤의 변경만 읽습니다.
+// - 학생 표가 바뀌면 이름만 다시 읽고, 분반/과목 자체가 바뀌었거나(학기 소속, 학점) 변경 로그가 끊겼을 때만 그 학기를 다시 읽습니다.
+// - 통계/순위 화면은 DB 집계 없이 메모리 카운터에서 정렬(상위 K개는 크기 K 힙)해 돌려줍니다.
+public class EnrollmentAggregates {
+    public record CourseCount(String courseId, String title, int credits, int count) {
+    }
+
+    public record SectionCount(String courseId, String sectionId, int count) {
+    }
+
+    public record StudentCredits(String studentId, String name, int credits) {
+    }
+
+    private record CourseInfo(String title, int credits) {
+    }
+
+    private record SectionKey(String courseId, String sectionId) {
+    }
+
+    // 카운터는 lock의 쓰기 잠금 안에서만, 위치/변경 표시는 loadLock 안에서만 바꿉니다.
+    private static final class TermAggregates {
+        final Set<SectionKey> sections = new HashSet<>(); // 이 학기의 분반 (변경 로그에서 이 학기 것만 고름)
+        final Map<SectionKey, Integer> sectionCounts = new HashMap<>();
+        final Map<String, Integer> courseCounts = new HashMap<>();
+        final Map<String, Integer> studentCredits = new HashMap<>();
+        final Map<String, Integer> studentSections = new HashMap<>(); // 학생별 수강 분반 수 (0이 되면 학점 순위에서 뺌)
+        volatile long version;   // 마지막으로 확인한 TAKES + SECTION + COURSE + STUDENT 변경 표시
+        long reference;          // SECTION + COURSE
+        long students;           // STUDENT
+        TakesChangeLog.Position position;
+    }
+
+    private final DataSource dataSource;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock(); // 적재/따라잡기 중복 방지 (가상 스레드 고정을 피하려고 synchronized 대신 사용)
+    private final Map<Integer, TermAggregates> terms = new ConcurrentHashMap<>();
+    // 집계에 필요한 참조 정보 (적재 시 함께 채움)
+    private final Map<String, CourseInfo> courses = new ConcurrentHashMap<>();
+    private final Map<String, String> studentNames = new ConcurrentHashMap<>();
+    private final TableVersion versions;
+    private final TableVersion referenceVersion;
+    private final TableVersion studentVersion;
+
+    public EnrollmentAggregates(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.versions = new TableVersion(dataSource,
+                TableVersion.TAKES, TableVersion.SECTION, TableVersion.COURSE, TableVersion.STUDENT);
+        this.referenceVersion = new TableVersion(dataSource, TableVersion.SECTION, TableVersion.COURSE);
+        this.studentVersion = new TableVersion(dataSource, TableVersion.STUDENT);
+    }
+
+    // =======================================================
+    // 적재
+    // =======================================================
+    public void loadTerm(int term) throws SQLException {
+        loadLock.lock();
+        try {
+            load(term);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // loadLock 안에서
+    private TermAggregates load(int term) throws SQLException {
+        TermAggregates agg = new TermAggregates();
+        try (Connection conn = dataSource.getConnection()) {
+            // 변경 표시와 위치를 적재 쿼리와 같은 시점에서 (그 뒤의 변경은 다음 확인에서 변경 로그로 반영)
+            TakesChangeLog.beginConsistentRead(conn);
+            agg.version = versions.read(conn);
+            agg.reference = referenceVersion.read(conn);
+            agg.students = studentVersion.read(conn);
+            agg.position = TakesChangeLog.read(conn);
+            // 학점/과목명은 수강생이 없는 과목도 있으므로 SECTION 기준으로 먼저 읽습니다.
+            String sectionSql = "SELECT se.course_id, se.section_id, c.title, c.credits " +
+                    "FROM section se, course c WHERE se.course_id = c.course_id AND se.academic_term = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sectionSql)) {
+                pstmt.setInt(1, term);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        String courseId = rs.getString("course_id");
+                        courses.put(courseId, new CourseInfo(rs.getString("title"), rs.getInt("credits")));
+                        agg.sections.add(new SectionKey(courseId, rs.getString("section_id")));
+                    }
+                }
+            }
+
+            String takesSql = "SELECT t.student_id, s.name, t.course_id, t.section_id " +
+                    "FROM takes t, section se, student s " +
+                    "WHERE t.course_id = se.course_id AND t.section_id = se.section_id " +
+                    "AND t.student_id = s.student_id AND se.academic_term = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(takesSql)) {
+                pstmt.setInt(1, term);
+                pstmt.setFetchSize(1000);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        String studentId = rs.getString("student_id");
+                        studentNames.put(studentId, rs.getString("name"));
+                        add(agg, studentId, rs.getString("course_id"), rs.getString("section_id"), 1);
+                    }
+                }
+            }
+        }
+        terms.put(term, agg); // 통째로 교체 (읽는 쪽은 이전 객체를 끝까지 봄)
+        return agg;
+    }
+
+    // 처음이면 적재, 적재 뒤 TAKES/SECTION/COURSE/STUDENT가 바뀌었으면 변경을 반영
+    private TermAggregates termData(int term) throws SQLException {
+        TermAggregates agg = terms.get(term);
+        if (agg != null && agg.version == versions.current()) return agg;
+        loadLock.lock();
+        try {
+            agg = terms.get(term);
+            if (agg == null) return load(term);
+            if (agg.version != versions.current()) return catchUp(term, agg);
+            return agg;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // 변경 로그에서 적재 뒤의 수강 변경만 읽어 +1/-1 (분반/과목이 바뀌었거나 로그가 끊겼으면 그 학기를 다시 적재)
+    private TermAggregates catchUp(int term, TermAggregates agg) throws SQLException {
+        long version;
+        long students;
+        TakesChangeLog.Position now;
+        List<TakesChangeLog.Change> changes;
+        Map<String, String> names = null;
+        try (Connection conn = dataSource.getConnection()) {
+            version = versions.read(conn); // 다음 확인의 기준 (위치보다 먼저 읽으므로 사이의 변경은 다음 확인에서 잡힘)
+            long reference = referenceVersion.read(conn);
+            students = studentVersion.read(conn);
+            now = TakesChangeLog.read(conn);
+            changes = reference == agg.reference ? TakesChangeLog.since(conn, agg.position, now) : null;
+            if (changes != null && students != agg.students) names = readNames(conn);
+            else if (changes != null) names = readNames(conn, changes);
+        }
+        if (changes == null) return load(term);
+
+        boolean applied;
+        lock.writeLock().lock();
+        try {
+            if (names != null) studentNames.putAll(names);
+            applied = apply(agg, changes);
+            if (applied) {
+                agg.version = version;
+                agg.position = now;
+                agg.students = students;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return applied ? agg : load(term); // 메모리와 로그가 맞지 않음 (음수 인원)
+    }
+
+    // 처음 수강하는 학생의 이름만 (적재할 때 수강 기록이 없어 이름을 모름)
+    private Map<String, String> readNames(Connection conn, List<TakesChangeLog.Change> changes) throws SQLException {
+        Map<String, String> names = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT name FROM student WHERE student_id = ?")) {
+            for (TakesChangeLog.Change c : changes) {
+                if (c.delta() <= 0 || studentNames.containsKey(c.studentId()) || names.containsKey(c.studentId())) continue;
+                pstmt.setString(1, c.studentId());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) names.put(c.studentId(), rs.getString("name"));
+                }
+            }
+        }
+        return names;
+    }
+
+    private Map<String, String> readNames(Connection conn) throws SQLException {
+        Map<String, String> names = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT student_id, name FROM student")) {
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) names.put(rs.getString("student_id"), rs.getString("name"));
+            }
+        }
+        return names;
+    }
+
+    // 콘솔(Manager)이 커밋한 자기 신청/취소 한 건을 적재된 학기에 바로 반영
+    // stamp가 학기의 위치 바로 다음 번호가 아니면(사이에 다른 쓰기가 있음) 다음 확인 때 변경 로그로 함께 반영합니다.
+    public void onChange(TakesChangeLog.Stamp stamp, TakesChangeLog.Change change) {
+        if (stamp == null) return;
+        loadLock.lock();
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Integer, TermAggregates> e : terms.entrySet()) {
+                TermAggregates agg = e.getValue();
+                TakesChangeLog.Position next = agg.position.advance(stamp);
+                if (next == null) continue;
+                if (apply(agg, List.of(change))) agg.position = next;
+                else terms.remove(e.getKey()); // 다음 조회에서 다시 적재
+            }
+        } finally {
+            lock.writeLock().unlock();
+            loadLock.unlock();
+        }
+    }
+
+    // 쓰기 잠금 안에서. 이 학기 분반의 변경만 반영하고, 인원이 음수가 되면 아무것도 바꾸지 않고 false
+    private boolean apply(TermAggregates agg, List<TakesChangeLog.Change> changes) {
+        List<TakesChangeLog.Change> inTerm = new ArrayList<>();
+        Map<SectionKey, Integer> sectionAfter = new HashMap<>();
+        Map<String, Integer> studentAfter = new HashMap<>();
+        for (TakesChangeLog.Change c : changes) {
+            SectionKey key = new SectionKey(c.courseId(), c.sectionId());
+            if (!agg.sections.contains(key)) continue;
+            int section = sectionAfter.getOrDefault(key, agg.sectionCounts.getOrDefault(key, 0)) + c.delta();
+            int student = studentAfter.getOrDefault(c.studentId(), agg.studentSections.getOrDefault(c.studentId(), 0)) + c.delta();
+            if (section < 0 || student < 0) return false;
+            sectionAfter.put(key, section);
+            studentAfter.put(c.studentId(), student);
+            inTerm.add(c);
+        }
+        for (TakesChangeLog.Change c : inTerm) add(agg, c.studentId(), c.courseId(), c.sectionId(), c.delta());
+        return true;
+    }
+
+    private void add(TermAggregates agg, String studentId, String courseId, String sectionId, int delta) {
+        CourseInfo course = courses.get(courseId);
+        int credits = course == null ? 0 : course.credits();
+        merge(agg.sectionCounts, new SectionKey(courseId, sectionId), delta);
+        merge(agg.courseCounts, courseId, delta);
+        if (merge(agg.studentSections, studentId, delta) == null) agg.studentCredits.remove(studentId);
+        else agg.studentCredits.merge(studentId, credits * delta, Integer::sum);
+    }
+
+    // 0이 되면 지우고 null
+    private static <K> Integer merge(Map<K, Integer> counts, K key, int delta) {
+        return counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    public void invalidate(int term) {
+        terms.remove(term);
+    }
+
+    // =======================================================
+    // 보고서
+    // =======================================================
+    // 과목별 수강생 수 (많은 순)
+    public List<CourseCount> courseStats(int term) throws SQLException {
+        return popularCourses(term, 1);
+    }
+
+    // 수강생 수가 minCount 이상인 과목 (많은 순)
+    public List<CourseCount> popularCourses(int term, int minCount) throws SQLException {
+        TermAggregates agg = termData(term);
+        List<CourseCount> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Integer> e : agg.courseCounts.entrySet()) {
+                if (e.getValue() < minCount) continue;
+                CourseInfo course = courses.get(e.getKey());
+                result.add(new CourseCount(e.getKey(), course == null ? e.getKey() : course.title(),
+                        course == null ? 0 : course.credits(), e.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingInt(CourseCount::count).reversed().thenComparing(CourseCount::courseId));
+        return result;
+    }
+
+    // 분반별 수강 인원 (많은 순)
+    public List<SectionCount> sectionRanking(int term) throws SQLException {
+        TermAggregates agg = termData(term);
+        List<SectionCount> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<SectionKey, Integer> e : agg.sectionCounts.entrySet()) {
+                result.add(new SectionCount(e.getKey().courseId(), e.getKey().sectionId(), e.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingInt(SectionCount::count).reversed()
+                .thenComparing(SectionCount::courseId).thenComparing(SectionCount::sectionId));
+        return result;
+    }
+
+    // 총 수강 학점 상위 k명 (크기 k 최소 힙으로 선택 후 정렬)
+    public List<StudentCredits> topCredits(int term, int k) throws SQLException {
+        TermAggregates agg = termData(term);
+        Comparator<StudentCredits> order = Comparator.comparingInt(StudentCredits::credits)
+                .thenComparing(StudentCredits::studentId, Comparator.reverseOrder());
+        PriorityQueue<StudentCredits> heap = new PriorityQueue<>(k + 1, order);
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Integer> e : agg.studentCredits.entrySet()) {
+                StudentCredits candidate = new StudentCredits(e.getKey(), studentNames.get(e.getKey()), e.getValue());
+                if (heap.size() < k) {
+                    heap.add(candidate);
+                } else if (order.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<StudentCredits> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,329 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 과목별 수강생 비트맵 인덱스 (UNION / MINUS / INTERSECT 질의용)
+// - 학생을 학번 순서의 조밀한 번호(0, 1, 2, ...)로 바꾸고, 과목마다 수강생 번호의 BitSet을 둡니다.
+//   번호가 조밀하므로 과목당 (학생 수 / 8) 바이트 이하이며, BitSet은 끝의 0 워드를 저장하지 않습니다.
+// - STUDENT, TAKES를 한 번씩 읽어 만듭니다. 그 뒤의 수강 신청/취소는 행 단위로 반영합니다.
+//   콘솔(Manager)의 신청/취소는 커밋 직후 onChange()로, 웹(Next.js) 등 다른 쓰기는 조회 전 TableVersion으로 변경을 확인해
+//   TakesChangeLog에서 적재 뒤의 변경만 읽습니다. 학생 표가 바뀌었거나(번호를 다시 매겨야 함) 변경 로그가 끊겼을 때만 다시 적재합니다.
+// - 임의 개수 과목에 대한 합/차/교집합을 DB 왕복 없이 OR / AND-NOT / AND 로 계산합니다.
+public class EnrollmentIndex {
+    public record Student(String studentId, String name) {
+    }
+
+    private final DataSource dataSource;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock(); // 최초 적재 중복 방지 (가상 스레드 고정을 피하려고 synchronized 대신 사용)
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Student> students = new ArrayList<>();
+    private final Map<String, BitSet> courses = new HashMap<>();
+    // 같은 과목을 여러 분반(학기)에서 수강한 경우의 분반 수 (2 이상만 기록, 키: course_id + '\0' + 번호)
+    private final Map<String, Integer> multiSection = new HashMap<>();
+    private final TableVersion versions;
+    private final TableVersion studentVersion;
+    private volatile boolean loaded;
+    private volatile long loadedVersion = -1; // 마지막으로 확인한 STUDENT + TAKES 변경 표시
+    // 반영한 TAKES 변경 위치와 STUDENT 변경 표시 (스냅샷에서 적재했으면 첫 확인 전까지 null / -1, loadLock 안에서만 바꿈)
+    private TakesChangeLog.Position position;
+    private long studentsAt = -1;
+
+    public EnrollmentIndex(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.versions = new TableVersion(dataSource, TableVersion.STUDENT, TableVersion.TAKES);
+        this.studentVersion = new TableVersion(dataSource, TableVersion.STUDENT);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // 전체 재구성 (학생 번호는 학번 순서)
+    public void load() throws SQLException {
+        Map<String, Integer> newOrdinals = new HashMap<>();
+        List<Student> newStudents = new ArrayList<>();
+        Map<String, BitSet> newCourses = new HashMap<>();
+        Map<String, Integer> newMulti = new HashMap<>();
+
+        long version;
+        long student;
+        TakesChangeLog.Position takes;
+        try (Connection conn = dataSource.getConnection()) {
+            // 변경 표시와 위치를 적재 쿼리와 같은 시점에서 (그 뒤의 변경은 다음 확인에서 변경 로그로 반영)
+            TakesChangeLog.beginConsistentRead(conn);
+            version = versions.read(conn);
+            student = studentVersion.read(conn);
+            takes = TakesChangeLog.read(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT student_id, name FROM student ORDER BY student_id")) {
+                pstmt.setFetchSize(1000);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        newOrdinals.put(rs.getString("student_id"), newStudents.size());
+                        newStudents.add(new Student(rs.getString("student_id"), rs.getString("name")));
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT student_id, course_id FROM takes")) {
+                pstmt.setFetchSize(1000);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Integer ord = newOrdinals.get(rs.getString("student_id"));
+                        if (ord == null) continue;
+                        String courseId = rs.getString("course_id");
+                        BitSet bits = newCourses.computeIfAbsent(courseId, k -> new BitSet(newStudents.size()));
+                        if (bits.get(ord)) newMulti.merge(courseId + '\0' + ord, 2, (a, b) -> a + 1);
+                        else bits.set(ord);
+                    }
+                }
+            }
+        }
+
+        install(newOrdinals, newStudents, newCourses, newMulti, version, takes, student);
+    }
+
+    // 스냅샷에서 재구성 (스냅샷의 학생 번호도 학번 순서라 그대로 사용, DB 조회 없음)
+    // 변경 표시는 스냅샷에 기록된 값을 씁니다. (만들 때 조회보다 먼저 읽은 값)
+    // 스냅샷에는 슬롯별 TAKES 위치가 없으므로, 첫 확인 때 DB가 그대로면 그 위치를 쓰고 바뀌었으면 다시 적재합니다.
+    public void load(TableSnapshot snapshot) {
+        Map<String, Integer> newOrdinals = new HashMap<>();
+        List<Student> newStudents = new ArrayList<>(snapshot.studentCount());
+        Map<String, BitSet> newCourses = new HashMap<>();
+        Map<String, Integer> newMulti = new HashMap<>();
+
+        for (int i = 0, n = snapshot.studentCount(); i < n; i++) {
+            String studentId = snapshot.studentId(i);
+            newOrdinals.put(studentId, i);
+            newStudents.add(new Student(studentId, snapshot.studentName(i)));
+        }
+        for (int i = 0, n = snapshot.takesCount(); i < n; i++) {
+            int ord = snapshot.takesStudent(i);
+            String courseId = snapshot.takesCourse(i);
+            BitSet bits = newCourses.computeIfAbsent(courseId, k -> new BitSet(newStudents.size()));
+            if (bits.get(ord)) newMulti.merge(courseId + '\0' + ord, 2, (a, b) -> a + 1);
+            else bits.set(ord);
+        }
+        install(newOrdinals, newStudents, newCourses, newMulti,
+                snapshot.version(TableVersion.STUDENT, TableVersion.TAKES), null, -1);
+    }
+
+    private void install(Map<String, Integer> newOrdinals, List<Student> newStudents,
+                         Map<String, BitSet> newCourses, Map<String, Integer> newMulti, long version,
+                         TakesChangeLog.Position takes, long student) {
+        loadLock.lock();
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            ordinals.putAll(newOrdinals);
+            students.clear();
+            students.addAll(newStudents);
+            courses.clear();
+            courses.putAll(newCourses);
+            multiSection.clear();
+            multiSection.putAll(newMulti);
+            loadedVersion = version;
+            position = takes;
+            studentsAt = student;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+            loadLock.unlock();
+        }
+    }
+
+    // 적재 전이면 적재, STUDENT/TAKES가 바뀌었으면 적재 뒤의 변경을 반영
+    private void ensureLoaded() throws SQLException {
+        if (loaded && versions.current() == loadedVersion) return;
+        loadLock.lock();
+        try {
+            if (!loaded) load();
+            else if (versions.current() != loadedVersion) catchUp();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // 변경 로그에서 적재 뒤의 수강 변경만 읽어 반영 (학생 표가 바뀌었거나 로그가 끊겼으면 전체 재구성)
+    private void catchUp() throws SQLException {
+        long version;
+        long student;
+        TakesChangeLog.Position now;
+        List<TakesChangeLog.Change> changes;
+        try (Connection conn = dataSource.getConnection()) {
+            version = versions.read(conn); // 다음 확인의 기준 (위치보다 먼저 읽으므로 사이의 변경은 다음 확인에서 잡힘)
+            student = studentVersion.read(conn);
+            now = TakesChangeLog.read(conn);
+            if (position == null) {
+                // 스냅샷에서 적재: 그 뒤로 바뀐 것이 없을 때만 지금 위치를 씀
+                changes = student + now.sum() == loadedVersion ? List.of() : null;
+            } else if (student != studentsAt) {
+                changes = null;
+            } else {
+                changes = TakesChangeLog.since(conn, position, now);
+            }
+        }
+        if (changes == null) {
+            load();
+            return;
+        }
+        boolean applied;
+        lock.writeLock().lock();
+        try {
+            applied = apply(changes);
+            if (applied) {
+                loadedVersion = version;
+                position = now;
+                studentsAt = student;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!applied) load(); // 메모리와 로그가 맞지 않음 (없는 학생, 음수 인원)
+    }
+
+    // 콘솔(Manager)이 커밋한 자기 신청/취소 한 건을 바로 반영
+    // stamp가 반영한 위치 바로 다음 번호가 아니면(사이에 다른 쓰기가 있음) 다음 확인 때 변경 로그로 함께 반영합니다.
+    public void onChange(TakesChangeLog.Stamp stamp, TakesChangeLog.Change change) {
+        if (!loaded || stamp == null) return;
+        loadLock.lock();
+        lock.writeLock().lock();
+        try {
+            TakesChangeLog.Position next = position == null ? null : position.advance(stamp);
+            if (next == null) return;
+            if (apply(List.of(change))) {
+                position = next;
+            } else {
+                position = null; // 다음 확인에서 다시 적재
+                loadedVersion = -1;
+            }
+        } finally {
+            lock.writeLock().unlock();
+            loadLock.unlock();
+        }
+    }
+
+    // 쓰기 잠금 안에서. 모두 반영할 수 있는지 먼저 확인하고, 아니면 아무것도 바꾸지 않고 false
+    private boolean apply(List<TakesChangeLog.Change> changes) {
+        // (과목, 학생 번호)별 수강 분반 수 (같은 과목의 여러 분반 변경을 합침)
+        Map<CourseStudent, Integer> counts = new HashMap<>();
+        for (TakesChangeLog.Change c : changes) {
+            Integer ord = ordinals.get(c.studentId());
+            if (ord == null) return false;
+            counts.merge(new CourseStudent(c.courseId(), ord), c.delta(), Integer::sum);
+        }
+        for (Map.Entry<CourseStudent, Integer> e : counts.entrySet()) {
+            e.setValue(sectionCount(e.getKey()) + e.getValue());
+            if (e.getValue() < 0) return false;
+        }
+        for (Map.Entry<CourseStudent, Integer> e : counts.entrySet()) {
+            CourseStudent cs = e.getKey();
+            int count = e.getValue();
+            if (count == 0) {
+                BitSet bits = courses.get(cs.courseId());
+                if (bits != null) bits.clear(cs.ord());
+            } else {
+                courses.computeIfAbsent(cs.courseId(), k -> new BitSet(students.size())).set(cs.ord());
+            }
+            if (count >= 2) multiSection.put(cs.multiKey(), count);
+            else multiSection.remove(cs.multiKey());
+        }
+        return true;
+    }
+
+    private record CourseStudent(String courseId, int ord) {
+        String multiKey() {
+            return courseId + '\0' + ord;
+        }
+    }
+
+    private int sectionCount(CourseStudent cs) {
+        Integer multi = multiSection.get(cs.multiKey());
+        if (multi != null) return multi;
+        BitSet bits = courses.get(cs.courseId());
+        return bits != null && bits.get(cs.ord()) ? 1 : 0;
+    }
+
+    // =======================================================
+    // 집합 연산
+    // =======================================================
+    // 과목들 중 하나라도 수강한 학생 (OR)
+    public List<Student> union(Collection<String> courseIds) throws SQLException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return toStudents(or(courseIds));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 과목들을 모두 수강한 학생 (AND)
+    public List<Student> intersect(Collection<String> courseIds) throws SQLException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (String courseId : courseIds) {
+                BitSet bits = courses.get(courseId);
+                if (bits == null) return List.of();
+                if (result == null) result = (BitSet) bits.clone();
+                else result.and(bits);
+            }
+            return result == null ? List.of() : toStudents(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // included 중 하나라도 수강하고 excluded는 하나도 수강하지 않은 학생 (OR 후 AND-NOT)
+    public List<Student> difference(Collection<String> included, Collection<String> excluded) throws SQLException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet result = or(included);
+            result.andNot(or(excluded));
+            return toStudents(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int enrolledCount(String courseId) throws SQLException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet bits = courses.get(courseId);
+            return bits == null ? 0 : bits.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet or(Collection<String> courseIds) {
+        BitSet result = new BitSet(students.size());
+        for (String courseId : courseIds) {
+            BitSet bits = courses.get(courseId);
+            if (bits != null) result.or(bits);
+        }
+        return result;
+    }
+
+    private List<Student> toStudents(BitSet bits) {
+        List<Student> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) result.add(students.get(i));
+        return result;
+    }
+}
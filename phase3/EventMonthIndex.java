@@ -0,0 +1,171 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 월 단위 행사 인덱스 (DEPARTMENT_EVENT + DEPT_LOCATION, ACADEMIC_EVENT)
+// - 행사를 연-월 버킷에 담고 버킷마다 버전을 둡니다. 여러 달에 걸친 행사는 걸친 달마다 들어갑니다.
+// - 월/주 보기는 메모리 버킷에서 만들고, 버전으로 만든 ETag가 같으면 DB를 거치지 않고 304를 돌려줄 수 있습니다.
+//   (버킷이 최신이면 month()/week()는 DB에 가지 않고, 세 표의 변경 표시만 TableVersion으로 확인합니다)
+// - 행사를 쓰는 코드가 앱에 없고 SQL로 직접 바꾸므로, 트리거가 올리는 변경 표시(TABLE_VERSION)가 적재할 때와
+//   다르면 다시 읽습니다. (늦어도 TableVersion의 확인 주기 안에 반영)
+//   그 밖에도 REFRESH_MS가 지나면 다시 읽습니다. 어느 쪽이든 내용이 같으면 버전(ETag)은 그대로입니다.
+public class EventMonthIndex {
+    public enum Kind {DEPARTMENT, ACADEMIC}
+
+    // deptId, locations 는 학과 행사만 (학사 일정은 null / 빈 목록)
+    public record Event(Kind kind, long eventId, String deptId, String title, LocalDate startDate, LocalDate endDate,
+                        List<String> locations) {
+        public boolean overlaps(LocalDate from, LocalDate toExclusive) {
+            return startDate.isBefore(toExclusive) && !endDate.isBefore(from);
+        }
+    }
+
+    public record MonthView(YearMonth month, long version, List<Event> events) {
+        public String etag() {
+            return month + "-" + Long.toString(version, 36);
+        }
+    }
+
+    // 주는 월요일부터 7일. 두 달에 걸치면 두 버킷의 버전을 모두 ETag에 넣습니다.
+    public record WeekView(LocalDate monday, String etag, List<Event> events) {
+    }
+
+    // tableVersion: 적재 전에 확인한 세 표의 변경 표시
+    private record Bucket(long version, List<Event> events, long loadedAt, long tableVersion) {
+    }
+
+    private static final long REFRESH_MS = 5 * 60 * 1000;
+    private static final Comparator<Event> ORDER = Comparator.comparing(Event::startDate)
+            .thenComparing(Event::kind).thenComparingLong(Event::eventId);
+
+    private final DataSource dataSource;
+    private final TableVersion tables;
+    private final Map<YearMonth, Bucket> buckets = new ConcurrentHashMap<>();
+    // 재시작 후에도 이전 ETag와 겹치지 않도록 시작 시각에서 출발
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    public EventMonthIndex(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.tables = new TableVersion(dataSource,
+                TableVersion.DEPARTMENT_EVENT, TableVersion.DEPT_LOCATION, TableVersion.ACADEMIC_EVENT);
+    }
+
+    // =======================================================
+    // 조회
+    // =======================================================
+    public MonthView month(YearMonth month) throws SQLException {
+        Bucket b = bucket(month);
+        return new MonthView(month, b.version(), b.events());
+    }
+
+    public WeekView week(LocalDate date) throws SQLException {
+        LocalDate monday = date.with(DayOfWeek.MONDAY);
+        LocalDate next = monday.plusDays(7);
+        YearMonth first = YearMonth.from(monday);
+        YearMonth last = YearMonth.from(next.minusDays(1));
+
+        Bucket a = bucket(first);
+        List<Event> events = new ArrayList<>();
+        for (Event e : a.events()) if (e.overlaps(monday, next)) events.add(e);
+        String etag = "w" + monday + "-" + Long.toString(a.version(), 36);
+        if (!last.equals(first)) {
+            Bucket b = bucket(last);
+            for (Event e : b.events()) {
+                // 두 달에 걸친 행사는 양쪽 버킷에 있으므로 앞 버킷에서 이미 담은 것은 건너뜀
+                if (e.overlaps(monday, next) && !e.overlaps(monday, first.plusMonths(1).atDay(1))) events.add(e);
+            }
+            etag += "-" + Long.toString(b.version(), 36);
+        }
+        events.sort(ORDER);
+        return new WeekView(monday, etag, events);
+    }
+
+    // =======================================================
+    // 적재
+    // =======================================================
+    private Bucket bucket(YearMonth month) throws SQLException {
+        long tableVersion = tables.current(); // 적재보다 먼저 (도중의 변경은 다음 확인에서 다시 적재)
+        Bucket b = buckets.get(month);
+        if (b != null && b.tableVersion() == tableVersion
+                && System.currentTimeMillis() - b.loadedAt() <= REFRESH_MS) return b;
+
+        List<Event> events = load(month);
+        return buckets.compute(month, (k, prev) -> {
+            // 내용이 같으면 버전 유지 (클라이언트 ETag가 계속 유효)
+            long version = prev != null && prev.events().equals(events) ? prev.version() : versions.incrementAndGet();
+            return new Bucket(version, events, System.currentTimeMillis(), tableVersion);
+        });
+    }
+
+    public int loadedMonths() {
+        return buckets.size();
+    }
+
+    private List<Event> load(YearMonth month) throws SQLException {
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+        Map<Long, Event> deptEvents = new LinkedHashMap<>();
+        List<Event> events = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection()) {
+            String deptSql = "SELECT de.dept_event_id, de.department_id, de.title, de.start_date, de.end_date, dl.location " +
+                    "FROM department_event de, dept_location dl " +
+                    "WHERE de.dept_event_id = dl.dept_event_id(+) AND de.start_date < ? AND de.end_date >= ? " +
+                    "ORDER BY de.dept_event_id, dl.location";
+            try (PreparedStatement pstmt = conn.prepareStatement(deptSql)) {
+                pstmt.setDate(1, to);
+                pstmt.setDate(2, from);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        long id = rs.getLong("dept_event_id");
+                        Event e = deptEvents.get(id);
+                        if (e == null) {
+                            e = new Event(Kind.DEPARTMENT, id, rs.getString("department_id"), rs.getString("title"),
+                                    rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(),
+                                    new ArrayList<>());
+                            deptEvents.put(id, e);
+                        }
+                        String location = rs.getString("location");
+                        if (location != null) e.locations().add(location);
+                    }
+                }
+            }
+
+            // 학사 일정은 종료일이 없을 수 있음 (하루짜리)
+            String academicSql = "SELECT academic_event_id, title, start_date, NVL(end_date, start_date) AS end_date " +
+                    "FROM academic_event WHERE start_date < ? AND NVL(end_date, start_date) >= ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(academicSql)) {
+                pstmt.setDate(1, to);
+                pstmt.setDate(2, from);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        events.add(new Event(Kind.ACADEMIC, rs.getLong("academic_event_id"), null, rs.getString("title"),
+                                rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(), List.of()));
+                    }
+                }
+            }
+        }
+
+        for (Event e : deptEvents.values()) {
+            events.add(new Event(e.kind(), e.eventId(), e.deptId(), e.title(), e.startDate(), e.endDate(),
+                    List.copyOf(e.locations())));
+        }
+        events.sort(ORDER);
+        return List.copyOf(events);
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 스터디 그룹 공통 빈 시간 찾기
+// - 그룹 멤버(리더 포함) 목록, 멤버별 학기 수업 시간표, 개인 일정을 그룹 단위 쿼리로 읽고 캐시합니다.
+//   콘솔에서 그룹을 바꾸면 invalidateGroup()으로 비우고, 웹(Next.js)의 멤버 가입/탈퇴와 수강 변경은
+//   알 수 없으므로 멤버/시간표 캐시는 TTL_MS가 지나면 다시 읽습니다.
+// - 기간의 날짜마다 15분 슬롯 비트셋(long 2개)을 만들어 모든 멤버의 바쁜 시간을 OR 한 뒤,
+//   하루 중 허용 시간대 안에서 비어 있는 연속 구간을 길이순으로 돌려줍니다.
+public class FreeTimeFinder {
+    public static final int MAX_DAYS = 92;
+    private static final long TTL_MS = Long.getLong("calendar.freeTime.ttlMs", 60_000);
+    private static final int MAX_GROUPS = 1000;
+
+    public record FreeSlot(LocalDateTime start, LocalDateTime end) {
+        public long minutes() {
+            return ChronoUnit.MINUTES.between(start, end);
+        }
+    }
+
+    private record GroupTerm(long groupId, int term) {
+    }
+
+    private final DataSource dataSource;
+    private final TimetableCache timetables;
+    private final ScheduleIndex scheduleIndex;
+    private final LruTtlCache<Long, List<String>> groupMembers = new LruTtlCache<>(MAX_GROUPS, TTL_MS);
+    // 그룹-학기별 멤버 수업 시간표 합 (학생 한 명의 모든 수강 분반 OR)
+    private final LruTtlCache<GroupTerm, Map<String, WeeklyTimetable>> classTimetables =
+            new LruTtlCache<>(MAX_GROUPS, TTL_MS);
+
+    public FreeTimeFinder(DataSource dataSource, TimetableCache timetables, ScheduleIndex scheduleIndex) {
+        this.dataSource = dataSource;
+        this.timetables = timetables;
+        this.scheduleIndex = scheduleIndex;
+    }
+
+    // [fromDate, toDate] 기간에 모든 멤버가 비어 있는 구간 (dayStartMinute ~ dayEndMinute 시간대 안에서, minMinutes 이상)
+    // 긴 구간이 먼저, 길이가 같으면 이른 구간이 먼저 옵니다.
+    public List<FreeSlot> find(long groupId, LocalDate fromDate, LocalDate toDate,
+                               int dayStartMinute, int dayEndMinute, int minMinutes, int limit) throws SQLException {
+        int days = (int) ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        if (days <= 0 || days > MAX_DAYS) throw new IllegalArgumentException("기간은 1~" + MAX_DAYS + "일이어야 합니다.");
+
+        List<String> members = members(groupId);
+        if (members.isEmpty()) return List.of();
+        scheduleIndex.preload(members);
+
+        long[] busy = new long[days * WeeklyTimetable.WORDS_PER_DAY];
+
+        // 1. 수업 시간표: 학기별로 멤버 시간표를 한 번 OR 해 두고, 날짜마다 해당 요일 워드를 복사
+        Map<Integer, WeeklyTimetable> termUnion = new HashMap<>();
+        for (int d = 0; d < days; d++) {
+            LocalDate date = fromDate.plusDays(d);
+            AcademicTerm term = AcademicTerm.containing(date);
+            if (term == null) continue;
+            WeeklyTimetable classes = termUnion.get(term.code());
+            if (classes == null) {
+                classes = WeeklyTimetable.EMPTY;
+                for (WeeklyTimetable tt : classTimetables(groupId, term.code()).values()) classes = classes.union(tt);
+                termUnion.put(term.code(), classes);
+            }
+            int dow = date.getDayOfWeek().getValue() - 1;
+            busy[d * 2] |= classes.word(dow, 0);
+            busy[d * 2 + 1] |= classes.word(dow, 1);
+        }
+
+        // 2. 개인 일정: 구간 인덱스에서 기간과 겹치는 일정만 꺼내 슬롯을 켭니다.
+        LocalDateTime rangeStart = fromDate.atStartOfDay();
+        LocalDateTime rangeEnd = toDate.plusDays(1).atStartOfDay();
+        for (String sid : members) {
+            for (ScheduleIndex.Entry e : scheduleIndex.overlapping(sid, rangeStart, rangeEnd)) {
+                markBusy(busy, rangeStart, e.start(), e.end(), days);
+            }
+        }
+
+        // 3. 허용 시간대 안의 빈 연속 구간 추출
+        int fromSlot = Math.max(0, dayStartMinute / WeeklyTimetable.SLOT_MINUTES);
+        int toSlot = Math.min(WeeklyTimetable.SLOTS_PER_DAY, dayEndMinute / WeeklyTimetable.SLOT_MINUTES);
+        int minSlots = Math.max(1, (minMinutes + WeeklyTimetable.SLOT_MINUTES - 1) / WeeklyTimetable.SLOT_MINUTES);
+        List<FreeSlot> result = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            LocalDateTime dayStart = fromDate.plusDays(d).atStartOfDay();
+            int run = -1;
+            for (int slot = fromSlot; slot <= toSlot; slot++) {
+                boolean free = slot < toSlot && (busy[d * 2 + slot / 64] & (1L << (slot % 64))) == 0;
+                if (free && run < 0) run = slot;
+                if (!free && run >= 0) {
+                    if (slot - run >= minSlots) {
+                        result.add(new FreeSlot(dayStart.plusMinutes((long) run * WeeklyTimetable.SLOT_MINUTES),
+                                dayStart.plusMinutes((long) slot * WeeklyTimetable.SLOT_MINUTES)));
+                    }
+                    run = -1;
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(FreeSlot::minutes).reversed().thenComparing(FreeSlot::start));
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    // 일정 [start, end)를 날짜별 슬롯으로 나눠 켭니다. (길이 0인 일정은 무시)
+    private static void markBusy(long[] busy, LocalDateTime rangeStart, LocalDateTime start, LocalDateTime end, int days) {
+        long fromMin = Math.max(0, ChronoUnit.MINUTES.between(rangeStart, start));
+        long toMin = Math.min((long) days * 24 * 60, ChronoUnit.MINUTES.between(rangeStart, end));
+        if (fromMin >= toMin) return;
+        long fromSlot = fromMin / WeeklyTimetable.SLOT_MINUTES;
+        long toSlot = (toMin + WeeklyTimetable.SLOT_MINUTES - 1) / WeeklyTimetable.SLOT_MINUTES;
+        for (long slot = fromSlot; slot < toSlot; slot++) {
+            int day = (int) (slot / WeeklyTimetable.SLOTS_PER_DAY);
+            int s = (int) (slot % WeeklyTimetable.SLOTS_PER_DAY);
+            busy[day * 2 + s / 64] |= 1L << (s % 64);
+        }
+    }
+
+    // =======================================================
+    // 캐시 적재
+    // =======================================================
+    private List<String> members(long groupId) throws SQLException {
+        return groupMembers.get(groupId, this::loadMembers);
+    }
+
+    private List<String> loadMembers(long groupId) throws SQLException {
+        String sql = "SELECT student_id FROM member WHERE group_id = ? " +
+                "UNION SELECT leader FROM student_group WHERE group_id = ?";
+        List<String> members = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, groupId);
+            pstmt.setLong(2, groupId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) members.add(rs.getString(1));
+            }
+        }
+        return List.copyOf(members);
+    }
+
+    private Map<String, WeeklyTimetable> classTimetables(long groupId, int term) throws SQLException {
+        return classTimetables.get(new GroupTerm(groupId, term), this::loadClassTimetables);
+    }
+
+    private Map<String, WeeklyTimetable> loadClassTimetables(GroupTerm key) throws SQLException {
+        String sql = "SELECT t.student_id, t.course_id, t.section_id, se.time " +
+                "FROM takes t, section se " +
+                "WHERE t.course_id = se.course_id AND t.section_id = se.section_id AND se.academic_term = ? " +
+                "AND t.student_id IN (SELECT student_id FROM member WHERE group_id = ? " +
+                "                     UNION SELECT leader FROM student_group WHERE group_id = ?)";
+        Map<String, WeeklyTimetable> result = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, key.term());
+            pstmt.setLong(2, key.groupId());
+            pstmt.setLong(3, key.groupId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String courseId = rs.getString("course_id");
+                    String sectionId = rs.getString("section_id");
+                    WeeklyTimetable tt = timetables.getIfPresent(courseId, sectionId, key.term());
+                    if (tt == null) tt = timetables.put(courseId, sectionId, key.term(), rs.getString("time"));
+                    result.merge(rs.getString("student_id"), tt, WeeklyTimetable::union);
+                }
+            }
+        }
+        return result;
+    }
+
+    // 콘솔에서 그룹(리더/멤버)을 바꾼 뒤 커밋하고 호출
+    public void invalidateGroup(long groupId) {
+        groupMembers.invalidate(groupId);
+        classTimetables.invalidateIf(k -> k.groupId() == groupId);
+    }
+}
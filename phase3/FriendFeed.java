@@ -0,0 +1,132 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// 친구들의 다가오는 개인 일정 피드 (시작 시간순, 키셋 페이지)
+// - FRIENDSHIP은 (작은 학번, 큰 학번) 한 행이므로 양쪽 방향을 모두 친구로 봅니다.
+// - 친구마다 커서 이후 일정을 시작 시간순으로 최대 pageSize개만 DB에서 가져옵니다. (ROW_NUMBER ... PARTITION BY)
+//   한 페이지에 한 친구의 일정이 pageSize개를 넘을 수 없으므로 이것으로 충분하고, 친구의 전체 일정은 읽지 않습니다.
+// - 친구별 정렬 목록을 크기 k(친구 수) 힙으로 병합해 앞에서 pageSize개를 뽑습니다.
+// - 다음 페이지는 마지막 항목의 (시작 시각, schedule_id) 다음부터입니다.
+public class FriendFeed {
+    public record Item(long scheduleId, String studentId, String name, String title,
+                       LocalDateTime start, LocalDateTime end) {
+    }
+
+    // 키셋 커서: 이 (시작 시각, schedule_id) 보다 뒤의 일정부터
+    public record Cursor(LocalDateTime start, long scheduleId) {
+        public static Cursor of(Item item) {
+            return new Cursor(item.start(), item.scheduleId());
+        }
+
+        // "2025-05-07T10:00_1234" 형식 (URL에 그대로 쓸 수 있음)
+        @Override
+        public String toString() {
+            return start + "_" + scheduleId;
+        }
+
+        public static Cursor parse(String value) {
+            int sep = value.lastIndexOf('_');
+            if (sep < 0) throw new IllegalArgumentException("커서 형식이 올바르지 않습니다: " + value);
+            return new Cursor(LocalDateTime.parse(value.substring(0, sep)), Long.parseLong(value.substring(sep + 1)));
+        }
+    }
+
+    // next는 다음 페이지 커서 (마지막 페이지면 null)
+    public record Page(List<Item> items, Cursor next) {
+    }
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<Item> ORDER = Comparator.comparing(Item::start).thenComparingLong(Item::scheduleId);
+
+    private final DataSource dataSource;
+
+    public FriendFeed(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // after가 null이면 지금 이후(진행 중인 일정 포함 안 함)부터
+    public Page page(String studentId, Cursor after, int pageSize) throws SQLException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1~" + MAX_PAGE_SIZE + " 입니다.");
+        }
+        Cursor cursor = after != null ? after : new Cursor(LocalDateTime.now(), Long.MAX_VALUE);
+
+        List<List<Item>> streams = fetchStreams(studentId, cursor, pageSize);
+
+        // k-way 병합: 힙에는 친구마다 아직 꺼내지 않은 첫 항목의 위치만 둡니다.
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(1, streams.size()),
+                (a, b) -> ORDER.compare(streams.get(a[0]).get(a[1]), streams.get(b[0]).get(b[1])));
+        for (int i = 0; i < streams.size(); i++) heap.add(new int[]{i, 0});
+
+        List<Item> items = new ArrayList<>(pageSize);
+        while (items.size() < pageSize && !heap.isEmpty()) {
+            int[] head = heap.poll();
+            List<Item> stream = streams.get(head[0]);
+            items.add(stream.get(head[1]));
+            if (++head[1] < stream.size()) heap.add(head);
+        }
+        // 꺼낸 수가 pageSize면 뒤에 더 있을 수 있음 (힙이 비었으면 각 친구의 남은 일정이 없다는 뜻)
+        Cursor next = items.size() == pageSize && !(heap.isEmpty() && allShort(streams, pageSize))
+                ? Cursor.of(items.get(items.size() - 1)) : null;
+        return new Page(items, next);
+    }
+
+    // 친구별로 가져온 수가 pageSize 미만이면 그 친구는 커서 이후 일정이 더 없음
+    private static boolean allShort(List<List<Item>> streams, int pageSize) {
+        for (List<Item> s : streams) if (s.size() >= pageSize) return false;
+        return true;
+    }
+
+    // 친구별 커서 이후 일정 (친구마다 시작 시간순, 최대 limit개)
+    private List<List<Item>> fetchStreams(String studentId, Cursor cursor, int limit) throws SQLException {
+        String sql = "SELECT schedule_id, student_id, name, title, start_time, end_time FROM ( " +
+                "  SELECT sc.schedule_id, sc.student_id, s.name, sc.title, sc.start_time, sc.end_time, " +
+                "         ROW_NUMBER() OVER (PARTITION BY sc.student_id ORDER BY sc.start_time, sc.schedule_id) AS rn " +
+                "  FROM schedule sc, student s " +
+                "  WHERE sc.student_id = s.student_id " +
+                "    AND sc.student_id IN (SELECT student_id2 FROM friendship WHERE student_id1 = ? " +
+                "                          UNION ALL SELECT student_id1 FROM friendship WHERE student_id2 = ?) " +
+                "    AND (sc.start_time > ? OR (sc.start_time = ? AND sc.schedule_id > ?)) " +
+                ") WHERE rn <= ? ORDER BY student_id, rn";
+
+        List<List<Item>> streams = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            Timestamp after = Timestamp.valueOf(cursor.start());
+            pstmt.setString(1, studentId);
+            pstmt.setString(2, studentId);
+            pstmt.setTimestamp(3, after);
+            pstmt.setTimestamp(4, after);
+            pstmt.setLong(5, cursor.scheduleId());
+            pstmt.setInt(6, limit);
+            pstmt.setFetchSize(500);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                String current = null;
+                List<Item> stream = null;
+                while (rs.next()) {
+                    String friend = rs.getString("student_id");
+                    if (!friend.equals(current)) {
+                        current = friend;
+                        stream = new ArrayList<>();
+                        streams.add(stream);
+                    }
+                    stream.add(new Item(rs.getLong("schedule_id"), friend, rs.getString("name"), rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime()));
+                }
+            }
+        }
+        return streams;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.calendar;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+// 스터디 그룹별 버전 (GROUP_VERSION)
+// - 그룹을 바꾸는 트랜잭션 안에서 bump()를 호출하면 버전과 변경 시각(DB 서버 시계)이 갱신됩니다. 커밋은 호출하는 쪽이 합니다.
+// - 웹 서버의 ChangeWatcher가 변경 시각으로 최근 바뀐 그룹을 찾아 SSE 구독자에게 알립니다.
+public final class GroupVersion {
+    private static final String BUMP_SQL =
+            "UPDATE group_version SET version = version + 1, changed_at = SYSTIMESTAMP WHERE group_id = ?";
+    private static final String CREATE_SQL =
+            "INSERT INTO group_version (group_id, version, changed_at) VALUES (?, 1, SYSTIMESTAMP)";
+
+    private GroupVersion() {
+    }
+
+    public static void bump(Connection conn, long groupId) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try (PreparedStatement pstmt = conn.prepareStatement(BUMP_SQL)) {
+                pstmt.setLong(1, groupId);
+                if (pstmt.executeUpdate() > 0) return;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(CREATE_SQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.executeUpdate();
+                return;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // 다른 트랜잭션이 방금 만들었음 -> UPDATE로 다시
+                if (attempt > 0) throw e;
+                QueryTrace.recovered();
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HexFormat;
+
+// 학생 달력 iCalendar(RFC 5545) 내보내기
+// - 개인 일정(SCHEDULE), 반복 일정(SCHEDULE_SERIES → RRULE/EXDATE 그대로, 발생을 펼치지 않음), 학기 수업(TAKES + SECTION.TIME → 요일/시간별 매주 반복 일정), 소속 학과 행사, 학사 일정을 담습니다.
+// - ResultSet을 한 행씩 읽어 바로 Writer로 쓰므로 일정 수와 관계없이 메모리 사용량이 일정합니다.
+// - validator()는 같은 범위의 행들을 COUNT + ORA_HASH 합으로만 요약한 값(ETag용)이라, 피드를 만들지 않고도
+//   내용이 바뀌었는지 알 수 있습니다. (구독 클라이언트의 잦은 재요청은 대부분 304로 끝남)
+// - 시각은 서울 시간으로 저장돼 있으므로 UTC(...Z)로 바꿔 씁니다.
+public class ICalendarExport {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String[] BYDAY = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final String UID_DOMAIN = "@calendar.example.org";
+
+    private static final String SCHEDULE_SQL = "SELECT schedule_id, title, start_time, end_time FROM schedule " +
+            "WHERE student_id = ? ORDER BY start_time, schedule_id";
+    private static final String CLASS_SQL = "SELECT t.course_id, t.section_id, c.title, se.time, se.location " +
+            "FROM takes t, section se, course c " +
+            "WHERE t.course_id = se.course_id AND t.section_id = se.section_id AND se.course_id = c.course_id " +
+            "AND t.student_id = ? AND se.academic_term = ? ORDER BY t.course_id, t.section_id";
+    private static final String DEPT_EVENT_SQL = "SELECT de.dept_event_id, de.title, de.start_date, de.end_date, " +
+            "(SELECT LISTAGG(dl.location, ', ') WITHIN GROUP (ORDER BY dl.location) FROM dept_location dl " +
+            " WHERE dl.dept_event_id = de.dept_event_id) AS location " +
+            "FROM department_event de, student s WHERE s.student_id = ? AND de.department_id = s.dept_id " +
+            "AND de.start_date <= ? AND de.end_date >= ? ORDER BY de.start_date, de.dept_event_id";
+    private static final String ACADEMIC_SQL = "SELECT academic_event_id, title, start_date, NVL(end_date, start_date) AS end_date " +
+            "FROM academic_event WHERE start_date <= ? AND NVL(end_date, start_date) >= ? " +
+            "ORDER BY start_date, academic_event_id";
+
+    // 피드 내용 요약 (행 수 + 내용 해시 합). 여섯 부분 중 하나라도 바뀌면 값이 달라집니다.
+    private static final String VALIDATOR_SQL = "SELECT " +
+            "(SELECT COUNT(*) || ':' || NVL(SUM(ORA_HASH(schedule_id || '|' || title || '|' || " +
+            "   TO_CHAR(start_time, 'YYYYMMDDHH24MISS') || '|' || TO_CHAR(end_time, 'YYYYMMDDHH24MISS'))), 0) " +
+            " FROM schedule WHERE student_id = ?) AS s, " +
+            "(SELECT COUNT(*) || ':' || NVL(SUM(ORA_HASH(series_id || '|' || title || '|' || rrule || '|' || " +
+            "   TO_CHAR(start_time, 'YYYYMMDDHH24MISS') || '|' || TO_CHAR(end_time, 'YYYYMMDDHH24MISS'))), 0) " +
+            " FROM schedule_series WHERE student_id = ?) AS r, " +
+            "(SELECT COUNT(*) || ':' || NVL(SUM(ORA_HASH(x.series_id || '|' || " +
+            "   TO_CHAR(x.occurrence_start, 'YYYYMMDDHH24MISS'))), 0) " +
+            " FROM schedule_exception x, schedule_series r WHERE x.series_id = r.series_id AND r.student_id = ?) AS x, " +
+            "(SELECT COUNT(*) || ':' || NVL(SUM(ORA_HASH(t.course_id || '|' || t.section_id || '|' || c.title || '|' || " +
+            "   se.time || '|' || se.location)), 0) " +
+            " FROM takes t, section se, course c WHERE t.course_id = se.course_id AND t.section_id = se.section_id " +
+            " AND se.course_id = c.course_id " +
+            " AND t.student_id = ? AND se.academic_term = ?) AS c, " +
+            // 장소(DEPT_LOCATION)도 피드에 들어가므로 행사-장소 행마다 해시 (장소가 없는 행사도 한 행)
+            "(SELECT COUNT(*) || ':' || NVL(SUM(ORA_HASH(de.dept_event_id || '|' || de.title || '|' || " +
+            "   TO_CHAR(de.start_date, 'YYYYMMDD') || '|' || TO_CHAR(de.end_date, 'YYYYMMDD') || '|' || dl.location)), 0) " +
+            " FROM department_event de, student s, dept_location dl WHERE s.student_id = ? AND de.department_id = s.dept_id " +
+            " AND dl.dept_event_id(+) = de.dept_event_id " +
+            " AND de.start_date <= ? AND de.end_date >= ?) AS d, " +
+            "(SELECT COUNT(*) || ':' || NVL(SUM(ORA_HASH(academic_event_id || '|' || title || '|' || " +
+            "   TO_CHAR(start_date, 'YYYYMMDD') || '|' || TO_CHAR(end_date, 'YYYYMMDD'))), 0) " +
+            " FROM academic_event WHERE start_date <= ? AND NVL(end_date, start_date) >= ?) AS a " +
+            "FROM dual";
+
+    private final DataSource dataSource;
+
+    public ICalendarExport(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // 피드 내용이 같으면 같은 값 (ETag로 사용)
+    public String validator(String studentId, AcademicTerm term) throws SQLException {
+        Date from = Date.valueOf(term.startDate());
+        Date to = Date.valueOf(term.endDate());
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(VALIDATOR_SQL)) {
+            pstmt.setString(1, studentId);
+            pstmt.setString(2, studentId);
+            pstmt.setString(3, studentId);
+            pstmt.setString(4, studentId);
+            pstmt.setInt(5, term.code());
+            pstmt.setString(6, studentId);
+            pstmt.setDate(7, to);
+            pstmt.setDate(8, from);
+            pstmt.setDate(9, to);
+            pstmt.setDate(10, from);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                String summary = term.code() + "/" + rs.getString("s") + "/" + rs.getString("r") + "/" + rs.getString("x")
+                        + "/" + rs.getString("c") + "/" + rs.getString("d") + "/" + rs.getString("a");
+                return sha256(summary).substring(0, 32);
+            }
+        }
+    }
+
+    // =======================================================
+    // 피드 쓰기
+    // =======================================================
+    public void write(String studentId, AcademicTerm term, Writer out) throws SQLException, IOException {
+        IcsWriter ics = new IcsWriter(out);
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC);
+        ics.line("BEGIN:VCALENDAR");
+        ics.line("VERSION:2.0");
+        ics.line("PRODID:-//calendar//student calendar//KO");
+        ics.line("CALSCALE:GREGORIAN");
+        ics.property("X-WR-CALNAME", studentId.trim() + " 일정 (" + term.code() + ")");
+
+        try (Connection conn = dataSource.getConnection()) {
+            // 1. 개인 일정
+            try (PreparedStatement pstmt = conn.prepareStatement(SCHEDULE_SQL)) {
+                pstmt.setString(1, studentId);
+                pstmt.setFetchSize(500);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ics.line("BEGIN:VEVENT");
+                        ics.line("UID:schedule-" + rs.getLong("schedule_id") + UID_DOMAIN);
+                        ics.line("DTSTAMP:" + stamp);
+                        ics.line("DTSTART:" + utc(rs.getTimestamp("start_time").toLocalDateTime()));
+                        ics.line("DTEND:" + utc(rs.getTimestamp("end_time").toLocalDateTime()));
+                        ics.property("SUMMARY", rs.getString("title"));
+                        ics.line("END:VEVENT");
+                    }
+                }
+            }
+
+            // 1-1. 반복 일정: 규칙과 빠진 발생을 그대로 (UNTIL도 DTSTART처럼 UTC로)
+            for (ScheduleSeries series : ScheduleSeries.forStudent(conn, studentId)) {
+                ics.line("BEGIN:VEVENT");
+                ics.line("UID:series-" + series.seriesId() + UID_DOMAIN);
+                ics.line("DTSTAMP:" + stamp);
+                ics.line("DTSTART:" + utc(series.start()));
+                ics.line("DTEND:" + utc(series.end()));
+                ics.line("RRULE:" + series.rule().format(ICalendarExport::utc));
+                if (!series.exceptions().isEmpty()) {
+                    StringBuilder exdate = new StringBuilder("EXDATE:");
+                    for (LocalDateTime x : series.exceptions()) {
+                        if (exdate.length() > 7) exdate.append(',');
+                        exdate.append(utc(x));
+                    }
+                    ics.line(exdate.toString());
+                }
+                ics.property("SUMMARY", series.title());
+                ics.line("END:VEVENT");
+            }
+
+            // 2. 수업: 분반 시간의 요일/시간대마다 학기 동안 매주 반복
+            String until = utc(term.endDate().plusDays(1).atStartOfDay());
+            try (PreparedStatement pstmt = conn.prepareStatement(CLASS_SQL)) {
+                pstmt.setString(1, studentId);
+                pstmt.setInt(2, term.code());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        String courseId = rs.getString("course_id");
+                        String sectionId = rs.getString("section_id");
+                        for (WeeklyTimetable.Meeting m : WeeklyTimetable.parse(rs.getString("time")).meetings()) {
+                            LocalDate first = term.startDate().with(TemporalAdjusters.nextOrSame(m.day()));
+                            ics.line("BEGIN:VEVENT");
+                            ics.line("UID:class-" + term.code() + "-" + courseId + "-" + sectionId + "-"
+                                    + BYDAY[m.day().getValue() - 1] + m.startMinute() + UID_DOMAIN);
+                            ics.line("DTSTAMP:" + stamp);
+                            ics.line("DTSTART:" + utc(first.atStartOfDay().plusMinutes(m.startMinute())));
+                            ics.line("DTEND:" + utc(first.atStartOfDay().plusMinutes(m.endMinute())));
+                            ics.line("RRULE:FREQ=WEEKLY;BYDAY=" + BYDAY[m.day().getValue() - 1] + ";UNTIL=" + until);
+                            ics.property("SUMMARY", rs.getString("title") + " (" + courseId + "-" + sectionId + ")");
+                            if (rs.getString("location") != null) ics.property("LOCATION", rs.getString("location"));
+                            ics.line("END:VEVENT");
+                        }
+                    }
+                }
+            }
+
+            // 3. 학과 행사, 4. 학사 일정 (종일 일정, DTEND는 다음 날)
+            Date from = Date.valueOf(term.startDate());
+            Date to = Date.valueOf(term.endDate());
+            try (PreparedStatement pstmt = conn.prepareStatement(DEPT_EVENT_SQL)) {
+                pstmt.setString(1, studentId);
+                pstmt.setDate(2, to);
+                pstmt.setDate(3, from);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        allDay(ics, stamp, "dept-event-" + rs.getLong("dept_event_id"), rs.getString("title"),
+                                rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(),
+                                rs.getString("location"));
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(ACADEMIC_SQL)) {
+                pstmt.setDate(1, to);
+                pstmt.setDate(2, from);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        allDay(ics, stamp, "academic-event-" + rs.getLong("academic_event_id"), rs.getString("title"),
+                                rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(), null);
+                    }
+                }
+            }
+        }
+        ics.line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private static void allDay(IcsWriter ics, String stamp, String uid, String title, LocalDate start, LocalDate end,
+                               String location) throws IOException {
+        ics.line("BEGIN:VEVENT");
+        ics.line("UID:" + uid + UID_DOMAIN);
+        ics.line("DTSTAMP:" + stamp);
+        ics.line("DTSTART;VALUE=DATE:" + start.format(DATE));
+        ics.line("DTEND;VALUE=DATE:" + end.plusDays(1).format(DATE));
+        ics.property("SUMMARY", title);
+        if (location != null) ics.property("LOCATION", location);
+        ics.line("END:VEVENT");
+    }
+
+    private static String utc(LocalDateTime local) {
+        return local.atZone(ZONE).withZoneSameInstant(ZoneOffset.UTC).format(UTC);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // CRLF 줄 끝, 75옥텟 접기(RFC 5545 3.1), TEXT 값 이스케이프
+    private static final class IcsWriter {
+        private final Writer out;
+
+        IcsWriter(Writer out) {
+            this.out = out;
+        }
+
+        void property(String name, String text) throws IOException {
+            String value = text == null ? "" : text.trim()
+                    .replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\r", "").replace("\n", "\\n");
+            line(name + ":" + value);
+        }
+
+        void line(String line) throws IOException {
+            int octets = 0;
+            for (int i = 0; i < line.length(); ) {
+                int cp = line.codePointAt(i);
+                int len = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+                if (octets + len > 75) {
+                    out.write("\r\n ");
+                    octets = 1;
+                }
+                out.write(line, i, Character.charCount(cp));
+                octets += len;
+                i += Character.charCount(cp);
+            }
+            out.write("\r\n");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 시퀀스 기반 블록 ID 할당기 (pooled hi/lo)
+// - 시퀀스의 INCREMENT BY 값이 블록 크기입니다. NEXTVAL 한 번으로 [v, v + 블록 크기) 구간을 임대합니다.
+// - 구간 안의 ID는 메모리에서 락 없이(getAndIncrement) 나눠주고, 구간이 소진될 때만 DB에 갑니다.
+// - 블록 크기 변경: ALTER SEQUENCE <이름> INCREMENT BY <n> (sql/3-DDL2.sql 참고)
+//   실행 중에는 늘리기만 할 수 있습니다. 늘리면 다음 NEXTVAL이 이미 임대된 블록들의 끝 너머에서 나오므로 겹치지 않고,
+//   증가값은 임대할 때마다 NEXTVAL과 같은 쿼리에서 다시 읽으므로 각 프로세스는 다음 임대부터 새 크기를 씁니다.
+// - 줄이면 겹칩니다: [v, v+50)을 쥔 프로세스가 있는데 INCREMENT BY 10으로 바꾸면 다음 NEXTVAL은 v+10입니다.
+//   줄일 때는 이 할당기를 쓰는 프로세스를 모두 멈춘 뒤(남은 블록은 버려짐) ALTER 하고 다시 시작합니다.
+public class IdAllocator {
+    public static final String SCHEDULE_SEQ = "SCHEDULE_ID_SEQ";
+    public static final String GROUP_SEQ = "GROUP_ID_SEQ";
+
+    private final DataSource dataSource;
+    private final String sequenceName;
+    private final String nextValSql;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    // synchronized 안에서 JDBC 대기를 하면 가상 스레드가 캐리어 스레드에 고정되므로 ReentrantLock 사용
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private final LongAdder leases = new LongAdder();
+    private volatile int blockSize; // 마지막 임대의 블록 크기 (표시용)
+
+    public IdAllocator(DataSource dataSource, String sequenceName) {
+        this.dataSource = dataSource;
+        this.sequenceName = sequenceName;
+        // 받은 값과 그 블록 크기를 한 번에 (증가값을 따로 캐시하면 ALTER 뒤에 블록이 겹칠 수 있음)
+        this.nextValSql = "SELECT " + sequenceName + ".NEXTVAL, s.increment_by " +
+                "FROM user_sequences s WHERE s.sequence_name = ?";
+    }
+
+    public long nextId() throws SQLException {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) return id;
+            lease(block);
+        }
+    }
+
+    // 소진된 블록을 새 블록으로 교체합니다. 여러 스레드가 동시에 소진을 발견해도 임대는 한 번만 합니다.
+    private void lease(Block exhausted) throws SQLException {
+        leaseLock.lock();
+        try {
+            if (current.get() != exhausted) return;
+
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(nextValSql)) {
+                pstmt.setString(1, sequenceName);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) throw new SQLException("시퀀스가 없습니다: " + sequenceName);
+                    long start = rs.getLong(1);
+                    int increment = rs.getInt(2);
+                    if (increment <= 0) throw new SQLException("시퀀스 증가값이 올바르지 않습니다: " + sequenceName);
+                    blockSize = increment;
+                    current.set(new Block(start, start + increment));
+                    leases.increment();
+                }
+            }
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getLeaseCount() {
+        return leases.sum();
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
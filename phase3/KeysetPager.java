@@ -0,0 +1,76 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// 키셋(seek) 페이지 조회: "마지막으로 본 키보다 큰 행부터 N개"
+// - OFFSET과 달리 뒤 페이지로 갈수록 느려지지 않고, 페이지 사이에 행이 추가/삭제돼도 건너뛰거나 중복되지 않습니다.
+// - 키 컬럼은 유일하고 인덱스가 있어야 합니다. (보통 기본 키)
+// - 한 페이지를 한 번의 왕복으로 받도록 fetch size를 페이지 크기 + 1로 맞춥니다. (+1은 다음 페이지 유무 확인용)
+//   (Oracle JDBC 기본 fetch size는 10이라 그대로 두면 50행 페이지에 5번 왕복합니다)
+public class KeysetPager<T> {
+    @FunctionalInterface
+    public interface Binder {
+        // 조건 파라미터를 1번부터 바인딩하고, 다음 파라미터 번호를 돌려줍니다.
+        int bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // next는 다음 페이지를 요청할 때 넘길 키 (마지막 페이지면 null)
+    public record Page<T>(List<T> rows, String next) {
+    }
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final String select;
+    private final String keyColumn;
+    private final Binder binder;
+    private final RowMapper<T> mapper;
+    private final Function<T, String> keyOf;
+
+    // select: WHERE 절까지 포함한 SELECT 문 (조건이 없으면 "WHERE 1 = 1")
+    public KeysetPager(DataSource dataSource, String select, String keyColumn, Binder binder,
+                       RowMapper<T> mapper, Function<T, String> keyOf) {
+        this.dataSource = dataSource;
+        this.select = select;
+        this.keyColumn = keyColumn;
+        this.binder = binder;
+        this.mapper = mapper;
+        this.keyOf = keyOf;
+    }
+
+    // after가 null이면 첫 페이지
+    public Page<T> page(String after, int pageSize) throws SQLException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1~" + MAX_PAGE_SIZE + " 입니다.");
+        }
+        String sql = select + (after != null ? " AND " + keyColumn + " > ?" : "") +
+                " ORDER BY " + keyColumn + " FETCH FIRST ? ROWS ONLY";
+
+        List<T> rows = new ArrayList<>(pageSize + 1);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = binder.bind(pstmt);
+            if (after != null) pstmt.setString(index++, after);
+            pstmt.setInt(index, pageSize + 1);
+            pstmt.setFetchSize(pageSize + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) rows.add(mapper.map(rs));
+            }
+        }
+        if (rows.size() <= pageSize) return new Page<>(rows, null);
+        rows.remove(pageSize);
+        return new Page<>(rows, keyOf.apply(rows.get(pageSize - 1)));
+    }
+}
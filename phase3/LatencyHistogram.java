@@ -0,0 +1,81 @@
+package org.example.calendar;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 지연 시간 히스토그램 (HDR 방식의 로그-선형 버킷, 마이크로초)
+// - 8us 미만은 1us 단위, 그 위는 2의 거듭제곱 구간마다 8칸으로 나눠 상대 오차가 12.5% 이내입니다.
+//   (8~9, 9~10, ..., 15~16, 16~18, ..., 30~32, 32~36, ...) 최대 약 2^40us(12일)
+// - 기록 경로는 배열 인덱스 계산 + 원자적 증가뿐이라 락과 객체 할당이 없습니다.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS; // 8
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        buckets.incrementAndGet(index(micros));
+        count.increment();
+        totalMicros.add(micros);
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double meanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalMicros.sum() / n;
+    }
+
+    // 백분위수 근사값 (해당 버킷의 상한, 마이크로초)
+    public long percentileMicros(double percentile) {
+        long n = count.sum();
+        if (n == 0) return 0;
+        long target = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) return upperBoundMicros(i);
+        }
+        return upperBoundMicros(BUCKETS - 1);
+    }
+
+    // i번째 버킷의 상한 (마이크로초, 미포함)
+    public static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket + 1;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        return (SUB_BUCKETS + bucket % SUB_BUCKETS) * width + width;
+    }
+
+    public long totalMicros() {
+        return totalMicros.sum();
+    }
+
+    public int bucketCount() {
+        return BUCKETS;
+    }
+
+    public long bucket(int i) {
+        return buckets.get(i);
+    }
+
+    public String summary() {
+        return String.format("count=%d mean=%.1fus p50=%dus p99=%dus p999=%dus",
+                count(), meanMicros(), percentileMicros(50), percentileMicros(99), percentileMicros(99.9));
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.calendar;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+// 크기 제한(LRU) + 만료 시간(TTL) 캐시
+// - 맵 접근만 잠그고, 없는 값을 읽어오는 로더(DB 조회)는 잠금 밖에서 실행합니다.
+//   같은 키를 동시에 놓치면 두 번 읽을 수 있지만 결과는 같으므로 나중 값이 남습니다.
+// - 값이 없는 키(null)는 캐시하지 않으므로, 없는 코드를 반복 조회하면 매번 DB에 갑니다.
+public class LruTtlCache<K, V> {
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> map;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LruTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > LruTtlCache.this.maxSize;
+            }
+        };
+    }
+
+    // 캐시에 있으면 바로, 없거나 만료됐으면 loader로 읽어 저장 (loader가 null이면 저장하지 않음)
+    public V get(K key, Loader<K, V> loader) throws SQLException {
+        V cached = getIfPresent(key);
+        if (cached != null) return cached;
+        misses.increment();
+        V loaded = loader.load(key);
+        if (loaded != null) put(key, loaded);
+        return loaded;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (map) {
+            Entry<V> e = map.get(key);
+            if (e == null) return null;
+            if (e.expiresAt() < System.currentTimeMillis()) {
+                map.remove(key);
+                return null;
+            }
+            hits.increment();
+            return e.value();
+        }
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (map) {
+            map.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<K> condition) {
+        synchronized (map) {
+            map.keySet().removeIf(condition);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+}
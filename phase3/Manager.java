@@ -1,23 +1,86 @@
 package org.example.calendar;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
 
 public class Manager {
-    private Connection conn;
+    private DataSource dataSource;
     private Scanner scanner;
-
-    // 생성자: Main에서 연결 객체와 스캐너를 받아옵니다.
-    public Manager(Connection conn, Scanner scanner) {
-        this.conn = conn;
+    private IdAllocator scheduleIds;
+    private IdAllocator groupIds;
+    private TimetableCache timetableCache;
+    private ConflictDetector conflictDetector;
+    private ScheduleIndex scheduleIndex;
+    private FreeTimeFinder freeTimeFinder;
+    private EnrollmentIndex enrollmentIndex;
+    private EnrollmentAggregates enrollmentAggregates;
+    private ReferenceCache referenceCache;
+    private EventMonthIndex eventMonthIndex;
+    private FriendFeed friendFeed;
+    private ScheduleChangeLog changeLog;
+    private SnapshotStore snapshotStore;
+
+    // 학기 입력을 생략했을 때의 기본 학기
+    private static final int DEFAULT_TERM = 202502;
+    // 긴 목록을 콘솔에 한 번에 출력할 행 수
+    private static final int CONSOLE_PAGE_SIZE = 50;
+    // 일정/수강 변경 로그 보존 기간 (이보다 오래 동기화하지 않은 클라이언트와 메모리 구조는 전체를 다시 읽음)
+    private static final int CHANGE_LOG_RETENTION_DAYS = 30;
+    private static final DateTimeFormatter INPUT_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    // 생성자: Main에서 커넥션 풀과 스캐너를 받아옵니다.
+    // 각 기능은 필요할 때 풀에서 커넥션을 빌리고 끝나면 반납합니다.
+    public Manager(DataSource dataSource, Scanner scanner) {
+        this.dataSource = dataSource;
         this.scanner = scanner;
+        this.scheduleIds = new IdAllocator(dataSource, IdAllocator.SCHEDULE_SEQ);
+        this.groupIds = new IdAllocator(dataSource, IdAllocator.GROUP_SEQ);
+        this.timetableCache = new TimetableCache(dataSource);
+        this.conflictDetector = new ConflictDetector(dataSource, timetableCache);
+        this.scheduleIndex = new ScheduleIndex(dataSource);
+        this.freeTimeFinder = new FreeTimeFinder(dataSource, timetableCache, scheduleIndex);
+        this.enrollmentIndex = new EnrollmentIndex(dataSource);
+        this.enrollmentAggregates = new EnrollmentAggregates(dataSource);
+        this.referenceCache = new ReferenceCache(dataSource);
+        this.eventMonthIndex = new EventMonthIndex(dataSource);
+        this.friendFeed = new FriendFeed(dataSource);
+        this.changeLog = new ScheduleChangeLog(dataSource);
+        this.snapshotStore = new SnapshotStore(dataSource);
     }
 
-    // 자원 해제용 유틸리티 메소드
-    private void close(Statement stmt, ResultSet rs) {
+    // 사용자 입력 한 줄. 입력을 기다린 시간은 메뉴 지연 시간에서 뺍니다. (QueryTrace.addInput)
+    private String readLine() {
+        long start = System.nanoTime();
+        try {
+            return scanner.nextLine();
+        } finally {
+            QueryTrace.addInput(System.nanoTime() - start);
+        }
+    }
+
+    // 자원 해제용 유틸리티 메소드 (커넥션은 풀에 반납)
+    private void close(Connection conn, Statement stmt, ResultSet rs) {
         try {
             if (rs != null) rs.close();
             if (stmt != null) stmt.close();
+            if (conn != null) conn.close();
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -29,34 +92,13 @@ public class Manager {
     public void queryStudentByDept() {
         System.out.println("\n--- [Type 1] 학과별 학생 조회 ---");
         System.out.print("검색할 학과 코드를 입력하세요 (예: 1O02): ");
-        String deptId = scanner.nextLine();
-
-        String sql = "SELECT student_id, name FROM student WHERE dept_id = ?";
-
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
-        try {
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, deptId);
-            rs = pstmt.executeQuery();
-
-            System.out.println("\n<검색 결과>");
-            System.out.printf("%-15s %-15s\n", "학번", "이름");
-            System.out.println("------------------------------");
+        String deptId = readLine();
 
-            boolean found = false;
-            while (rs.next()) {
-                found = true;
-                System.out.printf("%-15s %-15s\n", rs.getString("student_id"), rs.getString("name"));
-            }
-            if (!found) System.out.println("해당 학과의 학생이 없습니다.");
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            close(pstmt, rs);
-        }
+        System.out.println("\n<검색 결과>");
+        System.out.printf("%-15s %-15s\n", "학번", "이름");
+        System.out.println("------------------------------");
+        int count = printStudentPages(StudentListings.byDepartment(dataSource, deptId));
+        if (count == 0) System.out.println("해당 학과의 학생이 없습니다.");
     }
 
     // =======================================================
@@ -65,16 +107,18 @@ public class Manager {
     public void queryGroupByPurpose() {
         System.out.println("\n--- [Type 2] 스터디 그룹 검색 ---");
         System.out.print("검색할 그룹 목적을 입력하세요 (예: 공부, 취미): ");
-        String purpose = scanner.nextLine();
+        String purpose = readLine();
 
         String sql = "SELECT sg.g_name, s.name " +
                 "FROM student_group sg, student s " +
                 "WHERE sg.leader = s.student_id AND sg.purpose = ?";
 
+        Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
+            conn = dataSource.getConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, purpose);
             rs = pstmt.executeQuery();
@@ -89,7 +133,7 @@ public class Manager {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(pstmt, rs);
+            close(conn, pstmt, rs);
         }
     }
 
@@ -99,7 +143,7 @@ public class Manager {
     public void queryCourseStatsByTerm() {
         System.out.println("\n--- [Type 3] 학기별 수강생 통계 ---");
         System.out.print("조회할 학기를 입력하세요 (숫자, 예: 202502): ");
-        String termStr = scanner.nextLine();
+        String termStr = readLine();
         int term = 0;
         try {
             term = Integer.parseInt(termStr);
@@ -108,33 +152,15 @@ public class Manager {
             return;
         }
 
-        String sql = "SELECT c.title, COUNT(t.student_id) as cnt " +
-                "FROM course c, section se, takes t " +
-                "WHERE c.course_id = se.course_id " +
-                "AND se.course_id = t.course_id " +
-                "AND se.section_id = t.section_id " +
-                "AND se.academic_term = ? " +
-                "GROUP BY c.title " +
-                "ORDER BY cnt DESC";
-
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
         try {
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, term);
-            rs = pstmt.executeQuery();
-
             System.out.println("\n<수강생 수 통계>");
             System.out.printf("%-30s %-10s\n", "과목명", "수강인원");
             System.out.println("----------------------------------------");
-            while (rs.next()) {
-                System.out.printf("%-30s %-10d\n", rs.getString("title"), rs.getInt("cnt"));
+            for (EnrollmentAggregates.CourseCount c : enrollmentAggregates.courseStats(term)) {
+                System.out.printf("%-30s %-10d\n", c.title(), c.count());
             }
         } catch (SQLException e) {
             e.printStackTrace();
-        } finally {
-            close(pstmt, rs);
         }
     }
 
@@ -144,9 +170,9 @@ public class Manager {
     public void queryStudentsTakingTwoCourses() {
         System.out.println("\n--- [Type 4] 동시 수강 학생 검색 ---");
         System.out.print("첫 번째 과목 코드를 입력하세요 (예: CAIB0211): ");
-        String c1 = scanner.nextLine();
+        String c1 = readLine();
         System.out.print("두 번째 과목 코드를 입력하세요 (예: COME0368): ");
-        String c2 = scanner.nextLine();
+        String c2 = readLine();
 
         String sql = "SELECT s.name " +
                 "FROM student s, takes t " +
@@ -158,10 +184,12 @@ public class Manager {
                 "    WHERE t_sub.course_id = ? " +
                 ")";
 
+        Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
+            conn = dataSource.getConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, c1);
             pstmt.setString(2, c2);
@@ -174,7 +202,7 @@ public class Manager {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(pstmt, rs);
+            close(conn, pstmt, rs);
         }
     }
 
@@ -184,26 +212,33 @@ public class Manager {
     public void queryStudentsWithSchedule() {
         System.out.println("\n--- [Type 5] 일정 보유 학생 조회 ---");
         System.out.print("특정 학번을 조회하려면 입력하세요 (전체 조회는 엔터): ");
-        String studentId = scanner.nextLine();
+        String studentId = readLine();
+
+        // 전체 조회는 학번 순 페이지 단위로 출력
+        if (studentId.isEmpty()) {
+            System.out.println("\n<일정 보유 학생 명단>");
+            System.out.printf("%-15s %-15s\n", "학번", "이름");
+            System.out.println("------------------------------");
+            int count = printStudentPages(StudentListings.withSchedule(dataSource));
+            System.out.println("------------------------------");
+            System.out.println("총 " + count + "명");
+            return;
+        }
 
         String sql = "SELECT s.name, s.student_id " +
                 "FROM student s " +
                 "WHERE EXISTS ( " +
                 "    SELECT 1 FROM schedule sc WHERE sc.student_id = s.student_id " +
-                ")";
-
-        if (!studentId.isEmpty()) {
-            sql += " AND s.student_id = ?";
-        }
+                ") AND s.student_id = ?";
 
+        Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
+            conn = dataSource.getConnection();
             pstmt = conn.prepareStatement(sql);
-            if (!studentId.isEmpty()) {
-                pstmt.setString(1, studentId);
-            }
+            pstmt.setString(1, studentId);
             rs = pstmt.executeQuery();
 
             System.out.println("\n<일정 보유 학생 명단>");
@@ -220,7 +255,7 @@ public class Manager {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            close(pstmt, rs);
+            close(conn, pstmt, rs);
         }
     }
 
@@ -230,33 +265,22 @@ public class Manager {
     public void querySelectedCoursesInfo() {
         System.out.println("\n--- [Type 6] 관심 과목 정보 조회 ---");
         System.out.print("과목 1 코드 (예:ELEC0475): ");
-        String c1 = scanner.nextLine();
+        String c1 = readLine();
         System.out.print("과목 2 코드 (예:ELEC0331): ");
-        String c2 = scanner.nextLine();
+        String c2 = readLine();
         System.out.print("과목 3 코드 (예:COMP0461): ");
-        String c3 = scanner.nextLine();
-
-        String sql = "SELECT title, credits FROM course WHERE course_id IN (?, ?, ?)";
+        String c3 = readLine();
 
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
+        // 과목 정보는 기준 정보 캐시에서 찾습니다. (캐시에 없는 과목만 한 번에 조회)
         try {
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, c1);
-            pstmt.setString(2, c2);
-            pstmt.setString(3, c3);
-            rs = pstmt.executeQuery();
-
             System.out.println("\n<과목 정보>");
             System.out.printf("%-30s %-5s\n", "과목명", "학점");
             System.out.println("-------------------------------------");
-            while (rs.next()) {
-                System.out.printf("%-30s %-5d\n", rs.getString("title"), rs.getInt("credits"));
+            for (ReferenceCache.Course c : referenceCache.courses(List.of(c1, c2, c3)).values()) {
+                System.out.printf("%-30s %-5d\n", c.title(), c.credits());
             }
         } catch (SQLException e) {
             e.printStackTrace();
-        } finally {
-            close(pstmt, rs);
         }
     }
 
@@ -265,39 +289,20 @@ public class Manager {
     // =======================================================
     public void queryPopularCourses() {
         System.out.println("\n--- [Type 7] 인기 과목 조회 ---");
+        Integer term = readTerm();
+        if (term == null) return;
         System.out.print("최소 수강 인원을 입력하세요 (예: 5): ");
-        int minCount = Integer.parseInt(scanner.nextLine());
-
-        String sql = "SELECT title, student_count " +
-                "FROM ( " +
-                "   SELECT c.title, COUNT(t.student_id) as student_count " +
-                "   FROM course c, section s, takes t " +
-                "   WHERE c.course_id = s.course_id " +
-                "     AND s.course_id = t.course_id " +
-                "     AND s.section_id = t.section_id " +
-                "     AND s.academic_term = 202502 " +
-                "   GROUP BY c.title " +
-                ") " +
-                "WHERE student_count >= ? " +
-                "ORDER BY student_count DESC";
+        int minCount = Integer.parseInt(readLine());
 
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
         try {
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, minCount);
-            rs = pstmt.executeQuery();
-
             System.out.println("\n<인기 과목 리스트>");
             System.out.printf("%-30s %-10s\n", "과목명", "수강생 수");
             System.out.println("------------------------------------------");
-            while (rs.next()) {
-                System.out.printf("%-30s %-10d\n", rs.getString("title"), rs.getInt("student_count"));
+            for (EnrollmentAggregates.CourseCount c : enrollmentAggregates.popularCourses(term, minCount)) {
+                System.out.printf("%-30s %-10d\n", c.title(), c.count());
             }
         } catch (SQLException e) {
             e.printStackTrace();
-        } finally {
-            close(pstmt, rs);
         }
     }
 
@@ -307,35 +312,28 @@ public class Manager {
     public void queryDeptEventsByMonth() {
         System.out.println("\n--- [Type 8] 월별 학과 행사 조회 ---");
         System.out.print("조회할 연도와 월을 입력하세요 (예: 2025-05): ");
-        String dateInput = scanner.nextLine();
-        String startDateStr = dateInput + "-01";
-
-        String sql = "SELECT d.dept_name, de.title, de.start_date, dl.location " +
-                "FROM department d, department_event de, dept_location dl " +
-                "WHERE d.dept_id = de.department_id " +
-                "  AND de.dept_event_id = dl.dept_event_id " +
-                "  AND de.start_date >= TO_DATE(?, 'YYYY-MM-DD') " +
-                "  AND de.start_date < ADD_MONTHS(TO_DATE(?, 'YYYY-MM-DD'), 1) " +
-                "ORDER BY de.start_date";
-
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
+        YearMonth month;
         try {
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, startDateStr);
-            pstmt.setString(2, startDateStr);
-            rs = pstmt.executeQuery();
+            month = YearMonth.parse(readLine().trim());
+        } catch (DateTimeParseException e) {
+            System.out.println("잘못된 입력입니다.");
+            return;
+        }
 
+        // 월별 행사 인덱스에서 해당 월에 시작하는 학과 행사만 (장소별 한 줄, 학과 이름은 기준 정보 캐시)
+        try {
             System.out.println("\n<행사 일정>");
             System.out.printf("%-15s %-40s %-12s %-20s\n", "학과", "행사명", "시작일", "장소");
             System.out.println("--------------------------------------------------------------------------------");
-            while (rs.next()) {
-                System.out.printf("%-15s %-40s %-12s %-20s\n", rs.getString("dept_name"), rs.getString("title"), rs.getDate("start_date"), rs.getString("location"));
+            for (EventMonthIndex.Event e : eventMonthIndex.month(month).events()) {
+                if (e.kind() != EventMonthIndex.Kind.DEPARTMENT || !YearMonth.from(e.startDate()).equals(month)) continue;
+                String deptName = referenceCache.departmentName(e.deptId());
+                for (String location : e.locations()) {
+                    System.out.printf("%-15s %-40s %-12s %-20s\n", deptName, e.title(), e.startDate(), location);
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
-        } finally {
-            close(pstmt, rs);
         }
     }
 
@@ -344,16 +342,14 @@ public class Manager {
     // =======================================================
     public void querySectionEnrollmentRanking() {
         System.out.println("\n--- [Type 9] 분반별 수강 인원 순위 ---");
-        String sql = "SELECT se.course_id, se.section_id, COUNT(t.student_id) as student_count " +
-                "FROM section se, takes t " +
-                "WHERE se.course_id = t.course_id AND se.section_id = t.section_id AND se.academic_term = 202502 " +
-                "GROUP BY se.course_id, se.section_id ORDER BY student_count DESC";
+        Integer term = readTerm();
+        if (term == null) return;
 
-        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+        try {
             System.out.printf("%-15s %-10s %-10s\n", "과목코드", "분반", "인원수");
             System.out.println("--------------------------------------");
-            while (rs.next()) {
-                System.out.printf("%-15s %-10s %-10d\n", rs.getString("course_id"), rs.getString("section_id"), rs.getInt("student_count"));
+            for (EnrollmentAggregates.SectionCount c : enrollmentAggregates.sectionRanking(term)) {
+                System.out.printf("%-15s %-10s %-10d\n", c.courseId(), c.sectionId(), c.count());
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -365,38 +361,50 @@ public class Manager {
     // =======================================================
     public void queryStudentCreditRanking() {
         System.out.println("\n--- [Type 9] 학생별 총 수강 학점 순위 (Top 20) ---");
-        String sql = "SELECT s.name, SUM(c.credits) as total_credits " +
-                "FROM student s, takes t, section se, course c " +
-                "WHERE s.student_id = t.student_id AND t.course_id = se.course_id AND t.section_id = se.section_id " +
-                "AND se.course_id = c.course_id AND se.academic_term = 202502 " +
-                "GROUP BY s.name ORDER BY total_credits DESC FETCH FIRST 20 ROWS ONLY";
-
-        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
-            System.out.printf("%-15s %-10s\n", "이름", "총학점");
-            System.out.println("-------------------------");
-            while (rs.next()) {
-                System.out.printf("%-15s %-10d\n", rs.getString("name"), rs.getInt("total_credits"));
+        Integer term = readTerm();
+        if (term == null) return;
+
+        try {
+            System.out.printf("%-15s %-12s %-10s\n", "이름", "학번", "총학점");
+            System.out.println("--------------------------------------");
+            for (EnrollmentAggregates.StudentCredits c : enrollmentAggregates.topCredits(term, 20)) {
+                System.out.printf("%-15s %-12s %-10d\n", c.name(), c.studentId(), c.credits());
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    // 학기 입력 (빈 입력이면 기본 학기)
+    private Integer readTerm() {
+        System.out.print("학기를 입력하세요 (숫자, Enter=" + DEFAULT_TERM + "): ");
+        String input = readLine().trim();
+        if (input.isEmpty()) return DEFAULT_TERM;
+        try {
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            System.out.println("잘못된 입력입니다.");
+            return null;
+        }
+    }
+
     // =======================================================
     // 10-1. [Type 10] UNION
     // =======================================================
+    // 10번 질의는 과목별 수강생 비트맵 인덱스(EnrollmentIndex)에서 계산합니다.
+    // 과목 코드는 쉼표로 여러 개 입력할 수 있습니다.
     public void queryUnionTakes() {
         System.out.println("\n--- [Type 10] UNION: A 또는 B 과목 수강생 ---");
-        System.out.print("과목 A 코드 (예: CLTR0045) : ");
-        String cA = scanner.nextLine();
-        System.out.print("과목 B 코드 (예: COME0301): ");
-        String cB = scanner.nextLine();
-
-        String sql = "SELECT s.name FROM student s JOIN takes t ON s.student_id = t.student_id WHERE t.course_id = ? " +
-                "UNION " +
-                "SELECT s.name FROM student s JOIN takes t ON s.student_id = t.student_id WHERE t.course_id = ?";
+        List<String> cA = readCourseIds("과목 A 코드 (예: CLTR0045) : ");
+        List<String> cB = readCourseIds("과목 B 코드 (예: COME0301): ");
 
-        executeSetOpQuery(sql, cA, cB);
+        List<String> all = new ArrayList<>(cA);
+        all.addAll(cB);
+        try {
+            printStudents(enrollmentIndex.union(all));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
 
     // =======================================================
@@ -404,16 +412,14 @@ public class Manager {
     // =======================================================
     public void queryMinusTakes() {
         System.out.println("\n--- [Type 10] MINUS: A 수강, B 미수강 ---");
-        System.out.print("과목 A 코드 (예: CLTR0045) : ");
-        String cA = scanner.nextLine();
-        System.out.print("과목 B 코드 (예: COME0301): ");
-        String cB = scanner.nextLine();
+        List<String> cA = readCourseIds("과목 A 코드 (예: CLTR0045) : ");
+        List<String> cB = readCourseIds("과목 B 코드 (예: COME0301): ");
 
-        String sql = "SELECT s.name FROM student s JOIN takes t ON s.student_id = t.student_id WHERE t.course_id = ? " +
-                "MINUS " +
-                "SELECT s.name FROM student s JOIN takes t ON s.student_id = t.student_id WHERE t.course_id = ?";
-
-        executeSetOpQuery(sql, cA, cB);
+        try {
+            printStudents(enrollmentIndex.difference(cA, cB));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
 
     // =======================================================
@@ -421,33 +427,137 @@ public class Manager {
     // =======================================================
     public void queryIntersectTakes() {
         System.out.println("\n--- [Type 10] INTERSECT: A와 B 모두 수강 ---");
-        System.out.print("과목 A 코드 (예: CLTR0045) : ");
-        String cA = scanner.nextLine();
-        System.out.print("과목 B 코드 (예: COME0301): ");
-        String cB = scanner.nextLine();
+        List<String> cA = readCourseIds("과목 A 코드 (예: CLTR0045) : ");
+        List<String> cB = readCourseIds("과목 B 코드 (예: COME0301): ");
+
+        List<String> all = new ArrayList<>(cA);
+        all.addAll(cB);
+        try {
+            printStudents(enrollmentIndex.intersect(all));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
 
-        String sql = "SELECT s.name FROM student s JOIN takes t ON s.student_id = t.student_id WHERE t.course_id = ? " +
-                "INTERSECT " +
-                "SELECT s.name FROM student s JOIN takes t ON s.student_id = t.student_id WHERE t.course_id = ?";
+    // 쉼표로 구분된 과목 코드 입력
+    private List<String> readCourseIds(String prompt) {
+        System.out.print(prompt);
+        List<String> ids = new ArrayList<>();
+        for (String id : readLine().split(",")) {
+            if (!id.isBlank()) ids.add(id.trim());
+        }
+        return ids;
+    }
 
-        executeSetOpQuery(sql, cA, cB);
+    // 집합 연산 결과 출력 헬퍼 메소드
+    private void printStudents(List<EnrollmentIndex.Student> students) {
+        System.out.println("\n<결과 명단>");
+        for (EnrollmentIndex.Student s : students) System.out.println("- " + s.name() + " (" + s.studentId() + ")");
+        System.out.println("총 " + students.size() + "명");
     }
 
-    // 집합 연산 쿼리 실행 헬퍼 메소드
-    private void executeSetOpQuery(String sql, String param1, String param2) {
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
+    // 학생 목록을 페이지 단위로 출력 (페이지마다 계속 여부 확인), 출력한 학생 수 반환
+    private int printStudentPages(KeysetPager<StudentListings.Student> pager) {
+        int count = 0;
+        String after = null;
         try {
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, param1);
-            pstmt.setString(2, param2);
-            rs = pstmt.executeQuery();
-            System.out.println("\n<결과 명단>");
-            while (rs.next()) System.out.println("- " + rs.getString("name"));
+            while (true) {
+                KeysetPager.Page<StudentListings.Student> page = pager.page(after, CONSOLE_PAGE_SIZE);
+                for (StudentListings.Student st : page.rows()) {
+                    System.out.printf("%-15s %-15s\n", st.studentId(), st.name());
+                }
+                count += page.rows().size();
+                if (page.next() == null) break;
+                System.out.print("-- 다음 " + CONSOLE_PAGE_SIZE + "명은 엔터, 그만 보려면 q: ");
+                if (readLine().trim().equalsIgnoreCase("q")) break;
+                after = page.next();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return count;
+    }
+
+    // 시작 시 메모리 인덱스를 미리 만들어 둡니다. (실패하면 첫 질의 때 다시 시도)
+    public void warmUp() {
+        try {
+            long start = System.currentTimeMillis();
+            // 학생/수강/분반/일정은 스냅샷 파일에서 (없거나 오래됐으면 DB에서 만들어 저장)
+            SnapshotStore.Opened opened = snapshotStore.open();
+            System.out.println(">> 스냅샷: " + opened);
+            enrollmentIndex.load(opened.snapshot());
+            conflictDetector.loadTerm(DEFAULT_TERM, opened.snapshot());
+            enrollmentAggregates.loadTerm(DEFAULT_TERM);
+            referenceCache.loadDepartments();
+            System.out.println(">> 메모리 인덱스 적재 완료 (" + (System.currentTimeMillis() - start) + " ms)");
+        } catch (SQLException e) {
+            System.out.println(">> 메모리 인덱스 적재 실패: " + e.getMessage());
+        }
+        try {
+            int pruned = changeLog.prune(Duration.ofDays(CHANGE_LOG_RETENTION_DAYS));
+            if (pruned > 0) System.out.println(">> 보존 기간이 지난 일정 변경 로그 " + pruned + "건 정리");
+        } catch (SQLException e) {
+            System.out.println(">> 일정 변경 로그 정리 실패: " + e.getMessage());
+        }
+        try {
+            int pruned = TakesChangeLog.prune(dataSource, Duration.ofDays(CHANGE_LOG_RETENTION_DAYS));
+            if (pruned > 0) System.out.println(">> 보존 기간이 지난 수강 변경 로그 " + pruned + "건 정리");
+        } catch (SQLException e) {
+            System.out.println(">> 수강 변경 로그 정리 실패: " + e.getMessage());
+        }
+    }
+
+
+    // =======================================================
+    // 17. [분석] 수강/개인 일정 시간 충돌 검사
+    // =======================================================
+    public void checkTimeConflicts() {
+        System.out.println("\n--- [분석] 시간 충돌 검사 ---");
+        System.out.print("학기를 입력하세요 (숫자, 예: 202502): ");
+        int term;
+        try {
+            term = Integer.parseInt(readLine().trim());
+        } catch (NumberFormatException e) {
+            System.out.println("잘못된 입력입니다.");
+            return;
+        }
+        System.out.println("1. 전체 학생 검사  2. 분반 추가 시 충돌 검사 (학생 1명)  3. 학기 데이터 다시 읽기");
+        System.out.print("선택>> ");
+        String choice = readLine();
+
+        try {
+            switch (choice) {
+                case "1": {
+                    long start = System.currentTimeMillis();
+                    List<ConflictDetector.Conflict> conflicts = conflictDetector.detectAll(term);
+                    System.out.println("\n<충돌 목록>");
+                    for (ConflictDetector.Conflict c : conflicts) System.out.println("- " + c);
+                    long students = conflicts.stream().map(ConflictDetector.Conflict::studentId).distinct().count();
+                    System.out.println("충돌 " + conflicts.size() + "건, 학생 " + students + "명 ("
+                            + (System.currentTimeMillis() - start) + " ms)");
+                    break;
+                }
+                case "2": {
+                    System.out.print("학번 (예: 2022000074): ");
+                    String sid = readLine();
+                    System.out.print("과목 코드 (예: COME0301): ");
+                    String courseId = readLine();
+                    System.out.print("분반 (예: 010): ");
+                    String sectionId = readLine();
+                    List<ConflictDetector.Conflict> conflicts = conflictDetector.checkAddSection(term, sid, courseId, sectionId);
+                    if (conflicts.isEmpty()) System.out.println("충돌 없음. 수강 가능합니다.");
+                    for (ConflictDetector.Conflict c : conflicts) System.out.println("- " + c);
+                    break;
+                }
+                case "3":
+                    conflictDetector.loadTerm(term);
+                    System.out.println("Success! 학기 데이터를 다시 읽었습니다.");
+                    break;
+                default:
+                    System.out.println("잘못된 선택입니다.");
+            }
         } catch (SQLException e) {
             e.printStackTrace();
-        } finally {
-            close(pstmt, rs);
         }
     }
 
@@ -457,9 +567,10 @@ public class Manager {
     // =======================================================
     public void managePersonalSchedule() {
         System.out.println("\n[개인 일정 관리]");
-        System.out.println("1. 일정 등록  2. 일정 수정  3. 일정 삭제");
+        System.out.println("1. 일정 등록  2. 일정 수정  3. 일정 삭제  4. 일정 일괄 등록 (CSV/ICS)  5. 주간 일정 조회  6. 친구 일정 피드");
+        System.out.println("7. 반복 일정 등록  8. 반복 일정에서 하루 빼기");
         System.out.print("선택>> ");
-        String choice = scanner.nextLine();
+        String choice = readLine();
 
         switch (choice) {
             case "1":
@@ -471,6 +582,21 @@ public class Manager {
             case "3":
                 deleteSchedule();
                 break;
+            case "4":
+                importSchedules();
+                break;
+            case "5":
+                showWeeklySchedule();
+                break;
+            case "6":
+                showFriendFeed();
+                break;
+            case "7":
+                insertSeries();
+                break;
+            case "8":
+                skipSeriesOccurrence();
+                break;
             default:
                 System.out.println("잘못된 선택입니다.");
         }
@@ -479,25 +605,43 @@ public class Manager {
     private void insertSchedule() {
         System.out.println("=== 일정 등록 ===");
         System.out.print("학번 (예: 2022000074): ");
-        String sid = scanner.nextLine();
+        String sid = readLine();
         System.out.print("제목: ");
-        String title = scanner.nextLine();
+        String title = readLine();
         System.out.print("시작(YYYY-MM-DD HH:MI): ");
-        String start = scanner.nextLine();
+        String start = readLine();
         System.out.print("종료(YYYY-MM-DD HH:MI): ");
-        String end = scanner.nextLine();
+        String end = readLine();
 
         String sql = "INSERT INTO schedule (schedule_id, student_id, title, start_time, end_time) " +
-                "VALUES ((SELECT NVL(MAX(schedule_id), 0) + 1 FROM schedule), ?, ?, TO_TIMESTAMP(?, 'YYYY-MM-DD HH24:MI'), TO_TIMESTAMP(?, 'YYYY-MM-DD HH24:MI'))";
+                "VALUES (?, ?, ?, TO_TIMESTAMP(?, 'YYYY-MM-DD HH24:MI'), TO_TIMESTAMP(?, 'YYYY-MM-DD HH24:MI'))";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, sid);
-            pstmt.setString(2, title);
-            pstmt.setString(3, start);
-            pstmt.setString(4, end);
+        // ID는 커넥션을 빌리기 전에 할당 (블록 임대 시 별도 커넥션 사용)
+        long scheduleId;
+        try {
+            scheduleId = scheduleIds.nextId();
+        } catch (SQLException e) {
+            System.out.println("오류: ID 할당 실패 - " + e.getMessage());
+            return;
+        }
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, scheduleId);
+            pstmt.setString(2, sid);
+            pstmt.setString(3, title);
+            pstmt.setString(4, start);
+            pstmt.setString(5, end);
             if (pstmt.executeUpdate() > 0) {
-                System.out.println("Success! 등록 성공!");
+                long version = changeLog.record(conn, sid, ScheduleChangeLog.Op.INSERT, scheduleId);
                 conn.commit();
+                System.out.println("Success! 등록 성공! (일정 ID: " + scheduleId + ")");
+                try {
+                    scheduleIndex.onInsert(scheduleId, sid, title,
+                            LocalDateTime.parse(start, INPUT_TIME), LocalDateTime.parse(end, INPUT_TIME), version);
+                } catch (DateTimeParseException e) {
+                    scheduleIndex.invalidate(sid); // DB는 받아들였지만 Java 형식과 다르면 다음 조회 때 다시 읽음
+                }
+                conflictDetector.refreshStudent(conn, sid);
             } else System.out.println("Fail! 등록 실패");
         } catch (SQLException e) {
             e.printStackTrace();
@@ -508,7 +652,7 @@ public class Manager {
     private void updateSchedule() {
         System.out.println("=== 일정 수정 ===");
         System.out.print("수정할 일정 ID 입력: ");
-        String idStr = scanner.nextLine();
+        String idStr = readLine();
         if (idStr.trim().isEmpty()) {
             System.out.println("ID가 입력되지 않았습니다.");
             return;
@@ -517,24 +661,28 @@ public class Manager {
 
         // 1. 기존 데이터 조회 (현재 값을 알기 위해 SELECT 먼저 수행)
         // Oracle의 TO_CHAR 함수를 사용하여 시간 포맷을 문자열로 가져옵니다.
-        String selectSql = "SELECT title, " +
+        String selectSql = "SELECT student_id, title, " +
                 "TO_CHAR(start_time, 'YYYY-MM-DD HH24:MI') as start_str, " +
                 "TO_CHAR(end_time, 'YYYY-MM-DD HH24:MI') as end_str " +
                 "FROM schedule WHERE schedule_id = ?";
 
+        String studentId = "";
         String currentTitle = "";
         String currentStart = "";
         String currentEnd = "";
 
+        Connection conn = null;
         PreparedStatement pstmtSelect = null;
         ResultSet rs = null;
 
         try {
+            conn = dataSource.getConnection();
             pstmtSelect = conn.prepareStatement(selectSql);
             pstmtSelect.setInt(1, scheduleId);
             rs = pstmtSelect.executeQuery();
 
             if (rs.next()) {
+                studentId = rs.getString("student_id");
                 currentTitle = rs.getString("title");
                 currentStart = rs.getString("start_str");
                 currentEnd = rs.getString("end_str");
@@ -546,10 +694,11 @@ public class Manager {
             e.printStackTrace();
             return;
         } finally {
-            // Select 관련 자원 해제 (Connection은 유지)
+            // Select 관련 자원 해제 (입력을 기다리는 동안 커넥션을 붙잡지 않도록 반납)
             try {
                 if (rs != null) rs.close();
                 if (pstmtSelect != null) pstmtSelect.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
             }
         }
@@ -558,15 +707,15 @@ public class Manager {
         System.out.println(">> 수정할 값을 입력하세요 (변경하지 않으려면 Enter 키를 누르세요)");
 
         System.out.print("새 제목 [" + currentTitle + "]: ");
-        String newTitle = scanner.nextLine();
+        String newTitle = readLine();
         if (newTitle.trim().isEmpty()) newTitle = currentTitle;
 
         System.out.print("새 시작 시간 [" + currentStart + "]: ");
-        String newStart = scanner.nextLine();
+        String newStart = readLine();
         if (newStart.trim().isEmpty()) newStart = currentStart;
 
         System.out.print("새 종료 시간 [" + currentEnd + "]: ");
-        String newEnd = scanner.nextLine();
+        String newEnd = readLine();
         if (newEnd.trim().isEmpty()) newEnd = currentEnd;
 
         // 3. 데이터 업데이트 (UPDATE)
@@ -575,75 +724,389 @@ public class Manager {
                 "end_time = TO_TIMESTAMP(?, 'YYYY-MM-DD HH24:MI') " +
                 "WHERE schedule_id = ?";
 
-        try (PreparedStatement pstmtUpdate = conn.prepareStatement(updateSql)) {
-            pstmtUpdate.setString(1, newTitle);
-            pstmtUpdate.setString(2, newStart);
-            pstmtUpdate.setString(3, newEnd);
-            pstmtUpdate.setInt(4, scheduleId);
+        try (Connection updateConn = dataSource.getConnection()) {
+            try (PreparedStatement pstmtUpdate = updateConn.prepareStatement(updateSql)) {
+                pstmtUpdate.setString(1, newTitle);
+                pstmtUpdate.setString(2, newStart);
+                pstmtUpdate.setString(3, newEnd);
+                pstmtUpdate.setInt(4, scheduleId);
+
+                int rows = pstmtUpdate.executeUpdate();
+                if (rows > 0) {
+                    long version = changeLog.record(updateConn, studentId, ScheduleChangeLog.Op.UPDATE, scheduleId);
+                    updateConn.commit();
+                    System.out.println("Success! 일정이 성공적으로 수정되었습니다.");
+                    try {
+                        scheduleIndex.onUpdate(scheduleId, newTitle,
+                                LocalDateTime.parse(newStart, INPUT_TIME), LocalDateTime.parse(newEnd, INPUT_TIME), version);
+                    } catch (DateTimeParseException e) {
+                        scheduleIndex.invalidate(studentId);
+                    }
+                    conflictDetector.refreshStudent(updateConn, studentId);
+                } else {
+                    System.out.println("Fail! 수정 실패.");
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                try {
+                    updateConn.rollback();
+                } catch (SQLException ex) {
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
 
-            int rows = pstmtUpdate.executeUpdate();
-            if (rows > 0) {
-                System.out.println("Success! 일정이 성공적으로 수정되었습니다.");
-                conn.commit();
-            } else {
-                System.out.println("Fail! 수정 실패.");
+    private void deleteSchedule() {
+        System.out.print("삭제할 일정 ID: ");
+        int id = Integer.parseInt(readLine());
+        // 변경 로그에 남길 학생을 먼저 찾고, 삭제와 같은 트랜잭션에서 기록합니다.
+        String ownerSql = "SELECT student_id FROM schedule WHERE schedule_id = ?";
+        String sql = "DELETE FROM schedule WHERE schedule_id = ?";
+        try (Connection conn = dataSource.getConnection()) {
+            String studentId = null;
+            try (PreparedStatement owner = conn.prepareStatement(ownerSql)) {
+                owner.setInt(1, id);
+                try (ResultSet rs = owner.executeQuery()) {
+                    if (rs.next()) studentId = rs.getString("student_id");
+                }
+            }
+            if (studentId == null) {
+                deleteSeries(conn, id); // 단건 일정이 아니면 반복 일정 ID로 삭제
+                return;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, id);
+                if (pstmt.executeUpdate() > 0) {
+                    long version = changeLog.record(conn, studentId, ScheduleChangeLog.Op.DELETE, id);
+                    conn.commit();
+                    System.out.println("Success! 삭제 성공!");
+                    scheduleIndex.onDelete(id, version);
+                    conflictDetector.refreshStudent(conn, studentId);
+                } else System.out.println("Fail! 삭제 실패 (ID 확인)");
             }
         } catch (SQLException e) {
             e.printStackTrace();
+        }
+    }
+
+
+    // 반복 일정 전체 삭제 (빠진 발생도 함께 삭제)
+    private void deleteSeries(Connection conn, long seriesId) throws SQLException {
+        ScheduleSeries series = ScheduleSeries.find(conn, seriesId);
+        if (series != null && ScheduleSeries.delete(conn, seriesId)) {
+            changeLog.record(conn, series.studentId(), ScheduleChangeLog.Op.DELETE, seriesId);
+            conn.commit();
+            System.out.println("Success! 반복 일정 삭제 성공! (" + series.rule().describe() + ")");
+            scheduleIndex.invalidate(series.studentId());
+            conflictDetector.refreshStudent(conn, series.studentId());
+        } else System.out.println("Fail! 삭제 실패 (ID 확인)");
+    }
+
+    // 1-7. 반복 일정 등록 - 발생 수와 관계없이 규칙 한 행만 저장
+    private void insertSeries() {
+        System.out.println("=== 반복 일정 등록 ===");
+        System.out.print("학번 (예: 2022000074): ");
+        String sid = readLine().trim();
+        System.out.print("제목: ");
+        String title = readLine();
+        ScheduleSeries draft;
+        try {
+            System.out.print("첫 시작(YYYY-MM-DD HH:MI): ");
+            LocalDateTime start = LocalDateTime.parse(readLine().trim(), INPUT_TIME);
+            System.out.print("첫 종료(YYYY-MM-DD HH:MI): ");
+            LocalDateTime end = LocalDateTime.parse(readLine().trim(), INPUT_TIME);
+            System.out.print("반복 (1. 매일  2. 매주): ");
+            boolean weekly = readLine().trim().equals("2");
+            System.out.print("간격 (엔터는 1, 예: 2면 " + (weekly ? "격주" : "이틀마다") + "): ");
+            String intervalStr = readLine().trim();
+            int interval = intervalStr.isEmpty() ? 1 : Integer.parseInt(intervalStr);
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            if (weekly) {
+                System.out.print("요일 (예: 월,수 / 엔터는 첫 시작 요일): ");
+                String daysStr = readLine().trim();
+                days = daysStr.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : RecurrenceRule.parseDays(daysStr);
+            }
+            System.out.print("끝 (YYYY-MM-DD는 그날까지, 숫자는 횟수, 엔터는 끝없음): ");
+            String endStr = readLine().trim();
+            LocalDateTime until = null;
+            int count = 0;
+            if (endStr.matches("\\d+")) count = Integer.parseInt(endStr);
+            else if (!endStr.isEmpty()) until = LocalDate.parse(endStr).atTime(23, 59, 59);
+            RecurrenceRule rule = new RecurrenceRule(weekly ? RecurrenceRule.Frequency.WEEKLY : RecurrenceRule.Frequency.DAILY,
+                    interval, days, until, count);
+            draft = new ScheduleSeries(0, sid, title, start, end, rule, Set.of());
+            draft.validate();
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            System.out.println("잘못된 입력입니다. " + (e.getMessage() == null ? "" : e.getMessage()));
+            return;
+        }
+
+        // 첫 발생이 속한 학기의 수업과 겹치면 알려 줌 (등록은 그대로 진행)
+        AcademicTerm term = AcademicTerm.containing(draft.start().toLocalDate());
+        if (term != null) {
             try {
+                for (ConflictDetector.Conflict c : conflictDetector.checkAddSeries(term.code(), draft)) {
+                    System.out.println("주의: 수업과 겹칩니다 - " + c);
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        long seriesId;
+        try {
+            seriesId = scheduleIds.nextId();
+        } catch (SQLException e) {
+            System.out.println("오류: ID 할당 실패 - " + e.getMessage());
+            return;
+        }
+        ScheduleSeries series = new ScheduleSeries(seriesId, sid, title, draft.start(), draft.end(), draft.rule(), Set.of());
+        try (Connection conn = dataSource.getConnection()) {
+            try {
+                series.insert(conn);
+                changeLog.record(conn, sid, ScheduleChangeLog.Op.INSERT, seriesId);
+                conn.commit();
+            } catch (SQLException e) {
                 conn.rollback();
-            } catch (SQLException ex) {
+                throw e;
             }
+            System.out.println("Success! 등록 성공! (반복 일정 ID: " + seriesId + ", " + series.rule().describe() + ")");
+            scheduleIndex.invalidate(sid);
+            conflictDetector.refreshStudent(conn, sid);
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
     }
 
-    private void deleteSchedule() {
-        System.out.print("삭제할 일정 ID: ");
-        int id = Integer.parseInt(scanner.nextLine());
-        String sql = "DELETE FROM schedule WHERE schedule_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            if (pstmt.executeUpdate() > 0) {
-                System.out.println("Success! 삭제 성공!");
+    // 1-8. 반복 일정에서 하루의 발생만 빼기 (EXDATE)
+    private void skipSeriesOccurrence() {
+        System.out.println("=== 반복 일정에서 하루 빼기 ===");
+        System.out.print("반복 일정 ID: ");
+        long seriesId;
+        LocalDate date;
+        try {
+            seriesId = Long.parseLong(readLine().trim());
+            System.out.print("뺄 날짜 (YYYY-MM-DD): ");
+            date = LocalDate.parse(readLine().trim());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            System.out.println("잘못된 입력입니다.");
+            return;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            ScheduleSeries series = ScheduleSeries.find(conn, seriesId);
+            if (series == null) {
+                System.out.println("Fail! 해당 ID의 반복 일정을 찾을 수 없습니다.");
+                return;
+            }
+            ScheduleIndex.Entry occurrence = null;
+            for (ScheduleIndex.Entry e : series.occurrenceList(date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+                if (e.start().toLocalDate().equals(date)) {
+                    occurrence = e;
+                    break;
+                }
+            }
+            if (occurrence == null) {
+                System.out.println("Fail! 그날에는 발생이 없거나 이미 뺐습니다.");
+                return;
+            }
+            if (ScheduleSeries.addException(conn, seriesId, occurrence.start())) {
+                changeLog.record(conn, series.studentId(), ScheduleChangeLog.Op.UPDATE, seriesId);
                 conn.commit();
-            } else System.out.println("Fail! 삭제 실패 (ID 확인)");
+                System.out.println("Success! " + occurrence.start().format(INPUT_TIME) + " 발생을 뺐습니다.");
+                scheduleIndex.invalidate(series.studentId());
+                conflictDetector.refreshStudent(conn, series.studentId());
+            } else System.out.println("Fail! 이미 뺀 발생입니다.");
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    // 1-5. 주간 일정 조회 - 학생별 구간 인덱스에서 조회 (처음 한 번만 DB 접근)
+    private void showWeeklySchedule() {
+        System.out.println("=== 주간 일정 조회 ===");
+        System.out.print("학번 (예: 2022000074): ");
+        String sid = readLine();
+        System.out.print("기준 날짜 (YYYY-MM-DD, 엔터는 오늘): ");
+        String dateStr = readLine().trim();
+
+        LocalDate date;
+        try {
+            date = dateStr.isEmpty() ? LocalDate.now() : LocalDate.parse(dateStr);
+        } catch (DateTimeParseException e) {
+            System.out.println("잘못된 입력입니다.");
+            return;
+        }
+        LocalDateTime weekStart = date.with(DayOfWeek.MONDAY).atStartOfDay();
+        LocalDateTime weekEnd = weekStart.plusDays(7);
+
+        try {
+            List<ScheduleIndex.Entry> entries = scheduleIndex.overlapping(sid, weekStart, weekEnd);
+            Set<Long> seriesIds = new HashSet<>();
+            for (ScheduleSeries series : scheduleIndex.series(sid)) seriesIds.add(series.seriesId());
+            System.out.println("\n<" + weekStart.toLocalDate() + " ~ " + weekEnd.toLocalDate().minusDays(1) + " 일정>");
+            System.out.printf("%-8s %-17s %-17s %-30s\n", "ID", "시작", "종료", "제목");
+            System.out.println("------------------------------------------------------------------------");
+            for (ScheduleIndex.Entry e : entries) {
+                System.out.printf("%-8d %-17s %-17s %-30s\n", e.scheduleId(), e.start().format(INPUT_TIME),
+                        e.end().format(INPUT_TIME), seriesIds.contains(e.scheduleId()) ? e.title() + " (반복)" : e.title());
+            }
+            if (entries.isEmpty()) System.out.println("이번 주 일정이 없습니다.");
+
+            LocalDateTime free = scheduleIndex.nextFreeSlot(sid, weekStart.withHour(9), 60);
+            System.out.println("09:00 이후 가장 빠른 1시간 빈 시간: " + free.format(INPUT_TIME));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // 1-6. 친구들의 다가오는 일정 (페이지 단위, 엔터로 다음 페이지)
+    private void showFriendFeed() {
+        System.out.println("=== 친구 일정 피드 ===");
+        System.out.print("학번 (예: 2022000074): ");
+        String sid = readLine();
+
+        FriendFeed.Cursor cursor = null;
+        try {
+            while (true) {
+                FriendFeed.Page page = friendFeed.page(sid, cursor, 10);
+                for (FriendFeed.Item item : page.items()) {
+                    System.out.printf("%-17s %-17s %-10s %-30s\n", item.start().format(INPUT_TIME),
+                            item.end().format(INPUT_TIME), item.name(), item.title());
+                }
+                if (page.items().isEmpty()) System.out.println("친구들의 다가오는 일정이 없습니다.");
+                if (page.next() == null) break;
+                System.out.print("다음 페이지는 엔터, 그만 보려면 q: ");
+                if (readLine().trim().equalsIgnoreCase("q")) break;
+                cursor = page.next();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // 1-4. 일정 일괄 등록 - CSV(student_id,title,start,end) 또는 .ics 파일
+    private void importSchedules() {
+        System.out.println("=== 일정 일괄 등록 ===");
+        System.out.print("파일 경로 (.csv 또는 .ics): ");
+        String pathStr = readLine().trim();
+        Path input = Paths.get(pathStr);
+        if (!Files.isReadable(input)) {
+            System.out.println("Fail! 파일을 읽을 수 없습니다.");
+            return;
+        }
+        System.out.print("배치 크기 [500]: ");
+        String sizeStr = readLine().trim();
+        int batchSize = 500;
+        try {
+            if (!sizeStr.isEmpty()) batchSize = Integer.parseInt(sizeStr);
+        } catch (NumberFormatException e) {
+            System.out.println("잘못된 입력입니다.");
+            return;
+        }
+
+        Path rejectFile = Paths.get(pathStr + ".rejects.csv");
+        ScheduleImporter importer = new ScheduleImporter(dataSource, scheduleIds, batchSize, scheduleIndex);
+        try {
+            ScheduleImporter.Result result;
+            if (pathStr.toLowerCase().endsWith(".ics")) {
+                System.out.print("학번 (예: 2022000074): ");
+                String sid = readLine();
+                result = importer.importICalendar(input, sid, rejectFile);
+            } else {
+                result = importer.importCsv(input, rejectFile);
+            }
+            System.out.println("Success! " + result);
+            if (result.rejected() > 0) System.out.println("거부된 행: " + rejectFile);
+        } catch (IOException | SQLException | IllegalArgumentException e) {
+            System.out.println("Fail! 일괄 등록 중단: " + e.getMessage());
+        } finally {
+            // 중단돼도 앞선 청크는 커밋됐으므로, 학생이 많아 학생별로 다시 읽지 않고 적재된 학기를 버림
+            conflictDetector.invalidateAll();
+        }
+    }
+
 
     // =======================================================
     // 15. [DML] 스터디 그룹 관리
     // =======================================================
     public void manageStudentGroup() {
         System.out.println("\n[스터디 그룹 관리]");
-        System.out.println("1. 그룹 생성  2. 리더 변경");
+        System.out.println("1. 그룹 생성  2. 리더 변경  3. 공통 빈 시간 찾기");
         System.out.print("선택>> ");
-        String choice = scanner.nextLine();
+        String choice = readLine();
         if (choice.equals("1")) createGroup();
         else if (choice.equals("2")) updateGroupLeader();
+        else if (choice.equals("3")) findGroupFreeTime();
+    }
+
+    // 그룹 멤버 전원의 수업/개인 일정을 피한 모임 시간 추천 (09:00 ~ 22:00, 1시간 이상)
+    private void findGroupFreeTime() {
+        System.out.print("그룹 ID (예: 1): ");
+        long gid;
+        LocalDate from;
+        LocalDate to;
+        try {
+            gid = Long.parseLong(readLine().trim());
+            System.out.print("시작 날짜 (YYYY-MM-DD): ");
+            from = LocalDate.parse(readLine().trim());
+            System.out.print("종료 날짜 (YYYY-MM-DD): ");
+            to = LocalDate.parse(readLine().trim());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            System.out.println("잘못된 입력입니다.");
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            List<FreeTimeFinder.FreeSlot> slots = freeTimeFinder.find(gid, from, to, 9 * 60, 22 * 60, 60, 10);
+            long elapsedUs = (System.nanoTime() - start) / 1_000;
+            System.out.println("\n<추천 모임 시간 (긴 순)>");
+            for (FreeTimeFinder.FreeSlot slot : slots) {
+                System.out.printf("- %s %s ~ %s (%d분)\n", slot.start().toLocalDate(), slot.start().toLocalTime(),
+                        slot.end().toLocalTime(), slot.minutes());
+            }
+            if (slots.isEmpty()) System.out.println("공통 빈 시간이 없습니다.");
+            System.out.println("(" + elapsedUs + " us)");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Fail! " + e.getMessage());
+        }
     }
 
     private void createGroup() {
         System.out.println("=== 그룹 생성 ===");
         System.out.print("그룹명: ");
-        String gName = scanner.nextLine();
+        String gName = readLine();
         System.out.print("목적: ");
-        String purpose = scanner.nextLine();
+        String purpose = readLine();
         System.out.print("리더 학번: ");
-        String leader = scanner.nextLine();
+        String leader = readLine();
 
         String sql = "INSERT INTO student_group (group_id, g_name, purpose, leader, member_count) " +
-                "VALUES ((SELECT NVL(MAX(group_id), 0) + 1 FROM student_group), ?, ?, ?, 1)";
+                "VALUES (?, ?, ?, ?, 1)";
+
+        // ID는 커넥션을 빌리기 전에 할당 (블록 임대 시 별도 커넥션 사용)
+        long groupId;
+        try {
+            groupId = groupIds.nextId();
+        } catch (SQLException e) {
+            System.out.println("오류: ID 할당 실패 - " + e.getMessage());
+            return;
+        }
 
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, gName);
-            pstmt.setString(2, purpose);
-            pstmt.setString(3, leader);
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, groupId);
+            pstmt.setString(2, gName);
+            pstmt.setString(3, purpose);
+            pstmt.setString(4, leader);
             if (pstmt.executeUpdate() > 0) {
-                System.out.println("Success! 생성 성공!");
+                GroupVersion.bump(conn, groupId);
                 conn.commit();
+                freeTimeFinder.invalidateGroup(groupId); // 같은 ID를 먼저 조회해 빈 멤버 목록이 캐시됐을 수 있음
+                System.out.println("Success! 생성 성공! (그룹 ID: " + groupId + ")");
             } else System.out.println("Fail! 생성 실패");
         } catch (SQLException e) {
             System.out.println("오류: " + e.getMessage());
@@ -652,19 +1115,65 @@ public class Manager {
 
     private void updateGroupLeader() {
         System.out.print("그룹 ID (예: 184): ");
-        int gid = Integer.parseInt(scanner.nextLine());
+        int gid = Integer.parseInt(readLine());
         System.out.print("새 리더 학번 (예: 2022000037) : ");
-        String lid = scanner.nextLine();
+        String lid = readLine();
         String sql = "UPDATE student_group SET leader = ? WHERE group_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, lid);
             pstmt.setInt(2, gid);
             if (pstmt.executeUpdate() > 0) {
-                System.out.println("Success! 변경 성공!");
+                GroupVersion.bump(conn, gid);
                 conn.commit();
+                freeTimeFinder.invalidateGroup(gid);
+                System.out.println("Success! 변경 성공!");
             } else System.out.println("Fail! 변경 실패");
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
+
+    // =======================================================
+    // 18. [DML] 수강 신청/취소
+    // =======================================================
+    // 웹(course-add / course-delete)과 같은 TAKES 쓰기. 커밋한 변경은 변경 로그 번호(TakesChangeLog.Stamp)와 함께
+    // 메모리 인덱스와 학기 집계에 바로 반영하므로 다음 조회가 전체를 다시 읽지 않습니다.
+    public void manageEnrollment() {
+        System.out.println("\n[수강 신청/취소]");
+        System.out.println("1. 수강 신청  2. 수강 취소");
+        System.out.print("선택>> ");
+        String choice = readLine();
+        if (!choice.equals("1") && !choice.equals("2")) {
+            System.out.println("잘못된 선택입니다.");
+            return;
+        }
+        boolean enroll = choice.equals("1");
+        System.out.print("학번 (예: 2022000074): ");
+        String sid = readLine().trim();
+        System.out.print("과목 코드 (예: COME0301): ");
+        String courseId = readLine().trim();
+        System.out.print("분반 (예: 010): ");
+        String sectionId = readLine().trim();
+
+        String sql = enroll
+                ? "INSERT INTO takes (student_id, course_id, section_id) VALUES (?, ?, ?)"
+                : "DELETE FROM takes WHERE student_id = ? AND course_id = ? AND section_id = ?";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, sid);
+            pstmt.setString(2, courseId);
+            pstmt.setString(3, sectionId);
+            if (pstmt.executeUpdate() > 0) {
+                TakesChangeLog.Stamp stamp = TakesChangeLog.stamp(conn); // 커밋 전, 이 세션이 남긴 번호
+                conn.commit();
+                TakesChangeLog.Change change = new TakesChangeLog.Change(sid, courseId, sectionId, enroll ? 1 : -1);
+                enrollmentIndex.onChange(stamp, change);
+                enrollmentAggregates.onChange(stamp, change);
+                System.out.println(enroll ? "Success! 수강 신청 완료" : "Success! 수강 취소 완료");
+            } else System.out.println("Fail! 수강 중인 분반이 아닙니다.");
+        } catch (SQLIntegrityConstraintViolationException e) {
+            System.out.println("Fail! 이미 수강 중이거나 없는 학생/분반입니다.");
+        } catch (SQLException e) {
+            System.out.println("오류: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package org.example.calendar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// 운영 지표 레지스트리 (프로세스 전체에 하나)
+// - 작업(콘솔 메뉴, REST 메소드)별, SQL 문장별로 지연 시간 히스토그램 / 오류 수 / 가져온 행 수를 모읍니다.
+// - Timer는 처음 한 번만 만들고, 호출하는 쪽이 참조를 들고 있다가 기록합니다.
+//   기록(record/error/rows)은 원자적 증가뿐이라 할당과 락이 없어 운영 중에도 켜 둘 수 있습니다.
+// - SQL 문장은 공백과 IN (?, ?, ...) 목록 길이를 정규화해 묶고, 종류가 MAX_STATEMENTS를 넘으면 "(기타)"로 모읍니다.
+public final class Metrics {
+    public static final class Timer {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos) {
+            latency.record(nanos);
+        }
+
+        public void recordSince(long startNanos) {
+            latency.record(System.nanoTime() - startNanos);
+        }
+
+        public void error() {
+            errors.increment();
+        }
+
+        public void rows(long n) {
+            rows.add(n);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+    }
+
+    private static final int MAX_STATEMENTS = 500;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private static final ConcurrentHashMap<String, Timer> operations = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Timer> statements = new ConcurrentHashMap<>();
+    private static final Timer OTHER_STATEMENTS = new Timer("(기타)");
+
+    private Metrics() {
+    }
+
+    // 논리 작업 (예: "console.queryStudentByDept", "rest.StudentResource.schedules")
+    public static Timer operation(String name) {
+        Timer t = operations.get(name);
+        return t != null ? t : operations.computeIfAbsent(name, Timer::new);
+    }
+
+    // SQL 문장 (PreparedStatement를 만들 때 한 번 호출)
+    public static Timer statement(String sql) {
+        String key = normalize(sql);
+        Timer t = statements.get(key);
+        if (t != null) return t;
+        if (statements.size() >= MAX_STATEMENTS) return OTHER_STATEMENTS;
+        return statements.computeIfAbsent(key, Timer::new);
+    }
+
+    static String normalize(String sql) {
+        String oneLine = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PLACEHOLDER_LIST.matcher(oneLine).replaceAll("?, ...");
+    }
+
+    public static Collection<Timer> operations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    public static Collection<Timer> statements() {
+        List<Timer> all = new ArrayList<>(statements.values());
+        if (OTHER_STATEMENTS.latency().count() > 0) all.add(OTHER_STATEMENTS);
+        return all;
+    }
+
+    // 콘솔 출력용 한 줄 요약 (호출 수 많은 순)
+    public static List<String> summary(Collection<Timer> timers, int limit) {
+        List<Timer> sorted = new ArrayList<>(timers);
+        sorted.sort((a, b) -> Long.compare(b.latency().count(), a.latency().count()));
+        List<String> lines = new ArrayList<>();
+        for (Timer t : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            lines.add(String.format("%-40.40s %s errors=%d rows=%d", t.name(), t.latency().summary(), t.errors(), t.rows()));
+        }
+        return lines;
+    }
+}
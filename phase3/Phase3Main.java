@@ -1,22 +1,47 @@
 package org.example.calendar;
 
 import java.sql.Connection;
+import java.util.Map;
 import java.util.Scanner;
 
 public class Phase3Main {
+    // 메뉴 번호 → 지표 이름 (Metrics.operation)
+    private static final Map<String, Metrics.Timer> OPERATIONS = Map.ofEntries(
+            Map.entry("1", Metrics.operation("console.queryStudentByDept")),
+            Map.entry("2", Metrics.operation("console.queryGroupByPurpose")),
+            Map.entry("3", Metrics.operation("console.queryCourseStatsByTerm")),
+            Map.entry("4", Metrics.operation("console.queryStudentsTakingTwoCourses")),
+            Map.entry("5", Metrics.operation("console.queryStudentsWithSchedule")),
+            Map.entry("6", Metrics.operation("console.querySelectedCoursesInfo")),
+            Map.entry("7", Metrics.operation("console.queryPopularCourses")),
+            Map.entry("8", Metrics.operation("console.queryDeptEventsByMonth")),
+            Map.entry("9", Metrics.operation("console.querySectionEnrollmentRanking")),
+            Map.entry("10", Metrics.operation("console.queryStudentCreditRanking")),
+            Map.entry("11", Metrics.operation("console.queryUnionTakes")),
+            Map.entry("12", Metrics.operation("console.queryMinusTakes")),
+            Map.entry("13", Metrics.operation("console.queryIntersectTakes")),
+            Map.entry("14", Metrics.operation("console.managePersonalSchedule")),
+            Map.entry("15", Metrics.operation("console.manageStudentGroup")),
+            Map.entry("17", Metrics.operation("console.checkTimeConflicts")),
+            Map.entry("18", Metrics.operation("console.manageEnrollment")));
+
     public static void main(String[] args) {
-        // 1. DB 연결 (DBConnection 클래스 사용)
+        // 1. DB 연결 (DBConnection 클래스의 커넥션 풀 사용)
         System.out.println("데이터베이스 연결을 시도합니다...");
         Connection conn = DBConnection.getConnection();
         Scanner scanner = new Scanner(System.in);
 
         if (conn == null) {
             System.out.println("DB 연결 실패. 프로그램을 종료합니다.");
+            DBConnection.shutdown();
             return;
         }
+        System.out.println(">> DB 연결 성공!");
+        DBConnection.close(conn); // 연결 확인 후 풀에 반납
 
-        // 2. 매니저 객체 생성 (연결 객체와 스캐너를 주입)
-        Manager manager = new Manager(conn, scanner);
+        // 2. 매니저 객체 생성 (커넥션 풀과 스캐너를 주입)
+        Manager manager = new Manager(DBConnection.getDataSource(), scanner);
+        manager.warmUp();
 
         boolean isRunning = true;
         while (isRunning) {
@@ -24,6 +49,11 @@ public class Phase3Main {
             System.out.print("선택>> ");
             String input = scanner.nextLine();
 
+            // 메뉴 하나의 처리 시간 (메뉴 안에서 입력을 기다린 시간은 뺌, SQL 문장별 시간은 Metrics.statements)
+            // 느린 메뉴는 대여 대기 / 준비 / 실행 / 가져오기 / 나머지 시간으로 나눠 SlowQueryLog에 남깁니다.
+            Metrics.Timer timer = OPERATIONS.get(input);
+            QueryTrace trace = timer != null ? QueryTrace.begin(timer.name()) : null;
+            boolean failed = false;
             try {
                 switch (input) {
                     // 조회 기능 (SELECT)
@@ -74,6 +104,25 @@ public class Phase3Main {
                     case "15":
                         manager.manageStudentGroup();
                         break;
+                    case "18":
+                        manager.manageEnrollment();
+                        break;
+
+                    // 분석 기능
+                    case "17":
+                        manager.checkTimeConflicts();
+                        break;
+
+                    // 운영 정보
+                    case "16":
+                        System.out.println("[커넥션 풀 통계]");
+                        System.out.println(DBConnection.getDataSource().getStats());
+                        System.out.println("[작업별 지연 시간]");
+                        Metrics.summary(Metrics.operations(), 20).forEach(System.out::println);
+                        System.out.println("[SQL 문장별 지연 시간 (호출 수 상위 10)]");
+                        Metrics.summary(Metrics.statements(), 10).forEach(System.out::println);
+                        System.out.println("[느린 쿼리 로그] 기록 " + SlowQueryLog.written() + "건, 버림 " + SlowQueryLog.dropped() + "건");
+                        break;
 
                     // 종료
                     case "0":
@@ -84,15 +133,28 @@ public class Phase3Main {
                         System.out.println("잘못된 입력입니다. 다시 선택해주세요.");
                 }
             } catch (Exception e) {
+                if (timer != null) timer.error();
+                failed = true;
                 System.out.println("오류가 발생했습니다: " + e.getMessage());
                 e.printStackTrace();
+            } finally {
+                // Manager는 대부분 SQLException을 직접 잡아 출력하므로, 예외가 나오지 않아도 실패한 문장이 있으면 실패로 셈
+                if (trace != null && trace.failed() && !failed) {
+                    timer.error();
+                    failed = true;
+                }
+                if (timer != null) timer.record(trace.elapsedNanos());
+                if (trace != null) {
+                    trace.end();
+                    SlowQueryLog.operation(trace, failed);
+                }
             }
             System.out.println(); // 줄바꿈으로 가독성 확보
         }
 
         // 3. 종료 시 자원 해제
         scanner.close();
-        DBConnection.close(conn);
+        DBConnection.shutdown();
     }
 
     // 메인 메뉴 출력 메소드
@@ -118,6 +180,13 @@ public class Phase3Main {
         System.out.println(" [관리 기능 (DML)]");
         System.out.println("14. 개인 일정 관리 (등록/수정/삭제)");
         System.out.println("15. 스터디 그룹 관리 (생성/리더변경)");
+        System.out.println("18. 수강 신청/취소");
+        System.out.println("-------------------------------------------------------");
+        System.out.println(" [분석 기능]");
+        System.out.println("17. 수강/개인 일정 시간 충돌 검사");
+        System.out.println("-------------------------------------------------------");
+        System.out.println(" [운영 정보]");
+        System.out.println("16. 커넥션 풀 / 지연 시간 통계");
         System.out.println("-------------------------------------------------------");
         System.out.println(" 0. 종료");
         System.out.println("=======================================================");
@@ -0,0 +1,119 @@
+package org.example.calendar;
+
+// 작업 하나(콘솔 메뉴, REST 요청) 동안 DB에서 보낸 시간의 내역
+// - begin()으로 현재 스레드에 붙이면 커넥션 풀(대여 대기)과 statement 프록시(준비/실행/행 가져오기)가 여기에 더합니다.
+// - 전체 시간에서 이 합을 뺀 나머지가 입력 파싱, 결과 포맷, 출력 같은 애플리케이션 시간입니다.
+//   콘솔 메뉴가 사용자 입력을 기다린 시간(addInput)은 전체 시간에 넣지 않습니다. (느린 작업 판정과 내역이 사람의 입력 속도에 좌우되지 않도록)
+// - 문장 실행이나 커넥션 대여가 실패하면 표시해 둡니다. 메뉴 코드가 SQLException을 잡아 출력만 하고 끝내도
+//   작업을 실패로 셀 수 있도록 하기 위해서입니다. (예상한 실패를 다시 시도해 넘긴 곳은 recovered()로 되돌림)
+// - 붙어 있는 trace가 없으면 아무것도 기록하지 않습니다.
+public final class QueryTrace {
+    private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final long startNanos = System.nanoTime();
+    private long borrowNanos;
+    private long prepareNanos;
+    private long executeNanos;
+    private long fetchNanos;
+    private long inputNanos;
+    private long rows;
+    private int statements;
+    private int failures;
+
+    private QueryTrace(String operation) {
+        this.operation = operation;
+    }
+
+    public static QueryTrace begin(String operation) {
+        QueryTrace trace = new QueryTrace(operation);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    // 현재 스레드의 trace (없으면 null)
+    public static QueryTrace current() {
+        return CURRENT.get();
+    }
+
+    public void end() {
+        if (CURRENT.get() == this) CURRENT.remove();
+    }
+
+    static void addBorrow(long nanos) {
+        QueryTrace t = CURRENT.get();
+        if (t != null) t.borrowNanos += nanos;
+    }
+
+    static void addPrepare(long nanos) {
+        QueryTrace t = CURRENT.get();
+        if (t != null) t.prepareNanos += nanos;
+    }
+
+    static void addStatement(long executeNanos, long fetchNanos, long rows) {
+        QueryTrace t = CURRENT.get();
+        if (t == null) return;
+        t.statements++;
+        t.executeNanos += executeNanos;
+        t.fetchNanos += fetchNanos;
+        t.rows += rows;
+    }
+
+    // 콘솔 메뉴가 사용자 입력을 기다린 시간 (작업 지연 시간이 아니므로 따로 모음)
+    static void addInput(long nanos) {
+        QueryTrace t = CURRENT.get();
+        if (t != null) t.inputNanos += nanos;
+    }
+
+    static void addFailure() {
+        QueryTrace t = CURRENT.get();
+        if (t != null) t.failures++;
+    }
+
+    // 고유 키 충돌 후 UPDATE로 다시 시도하는 것처럼, 실패를 예상하고 처리한 경우
+    public static void recovered() {
+        QueryTrace t = CURRENT.get();
+        if (t != null && t.failures > 0) t.failures--;
+    }
+
+    public boolean failed() {
+        return failures > 0;
+    }
+
+    public String operation() {
+        return operation;
+    }
+
+    // 시작부터 지금까지 중 입력 대기를 뺀 시간
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos - inputNanos;
+    }
+
+    public long inputNanos() {
+        return inputNanos;
+    }
+
+    public long borrowNanos() {
+        return borrowNanos;
+    }
+
+    public long prepareNanos() {
+        return prepareNanos;
+    }
+
+    public long executeNanos() {
+        return executeNanos;
+    }
+
+    public long fetchNanos() {
+        return fetchNanos;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public int statements() {
+        return statements;
+    }
+}
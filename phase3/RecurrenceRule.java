@@ -0,0 +1,285 @@
+package org.example.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+// 반복 규칙 (RFC 5545 RRULE의 일부: FREQ=DAILY|WEEKLY, INTERVAL, BYDAY, UNTIL 또는 COUNT)
+// 예) FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20251220T235900
+//     FREQ=DAILY;COUNT=10
+// - 발생은 "주기(일/주) 번호 × 주기 안의 칸"으로 번호를 매깁니다. n번째 발생 시각과 어떤 시각 이후의 첫 발생을
+//   나눗셈으로 바로 구하므로, 먼 미래 구간을 조회해도 앞쪽 발생을 하나씩 세지 않습니다.
+// - 첫 시작(DTSTART)이 첫 발생입니다. 매주 반복이면 첫 시작의 요일이 BYDAY에 있어야 합니다. (없으면 결과가 정의되지 않는 RFC 규칙 대신 거부)
+// - 주의 시작은 월요일(WKST=MO), 시각은 저장된 그대로의 지역 시각입니다.
+public final class RecurrenceRule {
+    public enum Frequency {DAILY, WEEKLY}
+
+    public static final int MAX_INTERVAL = 99;
+    public static final int MAX_COUNT = 1000;
+    private static final DateTimeFormatter UNTIL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String[] BYDAY = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    private final Frequency frequency;
+    private final int interval;
+    private final List<DayOfWeek> days;  // 매주 반복의 요일 (월요일부터 정렬), 매일 반복이면 비어 있음
+    private final LocalDateTime until;   // 마지막 발생 시작의 상한 (포함), 없으면 null
+    private final int count;             // 발생 횟수, 없으면 0
+
+    public RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> days, LocalDateTime until, int count) {
+        if (frequency == null) throw new IllegalArgumentException("FREQ가 필요합니다.");
+        if (interval < 1 || interval > MAX_INTERVAL) throw new IllegalArgumentException("INTERVAL은 1~" + MAX_INTERVAL + "입니다.");
+        if (count < 0 || count > MAX_COUNT) throw new IllegalArgumentException("COUNT는 1~" + MAX_COUNT + "입니다.");
+        if (until != null && count > 0) throw new IllegalArgumentException("UNTIL과 COUNT는 함께 쓸 수 없습니다.");
+        if (frequency == Frequency.WEEKLY && (days == null || days.isEmpty())) {
+            throw new IllegalArgumentException("매주 반복에는 BYDAY가 필요합니다.");
+        }
+        if (frequency == Frequency.DAILY && days != null && !days.isEmpty()) {
+            throw new IllegalArgumentException("매일 반복에는 BYDAY를 쓸 수 없습니다.");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = frequency == Frequency.WEEKLY ? List.copyOf(EnumSet.copyOf(days)) : List.of();
+        this.until = until;
+        this.count = count;
+    }
+
+    public static RecurrenceRule parse(String rrule) {
+        if (rrule == null || rrule.isBlank()) throw new IllegalArgumentException("반복 규칙이 비어 있습니다.");
+        String text = rrule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) text = text.substring(6);
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        LocalDateTime until = null;
+        int count = 0;
+        for (String part : text.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("반복 규칙 형식이 올바르지 않습니다: " + part);
+            String name = part.substring(0, eq).trim().toUpperCase();
+            String value = part.substring(eq + 1).trim().toUpperCase();
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> {
+                        count = Integer.parseInt(value);
+                        if (count < 1) throw new IllegalArgumentException("COUNT는 1 이상입니다.");
+                    }
+                    case "UNTIL" -> until = parseUntil(value);
+                    case "BYDAY" -> {
+                        for (String day : value.split(",")) days.add(day(day.trim()));
+                    }
+                    case "WKST" -> {
+                        if (!value.equals("MO")) throw new IllegalArgumentException("WKST는 MO만 지원합니다.");
+                    }
+                    default -> throw new IllegalArgumentException("지원하지 않는 반복 규칙 항목입니다: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("반복 규칙 값이 올바르지 않습니다: " + part);
+            } catch (IllegalArgumentException e) {
+                if (name.equals("FREQ")) throw new IllegalArgumentException("FREQ는 DAILY 또는 WEEKLY입니다.");
+                throw e;
+            }
+        }
+        return new RecurrenceRule(frequency, interval, days, until, count);
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        // 끝의 Z는 무시 (시각은 지역 시각으로 저장), 날짜만 있으면 그날 끝까지
+        String v = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        if (v.length() == 8) return LocalDate.parse(v, UNTIL_DATE).atTime(LocalTime.of(23, 59, 59));
+        return LocalDateTime.parse(v, UNTIL);
+    }
+
+    private static DayOfWeek day(String code) {
+        for (int i = 0; i < BYDAY.length; i++) {
+            if (BYDAY[i].equals(code)) return DayOfWeek.of(i + 1);
+        }
+        throw new IllegalArgumentException("BYDAY 값이 올바르지 않습니다: " + code);
+    }
+
+    public Frequency frequency() {
+        return frequency;
+    }
+
+    public int interval() {
+        return interval;
+    }
+
+    public List<DayOfWeek> days() {
+        return days;
+    }
+
+    public LocalDateTime until() {
+        return until;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isBounded() {
+        return until != null || count > 0;
+    }
+
+    // 저장용 정규 형식 (항목 순서 고정)
+    @Override
+    public String toString() {
+        return format(t -> t.format(UNTIL));
+    }
+
+    // UNTIL 표기만 바꾼 형식 (iCalendar 내보내기는 DTSTART와 같은 UTC 표기가 필요)
+    public String format(Function<LocalDateTime, String> untilFormat) {
+        StringBuilder sb = new StringBuilder("FREQ=").append(frequency);
+        if (interval > 1) sb.append(";INTERVAL=").append(interval);
+        if (!days.isEmpty()) {
+            sb.append(";BYDAY=");
+            for (int i = 0; i < days.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(BYDAY[days.get(i).getValue() - 1]);
+            }
+        }
+        if (until != null) sb.append(";UNTIL=").append(untilFormat.apply(until));
+        if (count > 0) sb.append(";COUNT=").append(count);
+        return sb.toString();
+    }
+
+    // 사람이 읽는 형식 (예: "2주마다 월,수 / 2025-12-20까지")
+    public String describe() {
+        String[] names = {"월", "화", "수", "목", "금", "토", "일"};
+        StringBuilder sb = new StringBuilder();
+        if (frequency == Frequency.DAILY) {
+            sb.append(interval == 1 ? "매일" : interval + "일마다");
+        } else {
+            sb.append(interval == 1 ? "매주 " : interval + "주마다 ");
+            for (int i = 0; i < days.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(names[days.get(i).getValue() - 1]);
+            }
+        }
+        if (until != null) sb.append(" / ").append(until.toLocalDate()).append("까지");
+        if (count > 0) sb.append(" / ").append(count).append("회");
+        return sb.toString();
+    }
+
+    // =======================================================
+    // 발생 계산 (첫 시작 first 기준)
+    // =======================================================
+    // 주기 안의 칸 구성: 매일이면 칸 1개(간격 interval일), 매주면 요일마다 한 칸(간격 7*interval일)
+    private Layout layout(LocalDateTime first) {
+        LocalDate firstDate = first.toLocalDate();
+        if (frequency == Frequency.DAILY) {
+            return new Layout(firstDate, interval, new int[]{0}, 0, first.toLocalTime());
+        }
+        int[] offsets = new int[days.size()];
+        int firstSlot = -1;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = days.get(i).getValue() - 1;
+            if (days.get(i) == first.getDayOfWeek()) firstSlot = i;
+        }
+        if (firstSlot < 0) throw new IllegalArgumentException("첫 시작 요일(" + first.getDayOfWeek() + ")이 BYDAY에 없습니다.");
+        return new Layout(firstDate.minusDays(first.getDayOfWeek().getValue() - 1), 7L * interval, offsets, firstSlot,
+                first.toLocalTime());
+    }
+
+    // base: 0번 주기의 기준 날짜, period: 주기 길이(일), offsets: 칸별 기준 날짜로부터의 일수, firstSlot: 첫 발생의 칸
+    private record Layout(LocalDate base, long period, int[] offsets, int firstSlot, LocalTime time) {
+        // 절대 칸 번호 q (= n + firstSlot)의 시작 시각
+        LocalDateTime at(long q) {
+            int m = offsets.length;
+            return base.plusDays(Math.floorDiv(q, m) * period + offsets[Math.floorMod(q, m)]).atTime(time);
+        }
+
+        // at(q) >= from 인 가장 작은 q (firstSlot 이상)
+        long firstAtOrAfter(LocalDateTime from) {
+            int m = offsets.length;
+            long days = ChronoUnit.DAYS.between(base, from.toLocalDate());
+            long q = Math.max(firstSlot, Math.floorDiv(days, period) * m);
+            while (at(q).isBefore(from)) q++; // 최대 한 주기 (m+1칸) 전진
+            return q;
+        }
+    }
+
+    // n번째(0부터) 발생의 시작 시각. 규칙이 끝난 뒤면 null
+    public LocalDateTime occurrence(LocalDateTime first, long n) {
+        if (n < 0 || (count > 0 && n >= count)) return null;
+        Layout layout = layout(first);
+        LocalDateTime start = layout.at(n + layout.firstSlot());
+        return until != null && start.isAfter(until) ? null : start;
+    }
+
+    // 마지막 발생의 시작 시각 (끝없는 반복이면 null, 발생이 하나도 없으면 IllegalArgumentException)
+    public LocalDateTime lastOccurrence(LocalDateTime first) {
+        if (count > 0) return occurrence(first, count - 1);
+        if (until == null) return null;
+        if (first.isAfter(until)) throw new IllegalArgumentException("UNTIL이 첫 시작보다 앞입니다.");
+        Layout layout = layout(first);
+        long q = layout.firstAtOrAfter(until);
+        if (!layout.at(q).equals(until)) q--;
+        return layout.at(q);
+    }
+
+    // from 이후(포함) 시작하는 발생을 시간순으로 하나씩 만듭니다. (n번 발생이 COUNT 안에 있는지도 함께 확인)
+    public Iterator<LocalDateTime> startsFrom(LocalDateTime first, LocalDateTime from) {
+        Layout layout = layout(first);
+        long startQ = from.isAfter(first) ? layout.firstAtOrAfter(from) : layout.firstSlot();
+        long endQ = count > 0 ? count + (long) layout.firstSlot() : Long.MAX_VALUE; // 제외
+        return new Iterator<>() {
+            private long q = startQ;
+            private LocalDateTime next = advance();
+
+            private LocalDateTime advance() {
+                if (q >= endQ) return null;
+                LocalDateTime start = layout.at(q++);
+                return until != null && start.isAfter(until) ? null : start;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (next == null) throw new NoSuchElementException();
+                LocalDateTime result = next;
+                next = advance();
+                return result;
+            }
+        };
+    }
+
+    // 요일 목록 (입력 "MO,WE" 또는 "월,수")
+    public static Set<DayOfWeek> parseDays(String text) {
+        String korean = "월화수목금토일";
+        Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+        List<String> bad = new ArrayList<>();
+        for (String token : text.split("[,\\s]+")) {
+            String t = token.trim().toUpperCase();
+            if (t.isEmpty()) continue;
+            int k = t.length() == 1 ? korean.indexOf(t.charAt(0)) : -1;
+            if (k >= 0) result.add(DayOfWeek.of(k + 1));
+            else {
+                try {
+                    result.add(day(t));
+                } catch (IllegalArgumentException e) {
+                    bad.add(token);
+                }
+            }
+        }
+        if (!bad.isEmpty()) throw new IllegalArgumentException("요일 형식이 올바르지 않습니다: " + bad);
+        return result;
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 기준 정보(DEPARTMENT, COURSE, SECTION) 읽기 캐시
+// - 거의 바뀌지 않는 테이블이라 목록 조회에서 매번 조인하는 대신, 코드만 읽고 이름/학점/시간표는 여기서 찾습니다.
+// - 학과는 행 수가 적어 하나라도 놓치면 테이블 전체를 다시 읽습니다. 과목/분반은 키 단위로 읽고,
+//   여러 개가 필요하면 courses()로 한 번에(IN 목록) 읽습니다.
+// - 기준 정보를 바꾼 뒤에는 invalidate*를 호출하세요. 호출하지 않아도 TTL이 지나면 다시 읽습니다.
+// - 놓치면 커넥션을 빌리므로, 커넥션을 잡은 채 행을 쓰는 스트림(JsonRowStream) 안에서는 부르지 말고
+//   스트림을 열기 전에 필요한 것을 받아 두세요. (예: departments())
+public class ReferenceCache {
+    public record Course(String courseId, String title, int credits) {
+    }
+
+    // 분반과 미리 해석해 둔 주간 시간표
+    public record Section(String courseId, String sectionId, int term, String time, String location,
+                          WeeklyTimetable timetable) {
+    }
+
+    private record SectionKey(String courseId, String sectionId) {
+    }
+
+    private static final long TTL_MS = 10 * 60 * 1000;
+    private static final int MAX_DEPARTMENTS = 1_000;
+    private static final int MAX_COURSES = 10_000;
+    private static final int MAX_SECTIONS = 20_000;
+    private static final int IN_CHUNK = 500;
+
+    private final DataSource dataSource;
+    private final LruTtlCache<String, String> departments = new LruTtlCache<>(MAX_DEPARTMENTS, TTL_MS);
+    private final LruTtlCache<String, Course> courses = new LruTtlCache<>(MAX_COURSES, TTL_MS);
+    private final LruTtlCache<SectionKey, Section> sections = new LruTtlCache<>(MAX_SECTIONS, TTL_MS);
+    private volatile Map<String, String> allDepartments; // 마지막으로 읽은 학과 전체 (departments()용)
+    private volatile long allDepartmentsAt;
+
+    public ReferenceCache(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // =======================================================
+    // 학과
+    // =======================================================
+    // 학과 이름 (없는 학과면 null)
+    public String departmentName(String deptId) throws SQLException {
+        if (deptId == null) return null;
+        return departments.get(deptId, id -> loadDepartments().get(id));
+    }
+
+    // 학과 전체 이름표 (TTL 안이면 DB에 가지 않음, 읽기 전용)
+    public Map<String, String> departments() throws SQLException {
+        Map<String, String> all = allDepartments;
+        if (all != null && System.currentTimeMillis() - allDepartmentsAt < TTL_MS) return all;
+        return loadDepartments();
+    }
+
+    // DEPARTMENT 전체를 읽어 캐시를 채웁니다.
+    public Map<String, String> loadDepartments() throws SQLException {
+        Map<String, String> all = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT dept_id, dept_name FROM department");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) all.put(rs.getString("dept_id"), rs.getString("dept_name"));
+        }
+        for (Map.Entry<String, String> e : all.entrySet()) departments.put(e.getKey(), e.getValue());
+        Map<String, String> result = Collections.unmodifiableMap(all);
+        allDepartmentsAt = System.currentTimeMillis();
+        allDepartments = result;
+        return result;
+    }
+
+    // =======================================================
+    // 과목
+    // =======================================================
+    public Course course(String courseId) throws SQLException {
+        if (courseId == null) return null;
+        return courses.get(courseId, id -> loadCourses(List.of(id)).get(id));
+    }
+
+    // 여러 과목을 한 번에 (캐시에 없는 것만 IN 목록으로 조회). 결과는 요청 순서, 없는 과목은 빠짐
+    public Map<String, Course> courses(Collection<String> courseIds) throws SQLException {
+        Map<String, Course> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : courseIds) {
+            Course c = courses.getIfPresent(id);
+            if (c != null) found.put(id, c);
+            else if (!missing.contains(id)) missing.add(id);
+        }
+        if (missing.isEmpty()) return found;
+
+        found.putAll(loadCourses(missing));
+        Map<String, Course> result = new LinkedHashMap<>();
+        for (String id : courseIds) {
+            Course c = found.get(id);
+            if (c != null) result.put(id, c);
+        }
+        return result;
+    }
+
+    private Map<String, Course> loadCourses(List<String> courseIds) throws SQLException {
+        Map<String, Course> loaded = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            for (int from = 0; from < courseIds.size(); from += IN_CHUNK) {
+                List<String> chunk = courseIds.subList(from, Math.min(courseIds.size(), from + IN_CHUNK));
+                String sql = "SELECT course_id, title, credits FROM course WHERE course_id IN (" +
+                        String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) pstmt.setString(i + 1, chunk.get(i));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Course c = new Course(rs.getString("course_id"), rs.getString("title"), rs.getInt("credits"));
+                            loaded.put(c.courseId(), c);
+                            courses.put(c.courseId(), c);
+                        }
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // =======================================================
+    // 분반
+    // =======================================================
+    public Section section(String courseId, String sectionId) throws SQLException {
+        return sections.get(new SectionKey(courseId, sectionId), this::loadSection);
+    }
+
+    private Section loadSection(SectionKey key) throws SQLException {
+        String sql = "SELECT academic_term, time, location FROM section WHERE course_id = ? AND section_id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, key.courseId());
+            pstmt.setString(2, key.sectionId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) return null;
+                String time = rs.getString("time");
+                return new Section(key.courseId(), key.sectionId(), rs.getInt("academic_term"), time,
+                        rs.getString("location"), WeeklyTimetable.parse(time));
+            }
+        }
+    }
+
+    // =======================================================
+    // 무효화 / 통계
+    // =======================================================
+    public void invalidateDepartment(String deptId) {
+        departments.invalidate(deptId);
+        allDepartments = null;
+    }
+
+    public void invalidateCourse(String courseId) {
+        courses.invalidate(courseId);
+        sections.invalidateIf(k -> k.courseId().equals(courseId));
+    }
+
+    public void invalidateSection(String courseId, String sectionId) {
+        sections.invalidate(new SectionKey(courseId, sectionId));
+    }
+
+    public void invalidateAll() {
+        departments.invalidateAll();
+        allDepartments = null;
+        courses.invalidateAll();
+        sections.invalidateAll();
+    }
+
+    public String summary() {
+        return String.format("학과 %d (hit %d / miss %d), 과목 %d (hit %d / miss %d), 분반 %d (hit %d / miss %d)",
+                departments.size(), departments.hits(), departments.misses(),
+                courses.size(), courses.hits(), courses.misses(),
+                sections.size(), sections.hits(), sections.misses());
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 개인 일정 변경 로그 (학생별 버전)
+// - 일정을 등록/수정/삭제하는 트랜잭션 안에서 record()를 호출하면 SCHEDULE_VERSION의 학생 행 버전을 올리고
+//   SCHEDULE_CHANGE에 (학생, 버전, 일정 ID, 종류)를 남깁니다. 커밋은 호출하는 쪽이 합니다.
+//   버전 행은 커밋할 때까지 잠겨 있으므로 한 학생의 버전은 커밋 순서대로 보입니다. (늦게 커밋된 작은 버전을 놓치지 않음)
+// - since(학생, N)은 N 이후 바뀐 일정만 돌려줍니다. 같은 일정이 여러 번 바뀌었으면 마지막 상태 하나로 합칩니다.
+//   읽는 양은 변경 건수에 비례하고, N이 현재 버전이면 버전 행 하나만 읽습니다.
+// - N이 보존 기간(prune)보다 오래됐거나, 변경이 MAX_DELTA건을 넘거나, 서버 버전보다 크면 전체 일정(snapshot)을 돌려줍니다.
+// - 반복 일정(ScheduleSeries)도 같은 로그에 반복 일정 ID로 남고(빠진 발생 추가는 수정), 발생 대신 규칙과 빠진 발생으로 전달됩니다.
+public class ScheduleChangeLog {
+    public enum Op {
+        INSERT("I"), UPDATE("U"), DELETE("D");
+
+        final String code;
+
+        Op(String code) {
+            this.code = code;
+        }
+    }
+
+    // deleted면 title/start/end는 null. 반복 일정이면 rrule과 빠진 발생(exceptions)이 있고 start/end는 첫 발생
+    public record Change(long scheduleId, boolean deleted, String title, LocalDateTime start, LocalDateTime end,
+                         String rrule, List<LocalDateTime> exceptions) {
+        public Change(long scheduleId, boolean deleted, String title, LocalDateTime start, LocalDateTime end) {
+            this(scheduleId, deleted, title, start, end, null, List.of());
+        }
+
+        static Change of(ScheduleSeries series) {
+            return new Change(series.seriesId(), false, series.title(), series.start(), series.end(),
+                    series.rule().toString(), List.copyOf(series.exceptions()));
+        }
+    }
+
+    // snapshot이면 changes가 학생의 전체 일정 (클라이언트는 가진 목록을 통째로 바꿈)
+    public record Delta(long version, boolean snapshot, List<Change> changes) {
+    }
+
+    public static final int MAX_DELTA = 500;
+
+    // 시각은 DB 서버 시계(SYSTIMESTAMP)로 남깁니다. (세션 시간대와 무관하게 ChangeWatcher가 비교할 수 있도록)
+    private static final String BUMP_SQL =
+            "UPDATE schedule_version SET version = version + ?, changed_at = SYSTIMESTAMP WHERE student_id = ?";
+    private static final String CREATE_SQL = "INSERT INTO schedule_version (student_id, version, pruned_through, changed_at) " +
+            "VALUES (?, ?, 0, SYSTIMESTAMP)";
+    private static final String INSERT_SQL = "INSERT INTO schedule_change (student_id, version, schedule_id, op, changed_at) " +
+            "VALUES (?, ?, ?, ?, SYSTIMESTAMP)";
+
+    private final DataSource dataSource;
+
+    public ScheduleChangeLog(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // =======================================================
+    // 기록 (호출하는 쪽의 트랜잭션 안에서)
+    // =======================================================
+    // 기록한 뒤의 학생 버전을 돌려줍니다. (ScheduleIndex가 자기 변경만 반영할 때 사용)
+    public long record(Connection conn, String studentId, Op op, long scheduleId) throws SQLException {
+        return record(conn, studentId, op, new long[]{scheduleId}, 1);
+    }
+
+    // 한 학생의 일정 count개를 같은 종류로 기록 (일괄 등록, count가 0이면 기록하지 않고 0)
+    public long record(Connection conn, String studentId, Op op, long[] scheduleIds, int count) throws SQLException {
+        if (count == 0) return 0;
+        long last = bump(conn, studentId, count);
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            for (int i = 0; i < count; i++) {
+                pstmt.setString(1, studentId);
+                pstmt.setLong(2, last - count + 1 + i);
+                pstmt.setLong(3, scheduleIds[i]);
+                pstmt.setString(4, op.code);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+        return last;
+    }
+
+    // 여러 학생의 등록을 학생별로 묶어 기록 (studentIds[i]가 scheduleIds[i]의 주인)
+    public void recordInserts(Connection conn, List<String> studentIds, long[] scheduleIds) throws SQLException {
+        Map<String, List<Long>> byStudent = new LinkedHashMap<>();
+        for (int i = 0; i < studentIds.size(); i++) {
+            byStudent.computeIfAbsent(studentIds.get(i), k -> new ArrayList<>()).add(scheduleIds[i]);
+        }
+        for (Map.Entry<String, List<Long>> e : byStudent.entrySet()) {
+            long[] ids = e.getValue().stream().mapToLong(Long::longValue).toArray();
+            record(conn, e.getKey(), Op.INSERT, ids, ids.length);
+        }
+    }
+
+    // 학생 버전을 count만큼 올리고 새 버전을 돌려줍니다. (버전 행이 없으면 만듦)
+    private long bump(Connection conn, String studentId, int count) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try (PreparedStatement pstmt = conn.prepareStatement(BUMP_SQL)) {
+                pstmt.setInt(1, count);
+                pstmt.setString(2, studentId);
+                if (pstmt.executeUpdate() > 0) return currentVersion(conn, studentId)[0];
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(CREATE_SQL)) {
+                pstmt.setString(1, studentId);
+                pstmt.setLong(2, count);
+                pstmt.executeUpdate();
+                return count;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // 다른 트랜잭션이 방금 만들었음 -> UPDATE로 다시 (그쪽 커밋까지 대기)
+                if (attempt > 0) throw e;
+                QueryTrace.recovered();
+            }
+        }
+    }
+
+    // {현재 버전, 지워진 로그의 마지막 버전} (버전 행이 없으면 {0, 0})
+    private static long[] currentVersion(Connection conn, String studentId) throws SQLException {
+        String sql = "SELECT version, pruned_through FROM schedule_version WHERE student_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? new long[]{rs.getLong(1), rs.getLong(2)} : new long[]{0, 0};
+            }
+        }
+    }
+
+    // =======================================================
+    // 조회
+    // =======================================================
+    // since < 0 이면 전체 일정 (처음 동기화). 0은 "로그가 생기기 전 상태"를 뜻하는 정상 버전입니다.
+    public Delta since(String studentId, long since) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            long[] state = currentVersion(conn, studentId);
+            long version = state[0];
+            if (since == version) return new Delta(version, false, List.of());
+            if (since >= 0 && since >= state[1] && since < version) {
+                List<Change> changes = changes(conn, studentId, since, version);
+                if (changes != null) return new Delta(version, false, changes);
+            }
+            return new Delta(version, true, snapshot(conn, studentId));
+        }
+    }
+
+    // (since, version] 구간의 변경을 일정별 마지막 상태로 합침 (MAX_DELTA건을 넘으면 null)
+    private static List<Change> changes(Connection conn, String studentId, long since, long version) throws SQLException {
+        String sql = "SELECT c.schedule_id, s.schedule_id AS live_id, r.series_id, s.title, s.start_time, s.end_time " +
+                "FROM schedule_change c LEFT JOIN schedule s ON s.schedule_id = c.schedule_id " +
+                "LEFT JOIN schedule_series r ON r.series_id = c.schedule_id " +
+                "WHERE c.student_id = ? AND c.version > ? AND c.version <= ? " +
+                "ORDER BY c.version FETCH FIRST ? ROWS ONLY";
+        Map<Long, Change> latest = new LinkedHashMap<>();
+        Set<Long> seriesIds = new LinkedHashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, studentId);
+            pstmt.setLong(2, since);
+            pstmt.setLong(3, version);
+            pstmt.setInt(4, MAX_DELTA + 1);
+            pstmt.setFetchSize(MAX_DELTA + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int rows = 0;
+                while (rs.next()) {
+                    if (++rows > MAX_DELTA) return null;
+                    long id = rs.getLong("schedule_id");
+                    rs.getLong("series_id");
+                    boolean series = !rs.wasNull();
+                    rs.getLong("live_id");
+                    // 조인한 행이 없으면 지금은 삭제된 상태 (중간 상태 대신 현재 상태를 보냄)
+                    Change change = rs.wasNull() ? new Change(id, !series, null, null, null)
+                            : new Change(id, false, rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime());
+                    latest.remove(id);
+                    latest.put(id, change);
+                    if (series) seriesIds.add(id);
+                }
+            }
+        }
+        // 반복 일정은 규칙과 빠진 발생까지 한 번에 읽어 채움 (그 사이 지워졌으면 삭제로)
+        Map<Long, ScheduleSeries> live = ScheduleSeries.forIds(conn, new ArrayList<>(seriesIds));
+        for (long id : seriesIds) {
+            ScheduleSeries s = live.get(id);
+            latest.replace(id, s == null ? new Change(id, true, null, null, null) : Change.of(s));
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private static List<Change> snapshot(Connection conn, String studentId) throws SQLException {
+        String sql = "SELECT schedule_id, title, start_time, end_time FROM schedule WHERE student_id = ? ORDER BY schedule_id";
+        List<Change> all = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, studentId);
+            pstmt.setFetchSize(500);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    all.add(new Change(rs.getLong("schedule_id"), false, rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime()));
+                }
+            }
+        }
+        for (ScheduleSeries series : ScheduleSeries.forStudent(conn, studentId)) all.add(Change.of(series));
+        return all;
+    }
+
+    // =======================================================
+    // 보존 기간이 지난 로그 정리
+    // =======================================================
+    // keep보다 오래된 변경을 지우고, 학생별로 지운 마지막 버전을 pruned_through에 남깁니다.
+    // 그보다 오래된 버전으로 요청한 클라이언트는 전체 일정을 받습니다.
+    public int prune(Duration keep) throws SQLException {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(keep));
+        String markSql = "UPDATE schedule_version v SET pruned_through = " +
+                "(SELECT MAX(c.version) FROM schedule_change c WHERE c.student_id = v.student_id AND c.changed_at < ?) " +
+                "WHERE EXISTS (SELECT 1 FROM schedule_change c WHERE c.student_id = v.student_id AND c.changed_at < ?)";
+        String deleteSql = "DELETE FROM schedule_change WHERE changed_at < ?";
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement mark = conn.prepareStatement(markSql);
+                 PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                mark.setTimestamp(1, cutoff);
+                mark.setTimestamp(2, cutoff);
+                mark.executeUpdate();
+                delete.setTimestamp(1, cutoff);
+                int deleted = delete.executeUpdate();
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 개인 일정 대량 등록기
+// - CSV(student_id,title,start,end) 또는 iCalendar(.ics) 파일을 한 줄씩 읽어 처리합니다. (파일 전체를 메모리에 올리지 않음)
+// - 행 검증 후 batchSize 단위로 addBatch/executeBatch, 청크마다 commit
+// - 등록한 일정은 같은 트랜잭션에서 ScheduleChangeLog에 학생별로 묶어 기록하고,
+//   청크를 커밋할 때마다 그 학생들의 ScheduleIndex 항목을 비웁니다. (다음 조회 때 DB에서 다시 읽음)
+// - 검증 실패 행과 DB에서 거부된 행은 reject 파일에 "줄번호,사유,원본" 형태로 기록합니다.
+public class ScheduleImporter {
+    private static final String INSERT_SQL = "INSERT INTO schedule (schedule_id, student_id, title, start_time, end_time) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final DateTimeFormatter CSV_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int STUDENT_ID_LENGTH = 10;  // STUDENT_ID CHAR(10)
+    private static final int TITLE_MAX_BYTES = 40;    // TITLE VARCHAR2(40)
+
+    private final DataSource dataSource;
+    private final IdAllocator scheduleIds;
+    private final int batchSize;
+    private final ScheduleChangeLog changeLog;
+    private final ScheduleIndex scheduleIndex; // 없으면(null) 비우지 않음 (벤치마크)
+
+    public ScheduleImporter(DataSource dataSource, IdAllocator scheduleIds, int batchSize) {
+        this(dataSource, scheduleIds, batchSize, null);
+    }
+
+    public ScheduleImporter(DataSource dataSource, IdAllocator scheduleIds, int batchSize, ScheduleIndex scheduleIndex) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize는 1 이상이어야 합니다.");
+        this.dataSource = dataSource;
+        this.scheduleIds = scheduleIds;
+        this.batchSize = batchSize;
+        this.changeLog = new ScheduleChangeLog(dataSource);
+        this.scheduleIndex = scheduleIndex;
+    }
+
+    public record Result(long read, long inserted, long rejected, long elapsedMs) {
+        @Override
+        public String toString() {
+            return String.format("읽은 행 %d, 등록 %d, 거부 %d (%d ms)", read, inserted, rejected, elapsedMs);
+        }
+    }
+
+    private record Row(long lineNo, String studentId, String title, LocalDateTime start, LocalDateTime end, String raw) {
+    }
+
+    // 검증 실패 시 던지는 내부 예외 (사유는 reject 파일에 기록)
+    private static final class RowException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    // =======================================================
+    // CSV: student_id,title,start,end (시간 형식: YYYY-MM-DD HH:MI), 첫 줄 헤더는 건너뜀
+    // =======================================================
+    public Result importCsv(Path input, Path rejectFile) throws IOException, SQLException {
+        long startedAt = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             Chunker chunker = new Chunker(rejectFile)) {
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                if (lineNo == 1 && line.toLowerCase().startsWith("student_id")) continue;
+                chunker.read++;
+                try {
+                    List<String> fields = splitCsv(line);
+                    if (fields.size() != 4) throw new RowException("열 개수 오류 (" + fields.size() + "개, 4개 필요)");
+                    chunker.add(validate(lineNo, fields.get(0), fields.get(1),
+                            parseCsvTime(fields.get(2)), parseCsvTime(fields.get(3)), line));
+                } catch (RowException e) {
+                    chunker.reject(lineNo, e.getMessage(), line);
+                }
+            }
+            chunker.flush();
+            return chunker.result(startedAt);
+        }
+    }
+
+    // =======================================================
+    // iCalendar: VEVENT의 SUMMARY/DTSTART/DTEND를 studentId의 일정으로 등록
+    // =======================================================
+    public Result importICalendar(Path input, String studentId, Path rejectFile) throws IOException, SQLException {
+        long startedAt = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             Chunker chunker = new Chunker(rejectFile)) {
+            String summary = null, dtStart = null, dtEnd = null;
+            boolean inEvent = false;
+            long eventLine = 0;
+
+            // RFC 5545 줄 접기: 공백/탭으로 시작하는 줄은 앞 줄의 연속
+            String pending = null;
+            long lineNo = 0, pendingLineNo = 0;
+            while (true) {
+                String line = reader.readLine();
+                if (line != null) lineNo++;
+                if (line != null && pending != null && (line.startsWith(" ") || line.startsWith("\t"))) {
+                    pending += line.substring(1);
+                    continue;
+                }
+                if (pending != null) {
+                    String content = pending;
+                    if (content.equals("BEGIN:VEVENT")) {
+                        inEvent = true;
+                        eventLine = pendingLineNo;
+                        summary = dtStart = dtEnd = null;
+                    } else if (content.equals("END:VEVENT") && inEvent) {
+                        inEvent = false;
+                        chunker.read++;
+                        String raw = "SUMMARY=" + summary + ";DTSTART=" + dtStart + ";DTEND=" + dtEnd;
+                        try {
+                            if (dtStart == null) throw new RowException("DTSTART 없음");
+                            LocalDateTime start = parseIcsTime(dtStart);
+                            LocalDateTime end = dtEnd == null ? start : parseIcsTime(dtEnd);
+                            chunker.add(validate(eventLine, studentId, summary == null ? "" : unescapeIcs(summary), start, end, raw));
+                        } catch (RowException e) {
+                            chunker.reject(eventLine, e.getMessage(), raw);
+                        }
+                    } else if (inEvent) {
+                        String name = propertyName(content);
+                        if (name.equals("SUMMARY")) summary = propertyValue(content);
+                        else if (name.equals("DTSTART")) dtStart = content;
+                        else if (name.equals("DTEND")) dtEnd = content;
+                    }
+                }
+                if (line == null) break;
+                pending = line;
+                pendingLineNo = lineNo;
+            }
+            chunker.flush();
+            return chunker.result(startedAt);
+        }
+    }
+
+    // =======================================================
+    // 검증 / 파싱
+    // =======================================================
+    private Row validate(long lineNo, String studentId, String title, LocalDateTime start, LocalDateTime end, String raw)
+            throws RowException {
+        if (studentId == null || studentId.trim().length() != STUDENT_ID_LENGTH)
+            throw new RowException("학번은 " + STUDENT_ID_LENGTH + "자리여야 합니다");
+        if (title == null || title.isBlank()) throw new RowException("제목 없음");
+        if (title.getBytes(StandardCharsets.UTF_8).length > TITLE_MAX_BYTES)
+            throw new RowException("제목이 " + TITLE_MAX_BYTES + "바이트를 넘습니다");
+        if (end.isBefore(start)) throw new RowException("종료 시간이 시작 시간보다 빠릅니다");
+        return new Row(lineNo, studentId.trim(), title.trim(), start, end, raw);
+    }
+
+    private static LocalDateTime parseCsvTime(String value) throws RowException {
+        try {
+            return LocalDateTime.parse(value.trim(), CSV_TIME);
+        } catch (DateTimeParseException e) {
+            throw new RowException("시간 형식 오류: " + value);
+        }
+    }
+
+    // DTSTART:20251029T100000, DTSTART:20251029T010000Z, DTSTART;TZID=Asia/Seoul:..., DTSTART;VALUE=DATE:20251029
+    private static LocalDateTime parseIcsTime(String property) throws RowException {
+        String value = propertyValue(property);
+        String params = property.substring(0, property.indexOf(':')).toUpperCase();
+        try {
+            if (params.contains("VALUE=DATE") && !params.contains("VALUE=DATE-TIME")) {
+                return LocalDate.parse(value, ICS_DATE).atStartOfDay();
+            }
+            if (value.endsWith("Z")) {
+                return LocalDateTime.parse(value.substring(0, value.length() - 1), ICS_DATE_TIME)
+                        .atZone(ZoneId.of("UTC")).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            LocalDateTime local = LocalDateTime.parse(value, ICS_DATE_TIME);
+            int tz = params.indexOf("TZID=");
+            if (tz >= 0) {
+                // params는 property 앞부분을 대문자로 바꾼 것이므로 위치가 같습니다. (ZoneId는 대소문자 구분)
+                String zone = property.substring(tz + 5, params.length()).split(";")[0];
+                ZonedDateTime zoned = local.atZone(ZoneId.of(zone));
+                return zoned.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            return local;
+        } catch (DateTimeException e) {
+            throw new RowException("시간 형식 오류: " + property);
+        }
+    }
+
+    private static String propertyName(String content) {
+        int end = 0;
+        while (end < content.length() && content.charAt(end) != ';' && content.charAt(end) != ':') end++;
+        return content.substring(0, end).toUpperCase();
+    }
+
+    private static String propertyValue(String content) {
+        int colon = content.indexOf(':');
+        return colon < 0 ? "" : content.substring(colon + 1);
+    }
+
+    private static String unescapeIcs(String value) {
+        return value.replace("\\n", " ").replace("\\N", " ").replace("\\,", ",").replace("\\;", ";").replace("\\\\", "\\");
+    }
+
+    // 따옴표("...", 내부의 "" 는 ") 를 지원하는 단순 CSV 분리
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString());
+        return fields;
+    }
+
+    // =======================================================
+    // 청크 단위 배치 실행기: 커넥션 하나로 batchSize 행씩 executeBatch + commit
+    // =======================================================
+    private final class Chunker implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement pstmt;
+        private final Path rejectFile;
+        private final List<Row> chunk = new ArrayList<>(batchSize);
+        // 이번 청크에서 등록한 일정의 주인 학번과 ID (변경 로그용)
+        private final List<String> owners = new ArrayList<>(batchSize);
+        private final long[] insertedIds = new long[batchSize];
+        private BufferedWriter rejects;
+        long read;
+        long inserted;
+        long rejected;
+
+        Chunker(Path rejectFile) throws SQLException {
+            this.rejectFile = rejectFile;
+            this.conn = dataSource.getConnection();
+            try {
+                this.pstmt = conn.prepareStatement(INSERT_SQL);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+
+        void add(Row row) throws SQLException, IOException {
+            chunk.add(row);
+            if (chunk.size() >= batchSize) flush();
+        }
+
+        void flush() throws SQLException, IOException {
+            if (chunk.isEmpty()) return;
+            owners.clear();
+            try {
+                for (Row row : chunk) {
+                    insertedIds[owners.size()] = bind(row);
+                    owners.add(row.studentId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                changeLog.recordInserts(conn, owners, insertedIds);
+                conn.commit();
+                committed();
+                inserted += chunk.size();
+            } catch (BatchUpdateException e) {
+                // 청크 전체를 되돌리고 한 행씩 다시 넣어 문제 행만 골라냅니다.
+                conn.rollback();
+                pstmt.clearBatch();
+                retryRowByRow();
+            }
+            chunk.clear();
+        }
+
+        private void retryRowByRow() throws SQLException, IOException {
+            owners.clear();
+            for (Row row : chunk) {
+                try {
+                    long id = bind(row);
+                    pstmt.executeUpdate();
+                    insertedIds[owners.size()] = id;
+                    owners.add(row.studentId());
+                    inserted++;
+                } catch (SQLException e) {
+                    reject(row.lineNo(), "DB 오류: " + e.getMessage().trim(), row.raw());
+                }
+            }
+            changeLog.recordInserts(conn, owners, insertedIds);
+            conn.commit();
+            committed();
+        }
+
+        // 커밋한 청크의 학생들은 인덱스에서 비움 (같은 학생이 연달아 나오는 경우가 많아 직전 학번만 걸러냄)
+        private void committed() {
+            if (scheduleIndex == null) return;
+            String last = null;
+            for (String owner : owners) {
+                if (!owner.equals(last)) scheduleIndex.invalidate(owner);
+                last = owner;
+            }
+        }
+
+        private long bind(Row row) throws SQLException {
+            long id = scheduleIds.nextId();
+            pstmt.setLong(1, id);
+            pstmt.setString(2, row.studentId());
+            pstmt.setString(3, row.title());
+            pstmt.setTimestamp(4, Timestamp.valueOf(row.start()));
+            pstmt.setTimestamp(5, Timestamp.valueOf(row.end()));
+            return id;
+        }
+
+        void reject(long lineNo, String reason, String raw) throws IOException {
+            rejected++;
+            if (rejects == null) rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8);
+            rejects.write(lineNo + ",\"" + reason.replace("\"", "\"\"").replace('\n', ' ') + "\"," + raw);
+            rejects.newLine();
+        }
+
+        Result result(long startedAt) {
+            return new Result(read, inserted, rejected, System.currentTimeMillis() - startedAt);
+        }
+
+        @Override
+        public void close() throws SQLException, IOException {
+            try {
+                if (rejects != null) rejects.close();
+            } finally {
+                try {
+                    pstmt.close();
+                } finally {
+                    conn.close();
+                }
+            }
+        }
+    }
+}
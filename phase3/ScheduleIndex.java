@@ -0,0 +1,402 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+// 학생별 개인 일정(SCHEDULE) 구간 인덱스
+// - 학생마다 시작 시간순 정렬 배열 + "앞쪽까지의 최대 종료 시간" 배열을 둡니다.
+// - 범위/겹침 조회: 이분 탐색으로 시작 위치를 찾고, 최대 종료 시간이 구간 시작 이하가 되는 곳에서 멈춥니다. (O(log n + k))
+// - 배열은 불변이며 변경 시 새로 만들어 교체하므로 조회는 락 없이 동작합니다. (학생 한 명의 일정 수는 작음)
+// - 학생마다 적재할 때의 SCHEDULE_VERSION.VERSION을 함께 둡니다. 콘솔, 가져오기, 웹(api/schedule.ts) 모두 일정을 바꾸는
+//   트랜잭션에서 이 버전을 올리므로, 조회 때 CHECK_MS가 지났으면 버전 행 하나를 읽어 다르면 그 학생만 다시 읽습니다.
+// - Manager의 등록/수정/삭제 경로는 커밋 후 onInsert/onUpdate/onDelete에 새 버전을 넘깁니다.
+//   가진 버전 바로 다음이면 그 변경만 반영하고, 사이에 다른 곳의 변경이 끼었으면 그 학생을 버려 다시 읽게 합니다.
+// - 반복 일정(ScheduleSeries)은 규칙만 함께 들고 있다가 조회 구간 안의 발생만 펼쳐 단건 일정과 합칩니다.
+//   반복 일정이 바뀌면 invalidate()로 그 학생을 다시 읽습니다.
+public class ScheduleIndex {
+    public record Entry(long scheduleId, String studentId, String title, LocalDateTime start, LocalDateTime end) {
+    }
+
+    public static final Comparator<Entry> BY_START =
+            Comparator.comparing(Entry::start).thenComparingLong(Entry::scheduleId);
+
+    private static final int PRELOAD_CHUNK = 500;
+    // 적재한 학생의 버전을 다시 확인하는 간격 (0이면 조회마다 확인)
+    private static final long CHECK_MS = Long.getLong("calendar.scheduleIndex.checkMs", 1000);
+    private static final String VERSION_SQL = "SELECT NVL(MAX(version), 0) FROM schedule_version WHERE student_id = ?";
+    // 반복 일정 때문에 빈 시간이 계속 없으면 이만큼 뒤까지만 찾습니다.
+    private static final long NEXT_FREE_HORIZON_MS = 366L * 24 * 60 * 60_000;
+
+    private final DataSource dataSource;
+    private final Map<String, StudentSchedules> students = new ConcurrentHashMap<>();
+    private final Map<Long, String> owners = new ConcurrentHashMap<>();
+
+    public ScheduleIndex(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // =======================================================
+    // 조회
+    // =======================================================
+    // [from, to) 와 겹치는 일정 (시작 시간순, 반복 일정의 발생 포함). 주간/일간 보기에 사용
+    public List<Entry> overlapping(String studentId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        StudentSchedules s = forStudent(studentId);
+        return s.withOccurrences(s.overlapping(millis(from), millis(to)), from, to, false);
+    }
+
+    // 시작 시간이 [from, to) 안에 있는 일정 (반복 일정의 발생 포함)
+    public List<Entry> startingBetween(String studentId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        StudentSchedules s = forStudent(studentId);
+        return s.withOccurrences(s.startingBetween(millis(from), millis(to)), from, to, true);
+    }
+
+    // from 이후 길이 minutes 분 이상 비어 있는 가장 이른 시작 시각
+    public LocalDateTime nextFreeSlot(String studentId, LocalDateTime from, int minutes) throws SQLException {
+        long start = forStudent(studentId).nextFree(from, minutes * 60_000L);
+        return new Timestamp(start).toLocalDateTime();
+    }
+
+    // 단건 일정 전체 (반복 일정은 series())
+    public List<Entry> all(String studentId) throws SQLException {
+        return Collections.unmodifiableList(Arrays.asList(forStudent(studentId).entries));
+    }
+
+    public List<ScheduleSeries> series(String studentId) throws SQLException {
+        return List.of(forStudent(studentId).series);
+    }
+
+    private StudentSchedules forStudent(String studentId) throws SQLException {
+        StudentSchedules cached = students.get(studentId);
+        if (cached != null && System.currentTimeMillis() - cached.checkedAt < CHECK_MS) return cached;
+        try (Connection conn = dataSource.getConnection()) {
+            if (cached != null && readVersion(conn, studentId) == cached.version) {
+                cached.checkedAt = System.currentTimeMillis();
+                return cached;
+            }
+            return install(studentId, load(conn, studentId));
+        }
+    }
+
+    private static long readVersion(Connection conn, String studentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(VERSION_SQL)) {
+            pstmt.setString(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // 버전을 먼저 읽고 일정을 읽습니다. (그 사이의 변경은 일정에는 보이고 버전에는 안 보이므로 다음 확인 때 다시 읽음)
+    private static StudentSchedules load(Connection conn, String studentId) throws SQLException {
+        String sql = "SELECT schedule_id, title, start_time, end_time FROM schedule " +
+                "WHERE student_id = ? ORDER BY start_time, schedule_id";
+        long version = readVersion(conn, studentId);
+        List<Entry> entries = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(new Entry(rs.getLong("schedule_id"), studentId, rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime()));
+                }
+            }
+        }
+        List<ScheduleSeries> series = ScheduleSeries.forStudent(conn, studentId);
+        return new StudentSchedules(entries.toArray(new Entry[0]), series.toArray(new ScheduleSeries[0]), version);
+    }
+
+    // 새로 읽은 것으로 교체 (동시에 읽은 쪽이 더 새 버전이면 그것을 유지)
+    private StudentSchedules install(String studentId, StudentSchedules loaded) {
+        StudentSchedules[] replaced = new StudentSchedules[1];
+        StudentSchedules current = students.merge(studentId, loaded, (old, neu) -> {
+            if (old.version > neu.version) return old;
+            replaced[0] = old;
+            return neu;
+        });
+        if (current == loaded) {
+            if (replaced[0] != null) {
+                for (Entry e : replaced[0].entries) owners.remove(e.scheduleId(), studentId);
+            }
+            for (Entry e : loaded.entries) owners.put(e.scheduleId(), studentId);
+        }
+        return current;
+    }
+
+    // 적재되지 않았거나 확인할 때가 된 학생들을 IN 목록 쿼리로 확인/적재합니다. (그룹 단위 조회용, 500개씩)
+    public void preload(Collection<String> studentIds) throws SQLException {
+        long now = System.currentTimeMillis();
+        List<String> candidates = new ArrayList<>();
+        for (String sid : studentIds) {
+            StudentSchedules s = students.get(sid);
+            if (s == null || now - s.checkedAt >= CHECK_MS) candidates.add(sid);
+        }
+        for (int from = 0; from < candidates.size(); from += PRELOAD_CHUNK) {
+            List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + PRELOAD_CHUNK));
+            try (Connection conn = dataSource.getConnection()) {
+                Map<String, Long> versions = readVersions(conn, chunk);
+                List<String> stale = new ArrayList<>();
+                for (String sid : chunk) {
+                    StudentSchedules s = students.get(sid);
+                    long version = versions.getOrDefault(sid, 0L);
+                    if (s != null && s.version == version) s.checkedAt = now;
+                    else stale.add(sid);
+                }
+                if (!stale.isEmpty()) loadAll(conn, stale, versions);
+            }
+        }
+    }
+
+    private static Map<String, Long> readVersions(Connection conn, List<String> chunk) throws SQLException {
+        String sql = "SELECT student_id, version FROM schedule_version WHERE student_id IN (" +
+                String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+        Map<String, Long> versions = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < chunk.size(); i++) pstmt.setString(i + 1, chunk.get(i));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) versions.put(rs.getString("student_id"), rs.getLong("version"));
+            }
+        }
+        return versions;
+    }
+
+    private void loadAll(Connection conn, List<String> chunk, Map<String, Long> versions) throws SQLException {
+        String sql = "SELECT schedule_id, student_id, title, start_time, end_time FROM schedule " +
+                "WHERE student_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ") " +
+                "ORDER BY student_id, start_time, schedule_id";
+        Map<String, List<Entry>> loaded = new HashMap<>();
+        for (String sid : chunk) loaded.put(sid, new ArrayList<>());
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < chunk.size(); i++) pstmt.setString(i + 1, chunk.get(i));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String sid = rs.getString("student_id");
+                    loaded.computeIfAbsent(sid, k -> new ArrayList<>()).add(new Entry(rs.getLong("schedule_id"), sid,
+                            rs.getString("title"), rs.getTimestamp("start_time").toLocalDateTime(),
+                            rs.getTimestamp("end_time").toLocalDateTime()));
+                }
+            }
+        }
+        Map<String, List<ScheduleSeries>> series = ScheduleSeries.forStudents(conn, chunk);
+        for (Map.Entry<String, List<Entry>> e : loaded.entrySet()) {
+            ScheduleSeries[] own = series.getOrDefault(e.getKey(), List.of()).toArray(new ScheduleSeries[0]);
+            install(e.getKey(), new StudentSchedules(e.getValue().toArray(new Entry[0]), own,
+                    versions.getOrDefault(e.getKey(), 0L)));
+        }
+    }
+
+    // =======================================================
+    // 변경 반영 (이미 적재된 학생만 갱신, 적재 전이면 다음 조회 때 DB에서 읽음)
+    // version은 변경을 기록한 뒤의 학생 버전 (ScheduleChangeLog.record의 반환값)
+    // =======================================================
+    public void onInsert(long scheduleId, String studentId, String title, LocalDateTime start, LocalDateTime end,
+                         long version) {
+        Entry entry = new Entry(scheduleId, studentId, title, start, end);
+        if (apply(studentId, version, s -> s.with(entry))) owners.put(scheduleId, studentId);
+    }
+
+    public void onUpdate(long scheduleId, String title, LocalDateTime start, LocalDateTime end, long version) {
+        String studentId = owners.get(scheduleId);
+        if (studentId == null) return;
+        Entry entry = new Entry(scheduleId, studentId, title, start, end);
+        apply(studentId, version, s -> s.without(scheduleId).with(entry));
+    }
+
+    public void onDelete(long scheduleId, long version) {
+        String studentId = owners.get(scheduleId);
+        if (studentId == null) return;
+        if (apply(studentId, version, s -> s.without(scheduleId))) owners.remove(scheduleId, studentId);
+    }
+
+    // 가진 버전 바로 다음 변경이면 반영하고 true. 이미 반영된 버전이면 그대로 두고,
+    // 사이에 다른 변경이 끼었으면 학생을 버립니다. (둘 다 false)
+    private boolean apply(String studentId, long version, UnaryOperator<StudentSchedules> change) {
+        boolean[] applied = {false};
+        boolean[] gap = {false};
+        students.computeIfPresent(studentId, (k, s) -> {
+            if (s.version >= version) return s;
+            if (s.version != version - 1) {
+                gap[0] = true;
+                return s;
+            }
+            applied[0] = true;
+            return change.apply(s).at(version);
+        });
+        if (gap[0]) invalidate(studentId);
+        return applied[0];
+    }
+
+    // 외부(웹 백엔드 등)에서 변경된 경우 호출
+    public void invalidate(String studentId) {
+        StudentSchedules removed = students.remove(studentId);
+        if (removed != null) {
+            for (Entry e : removed.entries) owners.remove(e.scheduleId());
+        }
+    }
+
+    public int loadedStudents() {
+        return students.size();
+    }
+
+    private static long millis(LocalDateTime t) {
+        return Timestamp.valueOf(t).getTime();
+    }
+
+    // =======================================================
+    // 학생 한 명의 불변 정렬 배열
+    // =======================================================
+    private static final class StudentSchedules {
+        final Entry[] entries;   // 시작 시간순
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnd;     // maxEnd[i] = max(ends[0..i])
+        final ScheduleSeries[] series;
+        final long version;      // 이 배열이 반영한 SCHEDULE_VERSION.VERSION
+        volatile long checkedAt = System.currentTimeMillis(); // 버전이 DB와 같다고 마지막으로 확인한 시각
+
+        StudentSchedules(Entry[] sorted, ScheduleSeries[] series, long version) {
+            this.entries = sorted;
+            this.series = series;
+            this.version = version;
+            int n = sorted.length;
+            starts = new long[n];
+            ends = new long[n];
+            maxEnd = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = millis(sorted[i].start());
+                ends[i] = millis(sorted[i].end());
+                maxEnd[i] = i == 0 ? ends[i] : Math.max(maxEnd[i - 1], ends[i]);
+            }
+        }
+
+        // starts[i] >= key 인 첫 위치
+        int lowerBound(long key) {
+            int lo = 0, hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        // maxEnd[i] > key 인 첫 위치 (maxEnd는 단조 증가)
+        int firstEndingAfter(long key) {
+            int lo = 0, hi = maxEnd.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (maxEnd[mid] <= key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        List<Entry> overlapping(long from, long to) {
+            int hi = lowerBound(to);             // 이후 일정은 to 이후 시작
+            int lo = firstEndingAfter(from - 1); // 이전 일정은 모두 from 이전에 종료
+            List<Entry> result = new ArrayList<>();
+            for (int i = lo; i < hi; i++) {
+                // 길이 0인 일정(마감 등)은 시작 시각이 구간 안에 있으면 포함
+                if (ends[i] > from || (starts[i] == ends[i] && starts[i] >= from)) result.add(entries[i]);
+            }
+            return result;
+        }
+
+        List<Entry> startingBetween(long from, long to) {
+            int lo = lowerBound(from);
+            int hi = lowerBound(to);
+            return Arrays.asList(Arrays.copyOfRange(entries, lo, hi));
+        }
+
+        // 단건 일정 목록에 [from, to) 구간의 반복 일정 발생을 합칩니다. (startingOnly면 from 이후 시작한 발생만)
+        List<Entry> withOccurrences(List<Entry> singles, LocalDateTime from, LocalDateTime to, boolean startingOnly) {
+            if (series.length == 0) return singles;
+            List<Entry> result = new ArrayList<>(singles);
+            for (ScheduleSeries s : series) {
+                Iterator<Entry> it = s.occurrences(from, to);
+                while (it.hasNext()) {
+                    Entry e = it.next();
+                    if (!startingOnly || !e.start().isBefore(from)) result.add(e);
+                }
+            }
+            result.sort(BY_START);
+            return result;
+        }
+
+        long nextFree(LocalDateTime fromTime, long length) {
+            long from = millis(fromTime);
+            long cursor = from;
+            if (series.length == 0) {
+                for (int i = firstEndingAfter(from); i < starts.length; i++) {
+                    if (starts[i] >= cursor + length) break;
+                    cursor = Math.max(cursor, ends[i]);
+                }
+                return cursor;
+            }
+            // 단건 일정과 반복 일정별 발생을 시작 시간순으로 하나씩 합쳐 가며 검사 (필요한 만큼만 펼침)
+            PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(Head::start));
+            Head.push(heads, Arrays.asList(entries).subList(firstEndingAfter(from), entries.length).iterator());
+            for (ScheduleSeries s : series) Head.push(heads, s.occurrences(fromTime, LocalDateTime.MAX));
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                if (head.start() >= cursor + length || head.start() - from > NEXT_FREE_HORIZON_MS) break;
+                cursor = Math.max(cursor, head.end());
+                Head.push(heads, head.rest());
+            }
+            return cursor;
+        }
+
+        StudentSchedules with(Entry entry) {
+            long key = millis(entry.start());
+            int pos = lowerBound(key);
+            while (pos < entries.length && starts[pos] == key && entries[pos].scheduleId() < entry.scheduleId()) pos++;
+            Entry[] next = new Entry[entries.length + 1];
+            System.arraycopy(entries, 0, next, 0, pos);
+            next[pos] = entry;
+            System.arraycopy(entries, pos, next, pos + 1, entries.length - pos);
+            return new StudentSchedules(next, series, version);
+        }
+
+        StudentSchedules at(long newVersion) {
+            return new StudentSchedules(entries, series, newVersion);
+        }
+
+        StudentSchedules without(long scheduleId) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].scheduleId() == scheduleId) {
+                    Entry[] next = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, next, 0, i);
+                    System.arraycopy(entries, i + 1, next, i, entries.length - i - 1);
+                    return new StudentSchedules(next, series, version);
+                }
+            }
+            return this;
+        }
+    }
+
+    // 시간순 목록 하나의 맨 앞 일정 (nextFree의 병합용)
+    private record Head(long start, long end, Iterator<Entry> rest) {
+        static void push(PriorityQueue<Head> heads, Iterator<Entry> it) {
+            if (!it.hasNext()) return;
+            Entry e = it.next();
+            heads.add(new Head(millis(e.start()), millis(e.end()), it));
+        }
+    }
+}
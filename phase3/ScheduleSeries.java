@@ -0,0 +1,237 @@
+package org.example.calendar;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 반복 일정 하나 (SCHEDULE_SERIES 한 행 + 빠진 발생 SCHEDULE_EXCEPTION)
+// - 발생 수와 관계없이 규칙 한 행만 저장하므로 등록/삭제 비용이 발생 수와 무관합니다.
+// - occurrences(from, to)는 구간과 겹치는 발생만 Iterator로 하나씩 만듭니다. (구간 앞쪽은 RecurrenceRule이 계산으로 건너뜀)
+//   발생은 단건 일정과 같은 ScheduleIndex.Entry이고 ID는 반복 일정 ID입니다.
+// - LAST_END(마지막 발생 종료)를 함께 저장해, 기간 조회에서 이미 끝난 반복 일정을 인덱스로 거릅니다.
+public record ScheduleSeries(long seriesId, String studentId, String title, LocalDateTime start, LocalDateTime end,
+                             RecurrenceRule rule, Set<LocalDateTime> exceptions) {
+    private static final int IN_CHUNK = 500;
+
+    public ScheduleSeries {
+        exceptions = Collections.unmodifiableSet(new TreeSet<>(exceptions));
+    }
+
+    public Duration length() {
+        return Duration.between(start, end);
+    }
+
+    // 마지막 발생의 종료 시각 (끝없는 반복이면 null)
+    public LocalDateTime lastEnd() {
+        LocalDateTime last = rule.lastOccurrence(start);
+        return last == null ? null : last.plus(length());
+    }
+
+    // 등록 전 검사: 길이, 첫 시작과 규칙이 맞는지 (잘못되면 IllegalArgumentException)
+    public void validate() {
+        if (end.isBefore(start)) throw new IllegalArgumentException("종료 시각이 시작 시각보다 앞입니다.");
+        rule.lastOccurrence(start);
+        rule.occurrence(start, 0);
+    }
+
+    // 이 시각에 시작하는 발생이 규칙에 있는지 (빠진 발생 포함)
+    public boolean isOccurrence(LocalDateTime occurrenceStart) {
+        Iterator<LocalDateTime> it = rule.startsFrom(start, occurrenceStart);
+        return it.hasNext() && it.next().equals(occurrenceStart);
+    }
+
+    // [from, to)와 겹치는 발생 (시작 시간순). 길이 0인 발생은 시작이 구간 안에 있으면 포함
+    public Iterator<ScheduleIndex.Entry> occurrences(LocalDateTime from, LocalDateTime to) {
+        Duration length = length();
+        Iterator<LocalDateTime> starts = rule.startsFrom(start, length.isZero() ? from : from.minus(length));
+        return new Iterator<>() {
+            private ScheduleIndex.Entry next = advance();
+
+            private ScheduleIndex.Entry advance() {
+                while (starts.hasNext()) {
+                    LocalDateTime s = starts.next();
+                    if (!s.isBefore(to)) return null;
+                    LocalDateTime e = s.plus(length);
+                    if (exceptions.contains(s)) continue;
+                    if (e.isAfter(from) || (length.isZero() && !s.isBefore(from))) {
+                        return new ScheduleIndex.Entry(seriesId, studentId, title, s, e);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ScheduleIndex.Entry next() {
+                if (next == null) throw new NoSuchElementException();
+                ScheduleIndex.Entry result = next;
+                next = advance();
+                return result;
+            }
+        };
+    }
+
+    public List<ScheduleIndex.Entry> occurrenceList(LocalDateTime from, LocalDateTime to) {
+        List<ScheduleIndex.Entry> result = new ArrayList<>();
+        occurrences(from, to).forEachRemaining(result::add);
+        return result;
+    }
+
+    // =======================================================
+    // 저장 (호출하는 쪽의 트랜잭션 안에서, 커밋은 호출하는 쪽)
+    // =======================================================
+    public void insert(Connection conn) throws SQLException {
+        validate();
+        String sql = "INSERT INTO schedule_series (series_id, student_id, title, start_time, end_time, rrule, last_end) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        LocalDateTime lastEnd = lastEnd();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, seriesId);
+            pstmt.setString(2, studentId);
+            pstmt.setString(3, title);
+            pstmt.setTimestamp(4, Timestamp.valueOf(start));
+            pstmt.setTimestamp(5, Timestamp.valueOf(end));
+            pstmt.setString(6, rule.toString());
+            pstmt.setTimestamp(7, lastEnd == null ? null : Timestamp.valueOf(lastEnd));
+            pstmt.executeUpdate();
+        }
+    }
+
+    // 발생 하나를 뺍니다. (이미 빠져 있으면 false)
+    public static boolean addException(Connection conn, long seriesId, LocalDateTime occurrenceStart) throws SQLException {
+        String sql = "INSERT INTO schedule_exception (series_id, occurrence_start) " +
+                "SELECT ?, ? FROM dual WHERE NOT EXISTS " +
+                "(SELECT 1 FROM schedule_exception WHERE series_id = ? AND occurrence_start = ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, seriesId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(occurrenceStart));
+            pstmt.setLong(3, seriesId);
+            pstmt.setTimestamp(4, Timestamp.valueOf(occurrenceStart));
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    // 반복 일정 전체 삭제 (빠진 발생은 FK ON DELETE CASCADE로 함께 삭제)
+    public static boolean delete(Connection conn, long seriesId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM schedule_series WHERE series_id = ?")) {
+            pstmt.setLong(1, seriesId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    // =======================================================
+    // 조회
+    // =======================================================
+    public static ScheduleSeries find(Connection conn, long seriesId) throws SQLException {
+        List<ScheduleSeries> found = load(conn, "r.series_id = ?", List.of(seriesId));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // ID 목록 중 지금 있는 반복 일정 (IN 목록은 500개씩)
+    public static Map<Long, ScheduleSeries> forIds(Connection conn, List<Long> seriesIds) throws SQLException {
+        Map<Long, ScheduleSeries> result = new HashMap<>();
+        for (int from = 0; from < seriesIds.size(); from += IN_CHUNK) {
+            List<Long> chunk = seriesIds.subList(from, Math.min(seriesIds.size(), from + IN_CHUNK));
+            String where = "r.series_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            for (ScheduleSeries s : load(conn, where, chunk)) result.put(s.seriesId(), s);
+        }
+        return result;
+    }
+
+    public static List<ScheduleSeries> forStudent(Connection conn, String studentId) throws SQLException {
+        return load(conn, "r.student_id = ?", List.of(studentId));
+    }
+
+    // 학생별 반복 일정 (IN 목록은 500개씩, 반복 일정이 없는 학생은 결과에 없음)
+    public static Map<String, List<ScheduleSeries>> forStudents(Connection conn, List<String> studentIds) throws SQLException {
+        Map<String, List<ScheduleSeries>> result = new HashMap<>();
+        for (int from = 0; from < studentIds.size(); from += IN_CHUNK) {
+            List<String> chunk = studentIds.subList(from, Math.min(studentIds.size(), from + IN_CHUNK));
+            String where = "r.student_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            for (ScheduleSeries s : load(conn, where, chunk)) {
+                result.computeIfAbsent(s.studentId(), k -> new ArrayList<>()).add(s);
+            }
+        }
+        return result;
+    }
+
+    // 한 학생의 [from, to) 구간에 발생이 있을 수 있는 반복 일정
+    public static List<ScheduleSeries> forStudent(Connection conn, String studentId, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        return load(conn, "r.student_id = ? AND r.start_time < ? AND (r.last_end IS NULL OR r.last_end >= ?)",
+                List.of(studentId, Timestamp.valueOf(to), Timestamp.valueOf(from)));
+    }
+
+    // 전체 학생 중 [from, to) 구간에 발생이 있을 수 있는 반복 일정 (학기 단위 충돌 검사용)
+    public static List<ScheduleSeries> overlapping(Connection conn, LocalDateTime from, LocalDateTime to) throws SQLException {
+        return load(conn, "r.start_time < ? AND (r.last_end IS NULL OR r.last_end >= ?)",
+                List.of(Timestamp.valueOf(to), Timestamp.valueOf(from)));
+    }
+
+    // 반복 일정을 읽고, 하나라도 있으면 빠진 발생을 같은 조건으로 한 번 더 읽어 합칩니다. (반복 일정이 없으면 쿼리 1회)
+    private static List<ScheduleSeries> load(Connection conn, String where, List<?> binds) throws SQLException {
+        String seriesSql = "SELECT r.series_id, r.student_id, r.title, r.start_time, r.end_time, r.rrule " +
+                "FROM schedule_series r WHERE " + where + " ORDER BY r.series_id";
+        String exceptionSql = "SELECT x.series_id, x.occurrence_start " +
+                "FROM schedule_exception x JOIN schedule_series r ON r.series_id = x.series_id WHERE " + where;
+        record Row(long id, String studentId, String title, LocalDateTime start, LocalDateTime end, String rrule) {
+        }
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(seriesSql)) {
+            for (int i = 0; i < binds.size(); i++) pstmt.setObject(i + 1, binds.get(i));
+            pstmt.setFetchSize(500);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Row(rs.getLong("series_id"), rs.getString("student_id"), rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime(),
+                            rs.getString("rrule")));
+                }
+            }
+        }
+        if (rows.isEmpty()) return List.of();
+
+        Map<Long, Set<LocalDateTime>> exceptions = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(exceptionSql)) {
+            for (int i = 0; i < binds.size(); i++) pstmt.setObject(i + 1, binds.get(i));
+            pstmt.setFetchSize(500);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    exceptions.computeIfAbsent(rs.getLong(1), k -> new TreeSet<>())
+                            .add(rs.getTimestamp(2).toLocalDateTime());
+                }
+            }
+        }
+        List<ScheduleSeries> result = new ArrayList<>(rows.size());
+        for (Row r : rows) {
+            result.add(new ScheduleSeries(r.id(), r.studentId(), r.title(), r.start(), r.end(),
+                    RecurrenceRule.parse(r.rrule()), exceptions.getOrDefault(r.id(), Set.of())));
+        }
+        return result;
+    }
+
+    // 여러 반복 일정의 [from, to) 발생을 시작 시간순으로 합친 목록
+    public static List<ScheduleIndex.Entry> occurrences(Collection<ScheduleSeries> series, LocalDateTime from, LocalDateTime to) {
+        List<ScheduleIndex.Entry> result = new ArrayList<>();
+        for (ScheduleSeries s : series) s.occurrences(from, to).forEachRemaining(result::add);
+        result.sort(ScheduleIndex.BY_START);
+        return result;
+    }
+}
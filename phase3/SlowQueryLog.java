@@ -0,0 +1,244 @@
+package org.example.calendar;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 느린 SQL / 느린 작업 로그 (JSON 한 줄에 한 건)
+// - 기준 시간을 넘은 것만 기록합니다. 빠른 statement는 시간 비교 한 번 외에 비용이 없습니다.
+// - 기록하는 스레드는 고정 크기 링 버퍼에 줄을 넣기만 하고, 파일 쓰기는 데몬 writer 스레드가 합니다.
+//   버퍼가 가득 차면 기다리지 않고 버린 뒤 dropped()로 셉니다. (요청 스레드를 막지 않음)
+// - 설정 (시스템 프로퍼티)
+//   calendar.slowQueryMs      statement 기준 (실행 + 행 가져오기, 기본 200ms, 0이면 끔)
+//   calendar.slowOperationMs  작업(콘솔 메뉴, REST 요청) 기준 (기본 1000ms, 0이면 끔, 콘솔 메뉴의 입력 대기 시간은 제외)
+//   calendar.slowQueryLog     로그 파일 (기본 slow-query.log)
+//   calendar.slowQueryLog.redact  바인드 값을 타입과 길이로만 남김 (기본 true, 학번/이름 등 개인정보 보호)
+public final class SlowQueryLog {
+    static final long STATEMENT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("calendar.slowQueryMs", 200));
+    static final long OPERATION_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("calendar.slowOperationMs", 1000));
+    static final boolean REDACT = Boolean.parseBoolean(System.getProperty("calendar.slowQueryLog.redact", "true"));
+    private static final Path FILE = Paths.get(System.getProperty("calendar.slowQueryLog", "slow-query.log"));
+
+    private static final int CAPACITY = 1024; // 2의 거듭제곱
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final int MAX_BIND_LENGTH = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    // 다중 생산자 / 단일 소비자 링 버퍼
+    // - 생산자는 head를 CAS로 한 칸 차지한 뒤 그 칸에 줄을 넣습니다.
+    // - writer는 tail 칸이 채워질 때까지 기다렸다가 꺼내고, 칸을 비운 다음 tail을 옮깁니다.
+    //   그래서 head - tail < CAPACITY 이면 생산자가 차지한 칸은 항상 비어 있습니다.
+    private static final AtomicReferenceArray<String> slots = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong head = new AtomicLong();
+    private static final AtomicLong tail = new AtomicLong();
+
+    private static final LongAdder written = new LongAdder();
+    private static final LongAdder dropped = new LongAdder();
+    private static volatile Thread writer;
+    private static volatile long flushed; // 파일에 flush까지 끝난 위치 (writer만 갱신)
+
+    private SlowQueryLog() {
+    }
+
+    // statement 한 번 실행이 끝났을 때 (ResultSet을 닫았거나 갱신 문장이 끝났을 때)
+    static void statement(String sql, Object[] binds, int bindCount, long executeNanos, long fetchNanos, long rows,
+                          boolean failed) {
+        if (STATEMENT_THRESHOLD_NANOS <= 0 || executeNanos + fetchNanos < STATEMENT_THRESHOLD_NANOS) return;
+        QueryTrace trace = QueryTrace.current();
+        StringBuilder line = begin("statement", trace != null ? trace.operation() : null);
+        line.append(",\"sql\":");
+        string(line, Metrics.normalize(sql), MAX_SQL_LENGTH);
+        line.append(",\"binds\":[");
+        for (int i = 1; i <= bindCount; i++) {
+            if (i > 1) line.append(',');
+            bind(line, binds[i]);
+        }
+        line.append(']');
+        millis(line, "executeMs", executeNanos);
+        millis(line, "fetchMs", fetchNanos);
+        line.append(",\"rows\":").append(rows);
+        if (failed) line.append(",\"failed\":true");
+        offer(line.append('}').toString());
+    }
+
+    // 작업 하나가 끝났을 때: 대여 대기 / 준비 / 실행 / 가져오기 / 나머지(애플리케이션) 시간으로 나눕니다.
+    public static void operation(QueryTrace trace, boolean failed) {
+        long total = trace.elapsedNanos();
+        if (OPERATION_THRESHOLD_NANOS <= 0 || total < OPERATION_THRESHOLD_NANOS) return;
+        long db = trace.borrowNanos() + trace.prepareNanos() + trace.executeNanos() + trace.fetchNanos();
+        StringBuilder line = begin("operation", trace.operation());
+        millis(line, "totalMs", total);
+        millis(line, "borrowMs", trace.borrowNanos());
+        millis(line, "prepareMs", trace.prepareNanos());
+        millis(line, "executeMs", trace.executeNanos());
+        millis(line, "fetchMs", trace.fetchNanos());
+        millis(line, "applicationMs", Math.max(0, total - db));
+        if (trace.inputNanos() > 0) millis(line, "inputWaitMs", trace.inputNanos());
+        line.append(",\"statements\":").append(trace.statements());
+        line.append(",\"rows\":").append(trace.rows());
+        if (failed) line.append(",\"failed\":true");
+        offer(line.append('}').toString());
+    }
+
+    public static long written() {
+        return written.sum();
+    }
+
+    public static long dropped() {
+        return dropped.sum();
+    }
+
+    // 버퍼에 남은 줄을 모두 쓸 때까지 최대 timeoutMs 기다립니다. (종료 직전에 호출)
+    public static void flush(long timeoutMs) {
+        Thread w = writer;
+        if (w == null) return;
+        long target = head.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (flushed < target && System.nanoTime() < deadline) {
+            LockSupport.unpark(w);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+    }
+
+    // =======================================================
+    // 링 버퍼
+    // =======================================================
+    static boolean offer(String line) {
+        while (true) {
+            long h = head.get();
+            if (h - tail.get() >= CAPACITY) {
+                dropped.increment();
+                return false;
+            }
+            if (head.compareAndSet(h, h + 1)) {
+                slots.set((int) (h & (CAPACITY - 1)), line);
+                LockSupport.unpark(startWriter());
+                return true;
+            }
+        }
+    }
+
+    private static Thread startWriter() {
+        Thread w = writer;
+        if (w != null) return w;
+        synchronized (SlowQueryLog.class) {
+            if (writer == null) {
+                Thread t = new Thread(SlowQueryLog::drainLoop, "slow-query-log");
+                t.setDaemon(true);
+                t.start();
+                writer = t;
+            }
+            return writer;
+        }
+    }
+
+    private static void drainLoop() {
+        try (BufferedWriter out = Files.newBufferedWriter(FILE, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (true) {
+                long t = tail.get();
+                if (t == head.get()) {
+                    out.flush();
+                    flushed = t;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                int index = (int) (t & (CAPACITY - 1));
+                String line = slots.get(index);
+                if (line == null) {
+                    // 생산자가 칸을 차지했지만 아직 넣지 못함
+                    Thread.onSpinWait();
+                    continue;
+                }
+                slots.set(index, null);
+                tail.set(t + 1);
+                out.write(line);
+                out.newLine();
+                written.increment();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            // 쓸 수 없으면 이후 기록은 모두 버림 (head를 따라가며 비움)
+            while (true) {
+                long t = tail.get();
+                if (t == head.get()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                int index = (int) (t & (CAPACITY - 1));
+                if (slots.getAndSet(index, null) == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                tail.set(t + 1);
+                dropped.increment();
+            }
+        }
+    }
+
+    // =======================================================
+    // JSON
+    // =======================================================
+    private static StringBuilder begin(String type, String operation) {
+        StringBuilder line = new StringBuilder(256);
+        line.append("{\"ts\":\"").append(Instant.now()).append("\",\"type\":\"").append(type).append('"');
+        line.append(",\"thread\":");
+        string(line, Thread.currentThread().getName(), MAX_BIND_LENGTH);
+        if (operation != null) {
+            line.append(",\"operation\":");
+            string(line, operation, MAX_BIND_LENGTH);
+        }
+        return line;
+    }
+
+    private static void millis(StringBuilder line, String field, long nanos) {
+        line.append(",\"").append(field).append("\":").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+
+    private static void bind(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append("null");
+        } else if (REDACT) {
+            String type = value.getClass().getSimpleName();
+            if (value instanceof CharSequence s) type += "(" + s.length() + ")";
+            string(line, type, MAX_BIND_LENGTH);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof java.math.BigDecimal
+                || value instanceof Boolean) {
+            line.append(value);
+        } else {
+            string(line, value.toString(), MAX_BIND_LENGTH);
+        }
+    }
+
+    private static void string(StringBuilder line, String s, int maxLength) {
+        line.append('"');
+        int end = Math.min(s.length(), maxLength);
+        for (int i = 0; i < end; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) line.append(String.format("\\u%04x", (int) c));
+                    else line.append(c);
+                }
+            }
+        }
+        if (s.length() > maxLength) line.append("...");
+        line.append('"');
+    }
+}
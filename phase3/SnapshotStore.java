@@ -0,0 +1,244 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 시작용 스냅샷(TableSnapshot) 열기 / 따라잡기 / 다시 만들기
+// - 파일이 있으면 mmap 하고, STUDENT/TAKES/SECTION은 TABLE_VERSION의 변경 표시(표마다 16행 합)만 읽어 비교합니다.
+//   (표를 훑지 않으므로 시작 비용이 데이터 양과 무관)
+//   STUDENT가 바뀌면 학생 번호가 달라지므로 전체를 다시 만들고, TAKES/SECTION만 바뀌면 두 표만 다시 읽습니다.
+// - SCHEDULE은 SCHEDULE_VERSION.CHANGED_AT이 스냅샷 기준 시각 이후인 학생만 다시 읽습니다. (IN 목록은 500개씩)
+//   콘솔과 웹 모두 일정을 바꾸는 트랜잭션 안에서 SCHEDULE_VERSION을 갱신합니다. (ScheduleChangeLog, api/schedule.ts)
+//   기준 시각은 DB 서버 시계이고, 커밋이 늦게 보이는 경우를 위해 OVERLAP_MS만큼 앞당겨 비교합니다.
+//   바뀐 학생이 REBUILD_RATIO를 넘으면 학생별로 읽는 것보다 전체를 한 번 읽는 편이 싸므로 다시 만듭니다.
+// - SQL*Loader direct path 적재는 트리거를 건너뛰므로 적재 뒤 TABLE_VERSION SLOT 0을 올려야 합니다. (3-DDL2.sql)
+//   SLOT 0은 모든 표에 있으므로 STUDENT 표시도 바뀌어 전체를 다시 만듭니다.
+// - 따라잡은 내용이 있으면 백그라운드 스레드에서 새 파일로 다시 써서 다음 시작의 따라잡기를 줄입니다.
+public class SnapshotStore {
+    private static final Path FILE = Paths.get(System.getProperty("calendar.snapshot", "calendar.snapshot"));
+    private static final long OVERLAP_MS = Long.getLong("calendar.snapshot.overlapMs", 60_000);
+    private static final double REBUILD_RATIO = 0.2;
+    private static final int IN_CHUNK = 500;
+
+    // 표별 변경 표시 (TableSnapshot.VERSIONED_TABLES 순서: STUDENT, TAKES, SECTION) + DB 현재 시각을 한 번에
+    private static final String SUMMARY_SQL = "SELECT " +
+            "(SELECT NVL(SUM(version), 0) FROM table_version WHERE table_name = 'STUDENT') AS st, " +
+            "(SELECT NVL(SUM(version), 0) FROM table_version WHERE table_name = 'TAKES') AS tk, " +
+            "(SELECT NVL(SUM(version), 0) FROM table_version WHERE table_name = 'SECTION') AS se, " +
+            // CHANGED_AT(TIMESTAMP)에 SYSTIMESTAMP를 넣을 때와 같은 변환이 되도록 TIMESTAMP로 바꿔 읽음
+            "CAST(SYSTIMESTAMP AS TIMESTAMP) AS now " +
+            "FROM dual";
+
+    // 열기 결과 (콘솔 출력용)
+    public record Opened(TableSnapshot snapshot, String source, int caughtUpStudents, long millis) {
+        @Override
+        public String toString() {
+            return String.format("%s, 학생 %d명 / 수강 %d건 / 분반 %d개, 따라잡은 학생 %d명 (%d ms)", source,
+                    snapshot.studentCount(), snapshot.takesCount(), snapshot.sectionCount(), caughtUpStudents, millis);
+        }
+    }
+
+    private record Summary(long[] versions, LocalDateTime now) {
+    }
+
+    private final DataSource dataSource;
+
+    public SnapshotStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static Path file() {
+        return FILE;
+    }
+
+    // 파일이 있고 맞으면 따라잡아서, 아니면 DB에서 새로 만들어 돌려줍니다.
+    public Opened open() throws SQLException {
+        long start = System.currentTimeMillis();
+        TableSnapshot snapshot = null;
+        if (Files.exists(FILE)) {
+            try {
+                snapshot = TableSnapshot.map(FILE);
+            } catch (IOException | RuntimeException e) {
+                System.out.println(">> 스냅샷 파일을 읽지 못해 다시 만듭니다: " + e.getMessage());
+            }
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            Summary summary = summary(conn);
+            if (snapshot == null) {
+                return new Opened(build(conn, summary), "DB에서 새로 만듦", 0, System.currentTimeMillis() - start);
+            }
+            long[] versions = snapshot.versions();
+            if (versions[0] != summary.versions()[0]) {
+                return new Opened(build(conn, summary), "학생이 바뀌어 다시 만듦", 0, System.currentTimeMillis() - start);
+            }
+
+            List<Integer> changed = changedStudents(conn, snapshot);
+            if (changed == null || changed.size() > snapshot.studentCount() * REBUILD_RATIO) {
+                return new Opened(build(conn, summary), "일정 변경이 많아 다시 만듦", 0, System.currentTimeMillis() - start);
+            }
+            if (!changed.isEmpty()) {
+                snapshot = snapshot.withSchedules(reloadSchedules(conn, snapshot, changed), summary.now());
+            }
+            if (!Arrays.equals(versions, summary.versions())) {
+                // 학생/일정은 스냅샷에서 옮기고 수강/분반만 DB에서 (새 파일은 바로 씀)
+                TableSnapshot.Builder builder = snapshot.toBuilder(summary.versions(), false);
+                readEnrollment(conn, builder);
+                return new Opened(writeAndMap(builder.toBuffer()), "수강/분반만 다시 읽음", changed.size(),
+                        System.currentTimeMillis() - start);
+            }
+            if (!changed.isEmpty()) rewriteInBackground(snapshot);
+            return new Opened(snapshot, "스냅샷 파일", changed.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private static Summary summary(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SUMMARY_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return new Summary(new long[]{rs.getLong("st"), rs.getLong("tk"), rs.getLong("se")},
+                    rs.getTimestamp("now").toLocalDateTime());
+        }
+    }
+
+    // =======================================================
+    // 따라잡기
+    // =======================================================
+    // 기준 시각 이후 일정이 바뀐 학생 번호 (스냅샷에 없는 학생이 있으면 null)
+    private static List<Integer> changedStudents(Connection conn, TableSnapshot snapshot) throws SQLException {
+        List<Integer> result = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT student_id FROM schedule_version WHERE changed_at > ?")) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(snapshot.marker().minusNanos(OVERLAP_MS * 1_000_000)));
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int ord = snapshot.studentOrdinal(rs.getString(1));
+                    if (ord < 0) return null;
+                    result.add(ord);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<Integer, List<ScheduleIndex.Entry>> reloadSchedules(Connection conn, TableSnapshot snapshot,
+                                                                          List<Integer> ordinals) throws SQLException {
+        Map<Integer, List<ScheduleIndex.Entry>> result = new HashMap<>();
+        List<String> ids = new ArrayList<>(ordinals.size());
+        for (int ord : ordinals) {
+            result.put(ord, new ArrayList<>()); // 일정을 모두 지운 학생도 빈 목록으로 덮어씀
+            ids.add(snapshot.studentId(ord));
+        }
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK));
+            String sql = "SELECT schedule_id, student_id, title, start_time, end_time FROM schedule " +
+                    "WHERE student_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ") " +
+                    "ORDER BY student_id, start_time, schedule_id";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) pstmt.setString(i + 1, chunk.get(i));
+                pstmt.setFetchSize(1000);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        String studentId = rs.getString("student_id");
+                        result.get(snapshot.studentOrdinal(studentId)).add(new ScheduleIndex.Entry(
+                                rs.getLong("schedule_id"), studentId, rs.getString("title"),
+                                rs.getTimestamp("start_time").toLocalDateTime(),
+                                rs.getTimestamp("end_time").toLocalDateTime()));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // =======================================================
+    // 전체 만들기 (표마다 한 번씩 순서대로 읽음)
+    // =======================================================
+    // 기준 시각과 변경 표시는 조회 전에 읽은 값이라, 조회 도중의 변경은 다음 시작 때 다시 따라잡습니다.
+    private TableSnapshot build(Connection conn, Summary summary) throws SQLException {
+        TableSnapshot.Builder builder = new TableSnapshot.Builder(summary.now(), summary.versions());
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT student_id, name FROM student ORDER BY student_id")) {
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) builder.addStudent(rs.getString("student_id"), rs.getString("name"));
+            }
+        }
+        readEnrollment(conn, builder);
+        String scheduleSql = "SELECT schedule_id, student_id, title, start_time, end_time FROM schedule " +
+                "ORDER BY student_id, start_time, schedule_id";
+        try (PreparedStatement pstmt = conn.prepareStatement(scheduleSql)) {
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    builder.addSchedule(rs.getString("student_id"), rs.getLong("schedule_id"), rs.getString("title"),
+                            rs.getTimestamp("start_time").toLocalDateTime(),
+                            rs.getTimestamp("end_time").toLocalDateTime());
+                }
+            }
+        }
+        return writeAndMap(builder.toBuffer());
+    }
+
+    // TAKES, SECTION (학생은 builder에 먼저 넣어 둬야 함)
+    private static void readEnrollment(Connection conn, TableSnapshot.Builder builder) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT student_id, course_id, section_id FROM takes")) {
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    builder.addTakes(rs.getString("student_id"), rs.getString("course_id"), rs.getString("section_id"));
+                }
+            }
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT course_id, section_id, academic_term, time FROM section")) {
+            pstmt.setFetchSize(1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    builder.addSection(rs.getString("course_id"), rs.getString("section_id"),
+                            rs.getInt("academic_term"), rs.getString("time"));
+                }
+            }
+        }
+    }
+
+    // 파일로 쓰고 mmap 해서 돌려줍니다. (쓸 수 없는 위치면 힙 버퍼 그대로 사용)
+    private static TableSnapshot writeAndMap(ByteBuffer buf) {
+        try {
+            TableSnapshot.write(buf, FILE);
+            return TableSnapshot.map(FILE);
+        } catch (IOException e) {
+            System.out.println(">> 스냅샷 파일 저장 실패 (이번 실행은 메모리에서만 사용): " + e.getMessage());
+            try {
+                return TableSnapshot.of(buf);
+            } catch (IOException impossible) {
+                throw new IllegalStateException(impossible);
+            }
+        }
+    }
+
+    private static void rewriteInBackground(TableSnapshot snapshot) {
+        Thread writer = new Thread(() -> {
+            try {
+                TableSnapshot.write(snapshot.toBuilder().toBuffer(), FILE);
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, "snapshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.calendar;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// 풀링된 물리 커넥션 하나에 붙는 PreparedStatement LRU 캐시 (키: SQL 문자열)
+// - close()된 statement는 닫지 않고 파라미터만 비운 뒤 캐시에 되돌립니다.
+// - 커넥션은 한 번에 한 스레드만 빌리므로 별도 동기화는 필요 없습니다.
+// - 커넥션을 반납할 때(release) 사용자가 닫지 않은 statement도 닫은 것으로 되돌립니다.
+//   fetch size / 최대 행 수 / 쿼리 제한 시간을 바꾼 statement는 다음에 꺼낼 때 원래 값으로 되돌립니다.
+// - statement나 ResultSet에서 연결 오류(SQLState 08xxx)가 나면 connectionError로 알려 풀이 커넥션을 폐기하게 합니다.
+// - 실행 시간 / 오류 / 가져온 행 수를 SQL 문장별 Metrics.Timer에 기록합니다. (캐시하지 않는 statement 포함)
+//   ResultSet 프록시는 statement마다 하나를 만들어 두고 실행할 때마다 다시 씁니다. (statement당 열린 ResultSet은 하나)
+// - 실행이 끝나면(ResultSet을 닫거나 갱신 문장이 끝나면) 실행 시간과 next()에 쓴 시간(가져오기)을
+//   현재 QueryTrace에 더하고, 기준을 넘으면 마지막 바인드 값과 함께 SlowQueryLog에 남깁니다.
+class StatementCache {
+    // 다음 사용자에게 넘어가면 안 되는 실행 옵션 (Entry.restoreOptions)
+    private static final Set<String> OPTION_SETTERS = Set.of("setFetchSize", "setMaxRows", "setLargeMaxRows", "setQueryTimeout");
+
+    private final Connection raw;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final Map<String, Entry> entries;
+    private final Runnable connectionError;
+
+    StatementCache(Connection raw, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions,
+                   Runnable connectionError) {
+        this.raw = raw;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.connectionError = connectionError;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= StatementCache.this.maxSize) return false;
+                StatementCache.this.evictions.increment();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        if (maxSize <= 0) return uncached(sql);
+
+        Entry entry = entries.get(sql);
+        if (entry != null && !entry.inUse) {
+            if (entry.restoreOptions()) {
+                hits.increment();
+                entry.inUse = true;
+                return entry.handle;
+            }
+            entries.remove(sql);
+            entry = null;
+        }
+        misses.increment();
+        // 같은 SQL이 이미 사용 중이면 (중첩 사용) 캐시하지 않은 statement를 돌려줍니다.
+        if (entry != null) return uncached(sql);
+
+        entry = new Entry(sql, prepareTimed(sql));
+        entry.inUse = true;
+        entries.put(sql, entry);
+        return entry.handle;
+    }
+
+    // 캐시에 넣지 않고 close() 때 실제로 닫히는 statement (지표는 똑같이 기록)
+    private PreparedStatement uncached(String sql) throws SQLException {
+        Entry entry = new Entry(sql, prepareTimed(sql));
+        entry.inUse = true;
+        entry.evicted = true;
+        return entry.handle;
+    }
+
+    private PreparedStatement prepareTimed(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return raw.prepareStatement(sql);
+        } finally {
+            QueryTrace.addPrepare(System.nanoTime() - start);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // 커넥션을 풀에 반납할 때 호출합니다. 닫지 않고 남긴 statement를 닫은 것으로 되돌려 다음 대여에서 다시 씁니다.
+    void release() {
+        for (Entry entry : entries.values()) {
+            if (entry.inUse) entry.release();
+        }
+    }
+
+    // 물리 커넥션을 닫기 전에 호출합니다.
+    void clear() {
+        for (Entry entry : entries.values()) entry.evict();
+        entries.clear();
+    }
+
+    // SQLState 08xxx: 연결 오류 (물리 커넥션을 더 쓸 수 없음)
+    static boolean isConnectionError(Throwable t) {
+        return t instanceof SQLException se && se.getSQLState() != null && se.getSQLState().startsWith("08");
+    }
+
+    private Throwable checked(Throwable t) {
+        if (isConnectionError(t)) connectionError.run();
+        return t;
+    }
+
+    private final class Entry implements InvocationHandler {
+        final String sql;
+        final PreparedStatement stmt;
+        final PreparedStatement handle;
+        final Metrics.Timer timer;
+        final Rows rows = new Rows();
+        boolean inUse;
+        boolean evicted;
+        // 마지막으로 바인드한 값 (1부터, 배열은 재사용)
+        Object[] binds = new Object[8];
+        int bindCount;
+        // 사용자가 바꾸기 전의 fetch size, 최대 행 수, 쿼리 제한 시간 (바꾼 적이 없으면 null)
+        int[] options;
+
+        Entry(String sql, PreparedStatement stmt) {
+            this.sql = sql;
+            this.stmt = stmt;
+            this.timer = Metrics.statement(sql);
+            this.handle = (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) closeQuietly();
+        }
+
+        // 사용자가 닫은 것처럼 되돌립니다. (파라미터를 비우고, 이미 밀려난 statement면 실제로 닫음)
+        void release() {
+            inUse = false;
+            rows.closeCurrent();
+            clearBinds();
+            if (evicted) {
+                closeQuietly();
+            } else {
+                try {
+                    stmt.clearParameters();
+                    stmt.clearBatch();
+                } catch (SQLException e) {
+                    checked(e);
+                    evicted = true;
+                    closeQuietly();
+                }
+            }
+        }
+
+        // 이전 사용자가 바꾼 실행 옵션을 되돌립니다. 실패하면 false (이 statement는 닫고 새로 준비)
+        boolean restoreOptions() {
+            if (options == null) return true;
+            try {
+                stmt.setFetchSize(options[0]);
+                stmt.setMaxRows(options[1]);
+                stmt.setQueryTimeout(options[2]);
+                options = null;
+                return true;
+            } catch (SQLException e) {
+                checked(e);
+                evicted = true;
+                closeQuietly();
+                return false;
+            }
+        }
+
+        private void saveOptions() throws SQLException {
+            if (options == null) options = new int[]{stmt.getFetchSize(), stmt.getMaxRows(), stmt.getQueryTimeout()};
+        }
+
+        private void closeQuietly() {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                // 이미 닫힌 statement는 무시
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) release();
+                    return null;
+                case "isClosed":
+                    return !inUse || stmt.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + stmt + "]";
+                default:
+                    break;
+            }
+            if (!inUse) throw new SQLException("이미 닫힌 statement입니다.");
+            // 인자 없는 실행 메소드만 측정 (PreparedStatement는 SQL을 인자로 받는 Statement 메소드를 쓰지 않음)
+            if (args == null && method.getName().startsWith("execute")) return execute(method);
+            try {
+                if (method.getName().equals("clearParameters")) clearBinds();
+                else if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer i) {
+                    bind(i, method.getName().equals("setNull") ? null : args[1]);
+                } else if (OPTION_SETTERS.contains(method.getName())) {
+                    saveOptions();
+                }
+                return method.invoke(stmt, args);
+            } catch (InvocationTargetException e) {
+                throw checked(e.getCause());
+            } catch (SQLException e) {
+                throw checked(e);
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1 || index > 1000) return;
+            if (index >= binds.length) binds = Arrays.copyOf(binds, Math.max(index + 1, binds.length * 2));
+            binds[index] = value;
+            if (index > bindCount) bindCount = index;
+        }
+
+        private void clearBinds() {
+            Arrays.fill(binds, 1, bindCount + 1, null);
+            bindCount = 0;
+        }
+
+        private void finished(long executeNanos, long fetchNanos, long rowCount, boolean failed) {
+            QueryTrace.addStatement(executeNanos, fetchNanos, rowCount);
+            SlowQueryLog.statement(sql, binds, bindCount, executeNanos, fetchNanos, rowCount, failed);
+        }
+
+        private Object execute(Method method) throws SQLException {
+            rows.closeCurrent(); // 다시 실행하면 이전 ResultSet은 닫힘 (JDBC 규약)
+            long start = System.nanoTime();
+            try {
+                switch (method.getName()) {
+                    case "executeQuery":
+                        ResultSet rs = stmt.executeQuery();
+                        long elapsed = System.nanoTime() - start;
+                        timer.record(elapsed);
+                        return rows.open(rs, elapsed);
+                    case "executeUpdate":
+                        int updated = stmt.executeUpdate();
+                        elapsed = System.nanoTime() - start;
+                        timer.record(elapsed);
+                        timer.rows(updated);
+                        finished(elapsed, 0, updated, false);
+                        return updated;
+                    case "executeBatch":
+                        int[] counts = stmt.executeBatch();
+                        elapsed = System.nanoTime() - start;
+                        timer.record(elapsed);
+                        timer.rows(counts.length);
+                        finished(elapsed, 0, counts.length, false);
+                        return counts;
+                    case "execute":
+                        boolean result = stmt.execute();
+                        elapsed = System.nanoTime() - start;
+                        timer.record(elapsed);
+                        finished(elapsed, 0, 0, false);
+                        return result;
+                    default:
+                        return method.invoke(stmt);
+                }
+            } catch (SQLException e) {
+                timer.error();
+                QueryTrace.addFailure();
+                finished(System.nanoTime() - start, 0, 0, true);
+                checked(e);
+                throw e;
+            } catch (ReflectiveOperationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                checked(cause);
+                if (cause instanceof SQLException se) throw se;
+                throw new SQLException(cause);
+            }
+        }
+
+        // 재사용하는 ResultSet 프록시: next()가 true인 횟수와 next()에 걸린 시간을 세어 닫힐 때 기록합니다.
+        private final class Rows implements InvocationHandler {
+            private final ResultSet proxy = (ResultSet) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, this);
+            private ResultSet current;
+            private long count;
+            private long executeNanos;
+            private long fetchNanos;
+
+            ResultSet open(ResultSet rs, long executeNanos) {
+                current = rs;
+                count = 0;
+                this.executeNanos = executeNanos;
+                fetchNanos = 0;
+                return proxy;
+            }
+
+            void closeCurrent() {
+                if (current == null) return;
+                timer.rows(count);
+                finished(executeNanos, fetchNanos, count, false);
+                try {
+                    current.close();
+                } catch (SQLException e) {
+                    // 이미 닫힌 ResultSet은 무시
+                }
+                current = null;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "next":
+                        if (current == null) throw new SQLException("이미 닫힌 ResultSet입니다.");
+                        long start = System.nanoTime();
+                        boolean more;
+                        try {
+                            more = current.next();
+                        } catch (SQLException e) {
+                            throw (SQLException) checked(e);
+                        }
+                        fetchNanos += System.nanoTime() - start;
+                        if (more) count++;
+                        return more;
+                    case "close":
+                        closeCurrent();
+                        return null;
+                    case "isClosed":
+                        return current == null || current.isClosed();
+                    case "getStatement":
+                        return handle;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                if (current == null) throw new SQLException("이미 닫힌 ResultSet입니다.");
+                try {
+                    return method.invoke(current, args);
+                } catch (InvocationTargetException e) {
+                    throw checked(e.getCause());
+                }
+            }
+        }
+    }
+}
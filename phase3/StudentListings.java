@@ -0,0 +1,32 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+
+// 학생 목록 조회 (학번 키셋 페이지). 콘솔 메뉴와 REST 리소스가 함께 사용합니다.
+public final class StudentListings {
+    public record Student(String studentId, String name) {
+    }
+
+    private StudentListings() {
+    }
+
+    // 학과별 학생 (Type 1)
+    public static KeysetPager<Student> byDepartment(DataSource dataSource, String deptId) {
+        return new KeysetPager<>(dataSource,
+                "SELECT student_id, name FROM student WHERE dept_id = ?", "student_id",
+                pstmt -> {
+                    pstmt.setString(1, deptId);
+                    return 2;
+                },
+                rs -> new Student(rs.getString("student_id"), rs.getString("name")), Student::studentId);
+    }
+
+    // 개인 일정이 하나 이상 있는 학생 (Type 5)
+    public static KeysetPager<Student> withSchedule(DataSource dataSource) {
+        return new KeysetPager<>(dataSource,
+                "SELECT s.student_id, s.name FROM student s " +
+                        "WHERE EXISTS (SELECT 1 FROM schedule sc WHERE sc.student_id = s.student_id)", "s.student_id",
+                pstmt -> 1,
+                rs -> new Student(rs.getString("student_id"), rs.getString("name")), Student::studentId);
+    }
+}
@@ -0,0 +1,560 @@
+package org.example.calendar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+// STUDENT, TAKES, SECTION, SCHEDULE 열 지향 스냅샷 (재시작 시 메모리 구조를 DB 전체 조회 없이 만들기 위한 파일)
+// - 표마다 열(column)을 기본형 배열로 저장하고, 학생/과목/분반 코드는 사전(dictionary) 번호 int 하나로 바꿉니다.
+//   학생 번호는 학번 순서라 EnrollmentIndex의 조밀한 번호와 같습니다.
+// - 열 때는 파일을 mmap 하고 열마다 IntBuffer/LongBuffer 보기(view)만 만듭니다. (복사 없음, 문자열은 꺼낼 때 디코딩)
+// - 일정은 (학생 번호, 시작 시각, 일정 ID) 순서로 저장하고 학생별 시작 위치(CSR 오프셋)를 둡니다.
+// - 시각은 벽시계 시각을 UTC로 본 epoch ms라 JVM 시간대와 무관하게 같은 LocalDateTime으로 돌아옵니다.
+// - 헤더에 본문 전체의 CRC32C를 두고 열 때 확인합니다. 쓰기는 임시 파일 + 원자적 이름 변경이라 도중에 죽어도 이전 파일이 남습니다.
+public final class TableSnapshot {
+    static final int FORMAT = 2;
+    private static final long MAGIC = 0x43414C534E415031L; // "CALSNAP1"
+    private static final int HEADER_BYTES = 40;             // magic, format, 열 수, 만든 시각, 변경 기준 시각, CRC, 여백
+    private static final int DIRECTORY_ENTRY_BYTES = 16;    // 시작 위치(long), 개수(int), 바이트 수(int)
+
+    // VERSIONS 열의 표 순서
+    static final List<String> VERSIONED_TABLES = List.of(TableVersion.STUDENT, TableVersion.TAKES, TableVersion.SECTION);
+
+    private enum Kind {INTS, LONGS, STRINGS}
+
+    // 열 순서가 곧 파일의 디렉터리 순서입니다. (바꾸면 FORMAT을 올림)
+    private enum Column {
+        VERSIONS(Kind.LONGS),           // 만들 때의 표별 변경 표시 (TableVersion 합, VERSIONED_TABLES 순서)
+        STUDENT_ID(Kind.STRINGS),       // 학번 오름차순 = 학생 번호
+        STUDENT_NAME(Kind.STRINGS),
+        COURSE_DICT(Kind.STRINGS),      // 과목 코드 사전
+        SECTION_DICT(Kind.STRINGS),     // 분반 코드 사전
+        TAKES_STUDENT(Kind.INTS),
+        TAKES_COURSE(Kind.INTS),
+        TAKES_SECTION(Kind.INTS),
+        SECTION_COURSE(Kind.INTS),
+        SECTION_SECTION(Kind.INTS),
+        SECTION_TERM(Kind.INTS),
+        SECTION_TIME(Kind.STRINGS),
+        SCHEDULE_OFFSET(Kind.INTS),     // 학생 번호 i의 일정은 [offset[i], offset[i+1])
+        SCHEDULE_ID(Kind.LONGS),
+        SCHEDULE_TITLE(Kind.STRINGS),
+        SCHEDULE_START(Kind.LONGS),
+        SCHEDULE_END(Kind.LONGS);
+
+        final Kind kind;
+
+        Column(Kind kind) {
+            this.kind = kind;
+        }
+    }
+
+    // 문자열 열: int 오프셋 count+1개 뒤에 UTF-8 바이트
+    private record Strings(IntBuffer offsets, ByteBuffer data, int count) {
+        String get(int i) {
+            int start = offsets.get(i);
+            byte[] bytes = new byte[offsets.get(i + 1) - start];
+            data.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private final long createdAt;
+    private final LocalDateTime marker;
+    private final Object[] columns = new Object[Column.values().length];
+    private final String[] courses;   // 사전은 작으므로 열 때 한 번 디코딩
+    private final String[] sections;
+    private final Map<Integer, List<ScheduleIndex.Entry>> replaced; // 따라잡기로 바뀐 학생의 일정 (학생 번호 → 시작 시간순)
+
+    private TableSnapshot(ByteBuffer buf) throws IOException {
+        if (buf.capacity() < HEADER_BYTES || buf.getLong(0) != MAGIC) throw new IOException("스냅샷 파일이 아닙니다.");
+        if (buf.getInt(8) != FORMAT) throw new IOException("스냅샷 형식 버전이 다릅니다: " + buf.getInt(8));
+        int count = buf.getInt(12);
+        if (count != columns.length) throw new IOException("스냅샷 열 수가 다릅니다: " + count);
+        createdAt = buf.getLong(16);
+        marker = fromMillis(buf.getLong(24));
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(HEADER_BYTES, buf.capacity() - HEADER_BYTES));
+        if ((int) crc.getValue() != buf.getInt(32)) throw new IOException("스냅샷 체크섬이 맞지 않습니다.");
+
+        for (Column c : Column.values()) {
+            int entry = HEADER_BYTES + c.ordinal() * DIRECTORY_ENTRY_BYTES;
+            int offset = Math.toIntExact(buf.getLong(entry));
+            int n = buf.getInt(entry + 8);
+            int bytes = buf.getInt(entry + 12);
+            ByteBuffer region = buf.slice(offset, bytes);
+            columns[c.ordinal()] = switch (c.kind) {
+                case INTS -> region.asIntBuffer();
+                case LONGS -> region.asLongBuffer();
+                case STRINGS -> new Strings(region.slice(0, 4 * (n + 1)).asIntBuffer(),
+                        region.slice(4 * (n + 1), bytes - 4 * (n + 1)), n);
+            };
+        }
+        courses = decodeAll(strings(Column.COURSE_DICT));
+        sections = decodeAll(strings(Column.SECTION_DICT));
+        replaced = Map.of();
+    }
+
+    private TableSnapshot(TableSnapshot base, LocalDateTime marker, Map<Integer, List<ScheduleIndex.Entry>> replaced) {
+        this.createdAt = base.createdAt;
+        this.marker = marker;
+        System.arraycopy(base.columns, 0, columns, 0, columns.length);
+        this.courses = base.courses;
+        this.sections = base.sections;
+        this.replaced = replaced;
+    }
+
+    // 파일을 읽기 전용으로 mmap (형식/체크섬이 맞지 않으면 IOException)
+    public static TableSnapshot map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("스냅샷 파일이 너무 큽니다: " + ch.size());
+            return new TableSnapshot(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    // 파일로 쓰지 못했을 때 힙 버퍼 그대로 사용
+    public static TableSnapshot of(ByteBuffer buf) throws IOException {
+        return new TableSnapshot(buf);
+    }
+
+    // 임시 파일에 다 쓴 뒤 원자적으로 교체 (이미 mmap 된 이전 파일은 닫힐 때까지 그대로 유효)
+    public static void write(ByteBuffer buf, Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer src = buf.duplicate().position(0);
+                while (src.hasRemaining()) ch.write(src);
+                ch.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // 일부 학생의 일정만 바꾼 새 스냅샷 (파일은 그대로, 바뀐 학생만 힙에 둠)
+    public TableSnapshot withSchedules(Map<Integer, List<ScheduleIndex.Entry>> changed, LocalDateTime newMarker) {
+        Map<Integer, List<ScheduleIndex.Entry>> merged = new HashMap<>(replaced);
+        merged.putAll(changed);
+        return new TableSnapshot(this, newMarker, Collections.unmodifiableMap(merged));
+    }
+
+    // =======================================================
+    // 조회
+    // =======================================================
+    public long createdAt() {
+        return createdAt;
+    }
+
+    // 이 시각(DB 서버 시계)까지 기록된 일정 변경은 모두 반영돼 있습니다.
+    public LocalDateTime marker() {
+        return marker;
+    }
+
+    public int replacedStudents() {
+        return replaced.size();
+    }
+
+    public long[] versions() {
+        long[] result = new long[VERSIONED_TABLES.size()];
+        longs(Column.VERSIONS).get(0, result);
+        return result;
+    }
+
+    // 주어진 표들의 변경 표시 합 (같은 표들로 만든 TableVersion.read()와 비교할 수 있는 값)
+    public long version(String... tables) {
+        long sum = 0;
+        for (String table : tables) {
+            int i = VERSIONED_TABLES.indexOf(table);
+            if (i < 0) throw new IllegalArgumentException("스냅샷에 없는 표입니다: " + table);
+            sum += longs(Column.VERSIONS).get(i);
+        }
+        return sum;
+    }
+
+    public int studentCount() {
+        return strings(Column.STUDENT_ID).count();
+    }
+
+    public String studentId(int ordinal) {
+        return strings(Column.STUDENT_ID).get(ordinal);
+    }
+
+    public String studentName(int ordinal) {
+        return strings(Column.STUDENT_NAME).get(ordinal);
+    }
+
+    // 학번 → 학생 번호 (없으면 -1, 학번 순서 이분 탐색)
+    public int studentOrdinal(String studentId) {
+        Strings ids = strings(Column.STUDENT_ID);
+        int lo = 0, hi = ids.count() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = ids.get(mid).compareTo(studentId);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    public int takesCount() {
+        return ints(Column.TAKES_STUDENT).limit();
+    }
+
+    public int takesStudent(int row) {
+        return ints(Column.TAKES_STUDENT).get(row);
+    }
+
+    public String takesCourse(int row) {
+        return courses[ints(Column.TAKES_COURSE).get(row)];
+    }
+
+    public String takesSection(int row) {
+        return sections[ints(Column.TAKES_SECTION).get(row)];
+    }
+
+    public int sectionCount() {
+        return ints(Column.SECTION_TERM).limit();
+    }
+
+    public String sectionCourse(int row) {
+        return courses[ints(Column.SECTION_COURSE).get(row)];
+    }
+
+    public String sectionSection(int row) {
+        return sections[ints(Column.SECTION_SECTION).get(row)];
+    }
+
+    public int sectionTerm(int row) {
+        return ints(Column.SECTION_TERM).get(row);
+    }
+
+    public String sectionTime(int row) {
+        return strings(Column.SECTION_TIME).get(row);
+    }
+
+    public int scheduleCount(int ordinal) {
+        List<ScheduleIndex.Entry> changed = replaced.get(ordinal);
+        if (changed != null) return changed.size();
+        IntBuffer offsets = ints(Column.SCHEDULE_OFFSET);
+        return offsets.get(ordinal + 1) - offsets.get(ordinal);
+    }
+
+    // 학생 한 명의 일정 (시작 시간순)
+    public List<ScheduleIndex.Entry> schedules(int ordinal) {
+        List<ScheduleIndex.Entry> changed = replaced.get(ordinal);
+        if (changed != null) return changed;
+        IntBuffer offsets = ints(Column.SCHEDULE_OFFSET);
+        int from = offsets.get(ordinal);
+        int to = offsets.get(ordinal + 1);
+        if (from == to) return List.of();
+        String studentId = studentId(ordinal);
+        LongBuffer ids = longs(Column.SCHEDULE_ID);
+        LongBuffer starts = longs(Column.SCHEDULE_START);
+        LongBuffer ends = longs(Column.SCHEDULE_END);
+        Strings titles = strings(Column.SCHEDULE_TITLE);
+        List<ScheduleIndex.Entry> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(new ScheduleIndex.Entry(ids.get(i), studentId, titles.get(i),
+                    fromMillis(starts.get(i)), fromMillis(ends.get(i))));
+        }
+        return result;
+    }
+
+    private IntBuffer ints(Column c) {
+        return (IntBuffer) columns[c.ordinal()];
+    }
+
+    private LongBuffer longs(Column c) {
+        return (LongBuffer) columns[c.ordinal()];
+    }
+
+    private Strings strings(Column c) {
+        return (Strings) columns[c.ordinal()];
+    }
+
+    private static String[] decodeAll(Strings s) {
+        String[] result = new String[s.count()];
+        for (int i = 0; i < result.length; i++) result[i] = s.get(i);
+        return result;
+    }
+
+    static long toMillis(LocalDateTime t) {
+        return t.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    // =======================================================
+    // 만들기 (DB 조회 결과 또는 기존 스냅샷에서)
+    // =======================================================
+    // 학생은 학번 오름차순, 일정은 학생별 시작 시간순으로 넣어야 합니다. (순서가 틀리면 IllegalStateException)
+    public static final class Builder {
+        private final LocalDateTime marker;
+        private final long[] versions;
+        private final StringColumn studentIds = new StringColumn();
+        private final StringColumn studentNames = new StringColumn();
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private String lastStudentId;
+        private final Dictionary courses = new Dictionary();
+        private final Dictionary sections = new Dictionary();
+        private final IntColumn takesStudent = new IntColumn();
+        private final IntColumn takesCourse = new IntColumn();
+        private final IntColumn takesSection = new IntColumn();
+        private final IntColumn sectionCourse = new IntColumn();
+        private final IntColumn sectionSection = new IntColumn();
+        private final IntColumn sectionTerm = new IntColumn();
+        private final StringColumn sectionTime = new StringColumn();
+        private final IntColumn scheduleOffset = new IntColumn();
+        private final LongColumn scheduleId = new LongColumn();
+        private final StringColumn scheduleTitle = new StringColumn();
+        private final LongColumn scheduleStart = new LongColumn();
+        private final LongColumn scheduleEnd = new LongColumn();
+        private int scheduleStudent = -1; // 지금 일정을 받고 있는 학생 번호
+        private long lastStart = Long.MIN_VALUE;
+
+        public Builder(LocalDateTime marker, long[] versions) {
+            if (versions.length != VERSIONED_TABLES.size()) throw new IllegalArgumentException("변경 표시 수가 다릅니다.");
+            this.marker = marker;
+            this.versions = versions.clone();
+        }
+
+        public int studentCount() {
+            return ordinals.size();
+        }
+
+        public void addStudent(String studentId, String name) {
+            if (lastStudentId != null && lastStudentId.compareTo(studentId) >= 0) {
+                throw new IllegalStateException("학생은 학번 오름차순이어야 합니다: " + studentId);
+            }
+            if (scheduleStudent >= 0) throw new IllegalStateException("학생은 일정보다 먼저 넣어야 합니다.");
+            ordinals.put(studentId, ordinals.size());
+            studentIds.add(studentId);
+            studentNames.add(name);
+            lastStudentId = studentId;
+        }
+
+        // 모르는 학생이면 false (넣지 않음)
+        public boolean addTakes(String studentId, String courseId, String sectionId) {
+            Integer ord = ordinals.get(studentId);
+            if (ord == null) return false;
+            takesStudent.add(ord);
+            takesCourse.add(courses.code(courseId));
+            takesSection.add(sections.code(sectionId));
+            return true;
+        }
+
+        public void addSection(String courseId, String sectionId, int term, String time) {
+            sectionCourse.add(courses.code(courseId));
+            sectionSection.add(sections.code(sectionId));
+            sectionTerm.add(term);
+            sectionTime.add(time);
+        }
+
+        // 모르는 학생이면 false (넣지 않음)
+        public boolean addSchedule(String studentId, long id, String title, LocalDateTime start, LocalDateTime end) {
+            Integer ord = ordinals.get(studentId);
+            if (ord == null) return false;
+            addSchedule(ord, id, title, start, end);
+            return true;
+        }
+
+        public void addSchedule(int ordinal, long id, String title, LocalDateTime start, LocalDateTime end) {
+            long startMillis = toMillis(start);
+            if (ordinal < scheduleStudent || (ordinal == scheduleStudent && startMillis < lastStart)) {
+                throw new IllegalStateException("일정은 학생, 시작 시간 순서여야 합니다: " + id);
+            }
+            while (scheduleStudent < ordinal) {
+                scheduleOffset.add(scheduleId.size);
+                scheduleStudent++;
+            }
+            lastStart = startMillis;
+            scheduleId.add(id);
+            scheduleTitle.add(title);
+            scheduleStart.add(startMillis);
+            scheduleEnd.add(toMillis(end));
+        }
+
+        // 파일 형식 그대로의 힙 버퍼
+        public ByteBuffer toBuffer() {
+            while (scheduleStudent < ordinals.size()) {
+                scheduleOffset.add(scheduleId.size);
+                scheduleStudent++;
+            }
+            LongColumn versionColumn = new LongColumn();
+            for (long v : versions) versionColumn.add(v);
+            Object[] data = new Object[Column.values().length];
+            data[Column.VERSIONS.ordinal()] = versionColumn;
+            data[Column.STUDENT_ID.ordinal()] = studentIds;
+            data[Column.STUDENT_NAME.ordinal()] = studentNames;
+            data[Column.COURSE_DICT.ordinal()] = courses.values;
+            data[Column.SECTION_DICT.ordinal()] = sections.values;
+            data[Column.TAKES_STUDENT.ordinal()] = takesStudent;
+            data[Column.TAKES_COURSE.ordinal()] = takesCourse;
+            data[Column.TAKES_SECTION.ordinal()] = takesSection;
+            data[Column.SECTION_COURSE.ordinal()] = sectionCourse;
+            data[Column.SECTION_SECTION.ordinal()] = sectionSection;
+            data[Column.SECTION_TERM.ordinal()] = sectionTerm;
+            data[Column.SECTION_TIME.ordinal()] = sectionTime;
+            data[Column.SCHEDULE_OFFSET.ordinal()] = scheduleOffset;
+            data[Column.SCHEDULE_ID.ordinal()] = scheduleId;
+            data[Column.SCHEDULE_TITLE.ordinal()] = scheduleTitle;
+            data[Column.SCHEDULE_START.ordinal()] = scheduleStart;
+            data[Column.SCHEDULE_END.ordinal()] = scheduleEnd;
+
+            long total = HEADER_BYTES + (long) data.length * DIRECTORY_ENTRY_BYTES;
+            long[] offsets = new long[data.length];
+            for (int i = 0; i < data.length; i++) {
+                offsets[i] = total;
+                total += align(bytes(data[i]));
+            }
+            if (total > Integer.MAX_VALUE) throw new IllegalStateException("스냅샷이 2GB를 넘습니다: " + total);
+
+            ByteBuffer buf = ByteBuffer.allocate((int) total);
+            buf.putLong(0, MAGIC);
+            buf.putInt(8, FORMAT);
+            buf.putInt(12, data.length);
+            buf.putLong(16, System.currentTimeMillis());
+            buf.putLong(24, toMillis(marker));
+            for (int i = 0; i < data.length; i++) {
+                int entry = HEADER_BYTES + i * DIRECTORY_ENTRY_BYTES;
+                buf.putLong(entry, offsets[i]);
+                buf.putInt(entry + 8, count(data[i]));
+                buf.putInt(entry + 12, bytes(data[i]));
+                write(buf.slice((int) offsets[i], bytes(data[i])), data[i]);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buf.slice(HEADER_BYTES, (int) total - HEADER_BYTES));
+            buf.putInt(32, (int) crc.getValue());
+            return buf;
+        }
+
+        private static int align(int bytes) {
+            return (bytes + 7) & ~7;
+        }
+
+        private static int count(Object column) {
+            if (column instanceof IntColumn c) return c.size;
+            if (column instanceof LongColumn c) return c.size;
+            return ((StringColumn) column).offsets.size - 1;
+        }
+
+        private static int bytes(Object column) {
+            if (column instanceof IntColumn c) return 4 * c.size;
+            if (column instanceof LongColumn c) return 8 * c.size;
+            StringColumn s = (StringColumn) column;
+            return 4 * s.offsets.size + s.bytes.size();
+        }
+
+        private static void write(ByteBuffer region, Object column) {
+            if (column instanceof IntColumn c) {
+                region.asIntBuffer().put(c.values, 0, c.size);
+            } else if (column instanceof LongColumn c) {
+                region.asLongBuffer().put(c.values, 0, c.size);
+            } else {
+                StringColumn s = (StringColumn) column;
+                region.asIntBuffer().put(s.offsets.values, 0, s.offsets.size);
+                region.put(4 * s.offsets.size, s.bytes.toByteArray());
+            }
+        }
+    }
+
+    // 기존 스냅샷(바뀐 학생 포함)을 그대로 옮겨 담은 Builder (DB 조회 없이 새 파일을 쓸 때)
+    public Builder toBuilder() {
+        return toBuilder(versions(), true);
+    }
+
+    // enrollment가 false면 수강/분반은 빼고 학생/일정만 옮깁니다. (두 표만 DB에서 다시 읽어 채울 때)
+    public Builder toBuilder(long[] newVersions, boolean enrollment) {
+        Builder b = new Builder(marker, newVersions);
+        int students = studentCount();
+        for (int i = 0; i < students; i++) b.addStudent(studentId(i), studentName(i));
+        if (enrollment) {
+            for (int i = 0, n = takesCount(); i < n; i++) {
+                b.addTakes(studentId(takesStudent(i)), takesCourse(i), takesSection(i));
+            }
+            for (int i = 0, n = sectionCount(); i < n; i++) {
+                b.addSection(sectionCourse(i), sectionSection(i), sectionTerm(i), sectionTime(i));
+            }
+        }
+        for (int i = 0; i < students; i++) {
+            for (ScheduleIndex.Entry e : schedules(i)) b.addSchedule(i, e.scheduleId(), e.title(), e.start(), e.end());
+        }
+        return b;
+    }
+
+    // =======================================================
+    // 만들 때만 쓰는 늘어나는 기본형 배열
+    // =======================================================
+    private static final class IntColumn {
+        int[] values = new int[1024];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+    }
+
+    private static final class LongColumn {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+    }
+
+    private static final class StringColumn {
+        final IntColumn offsets = new IntColumn();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        StringColumn() {
+            offsets.add(0);
+        }
+
+        void add(String s) {
+            byte[] b = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+            bytes.writeBytes(b);
+            offsets.add(bytes.size());
+        }
+    }
+
+    private static final class Dictionary {
+        final Map<String, Integer> codes = new HashMap<>();
+        final StringColumn values = new StringColumn();
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+    }
+}
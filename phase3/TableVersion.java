@@ -0,0 +1,63 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+
+// 표 단위 변경 표시 (TABLE_VERSION, sql/3-DDL2.sql의 트리거가 갱신)
+// - 표에 쓰는 문장마다(TAKES는 행마다, TakesChangeLog) 세션별 슬롯 한 행의 VERSION이 1 오르므로, 표들의 VERSION 합은 커밋될 때마다 커집니다.
+//   (커밋 순서와 관계없이 합은 늘기만 하므로 늦게 커밋된 변경도 놓치지 않음)
+// - 웹(Next.js)이 TAKES/STUDENT를 직접 바꾸고 행사 표는 SQL로만 바뀌므로, 메모리 구조는 조회 전에 current()를 적재할 때의 값과 비교해
+//   다르면 다시 읽습니다. 적재는 read()로 합을 먼저 읽고 시작하므로 적재 도중의 변경은 다음 비교에서 잡힙니다.
+// - current()는 DB 왕복 한 번(PK 범위 16행 x 표 수)이며, CHECK_MS 안에 다시 부르면 마지막 값을 돌려줍니다.
+public class TableVersion {
+    public static final String STUDENT = "STUDENT";
+    public static final String TAKES = "TAKES";
+    public static final String SECTION = "SECTION";
+    public static final String COURSE = "COURSE";
+    public static final String DEPARTMENT_EVENT = "DEPARTMENT_EVENT";
+    public static final String DEPT_LOCATION = "DEPT_LOCATION";
+    public static final String ACADEMIC_EVENT = "ACADEMIC_EVENT";
+
+    // 메모리 구조가 DB보다 늦을 수 있는 최대 시간 (0이면 조회마다 확인)
+    private static final long CHECK_MS = Long.getLong("calendar.tableVersion.checkMs", 1000);
+
+    private final DataSource dataSource;
+    private final String sql;
+    private final String[] tables;
+    private volatile long checkedAt;
+    private volatile long last = -1;
+
+    public TableVersion(DataSource dataSource, String... tables) {
+        this.dataSource = dataSource;
+        this.tables = tables.clone();
+        this.sql = "SELECT NVL(SUM(version), 0) FROM table_version WHERE table_name IN (" +
+                String.join(",", Collections.nCopies(tables.length, "?")) + ")";
+    }
+
+    // 지금 DB의 합 (적재하는 쪽의 커넥션으로, 적재 쿼리보다 먼저)
+    public long read(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < tables.length; i++) pstmt.setString(i + 1, tables[i]);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                long version = rs.getLong(1);
+                last = version;
+                checkedAt = System.currentTimeMillis();
+                return version;
+            }
+        }
+    }
+
+    // 조회 전 확인용 (CHECK_MS 안이면 DB에 가지 않음)
+    public long current() throws SQLException {
+        long cached = last;
+        if (cached >= 0 && System.currentTimeMillis() - checkedAt < CHECK_MS) return cached;
+        try (Connection conn = dataSource.getConnection()) {
+            return read(conn);
+        }
+    }
+}
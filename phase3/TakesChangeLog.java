@@ -0,0 +1,166 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 수강 변경 로그 (TAKES_CHANGE, sql/3-DDL2.sql의 행 단위 트리거가 기록)
+// - TAKES 한 행이 바뀔 때마다 트리거가 TABLE_VERSION의 TAKES 슬롯(세션 SID mod 16) 버전을 1 올리고,
+//   그 (슬롯, 버전)으로 신청(+1) / 취소(-1) 한 행을 남깁니다. (UPDATE는 옛 행 -1, 새 행 +1)
+//   슬롯 행은 커밋할 때까지 잠겨 있으므로 슬롯마다 번호가 빠짐없이 커밋 순서대로 보입니다.
+// - 메모리 구조(EnrollmentIndex, EnrollmentAggregates)는 적재할 때의 슬롯 버전(Position)을 기억했다가
+//   since()로 그 뒤의 변경만 읽어 행 단위로 반영합니다. 웹(Next.js)과 SQL*Plus의 쓰기도 같은 로그로 들어옵니다.
+// - 번호가 빠졌으면(보존 기간 정리, direct path 적재 후 슬롯 0만 올림, 스크립트 재실행) since()가 null을 돌려주고,
+//   그때만 전체를 다시 읽습니다.
+public class TakesChangeLog {
+    // 같은 (학생, 과목, 분반)의 변경은 합쳐서 순증감 하나로 (0이면 빠짐)
+    public record Change(String studentId, String courseId, String sectionId, int delta) {
+    }
+
+    // 이 세션이 방금 남긴 변경의 번호 (Manager가 자기 변경을 바로 반영할 때)
+    public record Stamp(int slot, long version) {
+    }
+
+    // TAKES 슬롯별 버전 (바꾸지 않고 새로 만듦)
+    public static final class Position {
+        private final long[] versions;
+
+        private Position(long[] versions) {
+            this.versions = versions;
+        }
+
+        public long sum() {
+            long sum = 0;
+            for (long v : versions) sum += v;
+            return sum;
+        }
+
+        // stamp가 이 위치 바로 다음 번호면 한 칸 나아간 위치, 아니면 null
+        public Position advance(Stamp stamp) {
+            if (stamp.slot() < 0 || stamp.slot() >= SLOTS || versions[stamp.slot()] != stamp.version() - 1) return null;
+            long[] next = versions.clone();
+            next[stamp.slot()] = stamp.version();
+            return new Position(next);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Position p && Arrays.equals(versions, p.versions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(versions);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(versions);
+        }
+    }
+
+    public static final int SLOTS = 16;
+    // 이보다 많이 바뀌었으면(대량 적재 등) 행 단위 반영보다 전체 적재가 싸므로 null
+    public static final int MAX_DELTA = Integer.getInteger("calendar.takesChange.maxDelta", 5000);
+
+    private static final String POSITION_SQL = "SELECT slot, version FROM table_version WHERE table_name = 'TAKES'";
+    private static final String STAMP_SQL = "SELECT slot, version FROM table_version " +
+            "WHERE table_name = 'TAKES' AND slot = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16)";
+    private static final String SINCE_SQL = "SELECT version, student_id, course_id, section_id, delta " +
+            "FROM takes_change WHERE slot = ? AND version > ? AND version <= ? ORDER BY version";
+
+    private TakesChangeLog() {
+    }
+
+    // 지금 DB의 슬롯 버전 (적재하는 쪽의 커넥션으로, 적재 쿼리보다 먼저)
+    public static Position read(Connection conn) throws SQLException {
+        long[] versions = new long[SLOTS];
+        try (PreparedStatement pstmt = conn.prepareStatement(POSITION_SQL); ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                int slot = rs.getInt(1);
+                if (slot >= 0 && slot < SLOTS) versions[slot] = rs.getLong(2);
+            }
+        }
+        return new Position(versions);
+    }
+
+    // 위치와 적재 쿼리가 같은 시점을 보도록 빌린 커넥션의 첫 문장으로 호출 (반납할 때 rollback으로 끝남)
+    // 위치를 읽은 뒤 커밋된 변경이 적재에 섞이면 since()가 그 변경을 한 번 더 반영하게 됩니다.
+    public static void beginConsistentRead(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SET TRANSACTION READ ONLY")) {
+            pstmt.execute();
+        }
+    }
+
+    // TAKES를 바꾼 트랜잭션 안에서 (커밋 전) 이 세션 슬롯의 버전. 한 행만 바꿨을 때만 그 행의 번호입니다.
+    public static Stamp stamp(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(STAMP_SQL); ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? new Stamp(rs.getInt(1), rs.getLong(2)) : null;
+        }
+    }
+
+    // from 이후 to까지의 변경 (합친 결과). 번호가 빠졌거나 거꾸로 갔거나 MAX_DELTA를 넘으면 null
+    public static List<Change> since(Connection conn, Position from, Position to) throws SQLException {
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long gap = to.versions[slot] - from.versions[slot];
+            if (gap < 0) return null; // 스크립트를 다시 실행해 슬롯이 초기화됨
+            total += gap;
+        }
+        if (total > MAX_DELTA) return null;
+        if (total == 0) return List.of();
+
+        Map<List<String>, Integer> net = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SINCE_SQL)) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                long expected = from.versions[slot];
+                if (to.versions[slot] == expected) continue;
+                pstmt.setInt(1, slot);
+                pstmt.setLong(2, expected);
+                pstmt.setLong(3, to.versions[slot]);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (rs.getLong("version") != ++expected) return null; // 정리됐거나 로그 없이 올린 번호
+                        net.merge(List.of(rs.getString("student_id"), rs.getString("course_id"), rs.getString("section_id")),
+                                rs.getInt("delta"), Integer::sum);
+                    }
+                }
+                if (expected != to.versions[slot]) return null;
+            }
+        }
+
+        List<Change> changes = new ArrayList<>(net.size());
+        for (Map.Entry<List<String>, Integer> e : net.entrySet()) {
+            if (e.getValue() == 0) continue;
+            List<String> key = e.getKey();
+            changes.add(new Change(key.get(0), key.get(1), key.get(2), e.getValue()));
+        }
+        return changes;
+    }
+
+    // 보존 기간이 지난 변경 삭제 (그보다 오래 따라오지 못한 메모리 구조는 전체를 다시 읽음)
+    public static int prune(DataSource dataSource, Duration keep) throws SQLException {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(keep));
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM takes_change WHERE changed_at < ?")) {
+                pstmt.setTimestamp(1, cutoff);
+                int deleted = pstmt.executeUpdate();
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 분반별 컴파일된 주간 시간표 캐시 (키: course_id, section_id, academic_term)
+// - SECTION.TIME 문자열은 분반마다 한 번만 파싱합니다.
+// - 같은 시간표는 하나의 객체를 공유합니다. (대부분의 분반이 몇 가지 패턴을 반복)
+public class TimetableCache {
+    public record SectionKey(String courseId, String sectionId, int term) {
+    }
+
+    private final DataSource dataSource;
+    private final Map<SectionKey, WeeklyTimetable> timetables = new ConcurrentHashMap<>();
+    private final Map<WeeklyTimetable, WeeklyTimetable> canonical = new ConcurrentHashMap<>();
+    private final Set<Integer> loadedTerms = ConcurrentHashMap.newKeySet();
+
+    public TimetableCache(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // 학기 전체 분반을 한 번의 쿼리로 읽어 캐시합니다. 이미 읽은 학기는 건너뜁니다.
+    public void loadTerm(int term) throws SQLException {
+        if (loadedTerms.contains(term)) return;
+        String sql = "SELECT course_id, section_id, time FROM section WHERE academic_term = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, term);
+            pstmt.setFetchSize(500);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    put(rs.getString("course_id"), rs.getString("section_id"), term, rs.getString("time"));
+                }
+            }
+        }
+        loadedTerms.add(term);
+    }
+
+    // 캐시에 없으면 DB에서 읽어옵니다. 분반이 없으면 EMPTY
+    public WeeklyTimetable get(String courseId, String sectionId, int term) throws SQLException {
+        SectionKey key = new SectionKey(courseId, sectionId, term);
+        WeeklyTimetable cached = timetables.get(key);
+        if (cached != null) return cached;
+
+        String sql = "SELECT time FROM section WHERE course_id = ? AND section_id = ? AND academic_term = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, courseId);
+            pstmt.setString(2, sectionId);
+            pstmt.setInt(3, term);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                String time = rs.next() ? rs.getString("time") : null;
+                return put(courseId, sectionId, term, time);
+            }
+        }
+    }
+
+    // 이미 캐시된 값만 조회 (DB 접근 없음)
+    public WeeklyTimetable getIfPresent(String courseId, String sectionId, int term) {
+        return timetables.get(new SectionKey(courseId, sectionId, term));
+    }
+
+    public WeeklyTimetable put(String courseId, String sectionId, int term, String time) {
+        WeeklyTimetable parsed = WeeklyTimetable.parse(time);
+        WeeklyTimetable shared = canonical.computeIfAbsent(parsed, t -> t);
+        timetables.put(new SectionKey(courseId, sectionId, term), shared);
+        return shared;
+    }
+
+    // SECTION.TIME 변경 시 호출
+    public void invalidate(String courseId, String sectionId, int term) {
+        timetables.remove(new SectionKey(courseId, sectionId, term));
+        loadedTerms.remove(term);
+    }
+
+    public int size() {
+        return timetables.size();
+    }
+
+    public int distinctTimetables() {
+        return canonical.size();
+    }
+}
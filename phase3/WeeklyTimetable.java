@@ -0,0 +1,182 @@
+package org.example.calendar;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// SECTION.TIME 문자열(예: "수 15:00 ~ 16:30,월 16:30 ~ 18:00")을 컴파일한 주간 시간표
+// - 하루를 15분 슬롯 96개로 나누고 요일마다 long 2개(128비트) 비트마스크로 저장합니다.
+// - 겹침/합집합/빈 시간 계산은 long 14개에 대한 비트 연산으로 끝납니다.
+// - 불변 객체이므로 캐시에서 여러 스레드가 그대로 공유해도 됩니다.
+public final class WeeklyTimetable {
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES; // 96
+    public static final int WORDS_PER_DAY = 2;
+    public static final int DAYS = 7;
+    public static final WeeklyTimetable EMPTY = new WeeklyTimetable(new long[DAYS * WORDS_PER_DAY]);
+
+    private static final String DAY_NAMES = "월화수목금토일";
+    private static final Pattern MEETING = Pattern.compile("([월화수목금토일])\\s*(\\d{1,2}):(\\d{2})\\s*~\\s*(\\d{1,2}):(\\d{2})");
+
+    // bits[day * 2 + w]: day 0 = 월요일, w 0 = 슬롯 0~63, w 1 = 슬롯 64~95
+    private final long[] bits;
+
+    private WeeklyTimetable(long[] bits) {
+        this.bits = bits;
+    }
+
+    // 한 구간(요일, 시작 분, 종료 분)만 차지하는 시간표
+    public static WeeklyTimetable of(DayOfWeek day, int startMinute, int endMinute) {
+        long[] bits = new long[DAYS * WORDS_PER_DAY];
+        setRange(bits, day.getValue() - 1, startMinute, endMinute);
+        return new WeeklyTimetable(bits);
+    }
+
+    // SECTION.TIME 파싱. 형식이 맞지 않는 조각은 건너뜁니다. (null/빈 문자열 -> EMPTY)
+    public static WeeklyTimetable parse(String time) {
+        if (time == null || time.isBlank()) return EMPTY;
+        long[] bits = new long[DAYS * WORDS_PER_DAY];
+        Matcher m = MEETING.matcher(time);
+        boolean any = false;
+        while (m.find()) {
+            int day = DAY_NAMES.indexOf(m.group(1).charAt(0));
+            int start = Integer.parseInt(m.group(2)) * 60 + Integer.parseInt(m.group(3));
+            int end = Integer.parseInt(m.group(4)) * 60 + Integer.parseInt(m.group(5));
+            any |= setRange(bits, day, start, end);
+        }
+        return any ? new WeeklyTimetable(bits) : EMPTY;
+    }
+
+    // [startMinute, endMinute) 구간의 슬롯을 켭니다. 시작은 내림, 종료는 올림으로 슬롯 경계에 맞춥니다.
+    private static boolean setRange(long[] bits, int day, int startMinute, int endMinute) {
+        int from = Math.max(0, startMinute) / SLOT_MINUTES;
+        int to = Math.min(SLOTS_PER_DAY, (Math.min(endMinute, 24 * 60) + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        if (from >= to) return false;
+        for (int w = 0; w < WORDS_PER_DAY; w++) {
+            int lo = Math.max(from, w * 64) - w * 64;
+            int hi = Math.min(to, (w + 1) * 64) - w * 64;
+            if (lo < hi) bits[day * WORDS_PER_DAY + w] |= rangeMask(lo, hi);
+        }
+        return true;
+    }
+
+    // 비트 lo 이상 hi 미만이 켜진 마스크 (0 <= lo < hi <= 64)
+    static long rangeMask(int lo, int hi) {
+        long upper = hi == 64 ? -1L : (1L << hi) - 1;
+        return upper & (-1L << lo);
+    }
+
+    // =======================================================
+    // 비트 연산
+    // =======================================================
+    public boolean overlaps(WeeklyTimetable other) {
+        for (int i = 0; i < bits.length; i++) {
+            if ((bits[i] & other.bits[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    public WeeklyTimetable union(WeeklyTimetable other) {
+        long[] result = new long[bits.length];
+        for (int i = 0; i < bits.length; i++) result[i] = bits[i] | other.bits[i];
+        return new WeeklyTimetable(result);
+    }
+
+    public WeeklyTimetable intersect(WeeklyTimetable other) {
+        long[] result = new long[bits.length];
+        for (int i = 0; i < bits.length; i++) result[i] = bits[i] & other.bits[i];
+        return new WeeklyTimetable(result);
+    }
+
+    // 차지하지 않은 슬롯 (빈 시간)
+    public WeeklyTimetable complement() {
+        long[] result = new long[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            long mask = i % WORDS_PER_DAY == 0 ? -1L : rangeMask(0, SLOTS_PER_DAY - 64);
+            result[i] = ~bits[i] & mask;
+        }
+        return new WeeklyTimetable(result);
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) if (word != 0) return false;
+        return true;
+    }
+
+    public boolean isOccupied(DayOfWeek day, int minute) {
+        int slot = minute / SLOT_MINUTES;
+        if (slot < 0 || slot >= SLOTS_PER_DAY) return false;
+        return (bits[(day.getValue() - 1) * WORDS_PER_DAY + slot / 64] & (1L << (slot % 64))) != 0;
+    }
+
+    // 해당 요일의 [startMinute, endMinute) 구간과 겹치는지
+    public boolean overlaps(DayOfWeek day, int startMinute, int endMinute) {
+        long[] probe = new long[DAYS * WORDS_PER_DAY];
+        if (!setRange(probe, day.getValue() - 1, startMinute, endMinute)) return false;
+        int base = (day.getValue() - 1) * WORDS_PER_DAY;
+        return (bits[base] & probe[base]) != 0 || (bits[base + 1] & probe[base + 1]) != 0;
+    }
+
+    public int occupiedSlots() {
+        int n = 0;
+        for (long word : bits) n += Long.bitCount(word);
+        return n;
+    }
+
+    // 요일 day의 w번째 워드 (FreeTimeFinder 등 외부 비트 연산용)
+    public long word(int day, int w) {
+        return bits[day * WORDS_PER_DAY + w];
+    }
+
+    // =======================================================
+    // 구간 목록으로 되돌리기 (연속된 슬롯은 하나로 합쳐집니다)
+    // =======================================================
+    public record Meeting(DayOfWeek day, int startMinute, int endMinute) {
+        @Override
+        public String toString() {
+            return String.format("%c %02d:%02d ~ %02d:%02d", DAY_NAMES.charAt(day.getValue() - 1),
+                    startMinute / 60, startMinute % 60, endMinute / 60, endMinute % 60);
+        }
+    }
+
+    public List<Meeting> meetings() {
+        List<Meeting> result = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            int runStart = -1;
+            for (int slot = 0; slot <= SLOTS_PER_DAY; slot++) {
+                boolean on = slot < SLOTS_PER_DAY
+                        && (bits[day * WORDS_PER_DAY + slot / 64] & (1L << (slot % 64))) != 0;
+                if (on && runStart < 0) runStart = slot;
+                if (!on && runStart >= 0) {
+                    result.add(new Meeting(DayOfWeek.of(day + 1), runStart * SLOT_MINUTES, slot * SLOT_MINUTES));
+                    runStart = -1;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklyTimetable other && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        List<Meeting> meetings = meetings();
+        StringBuilder sb = new StringBuilder();
+        for (Meeting meeting : meetings) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(meeting);
+        }
+        return sb.toString();
+    }
+}
@@ -11,6 +11,15 @@ DROP TABLE STUDENT_GROUP CASCADE CONSTRAINTS; -- 이름 변경: GROUP -> STUDENT
 DROP TABLE DEPARTMENT CASCADE CONSTRAINTS;
 DROP TABLE STUDENT CASCADE CONSTRAINTS;
 DROP TABLE FRIENDSHIP CASCADE CONSTRAINTS;
+DROP TABLE SCHEDULE_CHANGE CASCADE CONSTRAINTS;
+DROP TABLE SCHEDULE_VERSION CASCADE CONSTRAINTS;
+DROP TABLE GROUP_VERSION CASCADE CONSTRAINTS;
+DROP TABLE SCHEDULE_EXCEPTION CASCADE CONSTRAINTS;
+DROP TABLE SCHEDULE_SERIES CASCADE CONSTRAINTS;
+DROP TABLE TABLE_VERSION CASCADE CONSTRAINTS;
+DROP TABLE TAKES_CHANGE CASCADE CONSTRAINTS;
+DROP SEQUENCE SCHEDULE_ID_SEQ;
+DROP SEQUENCE GROUP_ID_SEQ;
 
 -- Create Tables
 CREATE TABLE STUDENT (
@@ -114,4 +123,74 @@ CREATE TABLE FRIENDSHIP (
                   STUDENT_ID2 )
 );
 
+-- 개인 일정 변경 로그 (ScheduleChangeLog 참고)
+-- 학생별 현재 버전: 일정을 바꾸는 트랜잭션이 이 행을 갱신하므로 같은 학생의 변경은 커밋 순서대로 번호가 붙음
+CREATE TABLE SCHEDULE_VERSION (
+    STUDENT_ID     CHAR(10) NOT NULL,
+    VERSION        NUMBER NOT NULL,          -- 마지막 변경 번호
+    PRUNED_THROUGH NUMBER DEFAULT 0 NOT NULL, -- 보존 기간이 지나 지운 마지막 번호 (이보다 오래된 요청은 전체 동기화)
+    CHANGED_AT     TIMESTAMP NOT NULL,        -- 마지막 변경 시각 (DB 서버 시계, SSE 변경 감지용)
+    PRIMARY KEY ( STUDENT_ID )
+);
+
+-- 변경 한 건 = 일정 하나의 등록(I) / 수정(U) / 삭제(D)
+CREATE TABLE SCHEDULE_CHANGE (
+    STUDENT_ID  CHAR(10) NOT NULL,
+    VERSION     NUMBER NOT NULL,
+    SCHEDULE_ID NUMBER NOT NULL,
+    OP          CHAR(1) NOT NULL,
+    CHANGED_AT  TIMESTAMP NOT NULL,
+    PRIMARY KEY ( STUDENT_ID, VERSION )
+);
+
+-- 스터디 그룹별 현재 버전 (그룹 생성, 리더 변경 때 증가, GroupVersion 참고)
+CREATE TABLE GROUP_VERSION (
+    GROUP_ID   NUMBER NOT NULL,
+    VERSION    NUMBER NOT NULL,
+    CHANGED_AT TIMESTAMP NOT NULL,
+    PRIMARY KEY ( GROUP_ID )
+);
+
+-- 반복 일정 (규칙 한 행으로 저장, 발생은 조회 구간 안에서만 펼침, ScheduleSeries 참고)
+-- SERIES_ID는 SCHEDULE_ID_SEQ에서 받아 단건 일정과 ID가 겹치지 않음
+CREATE TABLE SCHEDULE_SERIES (
+    SERIES_ID  NUMBER NOT NULL,         -- Primary Key
+    STUDENT_ID CHAR(10) NOT NULL,       -- Foreign Key
+    TITLE      VARCHAR2(40) NOT NULL,
+    START_TIME TIMESTAMP NOT NULL,      -- 첫 발생 시작
+    END_TIME   TIMESTAMP NOT NULL,      -- 첫 발생 종료 (발생마다 같은 길이)
+    RRULE      VARCHAR2(200) NOT NULL,  -- 예) FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20251220T235900
+    LAST_END   TIMESTAMP,               -- 마지막 발생 종료 (끝없는 반복이면 NULL), 기간 조회의 후보 거르기용
+    PRIMARY KEY ( SERIES_ID )
+);
+
+-- 반복 일정에서 빠진 발생 (EXDATE). 빠진 발생도 COUNT에는 포함
+CREATE TABLE SCHEDULE_EXCEPTION (
+    SERIES_ID        NUMBER NOT NULL,
+    OCCURRENCE_START TIMESTAMP NOT NULL,
+    PRIMARY KEY ( SERIES_ID, OCCURRENCE_START )
+);
+
+-- 표 단위 변경 표시 (TableVersion 참고, 3-DDL2.sql의 트리거가 갱신)
+-- 쓰기 문장마다(TAKES는 행마다) 세션별 슬롯 한 행의 VERSION이 1 오르므로, 표의 VERSION 합이 바뀌면 내용이 바뀐 것
+CREATE TABLE TABLE_VERSION (
+    TABLE_NAME VARCHAR2(30) NOT NULL,
+    SLOT       NUMBER(2) NOT NULL,     -- MOD(세션 SID, 16): 동시 쓰기가 한 행에 몰리지 않도록 나눔
+    VERSION    NUMBER NOT NULL,
+    PRIMARY KEY ( TABLE_NAME, SLOT )
+);
+
+-- 수강 변경 로그 (TakesChangeLog 참고, 3-DDL2.sql의 TAKES 행 단위 트리거가 기록)
+-- (SLOT, VERSION)은 TABLE_VERSION의 TAKES 슬롯 버전: 슬롯마다 빠짐없이 커밋 순서대로 붙음
+CREATE TABLE TAKES_CHANGE (
+    SLOT       NUMBER(2) NOT NULL,
+    VERSION    NUMBER NOT NULL,
+    STUDENT_ID CHAR(10) NOT NULL,
+    COURSE_ID  VARCHAR2(20) NOT NULL,
+    SECTION_ID VARCHAR2(30) NOT NULL,
+    DELTA      NUMBER(1) NOT NULL,      -- +1 신청, -1 취소
+    CHANGED_AT TIMESTAMP NOT NULL,
+    PRIMARY KEY ( SLOT, VERSION )
+);
+
 COMMIT;
\ No newline at end of file
@@ -69,4 +69,144 @@ ALTER TABLE FRIENDSHIP
 
 -- 중복 방지를 위해 ID1이 ID2보다 작도록 강제하는 제약조건
 ALTER TABLE FRIENDSHIP ADD CONSTRAINT CHK_FRIENDSHIP_ID_ORDER CHECK ( STUDENT_ID1 < STUDENT_ID2 );
-COMMIT;
\ No newline at end of file
+
+-- ID 블록 할당용 시퀀스 (INSERT 데이터의 최대 ID 다음부터 시작)
+-- INCREMENT BY = 애플리케이션이 NEXTVAL 한 번에 임대하는 ID 블록 크기 (IdAllocator 참고)
+-- 블록 크기 변경: ALTER SEQUENCE SCHEDULE_ID_SEQ INCREMENT BY 100;  (실행 중인 프로세스는 다음 임대부터 새 값 사용)
+-- 실행 중에는 늘리기만 가능합니다. 줄이면 이미 임대된 블록과 다음 NEXTVAL이 겹치므로
+-- 애플리케이션 프로세스를 모두 멈춘 뒤 줄이고 다시 시작해야 합니다.
+DECLARE
+    v_start NUMBER;
+BEGIN
+    SELECT NVL(MAX(SCHEDULE_ID), 0) + 1 INTO v_start FROM SCHEDULE;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE SCHEDULE_ID_SEQ START WITH ' || v_start || ' INCREMENT BY 50 NOCYCLE CACHE 20';
+
+    SELECT NVL(MAX(GROUP_ID), 0) + 1 INTO v_start FROM STUDENT_GROUP;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE GROUP_ID_SEQ START WITH ' || v_start || ' INCREMENT BY 50 NOCYCLE CACHE 20';
+END;
+/
+-- 친구 일정 피드(FriendFeed)용 인덱스
+-- FRIENDSHIP은 PK(STUDENT_ID1, STUDENT_ID2)로 ID1 방향만 찾을 수 있으므로 반대 방향 인덱스 추가
+CREATE INDEX IDX_FRIENDSHIP_ID2 ON FRIENDSHIP ( STUDENT_ID2, STUDENT_ID1 );
+-- 학생별 일정을 시작 시간순으로 커서 이후만 읽기 위한 인덱스
+CREATE INDEX IDX_SCHEDULE_STUDENT_START ON SCHEDULE ( STUDENT_ID, START_TIME, SCHEDULE_ID );
+
+-- 일정 변경 로그: 학생 행은 반드시 존재하는 학생, 보존 기간 정리(DELETE ... WHERE CHANGED_AT < ?)용 인덱스
+ALTER TABLE SCHEDULE_VERSION
+    ADD CONSTRAINT FK_SCHEDULE_VERSION_STUDENT FOREIGN KEY ( STUDENT_ID )
+        REFERENCES STUDENT ( STUDENT_ID );
+ALTER TABLE SCHEDULE_CHANGE
+    ADD CONSTRAINT CHK_SCHEDULE_CHANGE_OP CHECK ( OP IN ( 'I', 'U', 'D' ) );
+CREATE INDEX IDX_SCHEDULE_CHANGE_TIME ON SCHEDULE_CHANGE ( CHANGED_AT );
+
+-- 수강 변경 로그 정리(TakesChangeLog.prune)용
+CREATE INDEX IDX_TAKES_CHANGE_TIME ON TAKES_CHANGE ( CHANGED_AT );
+
+-- 변경 감지(ChangeWatcher)는 최근 몇 초 동안 바뀐 버전 행만 읽음
+CREATE INDEX IDX_SCHEDULE_VERSION_TIME ON SCHEDULE_VERSION ( CHANGED_AT );
+ALTER TABLE GROUP_VERSION
+    ADD CONSTRAINT FK_GROUP_VERSION_GROUP FOREIGN KEY ( GROUP_ID )
+        REFERENCES STUDENT_GROUP ( GROUP_ID );
+CREATE INDEX IDX_GROUP_VERSION_TIME ON GROUP_VERSION ( CHANGED_AT );
+
+-- 반복 일정: 학생별 조회, 학기 단위 충돌 검사(START_TIME < 학기 끝 AND LAST_END >= 학기 시작)용 인덱스
+ALTER TABLE SCHEDULE_SERIES
+    ADD CONSTRAINT FK_SCHEDULE_SERIES_STUDENT FOREIGN KEY ( STUDENT_ID )
+        REFERENCES STUDENT ( STUDENT_ID );
+ALTER TABLE SCHEDULE_SERIES
+    ADD CONSTRAINT CHK_SCHEDULE_SERIES_TIME CHECK ( END_TIME >= START_TIME );
+ALTER TABLE SCHEDULE_EXCEPTION
+    ADD CONSTRAINT FK_SCHEDULE_EXCEPTION_SERIES FOREIGN KEY ( SERIES_ID )
+        REFERENCES SCHEDULE_SERIES ( SERIES_ID )
+                ON DELETE CASCADE;
+CREATE INDEX IDX_SCHEDULE_SERIES_STUDENT ON SCHEDULE_SERIES ( STUDENT_ID, START_TIME );
+CREATE INDEX IDX_SCHEDULE_SERIES_TIME ON SCHEDULE_SERIES ( START_TIME, LAST_END );
+
+-- 표 단위 변경 표시 (웹, 콘솔, SQL*Plus 어느 쪽의 쓰기든 트리거가 반영)
+-- 슬롯 0의 시작값을 지금 시각(초)으로 두어, 이 스크립트를 다시 실행하면(데이터를 새로 적재하면) 합이 반드시 달라짐
+INSERT INTO TABLE_VERSION ( TABLE_NAME, SLOT, VERSION )
+SELECT t.table_name, s.slot,
+       CASE WHEN s.slot = 0 THEN ROUND(( SYSDATE - DATE '1970-01-01' ) * 86400) ELSE 0 END
+  FROM ( SELECT 'STUDENT' AS table_name FROM dual UNION ALL
+         SELECT 'TAKES' FROM dual UNION ALL
+         SELECT 'SECTION' FROM dual UNION ALL
+         SELECT 'COURSE' FROM dual UNION ALL
+         SELECT 'DEPARTMENT_EVENT' FROM dual UNION ALL
+         SELECT 'DEPT_LOCATION' FROM dual UNION ALL
+         SELECT 'ACADEMIC_EVENT' FROM dual ) t,
+       ( SELECT LEVEL - 1 AS slot FROM dual CONNECT BY LEVEL <= 16 ) s;
+
+-- 문장 단위 트리거 (행 단위가 아니라 배치/대량 INSERT도 문장당 한 번, TAKES는 아래 설명대로 행 단위)
+-- SQL*Loader direct path는 트리거를 건너뛰므로, 이 스크립트 이후에 direct path로 적재했다면
+-- 적재 후 UPDATE TABLE_VERSION SET VERSION = VERSION + 1 WHERE SLOT = 0; COMMIT; 을 실행합니다.
+CREATE OR REPLACE TRIGGER TRG_STUDENT_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON STUDENT
+BEGIN
+    UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+     WHERE TABLE_NAME = 'STUDENT' AND SLOT = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+END;
+/
+-- TAKES만 행 단위: 행마다 슬롯 버전을 올리고 그 번호로 TAKES_CHANGE에 한 행을 남김 (TakesChangeLog 참고)
+-- 메모리 구조가 바뀐 행만 반영할 수 있도록 하며, 슬롯 행은 커밋할 때까지 잠겨 있으므로 슬롯마다 번호가 빠지지 않음
+CREATE OR REPLACE TRIGGER TRG_TAKES_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON TAKES
+FOR EACH ROW
+DECLARE
+    v_slot    NUMBER := MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+    v_version NUMBER;
+BEGIN
+    IF DELETING OR UPDATING THEN
+        UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+         WHERE TABLE_NAME = 'TAKES' AND SLOT = v_slot
+        RETURNING VERSION INTO v_version;
+        INSERT INTO TAKES_CHANGE ( SLOT, VERSION, STUDENT_ID, COURSE_ID, SECTION_ID, DELTA, CHANGED_AT )
+        VALUES ( v_slot, v_version, :OLD.STUDENT_ID, :OLD.COURSE_ID, :OLD.SECTION_ID, -1, SYSTIMESTAMP );
+    END IF;
+    IF INSERTING OR UPDATING THEN
+        UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+         WHERE TABLE_NAME = 'TAKES' AND SLOT = v_slot
+        RETURNING VERSION INTO v_version;
+        INSERT INTO TAKES_CHANGE ( SLOT, VERSION, STUDENT_ID, COURSE_ID, SECTION_ID, DELTA, CHANGED_AT )
+        VALUES ( v_slot, v_version, :NEW.STUDENT_ID, :NEW.COURSE_ID, :NEW.SECTION_ID, 1, SYSTIMESTAMP );
+    END IF;
+END;
+/
+CREATE OR REPLACE TRIGGER TRG_SECTION_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON SECTION
+BEGIN
+    UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+     WHERE TABLE_NAME = 'SECTION' AND SLOT = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+END;
+/
+CREATE OR REPLACE TRIGGER TRG_COURSE_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON COURSE
+BEGIN
+    UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+     WHERE TABLE_NAME = 'COURSE' AND SLOT = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+END;
+/
+
+-- 행사 표는 앱에 쓰기 경로가 없고 SQL로 직접 바꿈 (EventMonthIndex가 변경 표시로 다시 읽음)
+CREATE OR REPLACE TRIGGER TRG_DEPARTMENT_EVENT_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON DEPARTMENT_EVENT
+BEGIN
+    UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+     WHERE TABLE_NAME = 'DEPARTMENT_EVENT' AND SLOT = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+END;
+/
+CREATE OR REPLACE TRIGGER TRG_DEPT_LOCATION_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON DEPT_LOCATION
+BEGIN
+    UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+     WHERE TABLE_NAME = 'DEPT_LOCATION' AND SLOT = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+END;
+/
+CREATE OR REPLACE TRIGGER TRG_ACADEMIC_EVENT_VERSION
+AFTER INSERT OR UPDATE OR DELETE ON ACADEMIC_EVENT
+BEGIN
+    UPDATE TABLE_VERSION SET VERSION = VERSION + 1
+     WHERE TABLE_NAME = 'ACADEMIC_EVENT' AND SLOT = MOD(TO_NUMBER(SYS_CONTEXT('USERENV', 'SID')), 16);
+END;
+/
+
+COMMIT;
@@ -0,0 +1,113 @@
+package org.example.calendar;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 두 JMH 결과(JSON)를 비교해 느려진 벤치마크를 표시합니다.
+// 사용법: gradle jmhCompare -Pbaseline=<이전 결과.json> [-Pcurrent=<이번 결과.json>] [-Pthreshold=10]
+// - 변화율이 threshold(%)를 넘고 두 결과의 오차 범위(scoreError)보다 크면 회귀로 봅니다.
+// - 처리량(thrpt)은 클수록, 나머지 모드(avgt, sample, ss)는 작을수록 좋은 것으로 계산합니다.
+// - 회귀가 하나라도 있으면 종료 코드 1 (CI에서 실패 처리용)
+public class BenchmarkCompare {
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("사용법: BenchmarkCompare <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Paths.get(args[0]));
+        Map<String, Score> current = read(Paths.get(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "벤치마크", "이전", "이번", "변화");
+        for (Map.Entry<String, Score> e : new TreeMap<>(current).entrySet()) {
+            Score now = e.getValue();
+            Score before = baseline.get(e.getKey());
+            if (before == null || !before.unit().equals(now.unit())) {
+                System.out.printf("%-70s %14s %14.3f %9s  (새 항목) %s%n", e.getKey(), "-", now.score(), "", now.unit());
+                continue;
+            }
+            // 좋아진 방향이 양수가 되도록 부호를 맞춤
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double gain = now.mode().equals("thrpt") ? change : -change;
+            boolean beyondNoise = Math.abs(now.score() - before.score()) > before.error() + now.error();
+            boolean regressed = gain < -threshold && beyondNoise;
+            if (regressed) regressions++;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", e.getKey(), before.score(), now.score(), change,
+                    now.unit(), regressed ? "  << 회귀" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) System.out.printf("%-70s (이번 결과에 없음)%n", key);
+        }
+
+        System.out.println(regressions == 0 ? "회귀 없음 (기준 " + threshold + "%)"
+                : "회귀 " + regressions + "건 (기준 " + threshold + "%)");
+        if (regressions > 0) System.exit(1);
+    }
+
+    // 키: "벤치마크 이름 [파라미터=값,...]"
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        try (JsonParser json = new JsonFactory().createParser(file.toFile())) {
+            if (json.nextToken() != JsonToken.START_ARRAY) throw new IOException("JMH JSON 결과가 아닙니다: " + file);
+            while (json.nextToken() == JsonToken.START_OBJECT) {
+                String benchmark = null;
+                String mode = null;
+                Map<String, String> params = new TreeMap<>();
+                Score score = null;
+                while (json.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = json.currentName();
+                    json.nextToken();
+                    switch (field) {
+                        case "benchmark" -> benchmark = json.getText();
+                        case "mode" -> mode = json.getText();
+                        case "params" -> {
+                            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                                String name = json.currentName();
+                                json.nextToken();
+                                params.put(name, json.getText());
+                            }
+                        }
+                        case "primaryMetric" -> score = readMetric(json, mode);
+                        default -> json.skipChildren();
+                    }
+                }
+                if (benchmark == null || score == null) continue;
+                String key = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+                if (!params.isEmpty()) key += " " + params;
+                scores.put(key, score);
+            }
+        }
+        return scores;
+    }
+
+    private static Score readMetric(JsonParser json, String mode) throws IOException {
+        double score = 0;
+        double error = 0;
+        String unit = "";
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            String field = json.currentName();
+            JsonToken value = json.nextToken();
+            switch (field) {
+                case "score" -> score = json.getDoubleValue();
+                // 반복이 하나뿐이면 오차가 "NaN" 문자열로 나옴
+                case "scoreError" -> error = value == JsonToken.VALUE_NUMBER_FLOAT || value == JsonToken.VALUE_NUMBER_INT
+                        ? json.getDoubleValue() : 0;
+                case "scoreUnit" -> unit = json.getText();
+                default -> json.skipChildren();
+            }
+        }
+        return new Score(mode, score, error, unit);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.calendar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 벤치마크용 내장 DB (H2 메모리 DB, Oracle 호환 모드)
+// - sql/1-DDL.sql 의 CREATE TABLE과 sql/2-INSERT.sql 의 데이터를 그대로 읽어 적재합니다.
+//   INSERT ALL ... SELECT FROM dual 은 H2에 없어 INTO 절마다 단건 INSERT로 풀어 배치로 실행합니다.
+// - sql/3-DDL2.sql 은 인덱스만 가져오고, 외래키와 PL/SQL 블록 대신 시퀀스와 USER_SEQUENCES 뷰를 직접 만듭니다.
+//   (IdAllocator가 USER_SEQUENCES에서 블록 크기를 읽음)
+// - Oracle 고유 문법((+) 외부 조인 등)을 쓰는 경로(EventMonthIndex)는 여기서 측정하지 않습니다.
+// - 절대 수치는 Oracle과 다릅니다. 같은 데이터로 릴리스 간 상대 비교를 하기 위한 것입니다.
+public final class BenchmarkDatabase {
+    // gradle jmh 는 -Dcalendar.sqlDir=<프로젝트>/sql 을 넘겨 줍니다.
+    private static final String SQL_DIR = System.getProperty("calendar.sqlDir", "sql");
+    private static final int SEQUENCE_INCREMENT = 50; // 3-DDL2.sql 과 같은 블록 크기
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private BenchmarkDatabase() {
+    }
+
+    // 새 메모리 DB를 만들어 적재하고, 그 DB를 쓰는 커넥션 풀을 돌려줍니다. (벤치마크마다 독립된 DB)
+    public static ConnectionPool create() throws IOException, SQLException {
+        String url = "jdbc:h2:mem:calendar" + DATABASES.incrementAndGet() + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+        Path dir = Paths.get(SQL_DIR);
+
+        try (Connection conn = DriverManager.getConnection(url, "corn", "corn");
+             Statement stmt = conn.createStatement()) {
+            for (String sql : statements(dir.resolve("1-DDL.sql"))) {
+                if (startsWith(sql, "CREATE")) stmt.execute(sql);
+            }
+            for (String sql : statements(dir.resolve("2-INSERT.sql"))) {
+                if (startsWith(sql, "INSERT ALL")) {
+                    for (String into : intoClauses(sql)) stmt.addBatch("INSERT " + into);
+                    stmt.executeBatch();
+                } else if (startsWith(sql, "INSERT")) {
+                    stmt.execute(sql);
+                }
+            }
+            // 2-INSERT.sql 의 UPDATE는 SET 절에 별칭을 써서 H2에서 그대로 실행되지 않음
+            stmt.execute("UPDATE student_group SET member_count = " +
+                    "(SELECT COUNT(*) FROM member m WHERE m.group_id = student_group.group_id)");
+            for (String sql : statements(dir.resolve("3-DDL2.sql"))) {
+                if (startsWith(sql, "CREATE INDEX")) stmt.execute(sql);
+            }
+            createSequence(stmt, IdAllocator.SCHEDULE_SEQ, "SELECT NVL(MAX(schedule_id), 0) + 1 FROM schedule");
+            createSequence(stmt, IdAllocator.GROUP_SEQ, "SELECT NVL(MAX(group_id), 0) + 1 FROM student_group");
+            stmt.execute("CREATE VIEW user_sequences AS " +
+                    "SELECT sequence_name, CAST(increment AS NUMBER) AS increment_by FROM information_schema.sequences");
+        }
+        return new ConnectionPool(url, "corn", "corn", 2, 10, 10 * 60 * 1000, 5 * 1000, 1000, 60 * 1000, 50);
+    }
+
+    private static void createSequence(Statement stmt, String name, String maxSql) throws SQLException {
+        long start;
+        try (ResultSet rs = stmt.executeQuery(maxSql)) {
+            rs.next();
+            start = rs.getLong(1);
+        }
+        stmt.execute("CREATE SEQUENCE " + name + " START WITH " + start + " INCREMENT BY " + SEQUENCE_INCREMENT);
+    }
+
+    private static boolean startsWith(String sql, String keyword) {
+        return sql.regionMatches(true, 0, keyword, 0, keyword.length());
+    }
+
+    // "INSERT ALL INTO ... INTO ... SELECT * FROM dual" 에서 INTO 절 (스크립트는 한 줄에 하나씩)
+    private static List<String> intoClauses(String insertAll) {
+        List<String> clauses = new ArrayList<>();
+        for (String line : insertAll.split("\n")) {
+            String trimmed = line.trim();
+            if (startsWith(trimmed, "INTO ")) clauses.add(trimmed);
+        }
+        return clauses;
+    }
+
+    // 스크립트를 문장 단위로 나눕니다. 주석(--)과 PL/SQL 종료 줄(/)은 버리고, 줄 끝의 ';'에서 끊습니다.
+    static List<String> statements(Path script) throws IOException {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+            String code = stripComment(line).strip();
+            if (code.isEmpty() || code.equals("/")) continue;
+            if (code.endsWith(";")) {
+                current.append(code, 0, code.length() - 1);
+                if (!current.toString().isBlank()) result.add(current.toString().strip());
+                current.setLength(0);
+            } else {
+                current.append(code).append('\n');
+            }
+        }
+        if (!current.toString().isBlank()) result.add(current.toString().strip());
+        return result;
+    }
+
+    // 따옴표 밖의 "--" 부터 줄 끝까지 제거
+    private static String stripComment(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\'') quoted = !quoted;
+            else if (!quoted && c == '-' && i + 1 < line.length() && line.charAt(i + 1) == '-') return line.substring(0, i);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.calendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// 콘솔 질의 경로(Manager) 전체 측정: 입력 파싱 → 커넥션 대여 → SQL/메모리 인덱스 → 결과 출력 포맷
+// 메뉴 하나 호출의 평균 시간 (us)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    private ConnectionPool pool;
+    private PrintStream stdout;
+
+    private Manager byDept;
+    private Manager twoCourses;
+    private Manager withSchedule;
+    private Manager courseSet;
+    private Manager courseStats;
+
+    @Setup
+    public void setUp() throws Exception {
+        pool = BenchmarkDatabase.create();
+        stdout = System.out;
+        System.setOut(ScriptedConsole.DISCARD);
+
+        byDept = new Manager(pool, ScriptedConsole.repeating("1O02"));
+        twoCourses = new Manager(pool, ScriptedConsole.repeating("CLTR0045", "COME0301"));
+        withSchedule = new Manager(pool, ScriptedConsole.repeating(""));
+        courseSet = new Manager(pool, ScriptedConsole.repeating("CLTR0045", "COME0301"));
+        courseStats = new Manager(pool, ScriptedConsole.repeating("202502"));
+        courseSet.warmUp();
+        courseStats.warmUp();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+        pool.close();
+    }
+
+    // Type 1: 학과별 학생 (키셋 페이지)
+    @Benchmark
+    public void studentsByDepartment() {
+        byDept.queryStudentByDept();
+    }
+
+    // Type 4: 동시 수강 학생 (서브쿼리)
+    @Benchmark
+    public void studentsTakingTwoCourses() {
+        twoCourses.queryStudentsTakingTwoCourses();
+    }
+
+    // Type 5: 일정 보유 학생 전체 (키셋 페이지 + EXISTS)
+    @Benchmark
+    public void studentsWithSchedule() {
+        withSchedule.queryStudentsWithSchedule();
+    }
+
+    // Type 3: 학기별 과목 수강 인원 (메모리 집계)
+    @Benchmark
+    public void courseStatsByTerm() {
+        courseStats.queryCourseStatsByTerm();
+    }
+
+    // Type 10: UNION / MINUS / INTERSECT (수강생 비트맵)
+    @Benchmark
+    public void unionTakes() {
+        courseSet.queryUnionTakes();
+    }
+
+    @Benchmark
+    public void minusTakes() {
+        courseSet.queryMinusTakes();
+    }
+
+    @Benchmark
+    public void intersectTakes() {
+        courseSet.queryIntersectTakes();
+    }
+}
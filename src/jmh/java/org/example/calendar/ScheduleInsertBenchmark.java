@@ -0,0 +1,127 @@
+package org.example.calendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 개인 일정 등록 처리량 (초당 행 수)
+// - single: 콘솔 "일정 등록" 메뉴 (ID 블록 할당 + 단건 INSERT + 커밋)
+// - csvImport: ScheduleImporter 배치 등록 (batchSize 별)
+// 측정하는 동안 SCHEDULE 행이 계속 늘어납니다. (반복마다 새 DB를 만들지는 않음)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleInsertBenchmark {
+    private static final int CSV_ROWS = 1_000;
+    private static final DateTimeFormatter CSV_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private ConnectionPool pool;
+    private PrintStream stdout;
+    private Manager console;
+
+    @Setup
+    public void setUp() throws Exception {
+        pool = BenchmarkDatabase.create();
+        stdout = System.out;
+        System.setOut(ScriptedConsole.DISCARD);
+        // 메뉴 선택(1) → 학번 → 제목 → 시작 → 종료
+        console = new Manager(pool, ScriptedConsole.repeating(
+                "1", "2018000001", "벤치마크 일정", "2025-11-03 10:00", "2025-11-03 11:00"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+        pool.close();
+    }
+
+    // 배치 등록 상태 (batchSize 파라미터는 csvImport에만 적용)
+    @State(Scope.Benchmark)
+    public static class Import {
+        @Param({"50", "500"})
+        public int batchSize;
+
+        private ScheduleImporter importer;
+        private Path csv;
+        private Path rejects;
+
+        @Setup
+        public void setUp(ScheduleInsertBenchmark bench) throws Exception {
+            importer = new ScheduleImporter(bench.pool, new IdAllocator(bench.pool, IdAllocator.SCHEDULE_SEQ), batchSize);
+            csv = Files.createTempFile("schedule-bench", ".csv");
+            rejects = Files.createTempFile("schedule-bench", ".rejects");
+            writeCsv(csv, studentIds(bench.pool));
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(rejects);
+        }
+    }
+
+    @Benchmark
+    public void single() {
+        console.managePersonalSchedule();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CSV_ROWS)
+    public ScheduleImporter.Result csvImport(Import state) throws IOException, SQLException {
+        return state.importer.importCsv(state.csv, state.rejects);
+    }
+
+    // 실제 학번 100개 (일정이 학생들에게 고르게 나뉘도록)
+    private static List<String> studentIds(DataSource dataSource) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT student_id FROM student ORDER BY student_id FETCH FIRST 100 ROWS ONLY");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) ids.add(rs.getString("student_id"));
+        }
+        return ids;
+    }
+
+    private static void writeCsv(Path file, List<String> studentIds) throws IOException {
+        LocalDateTime start = LocalDateTime.of(2025, 11, 3, 9, 0);
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("student_id,title,start,end\n");
+            for (int i = 0; i < CSV_ROWS; i++) {
+                LocalDateTime s = start.plusMinutes(30L * i);
+                out.write(String.format("%s,벤치마크 %d,%s,%s\n", studentIds.get(i % studentIds.size()), i,
+                        s.format(CSV_TIME), s.plusMinutes(30).format(CSV_TIME)));
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.calendar;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.CharBuffer;
+import java.util.Scanner;
+
+// 콘솔 메뉴(Manager)를 벤치마크에서 반복 호출하기 위한 입력/출력
+// - 입력: 주어진 줄들을 끝없이 반복하는 Scanner (메뉴 한 번 호출이 읽는 줄 수와 맞춰 주세요)
+// - 출력: 버리는 PrintStream (출력 포맷 비용은 측정에 포함, 터미널 쓰기는 제외)
+final class ScriptedConsole {
+    static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private ScriptedConsole() {
+    }
+
+    static Scanner repeating(String... lines) {
+        String script = String.join("\n", lines) + "\n";
+        int[] offset = {0};
+        return new Scanner((Readable) buffer -> {
+            int n = Math.min(buffer.remaining(), script.length() - offset[0]);
+            buffer.put(CharBuffer.wrap(script, offset[0], offset[0] + n));
+            offset[0] = (offset[0] + n) % script.length();
+            return n;
+        });
+    }
+}
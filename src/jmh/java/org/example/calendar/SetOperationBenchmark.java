@@ -0,0 +1,99 @@
+package org.example.calendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 과목 수강생 집합 연산: 수강생 비트맵(EnrollmentIndex) vs 같은 질의의 SQL (UNION / MINUS / INTERSECT)
+// 비트맵 쪽이 느려지거나 SQL과의 차이가 줄면 인덱스를 다시 볼 때입니다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetOperationBenchmark {
+    @Param({"CLTR0045"})
+    public String courseA;
+
+    @Param({"COME0301"})
+    public String courseB;
+
+    private ConnectionPool pool;
+    private EnrollmentIndex index;
+
+    @Setup
+    public void setUp() throws Exception {
+        pool = BenchmarkDatabase.create();
+        index = new EnrollmentIndex(pool);
+        index.load();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public List<EnrollmentIndex.Student> unionIndex() throws SQLException {
+        return index.union(List.of(courseA, courseB));
+    }
+
+    @Benchmark
+    public List<EnrollmentIndex.Student> differenceIndex() throws SQLException {
+        return index.difference(List.of(courseA), List.of(courseB));
+    }
+
+    @Benchmark
+    public List<EnrollmentIndex.Student> intersectIndex() throws SQLException {
+        return index.intersect(List.of(courseA, courseB));
+    }
+
+    @Benchmark
+    public List<String> unionSql() throws SQLException {
+        return query("UNION");
+    }
+
+    @Benchmark
+    public List<String> differenceSql() throws SQLException {
+        return query("MINUS");
+    }
+
+    @Benchmark
+    public List<String> intersectSql() throws SQLException {
+        return query("INTERSECT");
+    }
+
+    private List<String> query(String operator) throws SQLException {
+        String sql = "SELECT s.student_id, s.name FROM student s, takes t WHERE s.student_id = t.student_id AND t.course_id = ? " +
+                operator +
+                " SELECT s.student_id, s.name FROM student s, takes t WHERE s.student_id = t.student_id AND t.course_id = ?";
+        List<String> names = new ArrayList<>();
+        try (Connection conn = pool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, courseA);
+            pstmt.setString(2, courseB);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) names.add(rs.getString("name"));
+            }
+        }
+        return names;
+    }
+}
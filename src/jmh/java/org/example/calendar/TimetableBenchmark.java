@@ -0,0 +1,69 @@
+package org.example.calendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SECTION.TIME 파싱과 주간 시간표 비트 연산 (입력은 2-INSERT.sql 의 실제 분반 시간 문자열)
+// 각 벤치마크는 분반 전체를 한 번 도는 시간 (us)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimetableBenchmark {
+    private String[] times;
+    private WeeklyTimetable[] timetables;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<String> loaded = new ArrayList<>();
+        try (ConnectionPool pool = BenchmarkDatabase.create();
+             Connection conn = pool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT time FROM section ORDER BY course_id, section_id");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) loaded.add(rs.getString("time"));
+        }
+        times = loaded.toArray(new String[0]);
+        timetables = new WeeklyTimetable[times.length];
+        for (int i = 0; i < times.length; i++) timetables[i] = WeeklyTimetable.parse(times[i]);
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String time : times) bh.consume(WeeklyTimetable.parse(time));
+    }
+
+    // 분반 하나를 나머지 전체와 겹침 검사 (충돌 검사의 안쪽 루프)
+    @Benchmark
+    public int overlapsAll() {
+        WeeklyTimetable probe = timetables[timetables.length / 2];
+        int count = 0;
+        for (WeeklyTimetable t : timetables) if (probe.overlaps(t)) count++;
+        return count;
+    }
+
+    // 전체 합집합 후 빈 시간 (빈 시간 찾기의 핵심 연산)
+    @Benchmark
+    public WeeklyTimetable unionThenComplement() {
+        WeeklyTimetable all = WeeklyTimetable.EMPTY;
+        for (WeeklyTimetable t : timetables) all = all.union(t);
+        return all.complement();
+    }
+}
@@ -0,0 +1,646 @@
+package org.example.calendar;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 부하 측정용 합성 데이터 생성기 (1-DDL.sql 의 모든 테이블, 참조 무결성 유지)
+// 사용법: gradle generateData -Pscale=10 [-Pseed=42] [-Pout=build/dataset | -Pdb=true] [-Pthreads=8]
+//   -Pout : 테이블별 CSV + SQL*Loader 제어 파일(.ctl) 작성 (큰 테이블은 작업 단위별 part 파일로 병렬 작성)
+//   -Pdb  : DBConnection의 DB에 배치 INSERT로 바로 적재 (작업 단위마다 별도 커넥션으로 병렬)
+//   DB 적재 전에는 1-DDL.sql 로 빈 테이블을 만들고, 적재 후 3-DDL2.sql 로 외래키/시퀀스/인덱스를 만드세요.
+//
+// 규모 (scale 1 기준, 대략 선형으로 늘어남. 학과 수만 제곱근으로 늘어남)
+//   학생 10,000 / 과목 1,500 / 학기(202501, 202502)당 분반 약 1,900
+//   TAKES 약 120,000 / SCHEDULE 약 200,000 / FRIENDSHIP 약 50,000 / 그룹 1,250
+//   scale 10 이면 TAKES 약 120만, SCHEDULE 약 200만 행입니다.
+//
+// 분포
+//   - 과목 인기: Zipf(1.1). 상위 몇 과목에 수강이 몰리고 대부분은 소수 (popularCourses/ranking 질의의 현실적 부하)
+//   - 학과 크기: Zipf(0.6). 친구의 70%와 그룹원의 80%는 같은 학과
+//   - SECTION.TIME: 실제 데이터와 같은 형식 ("화 09:00 ~ 10:30,목 09:00 ~ 10:30", 주 3회 1시간, 4시간 연속 실습)
+//   - 학생 한 명의 수강 과목끼리 시간이 겹칠 수 있습니다. (충돌 검사 대상이 실제로 생김)
+// 같은 seed 와 scale 이면 스레드 수와 출력 방식에 관계없이 같은 데이터가 나옵니다.
+public class DataGenerator {
+    // =======================================================
+    // 테이블 정의 (열 순서 = INSERT/CSV 순서)
+    // =======================================================
+    enum Table {
+        DEPARTMENT("DEPT_ID", "DEPT_NAME"),
+        STUDENT("STUDENT_ID", "NAME", "DEPT_ID"),
+        COURSE("COURSE_ID", "TITLE", "CREDITS"),
+        SECTION("SECTION_ID", "ACADEMIC_TERM", "COURSE_ID", "TIME", "LOCATION"),
+        ACADEMIC_EVENT("ACADEMIC_EVENT_ID", "TITLE", "START_DATE", "END_DATE"),
+        DEPARTMENT_EVENT("DEPARTMENT_ID", "DEPT_EVENT_ID", "TITLE", "START_DATE", "END_DATE"),
+        DEPT_LOCATION("DEPT_EVENT_ID", "LOCATION"),
+        STUDENT_GROUP("GROUP_ID", "G_NAME", "PURPOSE", "LEADER", "MEMBER_COUNT"),
+        MEMBER("GROUP_ID", "STUDENT_ID"),
+        TAKES("STUDENT_ID", "COURSE_ID", "SECTION_ID"),
+        SCHEDULE("SCHEDULE_ID", "TITLE", "START_TIME", "END_TIME", "STUDENT_ID"),
+        FRIENDSHIP("STUDENT_ID1", "STUDENT_ID2");
+
+        final String[] columns;
+
+        Table(String... columns) {
+            this.columns = columns;
+        }
+
+        String insertSql() {
+            return "INSERT INTO " + name() + " (" + String.join(", ", columns) + ") VALUES (" +
+                    String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        }
+    }
+
+    // 행을 받는 곳 (CSV 파일 또는 DB). 작업 단위마다 하나씩 열어 한 스레드만 씁니다.
+    interface Sink extends AutoCloseable {
+        void row(Table table, Object... values) throws IOException, SQLException;
+
+        @Override
+        void close() throws IOException, SQLException;
+    }
+
+    @FunctionalInterface
+    interface SinkFactory {
+        Sink open(String part) throws IOException, SQLException;
+    }
+
+    // =======================================================
+    // 규모 / 어휘
+    // =======================================================
+    private static final int STUDENTS_PER_SCALE = 10_000;
+    private static final int COURSES_PER_SCALE = 1_500;
+    private static final int DEPARTMENTS_AT_SCALE_1 = 60;
+    private static final int[] TERMS = {202501, 202502};
+    private static final int STUDENTS_PER_TASK = 2_000;
+    private static final int DB_WRITERS = 8; // DB 적재 시 동시 커넥션 수 (DBConnection 풀 최대 10개 안에서)
+    private static final double COURSE_SKEW = 1.1;
+    private static final double DEPARTMENT_SKEW = 0.6;
+    private static final double SCHEDULES_PER_STUDENT = 20;
+    private static final int FRIENDS_PER_STUDENT = 12; // 학생마다 새로 맺는 친구 수 상한 (0~12 균등)
+
+    private static final String SURNAMES = "김이박최정강조윤장임한오서신권황안송류전홍고문양손배백허유남심노하곽성차주우구민";
+    private static final String GIVEN = "민서지현수준영진우재하윤도연성예은주원승태시유채나경호혜동";
+    private static final String[] COURSE_PREFIXES = {"COMP", "ELEC", "COME", "CLTR", "ITEC", "CAIB", "MATH", "STAT", "PHYS", "ENGL"};
+    private static final String[] COURSE_WORDS = {"자료구조", "알고리즘", "운영체제", "컴퓨터구조", "데이터베이스", "이산수학", "선형대수",
+            "확률과통계", "회로이론", "신호및시스템", "인공지능", "기계학습", "컴퓨터네트워크", "소프트웨어공학", "프로그래밍",
+            "논리와 비판적 사고", "글쓰기", "대학영어", "전자기학", "디지털논리"};
+    private static final String[] COURSE_LEVELS = {"기초", "개론", "", "응용", "특강", "설계", "I", "II"};
+    private static final String[] DEPT_WORDS = {"컴퓨터학부", "전자공학부", "기계공학부", "수학과", "물리학과", "화학과", "경영학부",
+            "경제통상학부", "영어영문학과", "국어국문학과", "사학과", "심리학과", "건축학부", "생명과학부", "통계학과"};
+    private static final String[] BUILDINGS = {"산격동 캠퍼스 IT대학1호관(공대10호관)", "산격동 캠퍼스 IT대학5호관(IT융복합관)",
+            "산격동 캠퍼스 IT대학2호관(공대5호관)", "산격동 캠퍼스 IT대학3호관(공대11호관)", "산격동 캠퍼스 자연과학대학",
+            "산격동 캠퍼스 공대8호관", "산격동 캠퍼스 공대9호관", "산격동 캠퍼스 인문대학"};
+    private static final String[] EVENT_PLACES = {"글로벌플라자", "온라인", "IT융복합관 101호", "대강당", "학생회관 세미나실", "공대9호관 강당"};
+    private static final String[] SCHEDULE_TITLES = {"팀 프로젝트 회의", "알고리즘 스터디", "전공 시험 공부", "캡스톤 지도교수 면담",
+            "동아리 정기 모임", "과제 마감", "코딩 인터뷰 준비", "졸업 논문 작성", "아르바이트", "운동", "병원 예약", "영어 회화"};
+    private static final String[] GROUP_TOPICS = {"알고리즘", "웹 개발", "딥러닝 논문", "영화 감상", "축구", "토익", "창업", "사진", "독서", "밴드"};
+    private static final String[] GROUP_KINDS = {"스터디", "프로젝트 팀", "동아리", "모임"};
+    private static final String[] PURPOSES = {"공부", "공부", "공부", "취미", "기타", "자기계발"};
+    private static final String[] ACADEMIC_TITLES = {"개강", "수강신청", "수강정정", "중간고사", "기말고사", "종강", "성적 공시",
+            "휴복학 신청", "등록금 납부", "학위수여식"};
+    private static final String[] DEPT_EVENT_TITLES = {"학과 설명회", "취업 특강", "졸업 작품 전시회", "신입생 오리엔테이션",
+            "학술제", "해커톤", "현장실습 설명회", "선배와의 대화"};
+    private static final String DAY_NAMES = "월화수목금";
+    private static final String[] DAY_PAIRS = {"월수", "화목", "수금", "목화", "수월"};
+    private static final int[] CLASS_STARTS = {9 * 60, 10 * 60 + 30, 12 * 60, 13 * 60 + 30, 15 * 60, 16 * 60 + 30, 18 * 60};
+
+    // =======================================================
+    // 생성된 기준 데이터 (작업 단위들이 공유, 읽기 전용)
+    // =======================================================
+    private record Student(String id, String name, int dept) {
+    }
+
+    private record Section(String courseId, String sectionId) {
+    }
+
+    private final double scale;
+    private final long seed;
+    private final int threads;
+
+    private String[] departments;
+    private Student[] students;                  // 학번 순
+    private int[][] studentsByDept;              // 학과별 학생 번호 (students 인덱스, 학번 순)
+    private String[] courseIds;
+    private Map<Integer, List<List<Section>>> sectionsByTerm; // 학기 → 과목 번호별 분반 (미개설이면 null)
+    private Map<Integer, Zipf> coursePopularity; // 학기 → 개설 과목 번호에 대한 인기 분포
+    private Map<Integer, int[]> offeredCourses;  // 학기 → 개설 과목 번호
+    private long[] scheduleIdBase;               // 학생별 첫 일정 ID (작업 단위와 관계없이 같은 ID가 나오도록)
+
+    public DataGenerator(double scale, long seed, int threads) {
+        if (scale <= 0) throw new IllegalArgumentException("scale은 0보다 커야 합니다.");
+        this.scale = scale;
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        double scale = 1;
+        long seed = 42;
+        Path out = null;
+        boolean db = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scale" -> scale = Double.parseDouble(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--out" -> out = Paths.get(args[++i]);
+                case "--db" -> db = true;
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("알 수 없는 옵션: " + args[i]);
+            }
+        }
+        if ((out == null) == !db) {
+            System.err.println("사용법: DataGenerator --scale <배수> [--seed <n>] [--threads <n>] (--out <디렉터리> | --db)");
+            System.exit(2);
+        }
+
+        if (db) threads = Math.min(threads, DB_WRITERS);
+        DataGenerator generator = new DataGenerator(scale, seed, threads);
+        long start = System.currentTimeMillis();
+        Map<Table, Long> counts;
+        if (db) {
+            ConnectionPool pool = DBConnection.getDataSource();
+            try {
+                counts = generator.generate(part -> new JdbcSink(pool));
+            } finally {
+                DBConnection.shutdown();
+            }
+        } else {
+            Files.createDirectories(out);
+            Path dir = out;
+            counts = generator.generate(part -> new CsvSink(dir, part));
+            writeControlFiles(dir);
+        }
+        System.out.println(">> 생성 완료 (" + (System.currentTimeMillis() - start) + " ms)");
+        counts.forEach((t, n) -> System.out.printf("   %-17s %,12d%n", t, n));
+    }
+
+    // 기준 데이터(학과/학생/과목/분반/행사/그룹)를 먼저 한 작업으로 쓰고, 학생별 데이터(TAKES/SCHEDULE/FRIENDSHIP)를
+    // 학생 STUDENTS_PER_TASK 명 단위로 나눠 병렬로 씁니다.
+    public Map<Table, Long> generate(SinkFactory sinks) throws Exception {
+        Map<Table, AtomicLong> counts = new EnumMap<>(Table.class);
+        for (Table t : Table.values()) counts.put(t, new AtomicLong());
+
+        buildReferenceData();
+        try (Sink sink = new CountingSink(sinks.open("base"), counts)) {
+            writeReferenceData(sink);
+        }
+
+        int tasks = (students.length + STUDENTS_PER_TASK - 1) / STUDENTS_PER_TASK;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < tasks; t++) {
+                int from = t * STUDENTS_PER_TASK;
+                int to = Math.min(students.length, from + STUDENTS_PER_TASK);
+                String part = String.format("part-%04d", t);
+                futures.add(pool.submit(() -> {
+                    try (Sink sink = new CountingSink(sinks.open(part), counts)) {
+                        for (int s = from; s < to; s++) writeStudentData(sink, s);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Table, Long> result = new EnumMap<>(Table.class);
+        counts.forEach((t, n) -> result.put(t, n.get()));
+        return result;
+    }
+
+    // =======================================================
+    // 기준 데이터
+    // =======================================================
+    private void buildReferenceData() {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int deptCount = Math.max(5, (int) Math.round(DEPARTMENTS_AT_SCALE_1 * Math.sqrt(scale)));
+        departments = new String[deptCount];
+        for (int d = 0; d < deptCount; d++) departments[d] = String.format("G%03d", d + 1);
+
+        // 학번: 입학년도(2018~2025) + 전체 일련번호 6자리 (실제 데이터와 같은 형식), 학번 순으로 정렬
+        int studentCount = Math.max(10, (int) Math.round(STUDENTS_PER_SCALE * scale));
+        if (studentCount > 999_999) throw new IllegalArgumentException("학번 일련번호(6자리)를 넘는 규모입니다.");
+        Zipf deptSize = new Zipf(deptCount, DEPARTMENT_SKEW);
+        students = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            String id = String.format("%d%06d", 2018 + random.nextInt(8), i + 1);
+            students[i] = new Student(id, koreanName(random), deptSize.sample(random));
+        }
+        Arrays.sort(students, (a, b) -> a.id().compareTo(b.id()));
+        List<List<Integer>> byDept = new ArrayList<>();
+        for (int d = 0; d < deptCount; d++) byDept.add(new ArrayList<>());
+        for (int i = 0; i < studentCount; i++) byDept.get(students[i].dept()).add(i);
+        studentsByDept = new int[deptCount][];
+        for (int d = 0; d < deptCount; d++) studentsByDept[d] = byDept.get(d).stream().mapToInt(Integer::intValue).toArray();
+
+        int courseCount = Math.max(20, (int) Math.round(COURSES_PER_SCALE * scale));
+        courseIds = new String[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            courseIds[c] = COURSE_PREFIXES[c % COURSE_PREFIXES.length] + String.format("%04d", c / COURSE_PREFIXES.length + 1);
+        }
+
+        // 과목마다 학기별 개설 여부(70%)와 분반 수(1~4, 인기 과목일수록 많음)
+        // 인기 순위는 과목 번호와 무관하게 섞어 둡니다.
+        // SECTION의 PK가 (SECTION_ID, COURSE_ID)라 분반 번호는 학기 순번을 백의 자리에 둬 학기끼리 겹치지 않게 합니다.
+        // (202501: 001~004, 202502: 101~104)
+        int[] rank = shuffledRange(courseCount, random);
+        sectionsByTerm = new TreeMap<>();
+        coursePopularity = new TreeMap<>();
+        offeredCourses = new TreeMap<>();
+        for (int t = 0; t < TERMS.length; t++) {
+            int term = TERMS[t];
+            List<List<Section>> sections = new ArrayList<>(Collections.nCopies(courseCount, (List<Section>) null));
+            List<Integer> offered = new ArrayList<>();
+            for (int c = 0; c < courseCount; c++) {
+                if (random.nextInt(10) >= 7) continue;
+                int count = 1 + (rank[c] < courseCount / 20 ? 3 : rank[c] < courseCount / 5 ? random.nextInt(3) : random.nextInt(2));
+                List<Section> list = new ArrayList<>();
+                for (int s = 1; s <= count; s++) list.add(new Section(courseIds[c], String.format("%03d", t * 100 + s)));
+                sections.set(c, list);
+                offered.add(c);
+            }
+            // 개설 과목을 인기 순위 순으로 세워 Zipf 분포의 k번째 = k번째로 인기 있는 과목
+            offered.sort((a, b) -> Integer.compare(rank[a], rank[b]));
+            sectionsByTerm.put(term, sections);
+            offeredCourses.put(term, offered.stream().mapToInt(Integer::intValue).toArray());
+            coursePopularity.put(term, new Zipf(offered.size(), COURSE_SKEW));
+        }
+
+        // 학생별 일정 수를 미리 정해 ID 구간을 나눠 둡니다.
+        scheduleIdBase = new long[studentCount + 1];
+        scheduleIdBase[0] = 1;
+        for (int i = 0; i < studentCount; i++) scheduleIdBase[i + 1] = scheduleIdBase[i] + scheduleCount(studentRandom(i));
+    }
+
+    private void writeReferenceData(Sink sink) throws IOException, SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+
+        for (int d = 0; d < departments.length; d++) {
+            sink.row(Table.DEPARTMENT, departments[d], DEPT_WORDS[d % DEPT_WORDS.length] + " " + (d / DEPT_WORDS.length + 1));
+        }
+        for (Student s : students) sink.row(Table.STUDENT, s.id(), s.name(), departments[s.dept()]);
+
+        for (int c = 0; c < courseIds.length; c++) {
+            String title = (COURSE_WORDS[random.nextInt(COURSE_WORDS.length)] + " " +
+                    COURSE_LEVELS[random.nextInt(COURSE_LEVELS.length)]).trim();
+            sink.row(Table.COURSE, courseIds[c], title, random.nextInt(10) < 8 ? 3 : 1 + random.nextInt(3));
+        }
+        for (int term : TERMS) {
+            for (List<Section> sections : sectionsByTerm.get(term)) {
+                if (sections == null) continue;
+                for (Section s : sections) {
+                    String location = BUILDINGS[random.nextInt(BUILDINGS.length)] + "-" + (100 + random.nextInt(5) * 100 + random.nextInt(30));
+                    sink.row(Table.SECTION, s.sectionId(), term, s.courseId(), sectionTime(random), location);
+                }
+            }
+        }
+
+        // 학사 일정: 학기마다 제목 목록을 한 번씩 (개강부터 2주 간격)
+        long eventId = 1;
+        for (int term : TERMS) {
+            LocalDate start = term % 100 == 1 ? LocalDate.of(term / 100, 3, 3) : LocalDate.of(term / 100, 9, 1);
+            for (int i = 0; i < ACADEMIC_TITLES.length; i++) {
+                LocalDate from = start.plusWeeks(2L * i);
+                LocalDate to = random.nextInt(3) == 0 ? null : from.plusDays(random.nextInt(5));
+                sink.row(Table.ACADEMIC_EVENT, eventId++, ACADEMIC_TITLES[i], from, to);
+            }
+        }
+
+        // 학과 행사: 학과마다 연 10개 (1~14일), 장소 0~2곳
+        long deptEventId = 1;
+        LocalDate yearStart = LocalDate.of(TERMS[0] / 100, 1, 1);
+        for (String dept : departments) {
+            for (int i = 0; i < 10; i++) {
+                LocalDate from = yearStart.plusDays(random.nextInt(365));
+                LocalDate to = from.plusDays(random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(14));
+                long id = deptEventId++;
+                sink.row(Table.DEPARTMENT_EVENT, dept, id, DEPT_EVENT_TITLES[random.nextInt(DEPT_EVENT_TITLES.length)], from, to);
+                int places = random.nextInt(3);
+                int first = random.nextInt(EVENT_PLACES.length);
+                for (int p = 0; p < places; p++) {
+                    sink.row(Table.DEPT_LOCATION, id, EVENT_PLACES[(first + p) % EVENT_PLACES.length]);
+                }
+            }
+        }
+
+        // 그룹: 학생 8명당 하나, 3~8명, 80%는 리더와 같은 학과
+        int groups = Math.max(1, students.length / 8);
+        for (int g = 1; g <= groups; g++) {
+            int leader = random.nextInt(students.length);
+            int size = 3 + random.nextInt(6);
+            Set<Integer> members = new HashSet<>();
+            members.add(leader);
+            for (int tries = 0; members.size() < size && tries < size * 4; tries++) {
+                members.add(random.nextInt(10) < 8 ? pickSameDept(leader, random) : random.nextInt(students.length));
+            }
+            String name = GROUP_TOPICS[random.nextInt(GROUP_TOPICS.length)] + " " + GROUP_KINDS[random.nextInt(GROUP_KINDS.length)];
+            sink.row(Table.STUDENT_GROUP, g, name, PURPOSES[random.nextInt(PURPOSES.length)], students[leader].id(), members.size());
+            for (int m : members) sink.row(Table.MEMBER, g, students[m].id());
+        }
+    }
+
+    // =======================================================
+    // 학생별 데이터 (학생마다 독립된 난수열 → 작업 분할과 무관하게 같은 결과)
+    // =======================================================
+    private void writeStudentData(Sink sink, int index) throws IOException, SQLException {
+        SplittableRandom random = studentRandom(index);
+        Student student = students[index];
+
+        // 일정 수는 ID 구간을 정할 때 쓴 것과 같은 난수로 먼저 뽑습니다.
+        int schedules = scheduleCount(random);
+
+        // 수강: 학기마다 5~7과목, 인기 분포에서 서로 다른 과목을 뽑고 분반은 균등
+        for (int term : TERMS) {
+            int[] offered = offeredCourses.get(term);
+            if (offered.length == 0) continue;
+            Zipf popularity = coursePopularity.get(term);
+            List<List<Section>> sections = sectionsByTerm.get(term);
+            int want = Math.min(offered.length, 5 + random.nextInt(3));
+            Set<Integer> taken = new HashSet<>();
+            for (int tries = 0; taken.size() < want && tries < want * 10; tries++) {
+                int course = offered[popularity.sample(random)];
+                if (!taken.add(course)) continue;
+                List<Section> choices = sections.get(course);
+                Section section = choices.get(random.nextInt(choices.size()));
+                sink.row(Table.TAKES, student.id(), section.courseId(), section.sectionId());
+            }
+        }
+
+        // 개인 일정: 3~12월 사이, 08~21시 시작, 30분~3시간 (하루를 넘지 않음)
+        long scheduleId = scheduleIdBase[index];
+        LocalDateTime termStart = LocalDateTime.of(TERMS[0] / 100, 3, 1, 0, 0);
+        for (int k = 0; k < schedules; k++) {
+            LocalDateTime start = termStart.plusDays(random.nextInt(300))
+                    .plusMinutes(8 * 60 + random.nextInt(14 * 4) * 15L);
+            LocalDateTime end = start.plusMinutes(30 + random.nextInt(6) * 30L);
+            sink.row(Table.SCHEDULE, scheduleId++, SCHEDULE_TITLES[random.nextInt(SCHEDULE_TITLES.length)], start, end, student.id());
+        }
+
+        // 친구: 학번이 더 큰 학생만 (id1 < id2), 70%는 같은 학과
+        int friends = random.nextInt(FRIENDS_PER_STUDENT + 1);
+        Set<Integer> chosen = new HashSet<>();
+        for (int tries = 0; chosen.size() < friends && tries < friends * 4; tries++) {
+            int other = random.nextInt(10) < 7 ? pickSameDept(index, random) : random.nextInt(students.length);
+            if (other > index && chosen.add(other)) sink.row(Table.FRIENDSHIP, student.id(), students[other].id());
+        }
+    }
+
+    private SplittableRandom studentRandom(int index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    // 평균 SCHEDULES_PER_STUDENT의 지수 분포 (일정이 많은 소수 학생이 생김)
+    private static int scheduleCount(SplittableRandom random) {
+        return (int) Math.min(SCHEDULES_PER_STUDENT * 10, -Math.log(1 - random.nextDouble()) * SCHEDULES_PER_STUDENT);
+    }
+
+    private int pickSameDept(int index, SplittableRandom random) {
+        int[] peers = studentsByDept[students[index].dept()];
+        return peers[random.nextInt(peers.length)];
+    }
+
+    // 실제 SECTION.TIME 형식 ("화 09:00 ~ 10:30,목 09:00 ~ 10:30")
+    private static String sectionTime(SplittableRandom random) {
+        int pattern = random.nextInt(10);
+        List<String> meetings = new ArrayList<>();
+        if (pattern < 6) {
+            // 주 2회 75분/90분
+            String days = DAY_PAIRS[random.nextInt(DAY_PAIRS.length)];
+            int start = CLASS_STARTS[random.nextInt(CLASS_STARTS.length)];
+            int length = random.nextBoolean() ? 75 : 90;
+            for (char day : days.toCharArray()) meetings.add(meeting(day, start, start + length));
+        } else if (pattern < 8) {
+            // 주 3회 1시간 (월수금)
+            int start = (9 + random.nextInt(9)) * 60;
+            for (char day : "월수금".toCharArray()) meetings.add(meeting(day, start, start + 60));
+        } else {
+            // 실습: 하루 4시간 연속 (1시간 단위로 나뉘어 저장됨)
+            char day = DAY_NAMES.charAt(random.nextInt(DAY_NAMES.length()));
+            int start = (9 + random.nextInt(6)) * 60;
+            for (int h = 0; h < 4; h++) meetings.add(meeting(day, start + h * 60, start + (h + 1) * 60));
+        }
+        return String.join(",", meetings);
+    }
+
+    private static String meeting(char day, int start, int end) {
+        return String.format("%c %02d:%02d ~ %02d:%02d", day, start / 60, start % 60, end / 60, end % 60);
+    }
+
+    private static String koreanName(SplittableRandom random) {
+        return "" + SURNAMES.charAt(random.nextInt(SURNAMES.length()))
+                + GIVEN.charAt(random.nextInt(GIVEN.length())) + GIVEN.charAt(random.nextInt(GIVEN.length()));
+    }
+
+    private static int[] shuffledRange(int n, SplittableRandom random) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) a[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+        return a;
+    }
+
+    // 0..n-1 에 대한 Zipf 분포 (k번째의 확률 ∝ 1 / (k+1)^s), 누적 분포 이진 탐색
+    static final class Zipf {
+        private final double[] cdf;
+
+        Zipf(int n, double s) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, s);
+                cdf[k] = sum;
+            }
+            for (int k = 0; k < n; k++) cdf[k] /= sum;
+        }
+
+        int sample(SplittableRandom random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(cdf.length - 1, i >= 0 ? i : -i - 1);
+        }
+    }
+
+    // =======================================================
+    // 출력
+    // =======================================================
+    private static final class CountingSink implements Sink {
+        private final Sink target;
+        private final Map<Table, AtomicLong> counts;
+
+        CountingSink(Sink target, Map<Table, AtomicLong> counts) {
+            this.target = target;
+            this.counts = counts;
+        }
+
+        @Override
+        public void row(Table table, Object... values) throws IOException, SQLException {
+            target.row(table, values);
+            counts.get(table).incrementAndGet();
+        }
+
+        @Override
+        public void close() throws IOException, SQLException {
+            target.close();
+        }
+    }
+
+    // 테이블마다 <테이블>.<part>.csv (UTF-8, 쉼표 구분, 쉼표/따옴표가 있는 값은 큰따옴표로 감쌈)
+    // 날짜는 YYYY-MM-DD, 시각은 YYYY-MM-DD HH24:MI (제어 파일의 형식과 같음)
+    static final class CsvSink implements Sink {
+        private final Path dir;
+        private final String part;
+        private final Map<Table, BufferedWriter> writers = new EnumMap<>(Table.class);
+
+        CsvSink(Path dir, String part) {
+            this.dir = dir;
+            this.part = part;
+        }
+
+        @Override
+        public void row(Table table, Object... values) throws IOException {
+            BufferedWriter out = writers.get(table);
+            if (out == null) {
+                out = Files.newBufferedWriter(dir.resolve(table.name().toLowerCase() + "." + part + ".csv"), StandardCharsets.UTF_8);
+                writers.put(table, out);
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                out.write(csv(values[i]));
+            }
+            out.write('\n');
+        }
+
+        private static String csv(Object value) {
+            if (value == null) return "";
+            String text = value instanceof LocalDateTime t
+                    ? t.toLocalDate() + " " + String.format("%02d:%02d", t.getHour(), t.getMinute())
+                    : value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0) return text;
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException first = null;
+            for (BufferedWriter out : writers.values()) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    if (first == null) first = e;
+                }
+            }
+            if (first != null) throw first;
+        }
+    }
+
+    // 테이블별 PreparedStatement에 모아 BATCH_SIZE마다 실행하고 커밋합니다.
+    static final class JdbcSink implements Sink {
+        private static final int BATCH_SIZE = 1_000;
+
+        private final Connection conn;
+        private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+        private final Map<Table, Integer> pending = new EnumMap<>(Table.class);
+
+        JdbcSink(DataSource dataSource) throws SQLException {
+            this.conn = dataSource.getConnection();
+        }
+
+        @Override
+        public void row(Table table, Object... values) throws SQLException {
+            PreparedStatement pstmt = statements.get(table);
+            if (pstmt == null) {
+                pstmt = conn.prepareStatement(table.insertSql());
+                statements.put(table, pstmt);
+            }
+            for (int i = 0; i < values.length; i++) {
+                Object v = values[i];
+                if (v instanceof LocalDateTime t) pstmt.setTimestamp(i + 1, Timestamp.valueOf(t));
+                else if (v instanceof LocalDate d) pstmt.setDate(i + 1, Date.valueOf(d));
+                else if (v == null) pstmt.setNull(i + 1, java.sql.Types.DATE); // 값이 비는 열은 END_DATE뿐
+                else pstmt.setObject(i + 1, v);
+            }
+            pstmt.addBatch();
+            if (pending.merge(table, 1, Integer::sum) >= BATCH_SIZE) {
+                pstmt.executeBatch();
+                conn.commit();
+                pending.put(table, 0);
+            }
+        }
+
+        // 부모 테이블이 먼저 들어가도록 선언 순서대로 남은 배치를 실행 (외래키를 적재 후에 만들면 상관없음)
+        @Override
+        public void close() throws SQLException {
+            try {
+                for (Map.Entry<Table, PreparedStatement> e : statements.entrySet()) {
+                    if (pending.getOrDefault(e.getKey(), 0) > 0) e.getValue().executeBatch();
+                }
+                conn.commit();
+            } finally {
+                for (PreparedStatement pstmt : statements.values()) pstmt.close();
+                conn.close();
+            }
+        }
+    }
+
+    // SQL*Loader 제어 파일 (테이블마다 하나, part 파일을 모두 INFILE로 나열)
+    // 예: cd build/dataset && sqlldr corn/corn control=takes.ctl direct=true (INFILE은 현재 디렉터리 기준)
+    private static void writeControlFiles(Path dir) throws IOException {
+        for (Table table : Table.values()) {
+            String prefix = table.name().toLowerCase() + ".";
+            List<String> parts = new ArrayList<>();
+            try (var files = Files.list(dir)) {
+                files.map(p -> p.getFileName().toString())
+                        .filter(n -> n.startsWith(prefix) && n.endsWith(".csv"))
+                        .sorted().forEach(parts::add);
+            }
+            if (parts.isEmpty()) continue;
+
+            StringBuilder ctl = new StringBuilder("LOAD DATA CHARACTERSET UTF8\n");
+            for (String p : parts) ctl.append("INFILE '").append(p).append("'\n");
+            ctl.append("APPEND INTO TABLE ").append(table.name()).append('\n')
+                    .append("FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' TRAILING NULLCOLS\n(");
+            for (int i = 0; i < table.columns.length; i++) {
+                String column = table.columns[i];
+                if (i > 0) ctl.append(",\n ");
+                ctl.append(column);
+                if (column.endsWith("_DATE")) ctl.append(" DATE \"YYYY-MM-DD\"");
+                else if (column.endsWith("_TIME") && !column.equals("TIME")) ctl.append(" TIMESTAMP \"YYYY-MM-DD HH24:MI\"");
+                else if (column.equals("TIME") || column.equals("LOCATION")) ctl.append(" CHAR(150)");
+            }
+            ctl.append(")\n");
+            Files.writeString(dir.resolve(table.name().toLowerCase() + ".ctl"), ctl, StandardCharsets.UTF_8);
+        }
+    }
+}
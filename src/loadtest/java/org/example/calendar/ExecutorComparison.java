@@ -0,0 +1,211 @@
+package org.example.calendar;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+// 요청 실행 방식 비교 (가상 스레드 vs 플랫폼 스레드 200개), DB 없이 한 프로세스 안에서
+// - 실제 ConnectionPool(크기 10, 대기자 상한 1000, 대여 대기 5초)을 쓰고, 쿼리는 가짜 드라이버가 정해진 시간만큼 잠듭니다.
+// - 요청의 일부(기본 70%)는 메모리 캐시 응답(CPU 수 us), 나머지는 커넥션을 빌려 쿼리 한 번.
+// - 클라이언트는 동시 요청 수만큼 가상 스레드가 응답을 받자마자 다음 요청을 보냅니다 (닫힌 부하).
+// - 지연 시간은 실행기 큐 대기 + 커넥션 대기 + 쿼리를 모두 포함하고, 캐시 요청은 따로도 봅니다.
+//   503(대기자 상한 초과)은 처리량과 지연 시간에 넣지 않고 따로 세며, 받은 클라이언트는 Retry-After(1초)만큼 쉽니다.
+// Oracle과 HTTP 계층은 빠져 있으므로 절대값보다 두 방식의 차이를 보는 용도입니다. 실제 서버는 LoadTest로 측정합니다.
+// 사용법: gradle executorComparison -Pseconds=10 -PqueryMs=5 -PcacheRatio=0.7 -Pconcurrency=200,2000,5000
+public class ExecutorComparison {
+    private static final String URL = "jdbc:simulated:calendar";
+    private static final int POOL_SIZE = 10;
+    private static final int POOL_MAX_WAITERS = POOL_SIZE * 100;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long RETRY_AFTER_MS = 1_000; // PoolSaturatedMapper의 Retry-After
+
+    private record Result(long ok, long db, long rejected, long failed, LatencyHistogram all, LatencyHistogram cache) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        long queryMs = args.length > 1 ? Long.parseLong(args[1]) : 5;
+        double cacheRatio = args.length > 2 ? Double.parseDouble(args[2]) : 0.7;
+        String[] levels = (args.length > 3 ? args[3] : "200,2000,5000").split(",");
+
+        DriverManager.registerDriver(new SimulatedDriver(queryMs));
+        System.out.printf("쿼리 %dms, 캐시 응답 %.0f%%, 풀 %d (대기자 상한 %d), 플랫폼 스레드 %d, CPU %d개, 측정 %ds (예열 2s)%n",
+                queryMs, cacheRatio * 100, POOL_SIZE, POOL_MAX_WAITERS, PLATFORM_THREADS,
+                Runtime.getRuntime().availableProcessors(), seconds);
+        System.out.printf("%-9s %6s %10s %10s %8s %8s %10s %10s %12s%n",
+                "mode", "동시", "req/s", "DB req/s", "503", "실패", "p50 ms", "p99 ms", "캐시 p99 ms");
+
+        for (String level : levels) {
+            int concurrency = Integer.parseInt(level.trim());
+            for (String mode : List.of("platform", "virtual")) {
+                Result r = run(mode, concurrency, seconds, cacheRatio);
+                System.out.printf("%-9s %6d %10.1f %10.1f %8d %8d %10.1f %10.1f %12.1f%n",
+                        mode, concurrency, (double) r.ok() / seconds, (double) r.db() / seconds, r.rejected(), r.failed(),
+                        r.all().percentileMicros(50) / 1000.0, r.all().percentileMicros(99) / 1000.0,
+                        r.cache().percentileMicros(99) / 1000.0);
+            }
+        }
+    }
+
+    private static Result run(String mode, int concurrency, int seconds, double cacheRatio) throws Exception {
+        ExecutorService executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(PLATFORM_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram cache = new LatencyHistogram();
+        LongAdder ok = new LongAdder();
+        LongAdder db = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        try (ConnectionPool pool = new ConnectionPool(URL, "", "", POOL_SIZE, POOL_SIZE,
+                60_000, 5_000, POOL_MAX_WAITERS, 0, 0)) {
+            long warmUpEnd = System.nanoTime() + 2_000_000_000L;
+            long end = warmUpEnd + seconds * 1_000_000_000L;
+            List<Thread> clients = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(Thread.ofVirtual().start(() -> {
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= end) return;
+                        boolean measured = start >= warmUpEnd;
+                        boolean cached = ThreadLocalRandom.current().nextDouble() < cacheRatio;
+                        Future<?> response = executor.submit(() -> {
+                            if (cached) return serveFromCache();
+                            try (Connection conn = pool.getConnection();
+                                 PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM dual");
+                                 ResultSet rs = pstmt.executeQuery()) {
+                                return rs.next();
+                            }
+                        });
+                        try {
+                            response.get();
+                            if (!measured) continue;
+                            long elapsed = System.nanoTime() - start;
+                            ok.increment();
+                            all.record(elapsed);
+                            if (cached) cache.record(elapsed);
+                            else db.increment();
+                        } catch (ExecutionException e) {
+                            boolean saturated = e.getCause() instanceof ConnectionPool.SaturatedException;
+                            if (measured && saturated) rejected.increment();
+                            else if (measured) failed.increment();
+                            if (saturated) LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_AFTER_MS));
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }));
+            }
+            for (Thread t : clients) t.join();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return new Result(ok.sum(), db.sum(), rejected.sum(), failed.sum(), all, cache);
+    }
+
+    // 메모리 인덱스 조회 정도의 CPU 작업
+    private static long serveFromCache() {
+        long h = 0;
+        for (int i = 0; i < 2_000; i++) h = h * 31 + i;
+        return h;
+    }
+
+    // =======================================================
+    // 쿼리마다 queryMs만큼 잠드는 가짜 JDBC 드라이버
+    // =======================================================
+    private static final class SimulatedDriver implements Driver {
+        private final long queryMs;
+
+        SimulatedDriver(long queryMs) {
+            this.queryMs = queryMs;
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) return null;
+            return proxy(Connection.class, (name, args) -> switch (name) {
+                case "prepareStatement" -> statement();
+                case "isValid" -> true;
+                default -> null;
+            });
+        }
+
+        private PreparedStatement statement() {
+            return proxy(PreparedStatement.class, (name, args) -> {
+                if (!name.equals("executeQuery")) return null;
+                Thread.sleep(queryMs);
+                boolean[] read = {false};
+                return proxy(ResultSet.class, (n, a) -> n.equals("next") ? !read[0] && (read[0] = true) : null);
+            });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:simulated:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String name, Object[] args) throws Exception;
+    }
+
+    // 처리하지 않은 메소드는 반환형의 기본값 (boolean false, 숫자 0, 객체 null)
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(ExecutorComparison.class.getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> {
+                    Object value = handler.handle(method.getName(), args);
+                    if (value != null || !method.getReturnType().isPrimitive()) return value;
+                    Class<?> r = method.getReturnType();
+                    if (r == boolean.class) return false;
+                    if (r == void.class) return null;
+                    if (r == long.class) return 0L;
+                    if (r == int.class) return 0;
+                    return (short) 0;
+                }));
+    }
+}
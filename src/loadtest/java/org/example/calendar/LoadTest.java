@@ -0,0 +1,73 @@
+package org.example.calendar;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// REST 처리량 / 지연 시간 측정 도구 (가상 스레드 모드와 플랫폼 스레드 모드 비교용)
+// 사용법: gradle loadTest -Purl=<URL> -Pconcurrency=<동시 요청 수> -Pseconds=<측정 시간>
+//   1) 서버를 -Dcalendar.executor=platform 으로 띄우고 측정
+//   2) 같은 조건에서 -Dcalendar.executor=virtual 로 띄우고 측정
+//   동시 요청 수를 풀 크기(10) → 플랫폼 스레드 수(200) → 그 이상(2000, 5000)으로 올려 가며 비교합니다.
+// 클라이언트 자체가 병목이 되지 않도록 요청마다 가상 스레드를 씁니다.
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/calendar/api/students?dept=1O02";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmUpSeconds = Math.min(5, seconds);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET().build();
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        long warmUpEnd = System.nanoTime() + warmUpSeconds * 1_000_000_000L;
+        long end = warmUpEnd + seconds * 1_000_000_000L;
+        System.out.printf("%s  동시 %d, 예열 %ds + 측정 %ds%n", url, concurrency, warmUpSeconds, seconds);
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (true) {
+                    long start = System.nanoTime();
+                    if (start >= end) return;
+                    boolean measured = start >= warmUpEnd;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (!measured) continue;
+                        if (response.statusCode() == 200) {
+                            ok.increment();
+                            latency.record(System.nanoTime() - start);
+                        } else if (response.statusCode() == 503) {
+                            rejected.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    } catch (Exception e) {
+                        if (measured) failed.increment();
+                    }
+                }
+            }));
+        }
+        for (Thread t : workers) t.join();
+
+        System.out.printf("성공 %d, 거절(503) %d, 실패 %d%n", ok.sum(), rejected.sum(), failed.sum());
+        System.out.printf("처리량 %.1f req/s%n", (double) ok.sum() / seconds);
+        System.out.printf("지연 p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms (버킷 상한)%n",
+                latency.percentileMicros(50) / 1000.0, latency.percentileMicros(99) / 1000.0,
+                latency.percentileMicros(99.9) / 1000.0);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.calendar;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+// 달력 월/주 보기 (학과 행사 + 학사 일정)
+// - EventMonthIndex의 버킷 버전을 ETag로 쓰고, If-None-Match가 같으면 본문 없이 304를 돌려줍니다.
+// - no-cache: 브라우저는 저장해 두되 매번 ETag로 재검증합니다.
+@Path("/calendar")
+public class CalendarResource {
+    private static final CacheControl REVALIDATE = CacheControl.valueOf("no-cache");
+
+    @Context
+    private Request request;
+
+    // GET /api/calendar/months/2025-05
+    @GET
+    @ManagedAsync
+    @Path("/months/{month}")
+    @Produces("application/json")
+    public Response month(@PathParam("month") String month) throws SQLException {
+        YearMonth ym;
+        try {
+            ym = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("month 형식은 YYYY-MM 입니다.");
+        }
+        EventMonthIndex.MonthView view = DBConnection.getEventMonthIndex().month(ym);
+        return conditional(view.etag(), view.events());
+    }
+
+    // GET /api/calendar/weeks/2025-05-07 : 그 날짜가 속한 주(월~일)
+    @GET
+    @ManagedAsync
+    @Path("/weeks/{date}")
+    @Produces("application/json")
+    public Response week(@PathParam("date") String date) throws SQLException {
+        EventMonthIndex.WeekView view = DBConnection.getEventMonthIndex().week(StudentResource.parseDate(date));
+        return conditional(view.etag(), view.events());
+    }
+
+    private Response conditional(String etag, List<EventMonthIndex.Event> events) {
+        EntityTag tag = new EntityTag(etag);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) return notModified.cacheControl(REVALIDATE).build();
+        return Response.ok(body(events)).tag(tag).cacheControl(REVALIDATE).build();
+    }
+
+    private static StreamingOutput body(List<EventMonthIndex.Event> events) {
+        ReferenceCache refs = DBConnection.getReferenceCache();
+        return output -> {
+            try (JsonGenerator json = JsonRowStream.JSON.createGenerator(output, JsonEncoding.UTF8)) {
+                json.writeStartArray();
+                for (EventMonthIndex.Event e : events) {
+                    json.writeStartObject();
+                    json.writeStringField("kind", e.kind().name());
+                    json.writeNumberField("eventId", e.eventId());
+                    if (e.deptId() != null) {
+                        json.writeStringField("deptId", e.deptId());
+                        JsonRowStream.writeString(json, "deptName", refs.departmentName(e.deptId()));
+                    }
+                    json.writeStringField("title", e.title());
+                    json.writeStringField("startDate", e.startDate().toString());
+                    json.writeStringField("endDate", e.endDate().toString());
+                    json.writeArrayFieldStart("locations");
+                    for (String location : e.locations()) json.writeString(location);
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        };
+    }
+}
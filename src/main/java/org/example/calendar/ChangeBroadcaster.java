@@ -0,0 +1,283 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// SSE 변경 알림 팬아웃 (토픽: "student:<학번>", "group:<그룹 ID>")
+// - publish()는 구독자의 버퍼에 넣기만 하고 바로 돌아옵니다. 실제 전송은 연결마다 가상 스레드 하나가 맡습니다.
+//   (Jersey의 send()는 소켓 쓰기를 호출한 스레드에서 하므로, 느린 클라이언트가 알림 스레드를 붙잡지 않도록 분리)
+// - 연결마다 보낼 이벤트는 토픽당 하나만 둡니다. 보내기 전에 같은 토픽의 새 버전이 오면 덮어씁니다. (coalesce)
+//   알림은 "이 버전까지 바뀌었다"는 뜻이라 중간 버전을 건너뛰어도 클라이언트는 변경 API로 따라잡을 수 있고,
+//   버퍼 크기는 구독한 토픽 수(MAX_TOPICS)를 넘지 않습니다.
+// - 전송 하나가 STALL_MS 넘게 끝나지 않으면 느린 소비자로 보고 연결을 닫습니다. (다시 연결하면 현재 버전부터)
+// - 보낼 것이 없으면 HEARTBEAT_MS마다 주석 이벤트를 보내 끊긴 연결을 정리하고 프록시 유휴 종료를 막습니다.
+public final class ChangeBroadcaster {
+    public static final int MAX_TOPICS = 20;
+    public static final int MAX_SUBSCRIBERS = Integer.getInteger("calendar.sse.maxSubscribers", 10000);
+    private static final long STALL_MS = Long.getLong("calendar.sse.stallMs", 30_000);
+    static final long HEARTBEAT_MS = 20_000;
+    private static final long RECONNECT_MS = 3_000;
+
+    private record Event(String topic, String name, long version, String data) {
+    }
+
+    private static final Event HEARTBEAT = new Event("", null, 0, null);
+
+    private static final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private static final Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger count = new AtomicInteger();
+    private static final ExecutorService senders =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-send-", 0).factory());
+
+    private static final LongAdder sent = new LongAdder();
+    private static final LongAdder coalesced = new LongAdder();
+    private static final LongAdder slowClosed = new LongAdder();
+
+    private ChangeBroadcaster() {
+    }
+
+    public static String studentTopic(String studentId) {
+        return "student:" + studentId.trim();
+    }
+
+    public static String groupTopic(long groupId) {
+        return "group:" + groupId;
+    }
+
+    // 구독자 수가 한도에 닿았으면 false (호출한 쪽이 503으로 응답)
+    static boolean tryReserve() {
+        while (true) {
+            int n = count.get();
+            if (n >= MAX_SUBSCRIBERS) return false;
+            if (count.compareAndSet(n, n + 1)) return true;
+        }
+    }
+
+    static void release() {
+        count.decrementAndGet();
+    }
+
+    // tryReserve()로 자리를 잡은 뒤 호출합니다.
+    static Subscriber subscribe(SseEventSink sink, Sse sse, List<String> topicKeys) {
+        Subscriber s = new Subscriber(sink, sse, topicKeys);
+        all.add(s);
+        for (String topic : topicKeys) {
+            // close()의 빈 집합 제거와 겹쳐도 잃어버리지 않도록 추가까지 원자적으로
+            topics.compute(topic, (k, set) -> {
+                if (set == null) set = ConcurrentHashMap.newKeySet();
+                set.add(s);
+                return set;
+            });
+        }
+        return s;
+    }
+
+    // 학번은 숫자 10자리로 검증된 값만 들어옵니다. (JSON 이스케이프 불필요)
+    private static Event scheduleEvent(String studentId, long version) {
+        return new Event(studentTopic(studentId), "schedule", version,
+                "{\"studentId\":\"" + studentId.trim() + "\",\"version\":" + version + "}");
+    }
+
+    private static Event groupEvent(long groupId, long version) {
+        return new Event(groupTopic(groupId), "group", version,
+                "{\"groupId\":" + groupId + ",\"version\":" + version + "}");
+    }
+
+    public static void publishSchedule(String studentId, long version) {
+        publish(scheduleEvent(studentId, version));
+    }
+
+    public static void publishGroup(long groupId, long version) {
+        publish(groupEvent(groupId, version));
+    }
+
+    private static void publish(Event event) {
+        Set<Subscriber> subscribers = topics.get(event.topic());
+        if (subscribers == null) return;
+        for (Subscriber s : subscribers) s.offer(event);
+    }
+
+    public static boolean isSubscribed(String topic) {
+        return topics.containsKey(topic);
+    }
+
+    public static boolean isEmpty() {
+        return all.isEmpty();
+    }
+
+    static void heartbeat() {
+        for (Subscriber s : all) s.offer(HEARTBEAT);
+    }
+
+    public static int subscribers() {
+        return count.get();
+    }
+
+    public static long sent() {
+        return sent.sum();
+    }
+
+    public static long coalesced() {
+        return coalesced.sum();
+    }
+
+    public static long slowClosed() {
+        return slowClosed.sum();
+    }
+
+    // =======================================================
+    // 연결 하나
+    // =======================================================
+    static final class Subscriber {
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final List<String> topicKeys;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Event> pending = new LinkedHashMap<>(); // 토픽 -> 보낼 최신 이벤트
+        private final Map<String, Long> delivered = new LinkedHashMap<>();         // 토픽 -> 보낸 버전
+        private boolean sending;
+        private long sendingSince;
+        private boolean closed;
+
+        private Subscriber(SseEventSink sink, Sse sse, List<String> topicKeys) {
+            this.sink = sink;
+            this.sse = sse;
+            this.topicKeys = topicKeys;
+        }
+
+        // 현재 버전 알림 (구독 직후 한 번)
+        void offerSchedule(String studentId, long version) {
+            offer(scheduleEvent(studentId, version));
+        }
+
+        void offerGroup(long groupId, long version) {
+            offer(groupEvent(groupId, version));
+        }
+
+        private void offer(Event event) {
+            boolean start = false;
+            boolean stalled = false;
+            lock.lock();
+            try {
+                if (closed) return;
+                if (sending) {
+                    stalled = System.currentTimeMillis() - sendingSince > STALL_MS;
+                } else {
+                    start = true;
+                }
+                if (event == HEARTBEAT) {
+                    // 보낼 이벤트가 없을 때만
+                    if (!start || !pending.isEmpty()) start = false;
+                    else pending.put(event.topic(), event);
+                } else {
+                    Long last = delivered.get(event.topic());
+                    if (last != null && last >= event.version()) return; // 이미 보낸 버전
+                    Event waiting = pending.get(event.topic());
+                    if (waiting != null && waiting.version() >= event.version()) return;
+                    pending.put(event.topic(), event);
+                    if (waiting != null) coalesced.increment();
+                }
+                if (start) {
+                    sending = true;
+                    sendingSince = System.currentTimeMillis();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (stalled) {
+                slowClosed.increment();
+                close();
+            } else if (start) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // 보낼 이벤트가 없어질 때까지 하나씩 전송 (연결당 한 스레드만 실행)
+        private void drain() {
+            while (true) {
+                Event event;
+                lock.lock();
+                try {
+                    Iterator<Event> it = pending.values().iterator();
+                    if (closed || !it.hasNext()) {
+                        sending = false;
+                        return;
+                    }
+                    event = it.next();
+                    it.remove();
+                    sendingSince = System.currentTimeMillis();
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    sink.send(toSse(event)).toCompletableFuture().get(STALL_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    slowClosed.increment();
+                    close();
+                    return;
+                } catch (Exception e) {
+                    // 클라이언트가 끊음
+                    close();
+                    return;
+                }
+                if (event != HEARTBEAT) {
+                    sent.increment();
+                    lock.lock();
+                    try {
+                        delivered.merge(event.topic(), event.version(), Math::max);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+
+        private OutboundSseEvent toSse(Event event) {
+            if (event == HEARTBEAT) return sse.newEventBuilder().comment("heartbeat").build();
+            return sse.newEventBuilder()
+                    .name(event.name())
+                    .id(event.topic() + "@" + event.version())
+                    .reconnectDelay(RECONNECT_MS)
+                    .data(event.data())
+                    .build();
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                if (closed) return;
+                closed = true;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            for (String topic : topicKeys) {
+                topics.computeIfPresent(topic, (k, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+            if (all.remove(this)) release();
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                // 이미 닫힌 연결
+            }
+        }
+    }
+}
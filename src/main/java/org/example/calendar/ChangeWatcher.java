@@ -0,0 +1,137 @@
+package org.example.calendar;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 다른 프로세스(콘솔 프로그램 등)가 커밋한 일정/그룹 변경을 찾아 ChangeBroadcaster로 알립니다.
+// - 구독자가 있을 때만 POLL_MS마다 SCHEDULE_VERSION, GROUP_VERSION에서 최근에 바뀐 행만 읽습니다. (CHANGED_AT 인덱스)
+//   클라이언트 수와 관계없이 서버 전체에서 주기당 쿼리 두 번입니다.
+// - 변경 시각은 문장 실행 시각이라 커밋이 조금 늦을 수 있으므로, 마지막으로 본 시각보다 OVERLAP_MS 앞부터 다시 읽고
+//   이미 알린 버전은 건너뜁니다. (그보다 오래 열려 있던 트랜잭션의 변경은 다음 변경 때 함께 알려집니다)
+// - 시각 비교는 모두 DB 시계(SYSTIMESTAMP로 기록된 값) 기준이라 웹 서버와 DB의 시계 차이와 무관합니다.
+final class ChangeWatcher {
+    private static final long POLL_MS = Long.getLong("calendar.sse.pollMs", 1000);
+    private static final long OVERLAP_MS = Long.getLong("calendar.sse.overlapMs", 10_000);
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "change-watcher");
+        t.setDaemon(true);
+        return t;
+    });
+    private static boolean started;
+
+    private static final Source schedules = new Source("SELECT student_id, version, changed_at FROM schedule_version",
+            "SELECT MAX(changed_at) FROM schedule_version") {
+        @Override
+        void publish(ResultSet rs, long version) throws SQLException {
+            ChangeBroadcaster.publishSchedule(rs.getString(1), version);
+        }
+
+        @Override
+        String topic(ResultSet rs) throws SQLException {
+            return ChangeBroadcaster.studentTopic(rs.getString(1));
+        }
+    };
+    private static final Source groups = new Source("SELECT group_id, version, changed_at FROM group_version",
+            "SELECT MAX(changed_at) FROM group_version") {
+        @Override
+        void publish(ResultSet rs, long version) throws SQLException {
+            ChangeBroadcaster.publishGroup(rs.getLong(1), version);
+        }
+
+        @Override
+        String topic(ResultSet rs) throws SQLException {
+            return ChangeBroadcaster.groupTopic(rs.getLong(1));
+        }
+    };
+
+    private ChangeWatcher() {
+    }
+
+    // 첫 구독 때 한 번 시작
+    static synchronized void start() {
+        if (started) return;
+        started = true;
+        scheduler.scheduleWithFixedDelay(ChangeWatcher::poll, POLL_MS, POLL_MS, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(ChangeBroadcaster::heartbeat, ChangeBroadcaster.HEARTBEAT_MS,
+                ChangeBroadcaster.HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void poll() {
+        if (ChangeBroadcaster.isEmpty()) {
+            // 구독자가 없는 동안의 변경은 알릴 대상이 없음 -> 다음 구독 때 현재 시각부터 다시 시작
+            schedules.reset();
+            groups.reset();
+            return;
+        }
+        try (Connection conn = DBConnection.getDataSource().getConnection()) {
+            schedules.poll(conn);
+            groups.poll(conn);
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // 버전 테이블 하나 (스케줄러 스레드에서만 사용)
+    private abstract static class Source {
+        private record Seen(long version, long changedAt) {
+        }
+
+        private final String changedSql;
+        private final String latestSql;
+        private final Map<String, Seen> seen = new HashMap<>(); // 겹쳐 읽는 구간 안에서 이미 알린 버전
+        private Timestamp watermark;                            // 지금까지 본 가장 늦은 변경 시각
+
+        Source(String selectSql, String latestSql) {
+            this.changedSql = selectSql + " WHERE changed_at > ?";
+            this.latestSql = latestSql;
+        }
+
+        abstract void publish(ResultSet rs, long version) throws SQLException;
+
+        abstract String topic(ResultSet rs) throws SQLException;
+
+        void reset() {
+            watermark = null;
+            seen.clear();
+        }
+
+        void poll(Connection conn) throws SQLException {
+            if (watermark == null) {
+                try (PreparedStatement pstmt = conn.prepareStatement(latestSql); ResultSet rs = pstmt.executeQuery()) {
+                    Timestamp latest = rs.next() ? rs.getTimestamp(1) : null;
+                    watermark = latest != null ? latest : new Timestamp(0);
+                }
+                return;
+            }
+            long from = watermark.getTime() - OVERLAP_MS;
+            long newest = watermark.getTime();
+            try (PreparedStatement pstmt = conn.prepareStatement(changedSql)) {
+                pstmt.setTimestamp(1, new Timestamp(from));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        long version = rs.getLong(2);
+                        long changedAt = rs.getTimestamp(3).getTime();
+                        newest = Math.max(newest, changedAt);
+                        String topic = topic(rs);
+                        Seen before = seen.get(topic);
+                        if (before != null && before.version() >= version) continue;
+                        seen.put(topic, new Seen(version, changedAt));
+                        if (ChangeBroadcaster.isSubscribed(topic)) publish(rs, version);
+                    }
+                }
+            }
+            watermark = new Timestamp(newest);
+            long forgetBefore = newest - OVERLAP_MS;
+            seen.values().removeIf(s -> s.changedAt() < forgetBefore);
+        }
+    }
+}
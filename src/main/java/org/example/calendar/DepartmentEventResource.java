@@ -0,0 +1,53 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+// 학과 행사 조회
+@Path("/department-events")
+public class DepartmentEventResource {
+    // GET /api/department-events?month=2025-05 : 해당 월에 시작하는 행사 (장소별 한 행)
+    @GET
+    @ManagedAsync
+    @Produces("application/json")
+    public StreamingOutput byMonth(@QueryParam("month") String month) throws SQLException {
+        YearMonth ym;
+        try {
+            ym = YearMonth.parse(month == null ? "" : month);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("month 형식은 YYYY-MM 입니다.");
+        }
+        // 학과 이름은 기준 정보 캐시에서, 스트림을 열기 전에 받아 둡니다.
+        // (행을 쓰는 동안은 커넥션을 잡고 있으므로, 그 안에서 캐시를 놓쳐 커넥션을 하나 더 빌리지 않도록)
+        Map<String, String> deptNames = DBConnection.getReferenceCache().departments();
+        String sql = "SELECT de.dept_event_id, de.department_id, de.title, de.start_date, de.end_date, dl.location " +
+                "FROM department_event de, dept_location dl " +
+                "WHERE de.dept_event_id = dl.dept_event_id " +
+                "AND de.start_date >= ? AND de.start_date < ? " +
+                "ORDER BY de.start_date, de.dept_event_id";
+        return new JsonRowStream(sql, pstmt -> {
+            pstmt.setDate(1, Date.valueOf(ym.atDay(1)));
+            pstmt.setDate(2, Date.valueOf(ym.plusMonths(1).atDay(1)));
+        }, (rs, json) -> {
+            json.writeNumberField("eventId", rs.getLong("dept_event_id"));
+            String deptId = rs.getString("department_id");
+            JsonRowStream.writeString(json, "deptId", deptId);
+            JsonRowStream.writeString(json, "deptName", deptId == null ? null : deptNames.get(deptId));
+            JsonRowStream.writeString(json, "title", rs.getString("title"));
+            json.writeStringField("startDate", rs.getDate("start_date").toLocalDate().toString());
+            json.writeStringField("endDate", rs.getDate("end_date").toLocalDate().toString());
+            JsonRowStream.writeString(json, "location", rs.getString("location"));
+        });
+    }
+}
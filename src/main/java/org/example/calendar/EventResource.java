@@ -0,0 +1,85 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// 일정/그룹 변경 푸시 (Server-Sent Events)
+// GET /api/events?student=2022000074&group=184&group=12
+// - 구독 직후 토픽마다 현재 버전을 한 번 보내고, 이후에는 변경이 커밋될 때마다 새 버전을 보냅니다.
+//     event: schedule  data: {"studentId":"2022000074","version":12}
+//     event: group     data: {"groupId":184,"version":3}
+// - 알림에는 버전만 담깁니다. 일정은 /students/{id}/schedules/changes?since=<가진 버전>, 그룹은 /groups로 내용을 받습니다.
+// - 연결은 RequestLimiter의 동시 요청 수 대신 ChangeBroadcaster.MAX_SUBSCRIBERS로 따로 제한합니다.
+@Path("/events")
+public class EventResource {
+    private static final Pattern STUDENT_ID = Pattern.compile("\\d{10}");
+
+    @GET
+    @ManagedAsync
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void subscribe(@QueryParam("student") List<String> students, @QueryParam("group") List<Long> groups,
+                          @Context SseEventSink sink, @Context Sse sse, @Context ContainerRequest request)
+            throws SQLException {
+        List<String> topics = new ArrayList<>();
+        for (String sid : students) {
+            if (!STUDENT_ID.matcher(sid.trim()).matches()) throw new BadRequestException("학번 형식이 올바르지 않습니다: " + sid);
+            topics.add(ChangeBroadcaster.studentTopic(sid));
+        }
+        for (Long gid : groups) topics.add(ChangeBroadcaster.groupTopic(gid));
+        if (topics.isEmpty()) throw new BadRequestException("student 또는 group 파라미터가 필요합니다.");
+        if (topics.size() > ChangeBroadcaster.MAX_TOPICS) {
+            throw new BadRequestException("한 연결의 구독은 " + ChangeBroadcaster.MAX_TOPICS + "개까지입니다.");
+        }
+        if (!ChangeBroadcaster.tryReserve()) throw new ServiceUnavailableException(1L);
+
+        ChangeBroadcaster.Subscriber subscriber;
+        try {
+            RequestLimiter.detach(request);
+            subscriber = ChangeBroadcaster.subscribe(sink, sse, topics);
+        } catch (RuntimeException e) {
+            ChangeBroadcaster.release();
+            throw e;
+        }
+        ChangeWatcher.start();
+
+        // 현재 버전 (구독 등록 뒤에 읽으므로 그 사이의 변경도 놓치지 않음)
+        try (Connection conn = DBConnection.getDataSource().getConnection()) {
+            for (String sid : students) {
+                subscriber.offerSchedule(sid, version(conn, "SELECT version FROM schedule_version WHERE student_id = ?", sid.trim()));
+            }
+            for (Long gid : groups) {
+                subscriber.offerGroup(gid, version(conn, "SELECT version FROM group_version WHERE group_id = ?", gid));
+            }
+        } catch (SQLException | RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+    }
+
+    private static long version(Connection conn, String sql, Object key) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+}
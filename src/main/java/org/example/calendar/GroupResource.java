@@ -0,0 +1,33 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.ManagedAsync;
+
+// 스터디 그룹 검색
+@Path("/groups")
+public class GroupResource {
+    // GET /api/groups?purpose=공부 (purpose 생략 시 전체)
+    @GET
+    @ManagedAsync
+    @Produces("application/json")
+    public StreamingOutput search(@QueryParam("purpose") String purpose) {
+        String sql = "SELECT sg.group_id, sg.g_name, sg.purpose, sg.member_count, sg.leader, s.name " +
+                "FROM student_group sg, student s " +
+                "WHERE sg.leader = s.student_id AND (? IS NULL OR sg.purpose = ?) ORDER BY sg.group_id";
+        return new JsonRowStream(sql, pstmt -> {
+            pstmt.setString(1, purpose);
+            pstmt.setString(2, purpose);
+        }, (rs, json) -> {
+            json.writeNumberField("groupId", rs.getLong("group_id"));
+            JsonRowStream.writeString(json, "name", rs.getString("g_name"));
+            JsonRowStream.writeString(json, "purpose", rs.getString("purpose"));
+            json.writeNumberField("memberCount", rs.getInt("member_count"));
+            JsonRowStream.writeString(json, "leaderId", rs.getString("leader"));
+            JsonRowStream.writeString(json, "leaderName", rs.getString("name"));
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Date;
+
+// 학생 달력 구독 (iCalendar)
+// GET /api/students/{id}/calendar.ics?term=202502 (term 생략 시 현재 학기, 방학이면 다음 학기)
+// - 먼저 요약 쿼리(ICalendarExport.validator)로 ETag를 만들고, If-None-Match / If-Modified-Since 가 맞으면 304
+// - 아니면 본문을 길이 없이(chunked) 바로 흘려 씁니다.
+// - Last-Modified는 이 서버가 해당 ETag를 처음 본 시각입니다. (테이블에 수정 시각 컬럼이 없음)
+@Path("/students/{studentId}/calendar.ics")
+public class ICalendarResource {
+    private record Seen(String etag, Date firstSeen) {
+    }
+
+    private static final LruTtlCache<String, Seen> seen = new LruTtlCache<>(10_000, 24 * 60 * 60 * 1000L);
+    private static final CacheControl REVALIDATE = CacheControl.valueOf("no-cache");
+    private static final int MIN_TERM = 190001;
+    private static final int MAX_TERM = 999902;
+
+    @GET
+    @ManagedAsync
+    @Produces("text/calendar")
+    public Response calendar(@PathParam("studentId") String studentId, @QueryParam("term") Integer term,
+                             @Context Request request) throws SQLException {
+        // 범위를 벗어난 연도는 날짜를 만들 때 DateTimeException(500)이 되므로 먼저 400으로 돌려보냄
+        if (term != null && (term < MIN_TERM || term > MAX_TERM)) {
+            throw new BadRequestException("term 형식은 YYYYNN 입니다. (예: 202502)");
+        }
+        AcademicTerm academicTerm = term != null ? AcademicTerm.of(term) : currentOrNext(LocalDate.now());
+        ICalendarExport export = new ICalendarExport(DBConnection.getDataSource());
+
+        String etag = export.validator(studentId, academicTerm);
+        Date lastModified = lastModified(studentId + "/" + academicTerm.code(), etag);
+        EntityTag tag = new EntityTag(etag);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, tag);
+        if (notModified != null) return notModified.cacheControl(REVALIDATE).build();
+
+        StreamingOutput body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 8192);
+            try {
+                export.write(studentId, academicTerm, writer);
+            } catch (ConnectionPool.SaturatedException e) {
+                throw PoolSaturatedMapper.unavailable(e);
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        };
+        return Response.ok(body, "text/calendar; charset=utf-8")
+                .tag(tag).lastModified(lastModified).cacheControl(REVALIDATE)
+                .header("Content-Disposition", "inline; filename=\"" + studentId.trim() + ".ics\"")
+                .build();
+    }
+
+    private static Date lastModified(String key, String etag) {
+        Seen s = seen.getIfPresent(key);
+        if (s == null || !s.etag().equals(etag)) {
+            // HTTP 날짜는 초 단위이므로 밀리초를 버려야 If-Modified-Since 비교가 맞습니다.
+            s = new Seen(etag, new Date(System.currentTimeMillis() / 1000 * 1000));
+            seen.put(key, s);
+        }
+        return s.firstSeen();
+    }
+
+    // 방학 중에는 다가오는 학기 (1~2월 → 1학기, 7~8월 → 2학기)
+    private static AcademicTerm currentOrNext(LocalDate today) {
+        AcademicTerm current = AcademicTerm.containing(today);
+        if (current != null) return current;
+        return AcademicTerm.of(today.getYear() * 100 + (today.getMonthValue() <= 2 ? 1 : 2));
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.calendar;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// ResultSet 행을 JSON 배열로 바로 흘려보내는 응답 본문
+// - 목록을 메모리에 모으지 않고 한 행씩 Jackson 스트리밍 생성기로 씁니다. (행 수와 무관하게 힙 사용량 일정)
+// - 첫 행을 쓴 직후 flush 해서 결과 크기와 관계없이 첫 바이트가 바로 나가게 합니다.
+// - 커넥션은 응답을 다 쓸 때까지 빌려 두므로, 느린 클라이언트가 많으면 풀 크기를 함께 고려해야 합니다.
+public class JsonRowStream implements StreamingOutput {
+    @FunctionalInterface
+    public interface Binder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowWriter {
+        // 현재 행을 필드로 씁니다. (객체 시작/끝은 호출하는 쪽에서 처리)
+        void write(ResultSet rs, JsonGenerator json) throws SQLException, IOException;
+    }
+
+    // 행 사이에 다른 출처의 객체를 끼워 넣습니다. (예: 반복 일정의 발생, 행과 같은 순서로 정렬돼 있어야 함)
+    public interface Interleave {
+        // 쿼리를 실행하기 전에 같은 커넥션으로 준비
+        void open(Connection conn) throws SQLException;
+
+        // 현재 행 앞에 와야 할 객체를 씁니다. (객체 시작/끝까지 직접, rs가 null이면 남은 것 모두)
+        void writeBefore(ResultSet rs, JsonGenerator json) throws SQLException, IOException;
+    }
+
+    // 출력 스트림은 컨테이너가 닫고, 오류로 중단되면 배열을 자동으로 닫지 않습니다.
+    static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .build();
+    private static final int FETCH_SIZE = 500;
+
+    private final String sql;
+    private final Binder binder;
+    private final RowWriter rowWriter;
+    private final Interleave interleave;
+
+    public JsonRowStream(String sql, Binder binder, RowWriter rowWriter) {
+        this(sql, binder, rowWriter, null);
+    }
+
+    public JsonRowStream(String sql, Binder binder, RowWriter rowWriter, Interleave interleave) {
+        this.sql = sql;
+        this.binder = binder;
+        this.rowWriter = rowWriter;
+        this.interleave = interleave;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (Connection conn = DBConnection.getDataSource().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (interleave != null) interleave.open(conn);
+            binder.bind(pstmt);
+            pstmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery();
+                 JsonGenerator json = JSON.createGenerator(output, JsonEncoding.UTF8)) {
+                json.writeStartArray();
+                boolean first = true;
+                while (rs.next()) {
+                    if (interleave != null) interleave.writeBefore(rs, json);
+                    json.writeStartObject();
+                    rowWriter.write(rs, json);
+                    json.writeEndObject();
+                    if (first) {
+                        json.flush();
+                        first = false;
+                    }
+                }
+                if (interleave != null) interleave.writeBefore(null, json);
+                json.writeEndArray();
+            }
+        } catch (ConnectionPool.SaturatedException e) {
+            // 커넥션을 빌리지 못함 (아직 아무것도 쓰지 않았으므로 503 + Retry-After)
+            throw PoolSaturatedMapper.unavailable(e);
+        } catch (SQLException e) {
+            // 첫 바이트 전이면 500 응답, 이미 보낸 뒤라면 잘린 배열로 끝나 클라이언트가 실패를 알 수 있습니다.
+            throw new IOException(e);
+        }
+    }
+
+    // NULL 허용 문자열 컬럼 (CHAR 컬럼의 뒤 공백은 제거)
+    public static void writeString(JsonGenerator json, String field, String value) throws IOException {
+        if (value == null) json.writeNullField(field);
+        else json.writeStringField(field, value.trim());
+    }
+}
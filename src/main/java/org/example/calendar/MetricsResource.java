@@ -0,0 +1,108 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+// Prometheus 텍스트 형식(0.0.4) 지표: GET /api/metrics
+// - 작업/SQL 지연 시간은 summary (quantile 0.5, 0.99, 0.999 + _sum, _count). 값은 초 단위이며
+//   분위수는 히스토그램 버킷 상한이라 최대 12.5% 크게 나올 수 있습니다.
+// - 오류 수와 행 수는 counter, 풀/요청 상태는 gauge
+// 지표를 읽는 것만으로는 DB에 가지 않으므로 @ManagedAsync 없이 바로 처리합니다.
+@Path("/metrics")
+public class MetricsResource {
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    @GET
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    public StreamingOutput metrics() {
+        return output -> {
+            Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writeTimers(out, "calendar_operation", "operation", "논리 작업(콘솔 메뉴, REST 메소드)", Metrics.operations());
+            writeTimers(out, "calendar_sql", "sql", "SQL 문장 실행(executeQuery/Update/Batch)", Metrics.statements());
+            writePool(out);
+            out.flush();
+        };
+    }
+
+    private static void writeTimers(Writer out, String prefix, String label, String help,
+                                    Collection<Metrics.Timer> timers) throws IOException {
+        out.write("# HELP " + prefix + "_seconds " + help + " 지연 시간\n");
+        out.write("# TYPE " + prefix + "_seconds summary\n");
+        for (Metrics.Timer t : timers) {
+            LatencyHistogram h = t.latency();
+            String name = label + "=\"" + escape(t.name()) + "\"";
+            for (double q : QUANTILES) {
+                sample(out, prefix + "_seconds{" + name + ",quantile=\"" + q + "\"}", h.percentileMicros(q * 100) / 1e6);
+            }
+            sample(out, prefix + "_seconds_sum{" + name + "}", h.totalMicros() / 1e6);
+            sample(out, prefix + "_seconds_count{" + name + "}", h.count());
+        }
+        out.write("# HELP " + prefix + "_errors_total " + help + " 오류 수\n");
+        out.write("# TYPE " + prefix + "_errors_total counter\n");
+        for (Metrics.Timer t : timers) sample(out, prefix + "_errors_total{" + label + "=\"" + escape(t.name()) + "\"}", t.errors());
+        if (prefix.equals("calendar_sql")) {
+            out.write("# HELP calendar_sql_rows_total 조회한 행 수(SELECT) 또는 변경된 행 수(DML)\n");
+            out.write("# TYPE calendar_sql_rows_total counter\n");
+            for (Metrics.Timer t : timers) sample(out, "calendar_sql_rows_total{sql=\"" + escape(t.name()) + "\"}", t.rows());
+        }
+    }
+
+    private static void writePool(Writer out) throws IOException {
+        ConnectionPool.Stats stats = DBConnection.getDataSource().getStats();
+        LatencyHistogram wait = stats.borrowWait();
+        out.write("# HELP calendar_pool_borrow_wait_seconds 커넥션 대여 대기 시간\n");
+        out.write("# TYPE calendar_pool_borrow_wait_seconds summary\n");
+        for (double q : QUANTILES) {
+            sample(out, "calendar_pool_borrow_wait_seconds{quantile=\"" + q + "\"}", wait.percentileMicros(q * 100) / 1e6);
+        }
+        sample(out, "calendar_pool_borrow_wait_seconds_sum", wait.totalMicros() / 1e6);
+        sample(out, "calendar_pool_borrow_wait_seconds_count", wait.count());
+
+        gauge(out, "calendar_pool_connections", "물리 커넥션 수", stats.total());
+        gauge(out, "calendar_pool_active", "대여 중인 커넥션 수", stats.active());
+        gauge(out, "calendar_pool_idle", "유휴 커넥션 수", stats.idle());
+        gauge(out, "calendar_pool_waiters", "커넥션을 기다리는 요청 수", stats.waiters());
+        counter(out, "calendar_pool_borrow_timeouts_total", "커넥션 대기 시간 초과 수", stats.borrowTimeouts());
+        counter(out, "calendar_pool_borrow_rejected_total", "커넥션 대기자 상한으로 거절한 대여 수 (503)", stats.borrowRejected());
+        counter(out, "calendar_pool_leaks_detected_total", "누수 의심 커넥션 수", stats.leaksDetected());
+        gauge(out, "calendar_requests_in_flight", "처리 중인 REST 요청 수", RequestLimiter.inFlight());
+        counter(out, "calendar_requests_rejected_total", "동시 요청 한도로 거절한 요청 수 (503)", RequestLimiter.rejected());
+        gauge(out, "calendar_sse_subscribers", "SSE 구독 연결 수", ChangeBroadcaster.subscribers());
+        counter(out, "calendar_sse_events_sent_total", "보낸 SSE 변경 알림 수", ChangeBroadcaster.sent());
+        counter(out, "calendar_sse_events_coalesced_total", "보내기 전에 새 버전으로 합쳐진 알림 수", ChangeBroadcaster.coalesced());
+        counter(out, "calendar_sse_slow_disconnects_total", "전송이 멈춰 끊은 느린 구독자 수", ChangeBroadcaster.slowClosed());
+        counter(out, "calendar_slow_log_written_total", "느린 쿼리 로그에 쓴 줄 수", SlowQueryLog.written());
+        counter(out, "calendar_slow_log_dropped_total", "버퍼가 가득 차 버린 느린 쿼리 로그 수", SlowQueryLog.dropped());
+    }
+
+    private static void gauge(Writer out, String name, String help, double value) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n# TYPE " + name + " gauge\n");
+        sample(out, name, value);
+    }
+
+    private static void counter(Writer out, String name, String help, double value) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n# TYPE " + name + " counter\n");
+        sample(out, name, value);
+    }
+
+    private static void sample(Writer out, String series, double value) throws IOException {
+        out.write(series);
+        out.write(' ');
+        out.write(value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value));
+        out.write('\n');
+    }
+
+    // 레이블 값 이스케이프: \ " 줄바꿈
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 커넥션 풀 크기 조정을 위한 통계 (active, idle, waiters, 대여 대기 히스토그램)
+@Path("/pool")
+public class PoolResource {
+    @GET
+    @ManagedAsync
+    @Path("/stats")
+    @Produces("application/json")
+    public Map<String, Object> stats() {
+        ConnectionPool.Stats stats = DBConnection.getDataSource().getStats();
+        LatencyHistogram wait = stats.borrowWait();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", stats.total());
+        result.put("active", stats.active());
+        result.put("idle", stats.idle());
+        result.put("waiters", stats.waiters());
+        result.put("minIdle", stats.minIdle());
+        result.put("maxSize", stats.maxSize());
+        result.put("maxWaiters", stats.maxWaiters());
+        result.put("created", stats.created());
+        result.put("evicted", stats.evicted());
+        result.put("borrowTimeouts", stats.borrowTimeouts());
+        result.put("borrowRejected", stats.borrowRejected());
+        result.put("leaksDetected", stats.leaksDetected());
+        result.put("statementCache", Map.of(
+                "hits", stats.statementHits(),
+                "misses", stats.statementMisses(),
+                "evictions", stats.statementEvictions()));
+
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        histogram.put("count", wait.count());
+        histogram.put("meanMicros", wait.meanMicros());
+        histogram.put("p50Micros", wait.percentileMicros(50));
+        histogram.put("p99Micros", wait.percentileMicros(99));
+        List<Map<String, Long>> buckets = new ArrayList<>();
+        for (int i = 0; i < wait.bucketCount(); i++) {
+            if (wait.bucket(i) == 0) continue;
+            buckets.add(Map.of("leMicros", LatencyHistogram.upperBoundMicros(i), "count", wait.bucket(i)));
+        }
+        histogram.put("buckets", buckets);
+        result.put("borrowWait", histogram);
+        result.put("requests", Map.of(
+                "executor", RequestExecutorProvider.MODE,
+                "inFlight", RequestLimiter.inFlight(),
+                "maxInFlight", RequestLimiter.MAX_IN_FLIGHT,
+                "rejected", RequestLimiter.rejected()));
+        return result;
+    }
+}
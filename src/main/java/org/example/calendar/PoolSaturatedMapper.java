@@ -0,0 +1,22 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+// 커넥션 풀 대기자 상한에 걸린 요청은 500이 아니라 503 + Retry-After (RequestLimiter의 거절과 같은 응답)
+@Provider
+public class PoolSaturatedMapper implements ExceptionMapper<ConnectionPool.SaturatedException> {
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    @Override
+    public Response toResponse(ConnectionPool.SaturatedException e) {
+        return unavailable(e).getResponse();
+    }
+
+    // 응답 본문(StreamingOutput)을 쓰기 시작할 때 커넥션을 빌리지 못한 경우에도 같은 응답으로
+    static ServiceUnavailableException unavailable(ConnectionPool.SaturatedException e) {
+        return new ServiceUnavailableException(RETRY_AFTER_SECONDS, e);
+    }
+}
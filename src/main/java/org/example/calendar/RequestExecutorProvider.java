@@ -0,0 +1,40 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ManagedAsyncExecutor;
+import org.glassfish.jersey.spi.ExecutorServiceProvider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// @ManagedAsync 리소스 메소드를 실행할 스레드 (-Dcalendar.executor=virtual|platform, 기본 virtual)
+// - virtual : 요청마다 가상 스레드. JDBC 대기 중에는 캐리어 스레드를 놓아주므로 수천 개의 요청이 동시에 대기할 수 있습니다.
+// - platform: 고정 크기 플랫폼 스레드 풀 (-Dcalendar.platformThreads, 기본 200). 비교 측정용
+// 컨테이너 스레드는 요청을 넘겨준 뒤 바로 반환되고, 동시 요청 수는 RequestLimiter가 제한합니다.
+@Provider
+@ManagedAsyncExecutor
+public class RequestExecutorProvider implements ExecutorServiceProvider {
+    public static final String MODE = System.getProperty("calendar.executor", "virtual");
+    private static final int PLATFORM_THREADS = Integer.getInteger("calendar.platformThreads", 200);
+
+    @Override
+    public ExecutorService getExecutorService() {
+        if ("platform".equals(MODE)) {
+            AtomicInteger seq = new AtomicInteger();
+            ThreadFactory factory = r -> {
+                Thread t = new Thread(r, "calendar-request-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            return Executors.newFixedThreadPool(PLATFORM_THREADS, factory);
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("calendar-vt-", 0).factory());
+    }
+
+    @Override
+    public void dispose(ExecutorService executorService) {
+        executorService.shutdown();
+    }
+}
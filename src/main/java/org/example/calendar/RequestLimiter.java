@@ -0,0 +1,78 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// 동시 요청 수 상한 (-Dcalendar.maxInFlight, 기본 10000)
+// - 진행 중인 요청이 한도에 닿으면 기다리지 않고 503 + Retry-After 로 돌려보냅니다.
+//   (필터는 컨테이너 스레드에서 실행되므로 여기서 막으면 안 됩니다)
+// - 요청마다 가상 스레드 하나와 요청/응답 객체만 잡으므로 한도는 수천 단위로 크게 두고, 메모리 보호용으로만 씁니다.
+//   DB가 밀릴 때의 거절은 커넥션 풀의 대기자 상한(ConnectionPool.SaturatedException → 503)이 맡습니다.
+//   그래서 메모리 캐시로 답하는 요청(행사 월 조회의 304, 학기 통계, /pool/stats)은 DB 대기열이 차도 거절되지 않습니다.
+// - 허가는 응답 본문(StreamingOutput)까지 다 쓴 뒤 FINISHED 이벤트에서 반납합니다.
+@Provider
+public class RequestLimiter implements ContainerRequestFilter, ApplicationEventListener {
+    public static final int MAX_IN_FLIGHT = Integer.getInteger("calendar.maxInFlight", 10_000);
+    private static final String PERMIT = RequestLimiter.class.getName() + ".permit";
+    private static final String STREAMING = RequestLimiter.class.getName() + ".streaming";
+
+    private static final Semaphore permits = new Semaphore(MAX_IN_FLIGHT);
+    private static final LongAdder rejected = new LongAdder();
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (permits.tryAcquire()) {
+            request.setProperty(PERMIT, Boolean.TRUE);
+        } else {
+            rejected.increment();
+            request.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1").build());
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return event -> {
+            if (event.getType() == RequestEvent.Type.FINISHED
+                    && event.getContainerRequest().getProperty(PERMIT) != null) {
+                event.getContainerRequest().removeProperty(PERMIT);
+                permits.release();
+            }
+        };
+    }
+
+    // 오래 열려 있는 스트림(SSE 구독)은 허가를 바로 돌려주고 동시 요청 수에서 뺍니다. (따로 제한)
+    public static void detach(ContainerRequest request) {
+        request.setProperty(STREAMING, Boolean.TRUE);
+        if (request.getProperty(PERMIT) != null) {
+            request.removeProperty(PERMIT);
+            permits.release();
+        }
+    }
+
+    public static boolean isStreaming(ContainerRequest request) {
+        return request != null && request.getProperty(STREAMING) != null;
+    }
+
+    public static int inFlight() {
+        return MAX_IN_FLIGHT - permits.availablePermits();
+    }
+
+    public static long rejected() {
+        return rejected.sum();
+    }
+}
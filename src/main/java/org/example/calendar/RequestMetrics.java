@@ -0,0 +1,72 @@
+package org.example.calendar;
+
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// REST 리소스 메소드별 지연 시간 / 오류 수 (Metrics.operation("rest.<클래스>.<메소드>"))
+// - 요청 시작부터 응답 본문(StreamingOutput)을 다 쓴 FINISHED 까지를 잽니다.
+// - 예외로 끝났거나 5xx 응답이면 오류로 셉니다. 매칭되지 않은 요청(404 등)은 기록하지 않습니다.
+// - 리소스 메소드를 호출하는 스레드에 QueryTrace를 붙여, 느린 요청은 DB 시간 내역과 함께 SlowQueryLog에 남깁니다.
+//   (응답 본문을 다른 스레드에서 쓰면 그 사이의 SQL은 내역에 포함되지 않습니다.)
+@Provider
+public class RequestMetrics implements ApplicationEventListener {
+    private static final Map<Method, Metrics.Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        long start = System.nanoTime();
+        return new RequestEventListener() {
+            private QueryTrace trace;
+
+            @Override
+            public void onEvent(RequestEvent event) {
+                if (event.getType() == RequestEvent.Type.RESOURCE_METHOD_START) {
+                    ResourceMethod matched = matched(event);
+                    if (matched != null) trace = QueryTrace.begin(timer(matched.getInvocable().getHandlingMethod()).name());
+                    return;
+                }
+                if (event.getType() != RequestEvent.Type.FINISHED) return;
+                // SSE 구독은 연결 시간이 곧 응답 시간이라 지연 시간 지표와 느린 작업 로그에서 뺍니다.
+                if (RequestLimiter.isStreaming(event.getContainerRequest())) {
+                    if (trace != null) trace.end();
+                    return;
+                }
+                ResourceMethod matched = matched(event);
+                if (matched == null) return;
+                Metrics.Timer timer = timer(matched.getInvocable().getHandlingMethod());
+                timer.recordSince(start);
+                ContainerResponseContext response = event.getContainerResponse();
+                boolean failed = !event.isSuccess() || (response != null && response.getStatus() >= 500)
+                        || (trace != null && trace.failed());
+                if (failed) timer.error();
+                if (trace != null) {
+                    trace.end();
+                    SlowQueryLog.operation(trace, failed);
+                }
+            }
+        };
+    }
+
+    private static ResourceMethod matched(RequestEvent event) {
+        return event.getUriInfo() == null ? null : event.getUriInfo().getMatchedResourceMethod();
+    }
+
+    private static Metrics.Timer timer(Method method) {
+        Metrics.Timer t = timers.get(method);
+        return t != null ? t : timers.computeIfAbsent(method,
+                m -> Metrics.operation("rest." + m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.calendar;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 학생 조회 (학과별 명단, 개인 일정)
+@Path("/students")
+public class StudentResource {
+    private static final int SERIES_HORIZON_DAYS = 366;
+
+    // GET /api/students?dept=1O02&after=<학번>&size=100 : 학번 순 페이지 (next를 다음 요청의 after로)
+    @GET
+    @ManagedAsync
+    @Produces("application/json")
+    public Map<String, Object> byDepartment(@QueryParam("dept") String deptId, @QueryParam("after") String after,
+                                            @DefaultValue("100") @QueryParam("size") int size) throws SQLException {
+        if (deptId == null || deptId.isBlank()) throw new BadRequestException("dept 파라미터가 필요합니다.");
+        return studentPage(StudentListings.byDepartment(DBConnection.getDataSource(), deptId), after, size);
+    }
+
+    // GET /api/students/with-schedule?after=<학번>&size=100 : 개인 일정이 있는 학생 (학번 순 페이지)
+    @GET
+    @ManagedAsync
+    @Path("/with-schedule")
+    @Produces("application/json")
+    public Map<String, Object> withSchedule(@QueryParam("after") String after,
+                                            @DefaultValue("100") @QueryParam("size") int size) throws SQLException {
+        return studentPage(StudentListings.withSchedule(DBConnection.getDataSource()), after, size);
+    }
+
+    private static Map<String, Object> studentPage(KeysetPager<StudentListings.Student> pager, String after, int size)
+            throws SQLException {
+        KeysetPager.Page<StudentListings.Student> page;
+        try {
+            page = pager.page(after, size);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (StudentListings.Student st : page.rows()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("studentId", st.studentId().trim());
+            row.put("name", st.name());
+            items.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("next", page.next());
+        return result;
+    }
+
+    // GET /api/students/{id}/schedules?from=2025-05-01&to=2025-05-31 (기간 생략 시 전체, to는 그날 끝까지 포함)
+    // - 반복 일정은 구간 안의 발생을 시작 시간순으로 섞어 보냅니다. 발생에는 scheduleId 대신 seriesId가 있습니다.
+    //   to를 생략하면 발생은 오늘(또는 from) 이후 SERIES_HORIZON_DAYS일까지만 펼칩니다. (끝없는 반복 대비)
+    @GET
+    @ManagedAsync
+    @Path("/{studentId}/schedules")
+    @Produces("application/json")
+    public StreamingOutput schedules(@PathParam("studentId") String studentId,
+                                     @QueryParam("from") String from, @QueryParam("to") String to) {
+        Timestamp fromTime = from == null ? new Timestamp(0) : Timestamp.valueOf(parseDate(from).atStartOfDay());
+        Timestamp toTime = to == null ? Timestamp.valueOf("9999-12-31 00:00:00")
+                : Timestamp.valueOf(parseDate(to).plusDays(1).atStartOfDay());
+        LocalDate horizonBase = from == null || LocalDate.now().isAfter(parseDate(from)) ? LocalDate.now() : parseDate(from);
+        LocalDateTime seriesTo = to != null ? toTime.toLocalDateTime()
+                : horizonBase.plusDays(SERIES_HORIZON_DAYS).atStartOfDay();
+        String sql = "SELECT schedule_id, title, start_time, end_time FROM schedule " +
+                "WHERE student_id = ? AND end_time >= ? AND start_time < ? ORDER BY start_time, schedule_id";
+        return new JsonRowStream(sql, pstmt -> {
+            pstmt.setString(1, studentId);
+            pstmt.setTimestamp(2, fromTime);
+            pstmt.setTimestamp(3, toTime);
+        }, (rs, json) -> {
+            json.writeNumberField("scheduleId", rs.getLong("schedule_id"));
+            JsonRowStream.writeString(json, "title", rs.getString("title"));
+            json.writeStringField("start", rs.getTimestamp("start_time").toLocalDateTime().toString());
+            json.writeStringField("end", rs.getTimestamp("end_time").toLocalDateTime().toString());
+        }, new Occurrences(studentId, fromTime.toLocalDateTime(), seriesTo));
+    }
+
+    // 반복 일정 발생을 일정 행 사이에 시작 시간순으로 끼워 넣음 (발생은 구간 안에서만 펼침)
+    private static final class Occurrences implements JsonRowStream.Interleave {
+        private final String studentId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private Iterator<ScheduleIndex.Entry> pending = Collections.emptyIterator();
+        private ScheduleIndex.Entry next;
+
+        Occurrences(String studentId, LocalDateTime from, LocalDateTime to) {
+            this.studentId = studentId;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void open(Connection conn) throws SQLException {
+            List<ScheduleSeries> series = ScheduleSeries.forStudent(conn, studentId, from, to);
+            if (series.isEmpty()) return;
+            pending = ScheduleSeries.occurrences(series, from, to).iterator();
+            next = pending.hasNext() ? pending.next() : null;
+        }
+
+        @Override
+        public void writeBefore(ResultSet rs, JsonGenerator json) throws SQLException, IOException {
+            if (next == null) return;
+            LocalDateTime rowStart = rs == null ? null : rs.getTimestamp("start_time").toLocalDateTime();
+            while (next != null && (rowStart == null || next.start().isBefore(rowStart))) {
+                json.writeStartObject();
+                json.writeNumberField("seriesId", next.scheduleId());
+                JsonRowStream.writeString(json, "title", next.title());
+                json.writeStringField("start", next.start().toString());
+                json.writeStringField("end", next.end().toString());
+                json.writeEndObject();
+                next = pending.hasNext() ? pending.next() : null;
+            }
+        }
+    }
+
+    // GET /api/students/{id}/schedules/changes?since=<버전> : 그 버전 이후 바뀐 일정만 (증분 동기화)
+    // - 응답의 version을 다음 요청의 since로 넘깁니다. since를 생략하면 전체 일정(snapshot)을 받습니다.
+    // - snapshot이 true면 changes가 전체 목록이므로 가진 목록을 통째로 바꾸고, false면 scheduleId 기준으로
+    //   덮어쓰거나(deleted=false) 지웁니다(deleted=true). 변경이 없으면 changes는 빈 배열입니다.
+    // - 반복 일정은 scheduleId가 반복 일정 ID이고 rrule, exceptions(빠진 발생 시작 시각)가 함께 옵니다. (start/end는 첫 발생)
+    @GET
+    @ManagedAsync
+    @Path("/{studentId}/schedules/changes")
+    @Produces("application/json")
+    public Map<String, Object> scheduleChanges(@PathParam("studentId") String studentId,
+                                               @QueryParam("since") Long since) throws SQLException {
+        if (since != null && since < 0) throw new BadRequestException("since는 0 이상이어야 합니다.");
+        ScheduleChangeLog.Delta delta = new ScheduleChangeLog(DBConnection.getDataSource())
+                .since(studentId, since == null ? -1 : since);
+        List<Map<String, Object>> changes = new ArrayList<>(delta.changes().size());
+        for (ScheduleChangeLog.Change change : delta.changes()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("scheduleId", change.scheduleId());
+            row.put("deleted", change.deleted());
+            if (!change.deleted()) {
+                row.put("title", change.title());
+                row.put("start", change.start().toString());
+                row.put("end", change.end().toString());
+                if (change.rrule() != null) {
+                    row.put("rrule", change.rrule());
+                    row.put("exceptions", change.exceptions().stream().map(LocalDateTime::toString).toList());
+                }
+            }
+            changes.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", delta.version());
+        result.put("snapshot", delta.snapshot());
+        result.put("changes", changes);
+        return result;
+    }
+
+    // GET /api/students/{id}/friend-feed?after=<커서>&size=20 : 친구들의 다가오는 일정 (시작 시간순)
+    // 응답의 next를 다음 요청의 after로 넘기면 이어서 조회합니다. (마지막 페이지면 null)
+    @GET
+    @ManagedAsync
+    @Path("/{studentId}/friend-feed")
+    @Produces("application/json")
+    public Map<String, Object> friendFeed(@PathParam("studentId") String studentId, @QueryParam("after") String after,
+                                          @DefaultValue("20") @QueryParam("size") int size) throws SQLException {
+        FriendFeed.Page page;
+        try {
+            page = new FriendFeed(DBConnection.getDataSource())
+                    .page(studentId, after == null ? null : FriendFeed.Cursor.parse(after), size);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (FriendFeed.Item item : page.items()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("scheduleId", item.scheduleId());
+            row.put("studentId", item.studentId().trim());
+            row.put("name", item.name());
+            row.put("title", item.title());
+            row.put("start", item.start().toString());
+            row.put("end", item.end().toString());
+            items.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("next", page.next() == null ? null : page.next().toString());
+        return result;
+    }
+
+    static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("날짜 형식은 YYYY-MM-DD 입니다: " + value);
+        }
+    }
+}
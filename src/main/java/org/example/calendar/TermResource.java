@@ -0,0 +1,46 @@
+package org.example.calendar;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.ManagedAsync;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// 학기별 통계
+@Path("/terms")
+public class TermResource {
+    // GET /api/terms/202502/courses : 과목별 수강생 수 (많은 순)
+    // 콘솔(Type 3)과 같은 학기별 수강 집계(EnrollmentAggregates)에서 읽으므로 조회마다 GROUP BY를 돌리지 않습니다.
+    @GET
+    @ManagedAsync
+    @Path("/{term}/courses")
+    @Produces("application/json")
+    public StreamingOutput courseStats(@PathParam("term") int term) throws SQLException {
+        // 집계는 학기별로 메모리에 남으므로 학기 코드(YYYY01, YYYY02)만 받음
+        if (term % 100 < 1 || term % 100 > 2 || term / 100 < 1900 || term / 100 > 2999) {
+            throw new BadRequestException("term 형식은 YYYY01 또는 YYYY02 입니다.");
+        }
+        List<EnrollmentAggregates.CourseCount> counts = DBConnection.getEnrollmentAggregates().courseStats(term);
+        return output -> {
+            try (JsonGenerator json = JsonRowStream.JSON.createGenerator(output, JsonEncoding.UTF8)) {
+                json.writeStartArray();
+                for (EnrollmentAggregates.CourseCount c : counts) {
+                    json.writeStartObject();
+                    JsonRowStream.writeString(json, "courseId", c.courseId());
+                    JsonRowStream.writeString(json, "title", c.title());
+                    json.writeNumberField("credits", c.credits());
+                    json.writeNumberField("students", c.count());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+        };
+    }
+}
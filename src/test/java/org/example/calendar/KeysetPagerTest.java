@@ -0,0 +1,154 @@
+package org.example.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPagerTest {
+    // 정렬된 키 목록 위에서 "key > ? ORDER BY key FETCH FIRST ? ROWS ONLY"만 흉내 내는 가짜 JDBC
+    private static final class FakeDb {
+        final List<String> keys;
+        final List<String> sqls = new ArrayList<>();
+        final List<Map<Integer, Object>> binds = new ArrayList<>();
+        int fetchSize;
+
+        FakeDb(List<String> keys) {
+            this.keys = keys;
+        }
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (name, args) -> name.equals("getConnection") ? connection() : null);
+        }
+
+        private Connection connection() {
+            return proxy(Connection.class, (name, args) -> {
+                if (name.equals("prepareStatement")) return statement((String) args[0]);
+                return null;
+            });
+        }
+
+        private PreparedStatement statement(String sql) {
+            sqls.add(sql);
+            Map<Integer, Object> bound = new HashMap<>();
+            binds.add(bound);
+            return proxy(PreparedStatement.class, (name, args) -> switch (name) {
+                case "setString", "setInt" -> bound.put((Integer) args[0], args[1]);
+                case "setFetchSize" -> fetchSize = (Integer) args[0];
+                case "executeQuery" -> result(sql.contains(" > ?") ? (String) bound.get(bound.size() - 1) : null,
+                        (Integer) bound.get(bound.size()));
+                default -> null;
+            });
+        }
+
+        private ResultSet result(String after, int limit) {
+            List<String> rows = keys.stream().filter(k -> after == null || k.compareTo(after) > 0).limit(limit).toList();
+            int[] cursor = {-1};
+            return proxy(ResultSet.class, (name, args) -> switch (name) {
+                case "next" -> ++cursor[0] < rows.size();
+                case "getString" -> rows.get(cursor[0]);
+                default -> null;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String name, Object[] args) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(KeysetPagerTest.class.getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> method.getName().equals("close") ? null : handler.handle(method.getName(), args)));
+    }
+
+    private static KeysetPager<String> pager(FakeDb db) {
+        return new KeysetPager<>(db.dataSource(), "SELECT student_id FROM student WHERE 1 = 1", "student_id",
+                pstmt -> 1, rs -> rs.getString(1), key -> key);
+    }
+
+    private static List<String> keys(int n) {
+        return IntStream.rangeClosed(1, n).mapToObj(i -> String.format("S%04d", i)).toList();
+    }
+
+    @Test
+    void rejectsPageSizeOutOfRange() {
+        KeysetPager<String> pager = pager(new FakeDb(keys(3)));
+        assertThrows(IllegalArgumentException.class, () -> pager.page(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> pager.page(null, KeysetPager.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void emptyTable() throws Exception {
+        KeysetPager.Page<String> page = pager(new FakeDb(List.of())).page(null, 10);
+        assertEquals(List.of(), page.rows());
+        assertNull(page.next());
+    }
+
+    // 남은 행이 페이지 크기와 정확히 같으면 마지막 페이지 (다음 키 없음)
+    @Test
+    void exactlyOnePageHasNoNext() throws Exception {
+        FakeDb db = new FakeDb(keys(5));
+        KeysetPager.Page<String> page = pager(db).page(null, 5);
+        assertEquals(keys(5), page.rows());
+        assertNull(page.next());
+        assertEquals(6, db.binds.get(0).get(1));
+        assertEquals(6, db.fetchSize);
+        assertFalse(db.sqls.get(0).contains(" > ?"));
+    }
+
+    @Test
+    void oneMoreRowGivesNextKey() throws Exception {
+        FakeDb db = new FakeDb(keys(6));
+        KeysetPager<String> pager = pager(db);
+        KeysetPager.Page<String> first = pager.page(null, 5);
+        assertEquals(keys(5), first.rows());
+        assertEquals("S0005", first.next());
+
+        KeysetPager.Page<String> second = pager.page(first.next(), 5);
+        assertEquals(List.of("S0006"), second.rows());
+        assertNull(second.next());
+        assertTrue(db.sqls.get(1).contains("student_id > ?"));
+        assertEquals("S0005", db.binds.get(1).get(1));
+        assertEquals(6, db.binds.get(1).get(2));
+    }
+
+    // 키를 따라가면 모든 행을 한 번씩만 봄
+    @Test
+    void followingNextVisitsEveryRowOnce() throws Exception {
+        List<String> all = keys(23);
+        KeysetPager<String> pager = pager(new FakeDb(all));
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            KeysetPager.Page<String> page = pager.page(after, 5);
+            seen.addAll(page.rows());
+            after = page.next();
+            pages++;
+        } while (after != null);
+        assertEquals(all, seen);
+        assertEquals(5, pages);
+    }
+
+    @Test
+    void afterLastKeyIsEmpty() throws Exception {
+        KeysetPager.Page<String> page = pager(new FakeDb(keys(3))).page("S0003", 1);
+        assertEquals(List.of(), page.rows());
+        assertNull(page.next());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    @Test
+    void emptyHistogram() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentileMicros(50));
+        assertEquals(0.0, h.meanMicros(), 0.0);
+    }
+
+    // 8us 미만은 1us 단위라 정확
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int us = 0; us < 8; us++) h.record(us * 1_000L);
+        assertEquals(8, h.count());
+        assertEquals(4, h.percentileMicros(50));   // 4번째 값 3us의 상한
+        assertEquals(8, h.percentileMicros(100));  // 7us의 상한
+        assertEquals(1, h.percentileMicros(0.1));
+    }
+
+    // 1~100us 각 한 번: p50은 50us가 든 [48, 52) 버킷, p99는 [96, 104) 버킷
+    @Test
+    void percentilesReturnBucketUpperBound() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int us = 1; us <= 100; us++) h.record(us * 1_000L + 999);
+        assertEquals(100, h.count());
+        assertEquals(50.5, h.meanMicros(), 1e-9);
+        assertEquals(52, h.percentileMicros(50));
+        assertEquals(104, h.percentileMicros(99));
+        assertEquals(104, h.percentileMicros(100));
+        assertEquals(2, h.percentileMicros(1));
+    }
+
+    @Test
+    void skewedDistribution() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) h.record(100_000);      // 100us
+        for (int i = 0; i < 10; i++) h.record(50_000_000);    // 50ms
+        assertEquals(104, h.percentileMicros(50));
+        assertEquals(104, h.percentileMicros(99));
+        long p999 = h.percentileMicros(99.9);
+        assertTrue(p999 > 50_000 && p999 <= 50_000 * 1.125 + 1, "p99.9=" + p999);
+    }
+
+    // 모든 값은 자기 버킷의 상한보다 작고, 상한은 값의 12.5% 이내
+    @Test
+    void bucketBoundsStayWithinRelativeError() {
+        for (long us = 0; us < 1L << 40; us = us < 4096 ? us + 1 : us * 3 / 2 + 7) {
+            int i = LatencyHistogram.index(us);
+            long upper = LatencyHistogram.upperBoundMicros(i);
+            assertTrue(upper > us, us + "us -> " + upper);
+            assertTrue(upper <= us + Math.max(1, us / 8), us + "us -> " + upper);
+            if (i > 0) assertTrue(LatencyHistogram.upperBoundMicros(i - 1) <= us, us + "us bucket " + i);
+        }
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(h.bucketCount() - 1, LatencyHistogram.index(Long.MAX_VALUE / 1_000));
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecurrenceRuleTest {
+    // 2026-03-02는 월요일
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private static List<LocalDateTime> collect(Iterator<LocalDateTime> it, int limit) {
+        List<LocalDateTime> result = new ArrayList<>();
+        while (it.hasNext() && result.size() < limit) result.add(it.next());
+        return result;
+    }
+
+    private static LocalDateTime at(int month, int day) {
+        return LocalDateTime.of(2026, month, day, 9, 0);
+    }
+
+    @Test
+    void parseReadsAllParts() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=WE,MO;COUNT=5");
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, rule.frequency());
+        assertEquals(2, rule.interval());
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), rule.days());
+        assertEquals(5, rule.count());
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=5", rule.toString());
+    }
+
+    @Test
+    void parseRejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=0"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=100"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=3;UNTIL=20260401"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY"));
+    }
+
+    // 격주 월/수 5회: 3/2, 3/4, 3/16, 3/18, 3/30
+    @Test
+    void occurrenceWithIntervalAndSeveralDays() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=5");
+        assertEquals(at(3, 2), rule.occurrence(MONDAY, 0));
+        assertEquals(at(3, 4), rule.occurrence(MONDAY, 1));
+        assertEquals(at(3, 16), rule.occurrence(MONDAY, 2));
+        assertEquals(at(3, 18), rule.occurrence(MONDAY, 3));
+        assertEquals(at(3, 30), rule.occurrence(MONDAY, 4));
+        assertNull(rule.occurrence(MONDAY, 5));
+        assertNull(rule.occurrence(MONDAY, -1));
+        assertEquals(at(3, 30), rule.lastOccurrence(MONDAY));
+    }
+
+    // 첫 시작이 주기의 두 번째 요일이면 그 주의 월요일은 세지 않음
+    @Test
+    void occurrenceWhenFirstIsNotFirstDayOfWeek() {
+        LocalDateTime wednesday = at(3, 4);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=3");
+        assertEquals(wednesday, rule.occurrence(wednesday, 0));
+        assertEquals(at(3, 16), rule.occurrence(wednesday, 1));
+        assertEquals(at(3, 18), rule.occurrence(wednesday, 2));
+        assertNull(rule.occurrence(wednesday, 3));
+        assertEquals(at(3, 18), rule.lastOccurrence(wednesday));
+    }
+
+    @Test
+    void firstMustBeOnRuleDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE");
+        assertThrows(IllegalArgumentException.class, () -> rule.occurrence(at(3, 3), 0));
+    }
+
+    @Test
+    void lastOccurrenceWithUntil() {
+        // 3일마다, UNTIL 3/12 끝까지: 3/2, 3/5, 3/8, 3/11
+        RecurrenceRule daily = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3;UNTIL=20260312");
+        assertEquals(at(3, 11), daily.lastOccurrence(MONDAY));
+
+        // 격주 월/수, UNTIL이 발생 시각과 정확히 같으면 포함
+        RecurrenceRule weekly = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20260316T090000");
+        assertEquals(at(3, 16), weekly.lastOccurrence(MONDAY));
+        assertNull(weekly.occurrence(MONDAY, 3));
+
+        assertNull(RecurrenceRule.parse("FREQ=DAILY").lastOccurrence(MONDAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecurrenceRule.parse("FREQ=DAILY;UNTIL=20260301").lastOccurrence(MONDAY));
+    }
+
+    @Test
+    void startsFromSkipsEarlierOccurrencesAndStopsAtCount() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=5");
+        // 쉬는 주(3/9~3/15) 안에서 시작하면 다음 주기의 월요일부터
+        assertEquals(List.of(at(3, 16), at(3, 18), at(3, 30)),
+                collect(rule.startsFrom(MONDAY, at(3, 10)), 10));
+        // 발생 시각과 같으면 포함
+        assertEquals(List.of(at(3, 18), at(3, 30)),
+                collect(rule.startsFrom(MONDAY, at(3, 18)), 10));
+        // 첫 시작 이전이면 처음부터
+        assertEquals(5, collect(rule.startsFrom(MONDAY, at(1, 1)), 10).size());
+
+        Iterator<LocalDateTime> after = rule.startsFrom(MONDAY, at(3, 31));
+        assertFalse(after.hasNext());
+        assertThrows(NoSuchElementException.class, after::next);
+    }
+
+    @Test
+    void startsFromMatchesOccurrence() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=3;BYDAY=MO,TH,SU;COUNT=40");
+        Iterator<LocalDateTime> it = rule.startsFrom(MONDAY, MONDAY);
+        for (int n = 0; n < 40; n++) assertEquals(rule.occurrence(MONDAY, n), it.next());
+        assertFalse(it.hasNext());
+
+        // 중간에서 시작해도 같은 발생열의 뒷부분
+        LocalDateTime from = rule.occurrence(MONDAY, 17).minusMinutes(1);
+        Iterator<LocalDateTime> tail = rule.startsFrom(MONDAY, from);
+        for (int n = 17; n < 40; n++) assertEquals(rule.occurrence(MONDAY, n), tail.next());
+        assertFalse(tail.hasNext());
+    }
+
+    @Test
+    void startsFromUnboundedDaily() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2");
+        assertEquals(List.of(at(3, 4), at(3, 6), at(3, 8)),
+                collect(rule.startsFrom(MONDAY, at(3, 3).withHour(10)), 3));
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableSnapshotTest {
+    private static final LocalDateTime MARKER = LocalDateTime.of(2026, 3, 2, 12, 30, 15);
+    private static final LocalDateTime T = LocalDateTime.of(2026, 3, 3, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private static ByteBuffer sample() {
+        TableSnapshot.Builder b = new TableSnapshot.Builder(MARKER, new long[]{5, 7, 11});
+        b.addStudent("2020001", "김철수");
+        b.addStudent("2020002", "이영희");
+        b.addStudent("2020003", "박민수");
+        assertTrue(b.addTakes("2020001", "CSE101", "001"));
+        assertTrue(b.addTakes("2020003", "MAT201", "002"));
+        assertFalse(b.addTakes("2099999", "CSE101", "001"));
+        b.addSection("CSE101", "001", 202601, "월 09:00~10:15");
+        b.addSection("MAT201", "002", 202601, null);
+        b.addSchedule("2020001", 10, "스터디", T, T.plusHours(2));
+        b.addSchedule("2020001", 11, "과제", T.plusDays(1), T.plusDays(1).plusHours(1));
+        b.addSchedule("2020003", 12, "", T.plusMinutes(30), T.plusMinutes(90));
+        return b.toBuffer();
+    }
+
+    private static void assertSample(TableSnapshot s) {
+        assertEquals(MARKER, s.marker());
+        assertArrayEquals(new long[]{5, 7, 11}, s.versions());
+        assertEquals(12, s.version(TableVersion.STUDENT, TableVersion.TAKES));
+        assertEquals(18, s.version(TableVersion.TAKES, TableVersion.SECTION));
+
+        assertEquals(3, s.studentCount());
+        assertEquals("이영희", s.studentName(1));
+        assertEquals(2, s.studentOrdinal("2020003"));
+        assertEquals(-1, s.studentOrdinal("2099999"));
+
+        assertEquals(2, s.takesCount());
+        assertEquals(2, s.takesStudent(1));
+        assertEquals("MAT201", s.takesCourse(1));
+        assertEquals("002", s.takesSection(1));
+
+        assertEquals(2, s.sectionCount());
+        assertEquals(202601, s.sectionTerm(0));
+        assertEquals("월 09:00~10:15", s.sectionTime(0));
+        assertEquals("", s.sectionTime(1));
+
+        assertEquals(List.of(
+                new ScheduleIndex.Entry(10, "2020001", "스터디", T, T.plusHours(2)),
+                new ScheduleIndex.Entry(11, "2020001", "과제", T.plusDays(1), T.plusDays(1).plusHours(1))), s.schedules(0));
+        assertEquals(0, s.scheduleCount(1));
+        assertEquals(List.of(), s.schedules(1));
+        assertEquals(List.of(new ScheduleIndex.Entry(12, "2020003", "", T.plusMinutes(30), T.plusMinutes(90))),
+                s.schedules(2));
+    }
+
+    @Test
+    void writeThenMapRoundTrip() throws IOException {
+        Path file = dir.resolve("calendar.snap");
+        TableSnapshot.write(sample(), file);
+        assertSample(TableSnapshot.map(file));
+
+        // 덮어쓰기 후 임시 파일이 남지 않음
+        TableSnapshot.write(sample(), file);
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void heapBufferRoundTrip() throws IOException {
+        assertSample(TableSnapshot.of(sample()));
+    }
+
+    @Test
+    void toBuilderKeepsOrReplacesEnrollment() throws IOException {
+        TableSnapshot s = TableSnapshot.of(sample());
+        assertSample(TableSnapshot.of(s.toBuilder().toBuffer()));
+
+        TableSnapshot schedulesOnly = TableSnapshot.of(s.toBuilder(new long[]{5, 8, 11}, false).toBuffer());
+        assertArrayEquals(new long[]{5, 8, 11}, schedulesOnly.versions());
+        assertEquals(0, schedulesOnly.takesCount());
+        assertEquals(0, schedulesOnly.sectionCount());
+        assertEquals(3, schedulesOnly.studentCount());
+        assertEquals(s.schedules(0), schedulesOnly.schedules(0));
+    }
+
+    @Test
+    void withSchedulesReplacesOneStudent() throws IOException {
+        TableSnapshot s = TableSnapshot.of(sample());
+        List<ScheduleIndex.Entry> changed = List.of(new ScheduleIndex.Entry(20, "2020002", "새 일정", T, T.plusHours(1)));
+        TableSnapshot next = s.withSchedules(Map.of(1, changed), MARKER.plusMinutes(1));
+        assertEquals(MARKER.plusMinutes(1), next.marker());
+        assertEquals(changed, next.schedules(1));
+        assertEquals(1, next.scheduleCount(1));
+        assertEquals(s.schedules(0), next.schedules(0));
+    }
+
+    // 본문 한 바이트만 바뀌어도 CRC로 거부
+    @Test
+    void rejectsCorruptedFile() throws IOException {
+        Path file = dir.resolve("calendar.snap");
+        TableSnapshot.write(sample(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+        IOException e = assertThrows(IOException.class, () -> TableSnapshot.map(file));
+        assertTrue(e.getMessage().contains("체크섬"), e.getMessage());
+    }
+
+    @Test
+    void rejectsOtherFormats() {
+        ByteBuffer wrongFormat = sample();
+        wrongFormat.putInt(8, TableSnapshot.FORMAT - 1);
+        assertThrows(IOException.class, () -> TableSnapshot.of(wrongFormat));
+
+        ByteBuffer notSnapshot = sample();
+        notSnapshot.putLong(0, 0);
+        assertThrows(IOException.class, () -> TableSnapshot.of(notSnapshot));
+
+        assertThrows(IOException.class, () -> TableSnapshot.of(ByteBuffer.allocate(8)));
+    }
+}
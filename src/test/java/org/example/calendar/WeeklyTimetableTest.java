@@ -0,0 +1,71 @@
+package org.example.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeeklyTimetableTest {
+    private static WeeklyTimetable.Meeting meeting(DayOfWeek day, int start, int end) {
+        return new WeeklyTimetable.Meeting(day, start, end);
+    }
+
+    @Test
+    void parseSeveralMeetings() {
+        WeeklyTimetable t = WeeklyTimetable.parse("월 09:00~10:15, 수 13:00 ~ 14:30");
+        assertEquals(List.of(meeting(DayOfWeek.MONDAY, 540, 615), meeting(DayOfWeek.WEDNESDAY, 780, 870)),
+                t.meetings());
+        assertEquals(5 + 6, t.occupiedSlots());
+        assertTrue(t.isOccupied(DayOfWeek.MONDAY, 540));
+        assertTrue(t.isOccupied(DayOfWeek.MONDAY, 614));
+        assertFalse(t.isOccupied(DayOfWeek.MONDAY, 615));
+        assertFalse(t.isOccupied(DayOfWeek.TUESDAY, 540));
+        assertEquals("월 09:00 ~ 10:15,수 13:00 ~ 14:30", t.toString());
+    }
+
+    @Test
+    void parseEmptyOrMalformed() {
+        assertSame(WeeklyTimetable.EMPTY, WeeklyTimetable.parse(null));
+        assertSame(WeeklyTimetable.EMPTY, WeeklyTimetable.parse("  "));
+        assertSame(WeeklyTimetable.EMPTY, WeeklyTimetable.parse("미정"));
+        assertSame(WeeklyTimetable.EMPTY, WeeklyTimetable.parse("월 10:00~10:00"));
+        // 형식이 맞는 조각만 반영
+        assertEquals(List.of(meeting(DayOfWeek.FRIDAY, 600, 660)),
+                WeeklyTimetable.parse("월 9시, 금 10:00~11:00").meetings());
+    }
+
+    // 시작은 내림, 종료는 올림으로 15분 슬롯에 맞춤
+    @Test
+    void parseRoundsToSlots() {
+        assertEquals(List.of(meeting(DayOfWeek.TUESDAY, 540, 570)),
+                WeeklyTimetable.parse("화 9:10~9:20").meetings());
+    }
+
+    // 16:00이 슬롯 64라 두 번째 워드로 넘어가는 구간, 24:00 이후는 잘림
+    @Test
+    void parseAcrossWordBoundaryAndEndOfDay() {
+        WeeklyTimetable t = WeeklyTimetable.parse("목 15:30~16:30, 일 23:00~25:00");
+        assertEquals(List.of(meeting(DayOfWeek.THURSDAY, 930, 990), meeting(DayOfWeek.SUNDAY, 1380, 1440)),
+                t.meetings());
+        assertEquals(WeeklyTimetable.rangeMask(62, 64), t.word(3, 0));
+        assertEquals(WeeklyTimetable.rangeMask(0, 2), t.word(3, 1));
+        assertEquals(WeeklyTimetable.SLOTS_PER_DAY - 64, Long.bitCount(t.complement().word(0, 1)));
+    }
+
+    @Test
+    void parseMatchesOfAndOverlaps() {
+        WeeklyTimetable a = WeeklyTimetable.parse("월 09:00~10:30");
+        assertEquals(WeeklyTimetable.of(DayOfWeek.MONDAY, 540, 630), a);
+        assertTrue(a.overlaps(WeeklyTimetable.parse("월 10:00~11:00")));
+        assertFalse(a.overlaps(WeeklyTimetable.parse("월 10:30~11:00")));
+        assertTrue(a.overlaps(DayOfWeek.MONDAY, 625, 700));
+        assertFalse(a.overlaps(DayOfWeek.TUESDAY, 540, 630));
+        assertTrue(a.union(a.complement()).complement().isEmpty());
+        assertTrue(a.intersect(a.complement()).isEmpty());
+    }
+}